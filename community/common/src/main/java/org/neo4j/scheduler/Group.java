@@ -53,6 +53,8 @@ public enum Group
     INDEX_SAMPLING( "IndexSampling" ),
     /** Background index update applier, for eventually consistent indexes. */
     INDEX_UPDATING( "IndexUpdating", ExecutorServiceFactory.singleThread() ), // Single-threaded to serialise updates with opening/closing/flushing of indexes.
+    /** Background refresh of index searchers, so that committing transactions don't have to reopen them. */
+    INDEX_REFRESH( "IndexRefresh" ),
     /** Thread pool for anyone who want some help doing file IO in parallel. */
     FILE_IO_HELPER( "FileIOHelper" ),
     NATIVE_SECURITY( "NativeSecurity" ),
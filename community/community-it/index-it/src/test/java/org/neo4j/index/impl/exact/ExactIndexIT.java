@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.index.IndexHits;
+import org.neo4j.graphdb.index.IndexManager;
+import org.neo4j.graphdb.index.RelationshipIndex;
+import org.neo4j.index.impl.lucene.explicit.LuceneIndexImplementation;
+import org.neo4j.index.lucene.ValueContext;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.muninn.StandalonePageCacheFactory;
+import org.neo4j.kernel.impl.index.IndexConfigStore;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.TestGraphDatabaseFactory;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.helpers.collection.MapUtil.stringMap;
+import static org.neo4j.index.impl.exact.ExactIndexImplementation.EXACT_CONFIG;
+import static org.neo4j.kernel.impl.scheduler.JobSchedulerFactory.createInitialisedScheduler;
+
+@ExtendWith( TestDirectoryExtension.class )
+class ExactIndexIT
+{
+    private static final RelationshipType TYPE = RelationshipType.withName( "TYPE" );
+
+    @Inject
+    private TestDirectory directory;
+    private GraphDatabaseService db;
+
+    @BeforeEach
+    void startDatabase()
+    {
+        db = new TestGraphDatabaseFactory().newEmbeddedDatabase( directory.storeDir() );
+    }
+
+    @AfterEach
+    void stopDatabase()
+    {
+        if ( db != null )
+        {
+            db.shutdown();
+        }
+    }
+
+    @Test
+    void lookupsMustIncludeCommittedAndTransactionStateEntries()
+    {
+        Node first;
+        Node second;
+        try ( Transaction tx = db.beginTx() )
+        {
+            first = db.createNode();
+            second = db.createNode();
+            nodeIndex().add( first, "name", "value" );
+            tx.success();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            Index<Node> index = nodeIndex();
+            index.add( second, "name", "value" );
+            index.remove( first, "name", "value" );
+            assertEquals( set( second ), hits( index.get( "name", "value" ) ) );
+            tx.success();
+        }
+
+        try ( Transaction ignore = db.beginTx() )
+        {
+            assertEquals( set( second ), hits( nodeIndex().get( "name", "value" ) ) );
+            assertEquals( set(), hits( nodeIndex().get( "name", "other" ) ) );
+        }
+    }
+
+    @Test
+    void removingKeyOrEntityMustRemoveAllItsValues()
+    {
+        Node node;
+        try ( Transaction tx = db.beginTx() )
+        {
+            node = db.createNode();
+            Index<Node> index = nodeIndex();
+            index.add( node, "a", "1" );
+            index.add( node, "a", "2" );
+            index.add( node, "b", "1" );
+            index.add( node, "c", "1" );
+            tx.success();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            Index<Node> index = nodeIndex();
+            index.remove( node, "a" );
+            assertEquals( set(), hits( index.get( "a", "1" ) ) );
+            assertEquals( set(), hits( index.get( "a", "2" ) ) );
+            assertEquals( set( node ), hits( index.get( "b", "1" ) ) );
+            tx.success();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            Index<Node> index = nodeIndex();
+            assertEquals( set(), hits( index.get( "a", "2" ) ) );
+            assertEquals( set( node ), hits( index.get( "b", "1" ) ) );
+            index.remove( node );
+            index.add( node, "c", "1" );
+            assertEquals( set(), hits( index.get( "b", "1" ) ) );
+            assertEquals( set( node ), hits( index.get( "c", "1" ) ) );
+            tx.success();
+        }
+
+        try ( Transaction ignore = db.beginTx() )
+        {
+            assertEquals( set(), hits( nodeIndex().get( "b", "1" ) ) );
+            assertEquals( set( node ), hits( nodeIndex().get( "c", "1" ) ) );
+        }
+    }
+
+    @Test
+    void entriesMustSurviveRestart()
+    {
+        Node stringNode;
+        Node numericNode;
+        try ( Transaction tx = db.beginTx() )
+        {
+            stringNode = db.createNode();
+            numericNode = db.createNode();
+            nodeIndex().add( stringNode, "key", 10 );
+            nodeIndex().add( numericNode, "key", ValueContext.numeric( 10 ) );
+            tx.success();
+        }
+
+        db.shutdown();
+        startDatabase();
+
+        try ( Transaction ignore = db.beginTx() )
+        {
+            assertEquals( set( stringNode ), hits( nodeIndex().get( "key", "10" ) ) );
+            assertEquals( set( numericNode ), hits( nodeIndex().get( "key", ValueContext.numeric( 10L ) ) ) );
+        }
+    }
+
+    @Test
+    void relationshipLookupsMustFilterOnStartAndEndNode()
+    {
+        Node a;
+        Node b;
+        Relationship ab;
+        Relationship ba;
+        try ( Transaction tx = db.beginTx() )
+        {
+            a = db.createNode();
+            b = db.createNode();
+            ab = a.createRelationshipTo( b, TYPE );
+            ba = b.createRelationshipTo( a, TYPE );
+            relationshipIndex().add( ab, "key", "value" );
+            tx.success();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            RelationshipIndex index = relationshipIndex();
+            index.add( ba, "key", "value" );
+            assertEquals( set( ab, ba ), hits( index.get( "key", "value" ) ) );
+            assertEquals( set( ab ), hits( index.get( "key", "value", a, null ) ) );
+            assertEquals( set( ba ), hits( index.get( "key", "value", null, a ) ) );
+            assertEquals( set( ba ), hits( index.query( null, b, null ) ) );
+            tx.success();
+        }
+
+        try ( Transaction ignore = db.beginTx() )
+        {
+            assertEquals( set( ab ), hits( relationshipIndex().get( "key", "value", a, b ) ) );
+            assertEquals( set( ab, ba ), hits( relationshipIndex().query( null, null, null ) ) );
+        }
+    }
+
+    @Test
+    void commitsMustNotWaitForOpenLookups() throws Exception
+    {
+        Node first;
+        try ( Transaction tx = db.beginTx() )
+        {
+            first = db.createNode();
+            nodeIndex().add( first, "key", "value" );
+            nodeIndex().add( db.createNode(), "key", "value" );
+            tx.success();
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try ( Transaction ignore = db.beginTx();
+              IndexHits<Node> hits = nodeIndex().get( "key", "value" ) )
+        {
+            assertEquals( 2, hits.size() );
+            assertEquals( first, hits.next() );
+            Future<Node> commit = executor.submit( () ->
+            {
+                try ( Transaction tx = db.beginTx() )
+                {
+                    Node node = db.createNode();
+                    nodeIndex().add( node, "key", "value" );
+                    tx.success();
+                    return node;
+                }
+            } );
+            Node added = commit.get( 1, MINUTES );
+            assertTrue( hits.hasNext() );
+            assertTrue( hits( nodeIndex().get( "key", "value" ) ).contains( added ) );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void queriesMustNotBeSupported()
+    {
+        try ( Transaction ignore = db.beginTx() )
+        {
+            assertThrows( UnsupportedOperationException.class, () -> nodeIndex().query( "key", "val*" ) );
+            assertThrows( UnsupportedOperationException.class, () -> nodeIndex().query( "key:value" ) );
+        }
+    }
+
+    @Test
+    void mustOnlyAcceptExactIndexConfiguration()
+    {
+        try ( Transaction ignore = db.beginTx() )
+        {
+            assertThrows( IllegalArgumentException.class, () -> db.index().forNodes( "fulltext",
+                    stringMap( IndexManager.PROVIDER, ExactIndexImplementation.SERVICE_NAME, "type", "fulltext" ) ) );
+        }
+    }
+
+    @Test
+    void migratedLuceneIndexMustBeUsableFromNativeProvider() throws Exception
+    {
+        Node stringNode;
+        Node numericNode;
+        try ( Transaction tx = db.beginTx() )
+        {
+            stringNode = db.createNode();
+            numericNode = db.createNode();
+            Index<Node> index = db.index().forNodes( "lucene", LuceneIndexImplementation.EXACT_CONFIG );
+            index.add( stringNode, "key", "value" );
+            index.add( numericNode, "key", ValueContext.numeric( 42 ) );
+            tx.success();
+        }
+        db.shutdown();
+
+        try ( FileSystemAbstraction fs = new DefaultFileSystemAbstraction();
+              JobScheduler scheduler = createInitialisedScheduler();
+              PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, scheduler ) )
+        {
+            IndexConfigStore indexStore = new IndexConfigStore( directory.databaseLayout(), fs );
+            indexStore.init();
+            assertEquals( 1, new LuceneExactIndexMigrator( directory.databaseLayout(), fs, pageCache, indexStore ).migrate() );
+        }
+
+        startDatabase();
+        try ( Transaction ignore = db.beginTx() )
+        {
+            Index<Node> index = db.index().forNodes( "lucene" );
+            assertEquals( ExactIndexImplementation.SERVICE_NAME, db.index().getConfiguration( index ).get( IndexManager.PROVIDER ) );
+            assertEquals( set( stringNode ), hits( index.get( "key", "value" ) ) );
+            assertEquals( set( numericNode ), hits( index.get( "key", ValueContext.numeric( 42 ) ) ) );
+        }
+    }
+
+    private Index<Node> nodeIndex()
+    {
+        return db.index().forNodes( "nodes", EXACT_CONFIG );
+    }
+
+    private RelationshipIndex relationshipIndex()
+    {
+        return db.index().forRelationships( "relationships", EXACT_CONFIG );
+    }
+
+    private static <T extends PropertyContainer> Set<T> hits( IndexHits<T> hits )
+    {
+        try ( IndexHits<T> closeable = hits )
+        {
+            Set<T> result = new HashSet<>();
+            closeable.forEach( result::add );
+            return result;
+        }
+    }
+
+    @SafeVarargs
+    private static <T extends PropertyContainer> Set<T> set( T... entities )
+    {
+        return new HashSet<>( asList( entities ) );
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2002-2020 Graph Foundation, Inc.[https://graphfoundation.org]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.RuleChain;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.QueryExecutionException;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseBuilder;
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.rule.CleanupRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.VerboseTimeout;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.neo4j.kernel.api.impl.fulltext.FulltextCountTest.array;
+
+public class FulltextFacetTest
+{
+    static final String NODE_CREATE_SORT = "CALL db.index.fulltext.createNodeIndex(\"%s\", %s, %s, {}, %s )";
+    static final String FACET_NODES = "CALL db.index.fulltext.facetNodes(\"%s\", \"%s\", \"%s\") YIELD value, count RETURN value, count";
+    static final String RANGE_FACET_NODES = "CALL db.index.fulltext.rangeFacetNodes(\"%s\", \"%s\", \"%s\", %s) " +
+                                            "YIELD lowerBound, upperBound, count RETURN lowerBound, upperBound, count";
+    static final String STATS_NODES = "CALL db.index.fulltext.statsNodes(\"%s\", \"%s\", \"%s\") YIELD count, sum, min, max, average " +
+                                      "RETURN count, sum, min, max, average";
+
+    static final String INDEX = "facet-index";
+    static final String PERSON = "Person";
+    static final String NAME = "name";
+    static final String CITY = "city";
+    static final String AGE = "age";
+
+    private final Timeout timeout = VerboseTimeout.builder().withTimeout( 1, TimeUnit.HOURS ).build();
+    private final DefaultFileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory testDirectory = TestDirectory.testDirectory();
+    private final ExpectedException expectedException = ExpectedException.none();
+    private final CleanupRule cleanup = new CleanupRule();
+
+    @Rule
+    public final RuleChain rules = RuleChain.outerRule( timeout ).around( fs ).around( testDirectory ).around( expectedException ).around( cleanup );
+
+    private GraphDatabaseAPI db;
+
+    @Before
+    public void before()
+    {
+        GraphDatabaseBuilder builder = new GraphDatabaseFactory().newEmbeddedDatabaseBuilder( testDirectory.databaseDir() );
+        builder.setConfig( GraphDatabaseSettings.store_internal_log_level, "DEBUG" );
+        db = (GraphDatabaseAPI) cleanup.add( builder.newGraphDatabase() );
+        populateGraph();
+    }
+
+    @After
+    public void tearDown()
+    {
+        if ( db != null )
+        {
+            db.shutdown();
+        }
+    }
+
+    @Test
+    public void facetNodesCountsHitsPerValue()
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            Map<Object,Object> facets = rows( format( FACET_NODES, INDEX, "john", CITY ), "value", "count" );
+            Map<Object,Object> expected = new HashMap<>();
+            expected.put( "Malmo", 2L );
+            expected.put( "Lund", 1L );
+            assertEquals( expected, facets );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void facetNodesSeesChangesInTransaction()
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.execute( "MATCH (n:" + PERSON + ") WHERE n." + NAME + " = 'John Doe' SET n." + NAME + " = 'Jane Doe'" ).close();
+            db.execute( "MATCH (n:" + PERSON + ") WHERE n." + NAME + " = 'Dave Smith' SET n." + NAME + " = 'John Dave Smith'" ).close();
+            Map<Object,Object> facets = rows( format( FACET_NODES, INDEX, "john", CITY ), "value", "count" );
+            Map<Object,Object> expected = new HashMap<>();
+            expected.put( "Malmo", 1L );
+            expected.put( "Lund", 2L );
+            assertEquals( expected, facets );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void rangeFacetNodesCountsHitsPerRange()
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            Result result = db.execute( format( RANGE_FACET_NODES, INDEX, "john", AGE, "[35, 45]" ) );
+            List<List<Object>> ranges = new ArrayList<>();
+            result.forEachRemaining( row -> ranges.add( asList( row.get( "lowerBound" ), row.get( "upperBound" ), row.get( "count" ) ) ) );
+            assertEquals( asList( asList( null, 35.0, 1L ), asList( 35.0, 45.0, 1L ), asList( 45.0, null, 1L ) ), ranges );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void statsNodesAggregatesHits()
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            Map<String,Object> stats = db.execute( format( STATS_NODES, INDEX, "smith", AGE ) ).next();
+            assertEquals( 2L, stats.get( "count" ) );
+            assertEquals( 100.0, stats.get( "sum" ) );
+            assertEquals( 40L, stats.get( "min" ) );
+            assertEquals( 60L, stats.get( "max" ) );
+            assertEquals( 50.0, stats.get( "average" ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void statsNodesAggregatesNumbersOfMixedTypesByDeclaredSortType()
+    {
+        String index = "mixed-index";
+        String weight = "weight";
+        String size = "size";
+        db.execute( format( NODE_CREATE_SORT, index, array( "Sample" ), array( NAME ), "{" + weight + ": \"DOUBLE\", " + size + ": \"LONG\"}" ) ).close();
+        try ( Transaction tx = db.beginTx() )
+        {
+            createSample( 1, 2 );
+            createSample( 2.5f, 3L );
+            // Fractions can't be kept in a LONG property
+            createSample( 4.0d, 1.5d );
+            // Text can't be kept in a numeric property
+            createSample( "heavy", (short) 4 );
+            tx.success();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.schema().awaitIndexesOnline( 1, TimeUnit.MINUTES );
+            tx.success();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            Map<String,Object> weights = db.execute( format( STATS_NODES, index, "sample", weight ) ).next();
+            assertEquals( 3L, weights.get( "count" ) );
+            assertEquals( 7.5, weights.get( "sum" ) );
+            assertEquals( 1.0, weights.get( "min" ) );
+            assertEquals( 4.0, weights.get( "max" ) );
+
+            Map<String,Object> sizes = db.execute( format( STATS_NODES, index, "sample", size ) ).next();
+            assertEquals( 3L, sizes.get( "count" ) );
+            assertEquals( 9.0, sizes.get( "sum" ) );
+            assertEquals( 2L, sizes.get( "min" ) );
+            assertEquals( 4L, sizes.get( "max" ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void onlySortPropertiesCanBeAggregated()
+    {
+        expectedException.expect( QueryExecutionException.class );
+        expectedException.expectMessage( containsString( "can not be aggregated" ) );
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.execute( format( FACET_NODES, INDEX, "john", NAME ) ).resultAsString();
+            tx.success();
+        }
+    }
+
+    private Map<Object,Object> rows( String query, String keyColumn, String valueColumn )
+    {
+        Map<Object,Object> rows = new HashMap<>();
+        try ( Result result = db.execute( query ) )
+        {
+            result.forEachRemaining( row -> rows.put( row.get( keyColumn ), row.get( valueColumn ) ) );
+        }
+        return rows;
+    }
+
+    private void populateGraph()
+    {
+        db.execute( format( NODE_CREATE_SORT, INDEX, array( PERSON ), array( NAME ), "{" + CITY + ": \"STRING\", " + AGE + ": \"LONG\"}" ) ).close();
+        try ( Transaction tx = db.beginTx() )
+        {
+            createPerson( "John Doe", "Malmo", 30L );
+            createPerson( "John Smith", "Malmo", 40L );
+            createPerson( "John Wright", "Lund", 50L );
+            createPerson( "Dave Smith", "Lund", 60L );
+            tx.success();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.schema().awaitIndexesOnline( 1, TimeUnit.MINUTES );
+            tx.success();
+        }
+    }
+
+    private void createSample( Object weight, Object size )
+    {
+        Node sample = db.createNode( Label.label( "Sample" ) );
+        sample.setProperty( NAME, "sample" );
+        sample.setProperty( "weight", weight );
+        sample.setProperty( "size", size );
+    }
+
+    private void createPerson( String name, String city, long age )
+    {
+        Node person = db.createNode( Label.label( PERSON ) );
+        person.setProperty( NAME, name );
+        person.setProperty( CITY, city );
+        person.setProperty( AGE, age );
+    }
+}
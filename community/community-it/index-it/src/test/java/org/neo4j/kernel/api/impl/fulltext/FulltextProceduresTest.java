@@ -91,6 +91,7 @@ import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static org.eclipse.collections.impl.set.mutable.primitive.LongHashSet.newSetWith;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
@@ -113,6 +114,7 @@ public class FulltextProceduresTest
     private static final String DB_AWAIT_INDEX = "CALL db.index.fulltext.awaitIndex(\"%s\")";
     static final String QUERY_NODES = "CALL db.index.fulltext.queryNodes(\"%s\", \"%s\")";
     static final String QUERY_RELS = "CALL db.index.fulltext.queryRelationships(\"%s\", \"%s\")";
+    private static final String QUERY_NODES_PAGE = "CALL db.index.fulltext.queryNodes(\"%s\", \"%s\", \"\", \"ASC\", %d, %d)";
     static final String AWAIT_REFRESH = "CALL db.index.fulltext.awaitEventuallyConsistentIndexRefresh()";
     static final String NODE_CREATE = "CALL db.index.fulltext.createNodeIndex(\"%s\", %s, %s )";
     static final String RELATIONSHIP_CREATE = "CALL db.index.fulltext.createRelationshipIndex(\"%s\", %s, %s)";
@@ -1263,6 +1265,45 @@ public class FulltextProceduresTest
         }
     }
 
+    @Test
+    public void queryWithSkipAndLimitMustReturnPageOfAllResults()
+    {
+        db = createDatabase();
+        try ( Transaction tx = db.beginTx() )
+        {
+            createSimpleNodesIndex();
+            tx.success();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            awaitIndexesOnline();
+            for ( int i = 0; i < 1000; i++ )
+            {
+                db.createNode( LABEL ).setProperty( PROP, i % 3 == 0 ? "value" : "value value other" );
+            }
+            tx.success();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.createNode( LABEL ).setProperty( PROP, "value" );
+            List<Long> all = queryNodeIds( format( QUERY_NODES, "nodes", "value" ) );
+            assertThat( all.size(), is( 1001 ) );
+            assertThat( queryNodeIds( format( QUERY_NODES_PAGE, "nodes", "value", 0, 10 ) ), equalTo( all.subList( 0, 10 ) ) );
+            assertThat( queryNodeIds( format( QUERY_NODES_PAGE, "nodes", "value", 500, 300 ) ), equalTo( all.subList( 500, 800 ) ) );
+            assertThat( queryNodeIds( format( QUERY_NODES_PAGE, "nodes", "value", 990, 100 ) ), equalTo( all.subList( 990, 1001 ) ) );
+            assertThat( queryNodeIds( format( QUERY_NODES_PAGE, "nodes", "value", 100, -1 ) ), equalTo( all.subList( 100, 1001 ) ) );
+            tx.success();
+        }
+    }
+
+    private List<Long> queryNodeIds( String query )
+    {
+        try ( Result result = db.execute( query ) )
+        {
+            return result.stream().map( row -> ((Node) row.get( NODE )).getId() ).collect( Collectors.toList() );
+        }
+    }
+
     @Test
     public void queryingIndexInTransactionItWasCreatedInMustThrow()
     {
@@ -1468,6 +1509,50 @@ public class FulltextProceduresTest
         }
     }
 
+    @Test
+    public void queryResultsMustReflectChangesMadeBetweenQueriesInThisTransaction()
+    {
+        db = createDatabase();
+        try ( Transaction tx = db.beginTx() )
+        {
+            createSimpleNodesIndex();
+            tx.success();
+        }
+        long nodeIdA;
+        try ( Transaction tx = db.beginTx() )
+        {
+            awaitIndexesOnline();
+            Node nodeA = db.createNode( LABEL );
+            nodeA.setProperty( PROP, "value" );
+            nodeIdA = nodeA.getId();
+            tx.success();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node nodeA = db.getNodeById( nodeIdA );
+            Node nodeB = db.createNode( LABEL );
+            nodeB.setProperty( PROP, "value" );
+            long nodeIdB = nodeB.getId();
+            assertQueryFindsIds( db, true, "nodes", "value", newSetWith( nodeIdA, nodeIdB ) );
+
+            nodeB.setProperty( PROP, "other" );
+            assertQueryFindsIds( db, true, "nodes", "value", nodeIdA );
+            assertQueryFindsIds( db, true, "nodes", "other", nodeIdB );
+
+            nodeA.setProperty( PROP, "other" );
+            assertQueryFindsIds( db, true, "nodes", "value" );
+            assertQueryFindsIds( db, true, "nodes", "other", newSetWith( nodeIdA, nodeIdB ) );
+
+            nodeB.delete();
+            assertQueryFindsIds( db, true, "nodes", "other", nodeIdA );
+
+            nodeA.setProperty( PROP, "value" );
+            assertQueryFindsIds( db, true, "nodes", "value", nodeIdA );
+            assertQueryFindsIds( db, true, "nodes", "other" );
+            tx.success();
+        }
+    }
+
     @Test
     public void queryResultsMustIncludeNodesWithPropertiesAddedToBeIndexed()
     {
@@ -321,7 +321,7 @@ public class LuceneIndexRecoveryIT
             public Lifecycle newInstance( KernelContext context, LuceneIndexProviderFactory.Dependencies dependencies )
             {
                 return new LuceneIndexProvider( fs.get(), directoryFactory, defaultDirectoryStructure( context.directory() ),
-                        IndexProvider.Monitor.EMPTY, dependencies.getConfig(), context.databaseInfo().operationalMode )
+                        IndexProvider.Monitor.EMPTY, dependencies.getConfig(), context.databaseInfo().operationalMode, dependencies.jobScheduler() )
                 {
                     @Override
                     public InternalIndexState getInitialState( StoreIndexDescriptor descriptor )
@@ -344,7 +344,7 @@ public class LuceneIndexRecoveryIT
             public Lifecycle newInstance( KernelContext context, LuceneIndexProviderFactory.Dependencies dependencies )
             {
                 return new LuceneIndexProvider( fs.get(), directoryFactory, defaultDirectoryStructure( context.directory() ), IndexProvider.Monitor.EMPTY,
-                        dependencies.getConfig(), context.databaseInfo().operationalMode );
+                        dependencies.getConfig(), context.databaseInfo().operationalMode, dependencies.jobScheduler() );
             }
         };
     }
@@ -48,6 +48,18 @@ public class TrackingReadersIndexProvider extends IndexProvider
         this.indexProvider = copySource;
     }
 
+    @Override
+    public void start() throws Throwable
+    {
+        indexProvider.start();
+    }
+
+    @Override
+    public void stop() throws Throwable
+    {
+        indexProvider.stop();
+    }
+
     @Override
     public IndexPopulator getPopulator( StoreIndexDescriptor descriptor, IndexSamplingConfig samplingConfig, ByteBufferFactory bufferFactory )
     {
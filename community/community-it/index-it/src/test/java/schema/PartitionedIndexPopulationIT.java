@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package schema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.helpers.collection.Iterators;
+import org.neo4j.internal.kernel.api.InternalIndexState;
+import org.neo4j.internal.kernel.api.TokenNameLookup;
+import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
+import org.neo4j.internal.kernel.api.schema.LabelSchemaDescriptor;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.SilentTokenNameLookup;
+import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.api.SchemaState;
+import org.neo4j.kernel.impl.api.index.BatchingMultipleIndexPopulator;
+import org.neo4j.kernel.impl.api.index.IndexProviderMap;
+import org.neo4j.kernel.impl.api.index.IndexProxy;
+import org.neo4j.kernel.impl.api.index.IndexingService;
+import org.neo4j.kernel.impl.api.index.IndexingServiceFactory;
+import org.neo4j.kernel.impl.api.index.MultipleIndexPopulator;
+import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
+import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordStorageEngine;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.SchemaStorage;
+import org.neo4j.kernel.impl.transaction.state.storeview.NeoStoreIndexStoreView;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.schema.IndexDescriptorFactory;
+import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+import org.neo4j.test.rule.EmbeddedDatabaseRule;
+import org.neo4j.util.FeatureToggles;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertEquals;
+import static org.neo4j.kernel.impl.api.index.MultipleIndexPopulator.BATCH_SIZE_NAME;
+import static org.neo4j.kernel.impl.api.index.MultipleIndexPopulator.SCAN_THREADS_NAME;
+
+/**
+ * Populates indexes with the node store scanned by several threads at once, see {@link MultipleIndexPopulator#SCAN_THREADS_NAME}.
+ * The store view is a plain {@link NeoStoreIndexStoreView}, so that the partitioned node store scan is used rather than
+ * the label scan store.
+ */
+@RunWith( Parameterized.class )
+public class PartitionedIndexPopulationIT
+{
+    private static final Label LABEL = Label.label( "Label" );
+    private static final String PROPERTY = "prop";
+    private static final int NODE_COUNT = 10_000;
+    private static final int SCAN_THREADS = 4;
+    // small batches, so that the scan threads flush often and at the same time
+    private static final int BATCH_SIZE = 50;
+
+    @Rule
+    public final EmbeddedDatabaseRule db = new EmbeddedDatabaseRule();
+
+    @Parameterized.Parameters( name = "{0}" )
+    public static GraphDatabaseSettings.SchemaIndex[] parameters()
+    {
+        return GraphDatabaseSettings.SchemaIndex.values();
+    }
+
+    @Parameterized.Parameter
+    public GraphDatabaseSettings.SchemaIndex schemaIndex;
+
+    private IndexingService indexService;
+
+    @Before
+    public void setFeatureToggles()
+    {
+        FeatureToggles.set( MultipleIndexPopulator.class, SCAN_THREADS_NAME, SCAN_THREADS );
+        FeatureToggles.set( BatchingMultipleIndexPopulator.class, BATCH_SIZE_NAME, BATCH_SIZE );
+    }
+
+    @After
+    public void tearDown() throws Throwable
+    {
+        FeatureToggles.clear( MultipleIndexPopulator.class, SCAN_THREADS_NAME );
+        FeatureToggles.clear( BatchingMultipleIndexPopulator.class, BATCH_SIZE_NAME );
+        if ( indexService != null )
+        {
+            indexService.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldPopulateIndexFromPartitionedNodeStoreScan() throws Throwable
+    {
+        // given
+        long[] nodeIds = createNodes();
+        int labelId;
+        int propertyId;
+        try ( Transaction ignored = db.beginTx() )
+        {
+            KernelTransaction ktx = db.resolveDependency( ThreadToStatementContextBridge.class ).getKernelTransactionBoundToThisThread( true );
+            labelId = ktx.tokenRead().nodeLabel( LABEL.name() );
+            propertyId = ktx.tokenRead().propertyKey( PROPERTY );
+        }
+        LabelSchemaDescriptor schema = SchemaDescriptorFactory.forLabel( labelId, propertyId );
+
+        // when
+        populateIndex( schema );
+
+        // then
+        try ( IndexReader reader = indexService.getIndexProxy( schema ).newReader() )
+        {
+            for ( int i = 0; i < nodeIds.length; i++ )
+            {
+                assertEquals( "Node " + nodeIds[i], 1, reader.countIndexedNodes( nodeIds[i], new int[]{propertyId}, Values.of( i ) ) );
+            }
+        }
+    }
+
+    private long[] createNodes()
+    {
+        long[] nodeIds = new long[NODE_COUNT];
+        int batch = 1_000;
+        for ( int from = 0; from < NODE_COUNT; from += batch )
+        {
+            try ( Transaction tx = db.beginTx() )
+            {
+                for ( int i = from; i < from + batch; i++ )
+                {
+                    Node node = db.createNode( LABEL );
+                    node.setProperty( PROPERTY, i );
+                    nodeIds[i] = node.getId();
+                }
+                tx.success();
+            }
+        }
+        return nodeIds;
+    }
+
+    private void populateIndex( LabelSchemaDescriptor schema ) throws Throwable
+    {
+        NeoStores neoStores = db.resolveDependency( RecordStorageEngine.class ).testAccessNeoStores();
+        NeoStoreIndexStoreView storeView = new NeoStoreIndexStoreView( LockService.NO_LOCK_SERVICE, neoStores );
+        IndexProviderMap providerMap = db.resolveDependency( IndexProviderMap.class );
+        IndexProviderDescriptor providerDescriptor = providerMap.lookup( schemaIndex.providerName() ).getProviderDescriptor();
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            KernelTransaction ktx = db.resolveDependency( ThreadToStatementContextBridge.class ).getKernelTransactionBoundToThisThread( true );
+            TokenNameLookup tokenNameLookup = new SilentTokenNameLookup( ktx.tokenRead() );
+            NullLogProvider logProvider = NullLogProvider.getInstance();
+            indexService = IndexingServiceFactory.createIndexingService( Config.defaults(), db.resolveDependency( JobScheduler.class ),
+                    providerMap, storeView, tokenNameLookup, Iterators.asList( new SchemaStorage( neoStores.getSchemaStore() ).loadAllSchemaRules() ),
+                    logProvider, logProvider, IndexingService.NO_MONITOR, db.resolveDependency( SchemaState.class ), false );
+            indexService.start();
+
+            StoreIndexDescriptor rule = IndexDescriptorFactory.forSchema( schema, providerDescriptor ).withId( 1 );
+            indexService.createIndexes( rule );
+            tx.success();
+        }
+
+        IndexProxy indexProxy = indexService.getIndexProxy( schema );
+        indexProxy.awaitStoreScanCompleted( 0, TimeUnit.MILLISECONDS );
+        while ( indexProxy.getState() == InternalIndexState.POPULATING )
+        {
+            Thread.sleep( 10 );
+        }
+        assertEquals( InternalIndexState.ONLINE, indexProxy.getState() );
+        indexProxy.activate();
+    }
+}
@@ -48,6 +48,7 @@ import org.neo4j.internal.kernel.api.IndexQuery;
 import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.SimpleNodeValueClient;
 import org.neo4j.values.storable.ArrayValue;
 import org.neo4j.values.storable.BooleanValue;
@@ -390,6 +391,62 @@ public abstract class CompositeIndexAccessorCompatibility extends IndexAccessorC
         assertThat( query( exact( 0, base2 ), range( 1, obj2, true, obj1, true ) ), equalTo( EMPTY_LIST ) );
     }
 
+    /* skip scan */
+
+    @Test
+    public void testIndexSkipScanWithRangeAndExact() throws Exception
+    {
+        Assume.assumeTrue( "Assume support for granular composite queries", testSuite.supportsGranularCompositeQueries() );
+
+        updateAndCommit( asList(
+                add( 1L, descriptor.schema(), stringValue( "a" ), intValue( 1 ) ),
+                add( 2L, descriptor.schema(), stringValue( "a" ), intValue( 5 ) ),
+                add( 3L, descriptor.schema(), stringValue( "b" ), intValue( 2 ) ),
+                add( 4L, descriptor.schema(), stringValue( "b" ), intValue( 6 ) ),
+                add( 5L, descriptor.schema(), intValue( 10 ), intValue( 3 ) ),
+                add( 6L, descriptor.schema(), intValue( 10 ), intValue( 7 ) ),
+                add( 7L, descriptor.schema(), BooleanValue.TRUE, intValue( 4 ) ),
+                add( 8L, descriptor.schema(), longArray( new long[]{1, 2} ), intValue( 8 ) ),
+                add( 9L, descriptor.schema(), pointValue( Cartesian, 1D, 1D ), stringValue( "b" ) ) ) );
+
+        assertThat( query( exists( 0 ), range( 1, intValue( 2 ), true, intValue( 5 ), true ) ), equalTo( asList( 2L, 3L, 5L, 7L ) ) );
+        assertThat( query( exists( 0 ), range( 1, intValue( 2 ), false, intValue( 5 ), false ) ), equalTo( asList( 5L, 7L ) ) );
+        assertThat( query( exists( 0 ), range( 1, intValue( 6 ), true, null, false ) ), equalTo( asList( 4L, 6L, 8L ) ) );
+        assertThat( query( exists( 0 ), range( 1, intValue( 100 ), true, null, false ) ), equalTo( EMPTY_LIST ) );
+        assertThat( query( exists( 0 ), exact( 1, 6 ) ), equalTo( singletonList( 4L ) ) );
+        assertThat( query( exists( 0 ), exact( 1, "b" ) ), equalTo( singletonList( 9L ) ) );
+        assertThat( query( exists( 0 ), IndexQuery.stringPrefix( 1, stringValue( "" ) ) ), equalTo( singletonList( 9L ) ) );
+        assertThat( query( exists( 0 ), exists( 1 ) ), equalTo( asList( 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L ) ) );
+    }
+
+    @Test
+    public void testIndexSkipScanOverFewLeadingValuesOnceSampled() throws Exception
+    {
+        Assume.assumeTrue( "Assume support for granular composite queries", testSuite.supportsGranularCompositeQueries() );
+
+        List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+        List<Long> expected = new ArrayList<>();
+        for ( long nodeId = 0; nodeId < 64; nodeId++ )
+        {
+            updates.add( add( nodeId, descriptor.schema(), stringValue( nodeId % 2 == 0 ? "a" : "b" ), intValue( (int) nodeId ) ) );
+            if ( nodeId >= 10 && nodeId < 20 )
+            {
+                expected.add( nodeId );
+            }
+        }
+        updateAndCommit( updates );
+        IndexQuery[] query = {exists( 0 ), range( 1, intValue( 10 ), true, intValue( 20 ), false )};
+        assertThat( query( query ), equalTo( expected ) );
+
+        // Sampling tells the index that it has few distinct leading values, which is when it skip scans
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            reader.createSampler().sampleIndex();
+        }
+
+        assertThat( query( query ), equalTo( expected ) );
+    }
+
     /* stringPrefix */
 
     @Test
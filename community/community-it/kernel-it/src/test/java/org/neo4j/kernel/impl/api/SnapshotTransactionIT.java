@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.IndexReference;
+import org.neo4j.internal.kernel.api.Kernel;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.NodeLabelIndexCursor;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.internal.kernel.api.Transaction;
+import org.neo4j.internal.kernel.api.exceptions.InvalidTransactionTypeKernelException;
+import org.neo4j.internal.kernel.api.security.LoginContext;
+import org.neo4j.kernel.configuration.Settings;
+import org.neo4j.test.rule.DatabaseRule;
+import org.neo4j.test.rule.ImpermanentDatabaseRule;
+import org.neo4j.values.storable.Value;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+import static org.neo4j.values.storable.Values.longArray;
+import static org.neo4j.values.storable.Values.stringValue;
+
+public class SnapshotTransactionIT
+{
+    @Rule
+    public final DatabaseRule db = new ImpermanentDatabaseRule().withSetting( GraphDatabaseSettings.snapshot_reads, Settings.TRUE );
+
+    private Kernel kernel;
+
+    @Before
+    public void setUp()
+    {
+        kernel = db.getDependencyResolver().resolveDependency( Kernel.class );
+    }
+
+    @Test
+    public void shouldNotSeeChangesCommittedAfterSnapshotTransactionBegan() throws Exception
+    {
+        // given
+        long changed = createNode( "before" );
+        long deleted = createNode( "deleted" );
+
+        try ( Transaction snapshot = kernel.beginTransaction( Transaction.Type.snapshot, LoginContext.AUTH_DISABLED ) )
+        {
+            // when
+            db.executeAndCommit( graphDb ->
+            {
+                graphDb.getNodeById( changed ).setProperty( "key", "after" );
+                graphDb.getNodeById( deleted ).delete();
+                return null;
+            } );
+
+            // then
+            assertEquals( stringValue( "before" ), property( snapshot, changed ) );
+            assertTrue( snapshot.dataRead().nodeExists( deleted ) );
+            assertEquals( stringValue( "deleted" ), property( snapshot, deleted ) );
+        }
+
+        try ( Transaction tx = kernel.beginTransaction( Transaction.Type.explicit, LoginContext.AUTH_DISABLED ) )
+        {
+            assertEquals( stringValue( "after" ), property( tx, changed ) );
+            assertFalse( tx.dataRead().nodeExists( deleted ) );
+        }
+    }
+
+    @Test
+    public void shouldSeeLongStringsAndArraysAsOfSnapshot() throws Exception
+    {
+        // given
+        String longString = repeat( 'a' );
+        long[] longArray = LongStream.range( 0, 1_000 ).toArray();
+        long node = db.executeAndCommit( graphDb ->
+        {
+            Node created = graphDb.createNode();
+            created.setProperty( "key", longString );
+            created.setProperty( "array", longArray );
+            return created.getId();
+        } );
+
+        try ( Transaction snapshot = kernel.beginTransaction( Transaction.Type.snapshot, LoginContext.AUTH_DISABLED ) )
+        {
+            // when the dynamic records are deleted, and new values that could reuse them are written
+            db.executeAndCommit( graphDb ->
+            {
+                Node changed = graphDb.getNodeById( node );
+                changed.setProperty( "key", repeat( 'b' ) );
+                changed.removeProperty( "array" );
+                return null;
+            } );
+            db.executeAndCommit( graphDb ->
+            {
+                Node other = graphDb.createNode();
+                other.setProperty( "key", repeat( 'c' ) );
+                other.setProperty( "array", LongStream.range( 1_000, 2_000 ).toArray() );
+                return null;
+            } );
+
+            // then
+            assertEquals( stringValue( longString ), property( snapshot, node, "key" ) );
+            assertEquals( longArray( longArray ), property( snapshot, node, "array" ) );
+        }
+    }
+
+    @Test
+    public void shouldSeeDynamicLabelsAsOfSnapshot() throws Exception
+    {
+        // given enough labels to not fit in the node record
+        Label[] labels = new Label[20];
+        for ( int i = 0; i < labels.length; i++ )
+        {
+            labels[i] = label( "Label" + i );
+        }
+        long node = db.executeAndCommit( graphDb -> graphDb.createNode( labels ).getId() );
+
+        try ( Transaction snapshot = kernel.beginTransaction( Transaction.Type.snapshot, LoginContext.AUTH_DISABLED ) )
+        {
+            // when
+            db.executeAndCommit( graphDb ->
+            {
+                Node changed = graphDb.getNodeById( node );
+                for ( int i = 1; i < labels.length; i++ )
+                {
+                    changed.removeLabel( labels[i] );
+                }
+                return null;
+            } );
+
+            // then
+            try ( NodeCursor cursor = snapshot.cursors().allocateNodeCursor() )
+            {
+                snapshot.dataRead().singleNode( node, cursor );
+                assertTrue( cursor.next() );
+                assertEquals( labels.length, cursor.labels().numberOfLabels() );
+                assertTrue( cursor.hasLabel( snapshot.tokenRead().nodeLabel( labels[labels.length - 1].name() ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldSeeLabelScansAndCountsAsOfSnapshot() throws Exception
+    {
+        // given
+        long labeled = db.executeAndCommit( graphDb -> graphDb.createNode( label( "L" ) ).getId() );
+        long unlabeled = db.executeAndCommit( graphDb -> graphDb.createNode().getId() );
+
+        try ( Transaction snapshot = kernel.beginTransaction( Transaction.Type.snapshot, LoginContext.AUTH_DISABLED ) )
+        {
+            // when
+            db.executeAndCommit( graphDb ->
+            {
+                graphDb.getNodeById( labeled ).removeLabel( label( "L" ) );
+                graphDb.getNodeById( unlabeled ).addLabel( label( "L" ) );
+                graphDb.createNode( label( "L" ) );
+                graphDb.getNodeById( labeled ).createRelationshipTo( graphDb.getNodeById( unlabeled ), RelationshipType.withName( "R" ) );
+                return null;
+            } );
+
+            // then
+            int label = snapshot.tokenRead().nodeLabel( "L" );
+            assertEquals( singletonList( labeled ), labelScan( snapshot, label ) );
+            assertEquals( 1, snapshot.dataRead().countsForNode( label ) );
+            assertEquals( 2, snapshot.dataRead().countsForNode( Read.ANY_LABEL ) );
+            assertEquals( 0, snapshot.dataRead().countsForRelationship( Read.ANY_LABEL, Read.ANY_RELATIONSHIP_TYPE, Read.ANY_LABEL ) );
+        }
+
+        try ( Transaction tx = kernel.beginTransaction( Transaction.Type.explicit, LoginContext.AUTH_DISABLED ) )
+        {
+            int label = tx.tokenRead().nodeLabel( "L" );
+            assertEquals( 2, tx.dataRead().countsForNode( label ) );
+            assertEquals( 1, tx.dataRead().countsForRelationship( Read.ANY_LABEL, Read.ANY_RELATIONSHIP_TYPE, Read.ANY_LABEL ) );
+        }
+    }
+
+    @Test
+    public void shouldNotAllowIndexSeeksInSnapshotTransaction() throws Exception
+    {
+        // given
+        db.executeAndCommit( graphDb ->
+        {
+            graphDb.schema().indexFor( label( "L" ) ).on( "key" ).create();
+            return null;
+        } );
+        db.executeAndCommit( graphDb ->
+        {
+            graphDb.schema().awaitIndexesOnline( 1, TimeUnit.MINUTES );
+            graphDb.createNode( label( "L" ) ).setProperty( "key", "value" );
+            return null;
+        } );
+
+        try ( Transaction snapshot = kernel.beginTransaction( Transaction.Type.snapshot, LoginContext.AUTH_DISABLED );
+              NodeValueIndexCursor cursor = snapshot.cursors().allocateNodeValueIndexCursor() )
+        {
+            int label = snapshot.tokenRead().nodeLabel( "L" );
+            int key = snapshot.tokenRead().propertyKey( "key" );
+            IndexReference index = snapshot.schemaRead().index( label, key );
+
+            // when
+            snapshot.dataRead().nodeIndexSeek( index, cursor, IndexOrder.NONE, false, IndexQuery.exact( key, "value" ) );
+            fail( "Indexes are not versioned, so they should not be readable in a snapshot" );
+        }
+        catch ( UnsupportedOperationException e )
+        {
+            // then good
+        }
+    }
+
+    @Test
+    public void shouldNotAllowUpdatesInSnapshotTransaction() throws Exception
+    {
+        try ( Transaction snapshot = kernel.beginTransaction( Transaction.Type.snapshot, LoginContext.AUTH_DISABLED ) )
+        {
+            snapshot.dataWrite().nodeCreate();
+            fail( "Should not be able to update in a snapshot transaction" );
+        }
+        catch ( InvalidTransactionTypeKernelException e )
+        {
+            // then good
+        }
+    }
+
+    private long createNode( String value )
+    {
+        return db.executeAndCommit( graphDb ->
+        {
+            Node node = graphDb.createNode();
+            node.setProperty( "key", value );
+            return node.getId();
+        } );
+    }
+
+    private static String repeat( char c )
+    {
+        char[] chars = new char[1_000];
+        Arrays.fill( chars, c );
+        return new String( chars );
+    }
+
+    private static List<Long> labelScan( Transaction tx, int label )
+    {
+        List<Long> nodes = new ArrayList<>();
+        try ( NodeLabelIndexCursor cursor = tx.cursors().allocateNodeLabelIndexCursor() )
+        {
+            tx.dataRead().nodeLabelScan( label, cursor );
+            while ( cursor.next() )
+            {
+                nodes.add( cursor.nodeReference() );
+            }
+        }
+        return nodes;
+    }
+
+    private static Value property( Transaction tx, long nodeId )
+    {
+        return property( tx, nodeId, "key" );
+    }
+
+    private static Value property( Transaction tx, long nodeId, String keyName )
+    {
+        int key = tx.tokenRead().propertyKey( keyName );
+        try ( NodeCursor node = tx.cursors().allocateNodeCursor();
+              PropertyCursor properties = tx.cursors().allocatePropertyCursor() )
+        {
+            tx.dataRead().singleNode( nodeId, node );
+            assertTrue( node.next() );
+            node.properties( properties );
+            while ( properties.next() )
+            {
+                if ( properties.propertyKey() == key )
+                {
+                    return properties.propertyValue();
+                }
+            }
+            return NO_VALUE;
+        }
+    }
+}
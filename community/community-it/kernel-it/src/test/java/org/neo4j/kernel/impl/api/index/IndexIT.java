@@ -27,6 +27,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -54,6 +55,7 @@ import org.neo4j.kernel.api.schema.constraints.IndexBackedConstraintDescriptor;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.integrationtest.KernelIntegrationTest;
 import org.neo4j.kernel.impl.api.state.ConstraintIndexCreator;
+import org.neo4j.kernel.impl.index.schema.GenericNativeIndexProvider;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.AssertableLogProvider;
 import org.neo4j.storageengine.api.EntityType;
@@ -223,6 +225,35 @@ public class IndexIT extends KernelIntegrationTest
         commit();
     }
 
+    @Test
+    public void indexWithIncludedPropertiesShouldBeDistinctFromIndexWithoutThem() throws Exception
+    {
+        // given
+        String provider = GenericNativeIndexProvider.DESCRIPTOR.name();
+        LabelSchemaDescriptor including = SchemaDescriptorFactory.forLabelIncluding( labelId, new int[]{propertyKeyId}, new int[]{propertyKeyId2} );
+        SchemaWrite schemaWrite = schemaWriteInNewTransaction();
+        IndexReference plainIndex = schemaWrite.indexCreate( descriptor, provider, Optional.empty() );
+        IndexReference includingIndex = schemaWrite.indexCreate( including, provider, Optional.empty() );
+        commit();
+
+        // then
+        SchemaRead schemaRead = newTransaction().schemaRead();
+        assertEquals( asSet( plainIndex, includingIndex ), asSet( schemaRead.indexesGetForLabel( labelId ) ) );
+        assertEquals( plainIndex, schemaRead.index( descriptor ) );
+        assertEquals( includingIndex, schemaRead.index( including ) );
+        commit();
+
+        // when
+        schemaWriteInNewTransaction().indexDrop( includingIndex );
+        commit();
+
+        // then
+        schemaRead = newTransaction().schemaRead();
+        assertEquals( asSet( plainIndex ), asSet( schemaRead.indexesGetForLabel( labelId ) ) );
+        assertEquals( IndexReference.NO_INDEX, schemaRead.index( including ) );
+        commit();
+    }
+
     @Test
     public void shouldDisallowDroppingIndexThatDoesNotExist() throws Exception
     {
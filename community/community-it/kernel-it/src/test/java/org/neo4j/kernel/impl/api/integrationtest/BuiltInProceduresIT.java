@@ -308,18 +308,47 @@ public class BuiltInProceduresIT extends KernelIntegrationTest
                 proc( "db.index.fulltext.listAvailableAnalyzers", "() :: (analyzer :: STRING?, description :: STRING?)",
                       "List the available analyzers that the fulltext indexes can be configured with.", "READ" ),
                 proc( "db.index.fulltext.queryNodes",
-                      "(indexName :: STRING?, queryString :: STRING?, sortProperty =  :: STRING?, sortDirection = ASC :: STRING?) :: " +
+                      "(indexName :: STRING?, queryString :: STRING?, sortProperty =  :: STRING?, sortDirection = ASC :: STRING?, " +
+                      "skip = 0 :: INTEGER?, limit = -1 :: INTEGER?) :: " +
                       "(node :: NODE?, score :: FLOAT?)",
-                      "Query the given fulltext index. Returns the matching nodes and their lucene query score, ordered by score.", "READ" ),
+                      "Query the given fulltext index. Returns the matching nodes and their lucene query score, ordered by score. " +
+                      "The optional skip and limit page through the results, a negative limit returns all of them.", "READ" ),
                 proc( "db.index.fulltext.queryRelationships",
-                      "(indexName :: STRING?, queryString :: STRING?, sortProperty =  :: STRING?, sortDirection = ASC :: STRING?) :: " +
+                      "(indexName :: STRING?, queryString :: STRING?, sortProperty =  :: STRING?, sortDirection = ASC :: STRING?, " +
+                      "skip = 0 :: INTEGER?, limit = -1 :: INTEGER?) :: " +
                       "(relationship :: RELATIONSHIP?, score :: FLOAT?)",
                       "Query the given fulltext index. Returns the matching relationships and their lucene query score, ordered by " +
-                      "score.", "READ" ),
+                      "score. The optional skip and limit page through the results, a negative limit returns all of them.", "READ" ),
                 proc( "db.index.fulltext.countNodes", "(indexName :: STRING?, queryString :: STRING?) :: (count :: INTEGER?)",
                       "Query the given fulltext index. Returns the count of matching nodes.", "READ" ),
                 proc( "db.index.fulltext.countRelationships", "(indexName :: STRING?, queryString :: STRING?) :: (count :: INTEGER?)",
                       "Query the given fulltext index. Returns the count of matching relationships.", "READ" ),
+                proc( "db.index.fulltext.facetNodes", "(indexName :: STRING?, queryString :: STRING?, property :: STRING?) :: " +
+                                                      "(value :: ANY?, count :: INTEGER?)",
+                      "Query the given fulltext index, and count the matching nodes for every value of the given sort property. " +
+                      "Returns the values and their counts, the most frequent values first.", "READ" ),
+                proc( "db.index.fulltext.facetRelationships", "(indexName :: STRING?, queryString :: STRING?, property :: STRING?) :: " +
+                                                              "(value :: ANY?, count :: INTEGER?)",
+                      "Query the given fulltext index, and count the matching relationships for every value of the given sort property. " +
+                      "Returns the values and their counts, the most frequent values first.", "READ" ),
+                proc( "db.index.fulltext.rangeFacetNodes",
+                      "(indexName :: STRING?, queryString :: STRING?, property :: STRING?, boundaries :: LIST? OF NUMBER?) :: " +
+                      "(lowerBound :: FLOAT?, upperBound :: FLOAT?, count :: INTEGER?)",
+                      "Query the given fulltext index, and count the matching nodes in each of the ranges of the given numeric sort property " +
+                      "that the increasing boundaries split it into. Returns every range with its count.", "READ" ),
+                proc( "db.index.fulltext.rangeFacetRelationships",
+                      "(indexName :: STRING?, queryString :: STRING?, property :: STRING?, boundaries :: LIST? OF NUMBER?) :: " +
+                      "(lowerBound :: FLOAT?, upperBound :: FLOAT?, count :: INTEGER?)",
+                      "Query the given fulltext index, and count the matching relationships in each of the ranges of the given numeric sort " +
+                      "property that the increasing boundaries split it into. Returns every range with its count.", "READ" ),
+                proc( "db.index.fulltext.statsNodes", "(indexName :: STRING?, queryString :: STRING?, property :: STRING?) :: " +
+                                                      "(count :: INTEGER?, sum :: FLOAT?, min :: ANY?, max :: ANY?, average :: FLOAT?)",
+                      "Query the given fulltext index. Returns the count, sum, minimum, maximum and average of the given numeric sort property " +
+                      "over the matching nodes.", "READ" ),
+                proc( "db.index.fulltext.statsRelationships", "(indexName :: STRING?, queryString :: STRING?, property :: STRING?) :: " +
+                                                              "(count :: INTEGER?, sum :: FLOAT?, min :: ANY?, max :: ANY?, average :: FLOAT?)",
+                      "Query the given fulltext index. Returns the count, sum, minimum, maximum and average of the given numeric sort property " +
+                      "over the matching relationships.", "READ" ),
                 proc( "db.stats.retrieve", "(section :: STRING?, config = {} :: MAP?) :: (section :: STRING?, data :: MAP?)",
                       "Retrieve statistical data about the current database. Valid sections are 'GRAPH COUNTS', 'TOKENS', 'QUERIES', 'META'", "READ" ),
                 proc( "db.stats.retrieveAllAnonymized", "(graphToken :: STRING?, config = {} :: MAP?) :: (section :: STRING?, data :: MAP?)",
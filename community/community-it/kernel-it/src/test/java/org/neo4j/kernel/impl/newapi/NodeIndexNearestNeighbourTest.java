@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.KernelAPIWriteTestBase;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.Transaction;
+import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.values.storable.CoordinateReferenceSystem;
+import org.neo4j.values.storable.PointValue;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.neo4j.kernel.api.schema.SchemaDescriptorFactory.forLabel;
+import static org.neo4j.values.storable.CoordinateReferenceSystem.Cartesian;
+import static org.neo4j.values.storable.CoordinateReferenceSystem.WGS84;
+import static org.neo4j.values.storable.Values.pointValue;
+
+public class NodeIndexNearestNeighbourTest extends KernelAPIWriteTestBase<WriteTestSupport>
+{
+    private static final String INDEX_NAME = "places";
+    private static final int NODES = 500;
+    private static final int K = 20;
+
+    private final Random random = new Random( 42 );
+    private final Map<Long,PointValue> points = new HashMap<>();
+
+    @Override
+    public WriteTestSupport newTestSupport()
+    {
+        return new WriteTestSupport();
+    }
+
+    @Test
+    public void shouldFindCartesianNearestNeighboursInOrderOfDistance() throws Exception
+    {
+        shouldFindNearestNeighboursInOrderOfDistance( Cartesian, 1000 );
+    }
+
+    @Test
+    public void shouldFindGeographicNearestNeighboursInOrderOfDistance() throws Exception
+    {
+        shouldFindNearestNeighboursInOrderOfDistance( WGS84, 10 );
+    }
+
+    @Test
+    public void shouldMergePointsAddedInTransactionByDistance() throws Exception
+    {
+        // given
+        createPlaces( Cartesian, 1000 );
+        createIndex();
+        PointValue query = pointValue( Cartesian, 0, 0 );
+
+        // when
+        List<Long> nearest;
+        Map<Long,PointValue> allPoints = new HashMap<>( points );
+        try ( Transaction tx = beginTransaction() )
+        {
+            for ( PointValue added : new PointValue[]{pointValue( Cartesian, 1, 1 ), pointValue( Cartesian, 100, -100 ),
+                    pointValue( Cartesian, -400, 300 ), pointValue( Cartesian, 2000, 2000 )} )
+            {
+                allPoints.put( place( tx, added ), added );
+            }
+            nearest = nearestNeighbours( tx, query, allPoints.size() );
+        }
+
+        // then
+        List<Double> expectedDistances = new ArrayList<>();
+        allPoints.values().stream().mapToDouble( point -> distance( query, point ) ).sorted().forEach( expectedDistances::add );
+        List<Double> actualDistances = new ArrayList<>();
+        nearest.forEach( node -> actualDistances.add( distance( query, allPoints.get( node ) ) ) );
+        assertThat( actualDistances, equalTo( expectedDistances ) );
+    }
+
+    @Test
+    public void shouldFindPointsOutsideOfCurveRangeInOrderOfDistance() throws Exception
+    {
+        // given the default cartesian curve range is -1000000 to 1000000 in both dimensions
+        createPlaces( Cartesian, 1000 );
+        try ( Transaction tx = beginTransaction() )
+        {
+            for ( PointValue point : new PointValue[]{pointValue( Cartesian, 1_200_000, 0 ), pointValue( Cartesian, 999_999, 0 ),
+                    pointValue( Cartesian, 1_300_000, 250_000 ), pointValue( Cartesian, -3_000_000, 0 )} )
+            {
+                points.put( place( tx, point ), point );
+            }
+            tx.success();
+        }
+        createIndex();
+        PointValue query = pointValue( Cartesian, 1_300_000, 0 );
+
+        // when
+        List<Long> nearest;
+        try ( Transaction tx = beginTransaction() )
+        {
+            nearest = nearestNeighbours( tx, query, points.size() );
+        }
+
+        // then
+        List<Double> expectedDistances = new ArrayList<>();
+        points.values().stream().mapToDouble( point -> distance( query, point ) ).sorted().forEach( expectedDistances::add );
+        List<Double> actualDistances = new ArrayList<>();
+        nearest.forEach( node -> actualDistances.add( distance( query, points.get( node ) ) ) );
+        assertThat( actualDistances, equalTo( expectedDistances ) );
+    }
+
+    private void shouldFindNearestNeighboursInOrderOfDistance( CoordinateReferenceSystem crs, double extent ) throws Exception
+    {
+        // given
+        createPlaces( crs, extent );
+        createIndex();
+        PointValue query = pointValue( crs, (random.nextDouble() - 0.5) * extent, (random.nextDouble() - 0.5) * extent );
+
+        // when
+        List<Long> nearest;
+        try ( Transaction tx = beginTransaction() )
+        {
+            nearest = nearestNeighbours( tx, query, K );
+        }
+
+        // then
+        List<Double> expectedDistances = new ArrayList<>();
+        points.values().stream().mapToDouble( point -> distance( query, point ) ).sorted().limit( K ).forEach( expectedDistances::add );
+        List<Double> actualDistances = new ArrayList<>();
+        nearest.forEach( node -> actualDistances.add( distance( query, points.get( node ) ) ) );
+        assertThat( actualDistances, equalTo( expectedDistances ) );
+    }
+
+    private List<Long> nearestNeighbours( Transaction tx, PointValue point, int k ) throws Exception
+    {
+        List<Long> nearest = new ArrayList<>();
+        try ( NodeValueIndexCursor cursor = tx.cursors().allocateNodeValueIndexCursor() )
+        {
+            int location = tx.tokenRead().propertyKey( "location" );
+            tx.dataRead().nodeIndexSeek( tx.schemaRead().indexGetForName( INDEX_NAME ), cursor, IndexOrder.NONE, false,
+                    IndexQuery.nearestNeighbours( location, point ) );
+            while ( nearest.size() < k && cursor.next() )
+            {
+                nearest.add( cursor.nodeReference() );
+            }
+        }
+        return nearest;
+    }
+
+    private static double distance( PointValue from, PointValue to )
+    {
+        return from.getCoordinateReferenceSystem().getCalculator().distance( from, to );
+    }
+
+    private void createPlaces( CoordinateReferenceSystem crs, double extent ) throws Exception
+    {
+        try ( Transaction tx = beginTransaction() )
+        {
+            for ( int i = 0; i < NODES; i++ )
+            {
+                PointValue point = pointValue( crs, (random.nextDouble() - 0.5) * extent, (random.nextDouble() - 0.5) * extent );
+                points.put( place( tx, point ), point );
+            }
+            tx.success();
+        }
+    }
+
+    private long place( Transaction tx, PointValue location ) throws Exception
+    {
+        Write write = tx.dataWrite();
+        long node = write.nodeCreate();
+        write.nodeAddLabel( node, tx.tokenWrite().labelGetOrCreateForName( "Place" ) );
+        write.nodeSetProperty( node, tx.tokenWrite().propertyKeyGetOrCreateForName( "location" ), location );
+        return node;
+    }
+
+    private void createIndex() throws Exception
+    {
+        try ( Transaction tx = beginTransaction() )
+        {
+            int label = tx.tokenWrite().labelGetOrCreateForName( "Place" );
+            int location = tx.tokenWrite().propertyKeyGetOrCreateForName( "location" );
+            tx.schemaWrite().indexCreate( forLabel( label, location ), Optional.of( INDEX_NAME ) );
+            tx.success();
+        }
+
+        try ( org.neo4j.graphdb.Transaction tx = graphDb.beginTx() )
+        {
+            graphDb.schema().awaitIndexesOnline( 1, MINUTES );
+        }
+    }
+}
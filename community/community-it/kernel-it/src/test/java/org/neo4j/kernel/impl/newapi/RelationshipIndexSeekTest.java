@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.IndexReference;
+import org.neo4j.internal.kernel.api.KernelAPIWriteTestBase;
+import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor;
+import org.neo4j.internal.kernel.api.Transaction;
+import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.values.storable.Value;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.kernel.api.schema.SchemaDescriptorFactory.forRelType;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+public class RelationshipIndexSeekTest extends KernelAPIWriteTestBase<WriteTestSupport>
+{
+    private static final String INDEX_NAME = "transfers";
+
+    @Override
+    public WriteTestSupport newTestSupport()
+    {
+        return new WriteTestSupport();
+    }
+
+    @Test
+    public void shouldSeekCommittedRelationships() throws Exception
+    {
+        // given
+        long match;
+        try ( Transaction tx = beginTransaction() )
+        {
+            match = transfer( tx, 10 );
+            transfer( tx, 11 );
+            tx.success();
+        }
+        createIndex();
+
+        // when/then
+        try ( Transaction tx = beginTransaction() )
+        {
+            int txId = tx.tokenRead().propertyKey( "txId" );
+            assertThat( seek( tx, true, IndexQuery.exact( txId, intValue( 10 ) ) ), equalTo( singleton( match ) ) );
+            assertThat( seek( tx, false, IndexQuery.range( txId, intValue( 10 ), true, intValue( 12 ), false ) ).size(), equalTo( 2 ) );
+        }
+    }
+
+    @Test
+    public void shouldProvideValuesAndEndNodes() throws Exception
+    {
+        // given
+        long match;
+        try ( Transaction tx = beginTransaction() )
+        {
+            match = transfer( tx, 10 );
+            tx.success();
+        }
+        createIndex();
+
+        // when
+        try ( Transaction tx = beginTransaction();
+              RelationshipValueIndexCursor cursor = tx.cursors().allocateRelationshipValueIndexCursor() )
+        {
+            int txId = tx.tokenRead().propertyKey( "txId" );
+            tx.dataRead().relationshipIndexSeek( index( tx ), cursor, true, IndexQuery.exact( txId, intValue( 10 ) ) );
+
+            // then
+            assertTrue( cursor.next() );
+            assertEquals( match, cursor.relationshipReference() );
+            assertEquals( tx.tokenRead().relationshipType( "TRANSFER" ), cursor.type() );
+            assertTrue( cursor.hasValue() );
+            assertEquals( intValue( 10 ), cursor.propertyValue( 0 ) );
+            assertTrue( cursor.sourceNodeReference() != cursor.targetNodeReference() );
+        }
+    }
+
+    @Test
+    public void shouldSeeChangesInTransactionState() throws Exception
+    {
+        // given
+        long toDelete;
+        long toChange;
+        long unchanged;
+        try ( Transaction tx = beginTransaction() )
+        {
+            toDelete = transfer( tx, 10 );
+            toChange = transfer( tx, 10 );
+            unchanged = transfer( tx, 10 );
+            tx.success();
+        }
+        createIndex();
+
+        // when
+        try ( Transaction tx = beginTransaction() )
+        {
+            int txId = tx.tokenRead().propertyKey( "txId" );
+            long added = transfer( tx, 10 );
+            long changedToMatch = transfer( tx, 20 );
+            tx.dataWrite().relationshipSetProperty( changedToMatch, txId, intValue( 10 ) );
+            tx.dataWrite().relationshipDelete( toDelete );
+            tx.dataWrite().relationshipSetProperty( toChange, txId, stringValue( "10" ) );
+
+            // then
+            Set<Long> expected = new HashSet<>();
+            expected.add( unchanged );
+            expected.add( added );
+            expected.add( changedToMatch );
+            assertThat( seek( tx, true, IndexQuery.exact( txId, intValue( 10 ) ) ), equalTo( expected ) );
+        }
+    }
+
+    private Set<Long> seek( Transaction tx, boolean needsValues, IndexQuery... query ) throws Exception
+    {
+        Set<Long> found = new HashSet<>();
+        try ( RelationshipValueIndexCursor cursor = tx.cursors().allocateRelationshipValueIndexCursor() )
+        {
+            tx.dataRead().relationshipIndexSeek( index( tx ), cursor, needsValues, query );
+            while ( cursor.next() )
+            {
+                assertTrue( "Found duplicate " + cursor.relationshipReference(), found.add( cursor.relationshipReference() ) );
+            }
+        }
+        return found;
+    }
+
+    private static Set<Long> singleton( long id )
+    {
+        Set<Long> set = new HashSet<>();
+        set.add( id );
+        return set;
+    }
+
+    private IndexReference index( Transaction tx )
+    {
+        return tx.schemaRead().indexGetForName( INDEX_NAME );
+    }
+
+    private long transfer( Transaction tx, Object txIdValue ) throws Exception
+    {
+        Write write = tx.dataWrite();
+        long relationship = write.relationshipCreate( write.nodeCreate(), tx.tokenWrite().relationshipTypeGetOrCreateForName( "TRANSFER" ),
+                write.nodeCreate() );
+        Value value = txIdValue instanceof Integer ? intValue( (Integer) txIdValue ) : stringValue( String.valueOf( txIdValue ) );
+        write.relationshipSetProperty( relationship, tx.tokenWrite().propertyKeyGetOrCreateForName( "txId" ), value );
+        return relationship;
+    }
+
+    private void createIndex() throws Exception
+    {
+        try ( Transaction tx = beginTransaction() )
+        {
+            int type = tx.tokenWrite().relationshipTypeGetOrCreateForName( "TRANSFER" );
+            int txId = tx.tokenWrite().propertyKeyGetOrCreateForName( "txId" );
+            tx.schemaWrite().indexCreate( forRelType( type, txId ), Optional.of( INDEX_NAME ) );
+            tx.success();
+        }
+
+        try ( org.neo4j.graphdb.Transaction tx = graphDb.beginTx() )
+        {
+            graphDb.schema().awaitIndexesOnline( 1, MINUTES );
+        }
+    }
+}
@@ -61,6 +61,7 @@ import org.neo4j.storageengine.api.StorageCommand;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
 import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.test.OnDemandJobScheduler;
 import org.neo4j.test.rule.PageCacheRule;
 import org.neo4j.test.rule.RecordStorageEngineRule;
 import org.neo4j.test.rule.TestDirectory;
@@ -104,7 +105,8 @@ public class IndexWorkSyncTransactionApplicationStressIT
         DefaultFileSystemAbstraction fs = fileSystemRule.get();
         PageCache pageCache = pageCacheRule.getPageCache( fs );
         FusionIndexProvider indexProvider = NativeLuceneFusionIndexProviderFactory20.create( pageCache, directory.databaseDir(), fs,
-                IndexProvider.Monitor.EMPTY, Config.defaults(), OperationalMode.single, RecoveryCleanupWorkCollector.immediate() );
+                IndexProvider.Monitor.EMPTY, Config.defaults(), OperationalMode.single, RecoveryCleanupWorkCollector.immediate(),
+                new OnDemandJobScheduler() );
         RecordStorageEngine storageEngine = storageEngineRule
                 .getWith( fs, pageCache, directory.databaseLayout() )
                 .indexProvider( indexProvider )
@@ -201,7 +201,7 @@ abstract class LogicalPlan(idGen: IdGen)
   def indexUsage: Seq[IndexUsage] = {
     import org.neo4j.cypher.internal.v3_6.util.Foldable._
     this.fold(Seq.empty[IndexUsage]) {
-      case NodeIndexSeek(idName, label, properties, _, _, _) =>
+      case NodeIndexSeek(idName, label, properties, _, _, _, _) =>
         acc => acc :+ SchemaIndexSeekUsage(idName, label.nameId.id, label.name, properties.map(_.propertyKeyToken.name))
       case NodeUniqueIndexSeek(idName, label, properties, _, _, _) =>
         acc => acc :+ SchemaIndexSeekUsage(idName, label.nameId.id, label.name, properties.map(_.propertyKeyToken.name))
@@ -27,17 +27,28 @@ import org.neo4j.cypher.internal.v3_6.util.attribution.{IdGen, SameId}
 
 /**
   * For every node with the given label and property values, produces rows with that node.
+  *
+  * `includedProperties` are the properties an index stores next to its keys without indexing them. The index can
+  * provide their values, but they cannot be used to find nodes.
   */
 case class NodeIndexSeek(idName: String,
                          label: LabelToken,
                          properties: Seq[IndexedProperty],
                          valueExpr: QueryExpression[Expression],
                          argumentIds: Set[String],
-                         indexOrder: IndexOrder)
+                         indexOrder: IndexOrder,
+                         includedProperties: Seq[IndexedProperty] = Seq.empty)
                         (implicit idGen: IdGen) extends IndexSeekLeafPlan(idGen) {
 
   override val availableSymbols: Set[String] = argumentIds + idName
 
+  override val cachedNodeProperties: Seq[CachedNodeProperty] =
+    (properties ++ includedProperties).filter(_.shouldGetValue).map(_.asCachedNodeProperty(idName))
+
+  override def availableCachedNodeProperties: Map[Property, CachedNodeProperty] =
+    (properties ++ includedProperties).filter(_.getValueFromIndex == GetValue).flatMap(_.asAvailablePropertyMap(idName)).toMap
+
   override def copyWithoutGettingValues: NodeIndexSeek =
-    NodeIndexSeek(idName, label, properties.map{ p => IndexedProperty(p.propertyKeyToken, DoNotGetValue) }, valueExpr, argumentIds, indexOrder)(SameId(this.id))
+    NodeIndexSeek(idName, label, properties.map{ p => IndexedProperty(p.propertyKeyToken, DoNotGetValue) }, valueExpr, argumentIds, indexOrder,
+      includedProperties.map{ p => IndexedProperty(p.propertyKeyToken, DoNotGetValue) })(SameId(this.id))
 }
@@ -212,7 +212,7 @@ case object cartesianProductsOrValueJoins extends JoinDisconnectedQueryGraphComp
       // The reason is that when this happens, we are producing a cartesian product disguising as an Apply, and
       // this confuses the cost model
       val indexWithDependency = result.leaves.collect {
-        case NodeIndexSeek(_, _, _, valueExpr, _, _) =>
+        case NodeIndexSeek(_, _, _, valueExpr, _, _, _) =>
           valueExpr.expressions.flatMap(_.dependencies)
         case NodeUniqueIndexSeek(_, _, _, valueExpr, _, _) =>
           valueExpr.expressions.flatMap(_.dependencies)
@@ -33,7 +33,7 @@ import org.neo4j.cypher.internal.v3_6.logical.plans._
 import org.neo4j.cypher.internal.v3_6.ast._
 import org.neo4j.cypher.internal.v3_6.ast.semantics.SemanticTable
 import org.neo4j.cypher.internal.v3_6.expressions._
-import org.neo4j.cypher.internal.v3_6.util.LabelId
+import org.neo4j.cypher.internal.v3_6.util.{LabelId, PropertyKeyId}
 import org.neo4j.cypher.internal.v3_6.util.symbols.CypherType
 
 abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFromExpressions {
@@ -43,6 +43,7 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
   protected def constructPlan(idName: String,
                               label: LabelToken,
                               properties: Seq[IndexedProperty],
+                              includedProperties: Seq[IndexedProperty],
                               isUnique: Boolean,
                               valueExpr: QueryExpression[Expression],
                               hint: Option[UsingIndexHint],
@@ -112,7 +113,8 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
          indexDescriptor: IndexDescriptor <- findIndexesForLabel(labelId, context);
          (predicates, canGetValues, providedOrder) <- predicatesForIndex(indexDescriptor, indexCompatiblePredicates, interestingOrder))
       yield
-        createLogicalPlan(idName, hints, argumentIds, labelPredicate, labelName, labelId, predicates, indexDescriptor.isUnique, canGetValues, providedOrder, context, semanticTable)
+        createLogicalPlan(idName, hints, argumentIds, labelPredicate, labelName, labelId, predicates, indexDescriptor.isUnique,
+          indexDescriptor.includedProperties, canGetValues, providedOrder, context, semanticTable)
   }
 
   private def createLogicalPlan(idName: String,
@@ -123,6 +125,7 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
                                 labelId: LabelId,
                                 indexCompatiblePredicates: Seq[IndexCompatiblePredicate],
                                 isUnique: Boolean,
+                                includedPropertyIds: Seq[PropertyKeyId],
                                 canGetValues: Seq[GetValueFromIndexBehavior],
                                 providedOrder: ProvidedOrder,
                                 context: LogicalPlanningContext,
@@ -141,8 +144,12 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
     val properties = indexCompatiblePredicates.map(p => p.propertyKeyName).zip(canGetValues).map {
       case (propertyName, getValue) => IndexedProperty(PropertyKeyToken(propertyName, semanticTable.id(propertyName).head), getValue)
     }
+    // Included properties are not part of any predicate, so their names come from the tokens rather than the semantic table
+    val includedProperties = includedPropertyIds.map { id =>
+      IndexedProperty(PropertyKeyToken(context.planContext.getPropertyKeyName(id.id), id), CanGetValue)
+    }
     val entryConstructor: (Seq[Expression], Seq[Expression]) => LogicalPlan =
-      constructPlan(idName, LabelToken(labelName, labelId), properties, isUnique, queryExpression, hint, argumentIds, providedOrder, context)
+      constructPlan(idName, LabelToken(labelName, labelId), properties, includedProperties, isUnique, queryExpression, hint, argumentIds, providedOrder, context)
 
     val solvedPredicates = indexCompatiblePredicates.filter(_.solvesPredicate).map(p => p.propertyPredicate) :+ labelPredicate
     val predicatesForCardinalityEstimation = indexCompatiblePredicates.map(p => p.propertyPredicate) :+ labelPredicate
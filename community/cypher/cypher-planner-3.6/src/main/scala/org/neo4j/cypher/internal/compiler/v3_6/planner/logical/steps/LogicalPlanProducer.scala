@@ -214,7 +214,8 @@ case class LogicalPlanProducer(cardinalityModel: CardinalityModel, planningAttri
                         solvedHint: Option[UsingIndexHint] = None,
                         argumentIds: Set[String],
                         providedOrder: ProvidedOrder,
-                        context: LogicalPlanningContext): LogicalPlan = {
+                        context: LogicalPlanningContext,
+                        includedProperties: Seq[IndexedProperty] = Seq.empty): LogicalPlan = {
     val queryGraph = QueryGraph.empty
       .addPatternNodes(idName)
       .addPredicates(solvedPredicates: _*)
@@ -224,7 +225,7 @@ case class LogicalPlanProducer(cardinalityModel: CardinalityModel, planningAttri
     val solved = RegularPlannerQuery(queryGraph = queryGraph)
     val solvedForCardinalityEstimation = RegularPlannerQuery(queryGraph.addPredicates(solvedPredicatesForCardinalityEstimation: _*))
 
-    val plan = NodeIndexSeek(idName, label, properties, valueExpr, argumentIds, toIndexOrder(providedOrder))
+    val plan = NodeIndexSeek(idName, label, properties, valueExpr, argumentIds, toIndexOrder(providedOrder), includedProperties)
     val cardinality = cardinalityModel(solvedForCardinalityEstimation, context.input, context.semanticTable)
     solveds.set(plan.id, solved)
     cardinalities.set(plan.id, cardinality)
@@ -140,7 +140,8 @@ object alignGetValueFromIndexBehavior {
 
     case x: NodeIndexSeek =>
       val aligned = alignedProperties(x, usedExpressions, query, solveds)
-      NodeIndexSeek(x.idName, x.label, aligned, x.valueExpr, x.argumentIds, x.indexOrder)(attributes.copy(x.id))
+      val alignedIncluded = alignedProperties(x, x.includedProperties, usedExpressions, query, solveds)
+      NodeIndexSeek(x.idName, x.label, aligned, x.valueExpr, x.argumentIds, x.indexOrder, alignedIncluded)(attributes.copy(x.id))
 
     case x: NodeUniqueIndexSeek =>
       val aligned = alignedProperties(x, usedExpressions, query, solveds)
@@ -165,13 +166,20 @@ object alignGetValueFromIndexBehavior {
     })
 
   private def alignedProperties(plan: IndexLeafPlan,
+                                usedExpressions: Set[Expression],
+                                query: PlannerQuery,
+                                solveds: Solveds): Seq[IndexedProperty] =
+    alignedProperties(plan, plan.properties, usedExpressions, query, solveds)
+
+  private def alignedProperties(plan: IndexLeafPlan,
+                                properties: Seq[IndexedProperty],
                                 usedExpressions: Set[Expression],
                                 query: PlannerQuery,
                                 solveds: Solveds): Seq[IndexedProperty] = {
     val solvedPredicates = leafPlanSolvedPredicates(plan, solveds)
     val moreUsedExpressions = collectPropertiesAndVariables((query.queryGraph.selections.predicates -- solvedPredicates).map(_.expr))
     val allUsedExpressions = usedExpressions ++ moreUsedExpressions
-    plan.properties.map(withAlignedGetValueBehavior(plan.idName, allUsedExpressions, _))
+    properties.map(withAlignedGetValueBehavior(plan.idName, allUsedExpressions, _))
   }
 
   /**
@@ -33,6 +33,7 @@ object indexSeekLeafPlanner extends AbstractIndexSeekLeafPlanner {
   override protected def constructPlan(idName: String,
                                        label: LabelToken,
                                        properties: Seq[IndexedProperty],
+                                       includedProperties: Seq[IndexedProperty],
                                        isUnique: Boolean,
                                        valueExpr: QueryExpression[Expression],
                                        hint: Option[UsingIndexHint],
@@ -61,7 +62,8 @@ object indexSeekLeafPlanner extends AbstractIndexSeekLeafPlanner {
                                                     hint,
                                                     argumentIds,
                                                     providedOrder,
-                                                    context)
+                                                    context,
+                                                    includedProperties)
     }
 
   override def findIndexesForLabel(labelId: Int, context: LogicalPlanningContext): Iterator[IndexDescriptor] =
@@ -59,6 +59,7 @@ object mergeUniqueIndexSeekLeafPlanner extends AbstractIndexSeekLeafPlanner {
   override def constructPlan(idName: String,
                              label: LabelToken,
                              properties: Seq[IndexedProperty],
+                             includedProperties: Seq[IndexedProperty],
                              isUnique: Boolean,
                              valueExpr: QueryExpression[Expression],
                              hint: Option[UsingIndexHint],
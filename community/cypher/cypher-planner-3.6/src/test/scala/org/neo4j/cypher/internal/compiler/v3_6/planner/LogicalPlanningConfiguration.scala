@@ -54,7 +54,8 @@ trait LogicalPlanningConfiguration {
 case class IndexDef(label: String, propertyKeys: Seq[String])
 class IndexType(var isUnique: Boolean = false,
                 var withValues: Boolean = false,
-                var withOrdering: IndexOrderCapability = IndexOrderCapability.NONE)
+                var withOrdering: IndexOrderCapability = IndexOrderCapability.NONE,
+                var includedProperties: Seq[String] = Seq.empty)
 
 class DelegatingLogicalPlanningConfiguration(val parent: LogicalPlanningConfiguration) extends LogicalPlanningConfiguration {
   override def updateSemanticTableWithTokens(in: SemanticTable): SemanticTable = parent.updateSemanticTableWithTokens(in)
@@ -87,9 +88,10 @@ trait LogicalPlanningConfigurationAdHocSemanticTable {
       if (!table.resolvedPropertyKeyNames.contains(property))
         table.resolvedPropertyKeyNames.put(property, PropertyKeyId(table.resolvedPropertyKeyNames.size))
 
-    indexes.keys.foreach { case IndexDef(label, properties) =>
+    indexes.foreach { case (IndexDef(label, properties), indexType) =>
       addLabelIfUnknown(label)
       properties.foreach(addPropertyKeyIfUnknown)
+      indexType.includedProperties.foreach(addPropertyKeyIfUnknown)
     }
 
     labelCardinality.keys.foreach(addLabelIfUnknown)
@@ -130,7 +130,8 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
           indexDef.propertyKeys.map(semanticTable.resolvedPropertyKeyNames(_)),
           valueCapability = valueCapability,
           orderCapability = orderCapability,
-          isUnique = indexType.isUnique
+          isUnique = indexType.isUnique,
+          includedProperties = indexType.includedProperties.map(semanticTable.resolvedPropertyKeyNames(_))
         )
       }
 
@@ -154,6 +155,9 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
       override def getOptPropertyKeyId(propertyKeyName: String): Option[Int] =
         semanticTable.resolvedPropertyKeyNames.get(propertyKeyName).map(_.id)
 
+      override def getPropertyKeyName(id: Int): String =
+        semanticTable.resolvedPropertyKeyNames.collectFirst { case (name, PropertyKeyId(`id`)) => name }.get
+
       override def getOptLabelId(labelName: String): Option[Int] =
         semanticTable.resolvedLabelNames.get(labelName).map(_.id)
 
@@ -66,6 +66,10 @@ class StubbedLogicalPlanningConfiguration(val parent: LogicalPlanningConfigurati
       indexType.withOrdering = order
       this
     }
+    def including(properties: String*): IndexModifier = {
+      indexType.includedProperties = properties
+      this
+    }
   }
 
   def indexOn(label: String, properties: String*): IndexModifier = {
@@ -795,4 +795,40 @@ class IndexWithValuesPlanningIntegrationTest extends CypherFunSuite with Logical
       )
     )
   }
+
+  test("should plan index seek with GetValue for an included property that is returned") {
+    val plan = new given {
+      indexOn("Awesome", "prop").including("foo")
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop = 42 RETURN n.foo"
+
+    plan._2 should equal(
+      Projection(
+        NodeIndexSeek(
+          "n",
+          LabelToken("Awesome", LabelId(0)),
+          Seq(IndexedProperty(PropertyKeyToken(PropertyKeyName("prop") _, PropertyKeyId(0)), DoNotGetValue)),
+          SingleQueryExpression(SignedDecimalIntegerLiteral("42") _),
+          Set.empty,
+          IndexOrderNone,
+          Seq(IndexedProperty(PropertyKeyToken(PropertyKeyName("foo") _, PropertyKeyId(1)), GetValue))),
+        Map(cachedNodePropertyProj("n", "foo")))
+    )
+  }
+
+  test("should plan index seek with DoNotGetValue for an included property that is not used") {
+    val plan = new given {
+      indexOn("Awesome", "prop").including("foo")
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop = 42 RETURN n"
+
+    plan._2 should equal(
+      NodeIndexSeek(
+        "n",
+        LabelToken("Awesome", LabelId(0)),
+        Seq(IndexedProperty(PropertyKeyToken(PropertyKeyName("prop") _, PropertyKeyId(0)), DoNotGetValue)),
+        SingleQueryExpression(SignedDecimalIntegerLiteral("42") _),
+        Set.empty,
+        IndexOrderNone,
+        Seq(IndexedProperty(PropertyKeyToken(PropertyKeyName("foo") _, PropertyKeyId(1)), DoNotGetValue)))
+    )
+  }
 }
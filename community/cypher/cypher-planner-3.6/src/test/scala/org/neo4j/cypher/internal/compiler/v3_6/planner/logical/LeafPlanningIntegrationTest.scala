@@ -189,8 +189,8 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
 
     plan should beLike {
       case ValueHashJoin(
-        NodeIndexSeek(_, _, _, RangeQueryExpression(_), _, _),
-        NodeIndexSeek(_, _, _, RangeQueryExpression(_), _, _),
+        NodeIndexSeek(_, _, _, RangeQueryExpression(_), _, _, _),
+        NodeIndexSeek(_, _, _, RangeQueryExpression(_), _, _, _),
         Equals(_, _)
       ) => ()
     }
@@ -205,8 +205,8 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
 
     plan should beLike {
       case Selection(_, Apply(
-        NodeIndexSeek(_,_,_,RangeQueryExpression(_),_,_),
-        NodeIndexSeek(_,_,_,SingleQueryExpression(_),_,_))) => ()
+        NodeIndexSeek(_,_,_,RangeQueryExpression(_),_,_,_),
+        NodeIndexSeek(_,_,_,SingleQueryExpression(_),_,_,_))) => ()
     }
   }
 
@@ -408,7 +408,7 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
               "n",
               LabelToken("Awesome", _),
       Seq(IndexedProperty(PropertyKeyToken("prop", _), DoNotGetValue)),
-              SingleQueryExpression(SignedDecimalIntegerLiteral("42")), _, _) => ()
+              SingleQueryExpression(SignedDecimalIntegerLiteral("42")), _, _, _) => ()
     }
   }
 
@@ -715,7 +715,7 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
       indexOn("Person", "name")
       cost = nodeIndexSeekCost
     } getLogicalPlanFor "MATCH (a:Person)-->(b) WHERE a.name = b.prop AND b.prop = 42 RETURN b")._2 should beLike {
-      case Selection(_, Expand(NodeIndexSeek("a", _, _, _, _, _), _, _, _, _, _, _)) => ()
+      case Selection(_, Expand(NodeIndexSeek("a", _, _, _, _, _, _), _, _, _, _, _, _)) => ()
     }
   }
 
@@ -724,7 +724,7 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
       indexOn("Person", "name")
       cost = nodeIndexSeekCost
     } getLogicalPlanFor "MATCH (a:Person)-->(b) WHERE b.prop = a.name AND b.prop = 42 RETURN b")._2 should beLike {
-      case Selection(_, Expand(NodeIndexSeek("a", _, _, _, _, _), _, _, _, _, _, _)) => ()
+      case Selection(_, Expand(NodeIndexSeek("a", _, _, _, _, _, _), _, _, _, _, _, _)) => ()
     }
   }
 
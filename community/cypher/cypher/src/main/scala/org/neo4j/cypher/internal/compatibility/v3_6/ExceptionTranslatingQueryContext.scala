@@ -345,5 +345,8 @@ class ExceptionTranslatingQueryContext(val inner: QueryContext) extends QueryCon
 
   override def indexReference(label: Int, properties: Int*): IndexReference =
     translateException(inner.indexReference(label, properties:_*))
+
+  override def coveringIndexReference(label: Int, properties: Array[Int], includedProperties: Array[Int]): IndexReference =
+    translateException(inner.coveringIndexReference(label, properties, includedProperties))
 }
 
@@ -97,6 +97,8 @@ abstract class BaseQueryContext extends QueryContext {
 
   override def indexReference(label: Int, properties: Int*): IndexReference = notSupported()
 
+  override def coveringIndexReference(label: Int, properties: Array[Int], includedProperties: Array[Int]): IndexReference = notSupported()
+
 
   override def getNodesByLabel(id: Int): Iterator[NodeValue] = notSupported()
 
@@ -124,6 +124,9 @@ abstract class DelegatingQueryContext(val inner: QueryContext) extends QueryCont
 
   override def indexReference(label: Int, properties: Int*): IndexReference = singleDbHit(inner.indexReference(label, properties:_*))
 
+  override def coveringIndexReference(label: Int, properties: Array[Int], includedProperties: Array[Int]): IndexReference =
+    singleDbHit(inner.coveringIndexReference(label, properties, includedProperties))
+
   override def indexSeek[RESULT <: AnyRef](index: IndexReference,
                                            needsValues: Boolean,
                                            indexOrder: IndexOrder,
@@ -91,6 +91,7 @@ class TransactionBoundPlanContext(tc: TransactionalContextWrapper, logger: Inter
       case InternalIndexState.ONLINE =>
         val label = LabelId(reference.schema().getEntityTokenIds()(0))
         val properties = reference.properties().map(PropertyKeyId)
+        val includedProperties = reference.schema().getIncludedPropertyIds.map(PropertyKeyId)
         val isUnique = reference.isUnique
         val limitations = reference.limitations().map(kernelToCypher).toSet
         val orderCapability: OrderCapability = tps => {
@@ -116,7 +117,7 @@ class TransactionBoundPlanContext(tc: TransactionalContextWrapper, logger: Inter
           // Also, ignore eventually consistent indexes. Those are for explicit querying via procesures.
           None
         } else {
-          Some(IndexDescriptor(label, properties, limitations, orderCapability, valueCapability, isUnique))
+          Some(IndexDescriptor(label, properties, limitations, orderCapability, valueCapability, isUnique, includedProperties))
         }
       case _ => None
     }
@@ -304,6 +304,9 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
                               properties: Int*): IndexReference =
     transactionalContext.kernelTransaction.schemaRead().index(label, properties: _*)
 
+  override def coveringIndexReference(label: Int, properties: Array[Int], includedProperties: Array[Int]): IndexReference =
+    transactionalContext.kernelTransaction.schemaRead().index(SchemaDescriptorFactory.forLabelIncluding(label, properties, includedProperties))
+
   private def seek[RESULT <: AnyRef](index: IndexReference,
                                      needsValues: Boolean,
                                      indexOrder: IndexOrder,
@@ -317,7 +320,8 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
       else
         null
 
-    val needsValuesFromIndexSeek = actualValues == null && needsValues
+    // Values of included properties can only come from the index, even when the seek values are known
+    val needsValuesFromIndexSeek = needsValues && (actualValues == null || index.schema().getIncludedPropertyIds.nonEmpty)
     reads().nodeIndexSeek(index, nodeCursor, asKernelIndexOrder(indexOrder), needsValuesFromIndexSeek, queries: _*)
     if (needsValues && actualValues != null)
       new ValuedNodeIndexCursor(nodeCursor, actualValues)
@@ -1193,6 +1197,12 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
 
     override def propertyValue(offset: Int): Value = values(offset)
 
+    override def numberOfIncludedProperties(): Int = inner.numberOfIncludedProperties()
+
+    override def includedPropertyKey(offset: Int): Int = inner.includedPropertyKey(offset)
+
+    override def includedPropertyValue(offset: Int): Value = inner.includedPropertyValue(offset)
+
     override def node(cursor: NodeCursor): Unit = inner.node(cursor)
 
     override def nodeReference(): Long = inner.nodeReference()
@@ -23,6 +23,7 @@
 package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
 import org.neo4j.internal.kernel.api.NodeValueIndexCursor
+import org.neo4j.values.storable.Value
 
 import scala.collection.Iterator
 
@@ -33,6 +34,21 @@ abstract class IndexIteratorBase[T](val cursor: NodeValueIndexCursor) extends It
 
   protected def close(): Unit = cursor.close()
 
+  /**
+    * Value of the included property with the given key at the current position of the cursor, or null if the index
+    * cannot provide it and it has to be read from the store.
+    */
+  protected def includedPropertyValue(propertyKey: Int): Value = {
+    var i = 0
+    while (i < cursor.numberOfIncludedProperties()) {
+      if (cursor.includedPropertyKey(i) == propertyKey) {
+        return cursor.includedPropertyValue(i)
+      }
+      i += 1
+    }
+    null
+  }
+
   override def hasNext: Boolean = _next != null
 
   override def next(): T = {
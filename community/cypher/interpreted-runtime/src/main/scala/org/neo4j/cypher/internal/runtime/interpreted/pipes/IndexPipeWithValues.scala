@@ -38,6 +38,10 @@ trait IndexPipeWithValues extends Pipe {
   val indexPropertyIndices: Array[Int]
   // the cached node properties where we will get values
   val indexCachedNodeProperties: Array[CachedNodeProperty]
+  // the property keys of the included properties where we will get values
+  def includedPropertyKeys: Array[Int] = Array.emptyIntArray
+  // the cached node properties where we will set the values of included properties
+  def includedCachedNodeProperties: Array[CachedNodeProperty] = Array.empty
 
   class IndexIterator(queryContext: QueryContext,
                       baseContext: ExecutionContext,
@@ -52,6 +56,11 @@ trait IndexPipeWithValues extends Pipe {
           newContext.setCachedProperty(indexCachedNodeProperties(i), cursor.propertyValue(indexPropertyIndices(i)))
           i += 1
         }
+        i = 0
+        while (i < includedPropertyKeys.length) {
+          newContext.setCachedProperty(includedCachedNodeProperties(i), includedPropertyValue(includedPropertyKeys(i)))
+          i += 1
+        }
         newContext
       } else null
     }
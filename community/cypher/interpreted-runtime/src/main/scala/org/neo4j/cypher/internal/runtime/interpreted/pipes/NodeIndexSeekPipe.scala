@@ -35,7 +35,8 @@ case class NodeIndexSeekPipe(ident: String,
                              properties: Array[IndexedProperty],
                              valueExpr: QueryExpression[Expression],
                              indexMode: IndexSeekMode = IndexSeek,
-                             indexOrder: IndexOrder)
+                             indexOrder: IndexOrder,
+                             includedProperties: Array[IndexedProperty] = Array.empty)
                             (val id: Id = Id.INVALID_ID) extends Pipe with NodeIndexSeeker with IndexPipeWithValues {
 
   override val propertyIds: Array[Int] = properties.map(_.propertyKeyToken.nameId.id)
@@ -43,13 +44,20 @@ case class NodeIndexSeekPipe(ident: String,
   override val indexPropertyIndices: Array[Int] = properties.indices.filter(properties(_).shouldGetValue).toArray
   override val indexCachedNodeProperties: Array[CachedNodeProperty] =
     indexPropertyIndices.map(offset => properties(offset).asCachedNodeProperty(ident))
-  private val needsValues: Boolean = indexPropertyIndices.nonEmpty
+
+  private val includedPropertyIds: Array[Int] = includedProperties.map(_.propertyKeyToken.nameId.id)
+  private val includedPropertiesToGet: Array[IndexedProperty] = includedProperties.filter(_.shouldGetValue)
+  override val includedPropertyKeys: Array[Int] = includedPropertiesToGet.map(_.propertyKeyToken.nameId.id)
+  override val includedCachedNodeProperties: Array[CachedNodeProperty] = includedPropertiesToGet.map(_.asCachedNodeProperty(ident))
+  private val needsValues: Boolean = indexPropertyIndices.nonEmpty || includedPropertyKeys.nonEmpty
 
   private var reference: IndexReference = IndexReference.NO_INDEX
 
   private def reference(context: QueryContext): IndexReference = {
     if (reference == IndexReference.NO_INDEX) {
-      reference = context.indexReference(label.nameId.id, propertyIds:_*)
+      reference =
+        if (includedPropertyIds.isEmpty) context.indexReference(label.nameId.id, propertyIds:_*)
+        else context.coveringIndexReference(label.nameId.id, propertyIds, includedPropertyIds)
     }
     reference
   }
@@ -73,13 +81,14 @@ case class NodeIndexSeekPipe(ident: String,
         ident == that.ident &&
         label == that.label &&
         (properties sameElements that.properties) &&
+        (includedProperties sameElements that.includedProperties) &&
         valueExpr == that.valueExpr &&
         indexMode == that.indexMode
     case _ => false
   }
 
   override def hashCode(): Int = {
-    val state = Seq(ident, label, properties.toSeq, valueExpr, indexMode)
+    val state = Seq(ident, label, properties.toSeq, includedProperties.toSeq, valueExpr, indexMode)
     state.map(_.hashCode()).foldLeft(0)((a, b) => 31 * a + b)
   }
 }
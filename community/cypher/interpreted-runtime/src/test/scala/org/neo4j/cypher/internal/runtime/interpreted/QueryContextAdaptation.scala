@@ -104,6 +104,8 @@ trait QueryContextAdaptation {
 
   override def indexReference(label: Int, properties: Int*): IndexReference = ???
 
+  override def coveringIndexReference(label: Int, properties: Array[Int], includedProperties: Array[Int]): IndexReference = ???
+
   override def indexSeek[RESULT](index: IndexReference,
                                  needsValues: Boolean,
                                  indexOrder: IndexOrder,
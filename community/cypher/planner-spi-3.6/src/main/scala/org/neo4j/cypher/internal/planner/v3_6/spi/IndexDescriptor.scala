@@ -68,7 +68,8 @@ case class IndexDescriptor(label: LabelId,
                            limitations: Set[IndexLimitation] = Set.empty[IndexLimitation],
                            orderCapability: OrderCapability = IndexDescriptor.noOrderCapability,
                            valueCapability: ValueCapability = IndexDescriptor.noValueCapability,
-                           isUnique: Boolean = false) {
+                           isUnique: Boolean = false,
+                           includedProperties: Seq[PropertyKeyId] = Seq.empty) {
   val isComposite: Boolean = properties.length > 1
 
   def property: PropertyKeyId = if (isComposite) throw new IllegalArgumentException("Cannot get single property of multi-property index") else properties.head
@@ -77,18 +78,19 @@ case class IndexDescriptor(label: LabelId,
 
   // The lambda functions `orderCapability` and `valueCapability`cannot be compared for
   // equality in a sensible way. By excluding them from equals and hashCode, we make
-  // the assumption that they should be always the same for (label, properties) combination
+  // the assumption that they should be always the same for (label, properties, includedProperties) combination
   override def equals(other: Any): Boolean = other match {
     case that: IndexDescriptor =>
       (that canEqual this) &&
         label == that.label &&
         properties == that.properties &&
+        includedProperties == that.includedProperties &&
         limitations == that.limitations
     case _ => false
   }
 
   override def hashCode(): Int = {
-    val state = Seq(label, properties, limitations)
+    val state = Seq(label, properties, includedProperties, limitations)
     state.map(_.hashCode()).foldLeft(0)((a, b) => 31 * a + b)
   }
 }
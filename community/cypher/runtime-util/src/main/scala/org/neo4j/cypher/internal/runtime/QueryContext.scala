@@ -105,6 +105,12 @@ trait QueryContext extends TokenContext with DbAccess {
 
   def indexReference(label: Int, properties: Int*): IndexReference
 
+  /**
+    * Reference to the index on the given label and properties that also includes the given properties,
+    * or [[IndexReference.NO_INDEX]] if there is none.
+    */
+  def coveringIndexReference(label: Int, properties: Array[Int], includedProperties: Array[Int]): IndexReference
+
   def indexSeek[RESULT <: AnyRef](index: IndexReference,
                                   needsValues: Boolean,
                                   indexOrder: IndexOrder,
@@ -66,7 +66,7 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
       case NodeByIdSeek(_, _, _) =>
         PlanDescriptionImpl(id, "NodeByIdSeek", NoChildren, Seq(), variables)
 
-      case NodeIndexSeek(_, label, properties, valueExpr, _, _) =>
+      case NodeIndexSeek(_, label, properties, valueExpr, _, _, _) =>
         val (indexMode, indexDesc) = getDescriptions(label, properties.map(_.propertyKeyToken), valueExpr, unique = false, readOnly)
         PlanDescriptionImpl(id, indexMode, NoChildren, Seq(indexDesc), variables)
 
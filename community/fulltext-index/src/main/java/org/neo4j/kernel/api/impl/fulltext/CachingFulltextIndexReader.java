@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.apache.lucene.queryparser.classic.ParseException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import org.neo4j.collection.PrimitiveLongCollections;
+import org.neo4j.helpers.collection.Iterators;
+import org.neo4j.kernel.api.impl.index.collector.ValuesIterator;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Fulltext index reader that answers repeated queries from a {@link FulltextQueryCache}, as long as the searchers of the reader it wraps have not been
+ * refreshed since the results were cached. Only results with no more hits than the cache allows are cached; larger results are searched for every time.
+ */
+class CachingFulltextIndexReader extends FulltextIndexReader
+{
+    private static final String QUERY = "query";
+    private static final String COUNT = "count";
+
+    private final FulltextIndexReader delegate;
+    private final FulltextQueryCache cache;
+    private long[] generations;
+
+    CachingFulltextIndexReader( FulltextIndexReader delegate, FulltextQueryCache cache )
+    {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public ScoreEntityIterator query( String query, long expectedHits ) throws ParseException
+    {
+        FulltextQueryCache.QueryKey key = new FulltextQueryCache.QueryKey( QUERY, query, null, null );
+        return cachedHits( key, () -> delegate.query( query, Math.max( expectedHits, cache.maxHits() + 1 ) ) );
+    }
+
+    @Override
+    public ScoreEntityIterator queryWithSort( String query, String sortProp, String sortDirection, long expectedHits ) throws ParseException
+    {
+        FulltextQueryCache.QueryKey key = new FulltextQueryCache.QueryKey( QUERY, query, sortProp, sortDirection );
+        return cachedHits( key, () -> delegate.queryWithSort( query, sortProp, sortDirection, Math.max( expectedHits, cache.maxHits() + 1 ) ) );
+    }
+
+    @Override
+    public CountResult queryForCount( String query ) throws ParseException
+    {
+        long[] generations = searcherGenerations();
+        if ( generations == null )
+        {
+            return delegate.queryForCount( query );
+        }
+        FulltextQueryCache.QueryKey key = new FulltextQueryCache.QueryKey( COUNT, query, null, null );
+        FulltextQueryCache.CachedResult cached = cache.get( key, generations );
+        if ( cached != null )
+        {
+            return new CountResult( cached.count() );
+        }
+        CountResult count = delegate.queryForCount( query );
+        cache.put( key, FulltextQueryCache.CachedResult.ofCount( generations, count.getCount() ) );
+        return count;
+    }
+
+    private ScoreEntityIterator cachedHits( FulltextQueryCache.QueryKey key, HitsQuery hitsQuery ) throws ParseException
+    {
+        long[] generations = searcherGenerations();
+        if ( generations == null )
+        {
+            return hitsQuery.query();
+        }
+        FulltextQueryCache.CachedResult cached = cache.get( key, generations );
+        if ( cached != null )
+        {
+            return new ScoreEntityIterator( new ScoreEntryValuesIterator( cached.hits().iterator() ) );
+        }
+
+        // Read one hit more than can be cached, to tell if the result fits in the cache
+        ScoreEntityIterator iterator = hitsQuery.query();
+        List<ScoreEntityIterator.ScoreEntry> hits = new ArrayList<>();
+        while ( hits.size() <= cache.maxHits() && iterator.hasNext() )
+        {
+            hits.add( iterator.next() );
+        }
+        if ( !iterator.hasNext() && hits.size() <= cache.maxHits() )
+        {
+            cache.put( key, FulltextQueryCache.CachedResult.ofHits( generations, Collections.unmodifiableList( hits ) ) );
+            return new ScoreEntityIterator( new ScoreEntryValuesIterator( hits.iterator() ) );
+        }
+        return new ScoreEntityIterator( new ScoreEntryValuesIterator( Iterators.concat( hits.iterator(), iterator ) ) );
+    }
+
+    @Override
+    long[] searcherGenerations()
+    {
+        // The searchers of a reader are never refreshed, so their generations are the same for as long as the reader is open
+        if ( generations == null )
+        {
+            generations = delegate.searcherGenerations();
+        }
+        return generations;
+    }
+
+    @Override
+    FulltextIndexReader uncached()
+    {
+        return delegate;
+    }
+
+    @Override
+    public void aggregate( String query, FulltextAggregation aggregation, LongPredicate excludedEntities ) throws ParseException
+    {
+        delegate.aggregate( query, aggregation, excludedEntities );
+    }
+
+    @Override
+    public long countIndexedNodes( long nodeId, int[] propertyKeyIds, Value... propertyValues )
+    {
+        return delegate.countIndexedNodes( nodeId, propertyKeyIds, propertyValues );
+    }
+
+    @Override
+    public void close()
+    {
+        delegate.close();
+    }
+
+    @FunctionalInterface
+    private interface HitsQuery
+    {
+        ScoreEntityIterator query() throws ParseException;
+    }
+
+    /**
+     * Iterates over hits that have already been searched for, in the same order.
+     */
+    private static class ScoreEntryValuesIterator extends PrimitiveLongCollections.PrimitiveLongBaseIterator implements ValuesIterator
+    {
+        private final Iterator<ScoreEntityIterator.ScoreEntry> hits;
+        private long current;
+        private float currentScore;
+
+        ScoreEntryValuesIterator( Iterator<ScoreEntityIterator.ScoreEntry> hits )
+        {
+            this.hits = hits;
+        }
+
+        @Override
+        protected boolean fetchNext()
+        {
+            if ( !hits.hasNext() )
+            {
+                return false;
+            }
+            ScoreEntityIterator.ScoreEntry hit = hits.next();
+            current = hit.entityId();
+            currentScore = hit.score();
+            return next( current );
+        }
+
+        @Override
+        public int remaining()
+        {
+            return 0;
+        }
+
+        @Override
+        public float currentScore()
+        {
+            return currentScore;
+        }
+
+        @Override
+        public long current()
+        {
+            return current;
+        }
+
+        @Override
+        public long getValue( String field )
+        {
+            throw new IllegalStateException( "No doc values field " + field + " is kept for hits that have already been searched for." );
+        }
+    }
+}
@@ -42,14 +42,37 @@ public interface FulltextAdapter
     SchemaDescriptor schemaSortFor( EntityType type, String[] entityTokens, Properties indexConfiguration, String[] properties, String[] sortProperties,
                                     Map<String,String> sortTypes );
 
-    ScoreEntityIterator query( KernelTransaction tx, String indexName, String queryString ) throws IOException, IndexNotFoundKernelException, ParseException;
+    default ScoreEntityIterator query( KernelTransaction tx, String indexName, String queryString )
+            throws IOException, IndexNotFoundKernelException, ParseException
+    {
+        return query( tx, indexName, queryString, SearchAfterValuesIterator.DEFAULT_FIRST_PAGE_SIZE );
+    }
 
-    ScoreEntityIterator queryWithSort( KernelTransaction ktx, String indexName, String queryString, String sortProperty, String sortDirection )
-            throws IndexNotFoundKernelException, ParseException;
+    /**
+     * Queries the given fulltext index, expecting to only read the given number of the best hits, see {@link FulltextIndexReader#query(String, long)}.
+     */
+    ScoreEntityIterator query( KernelTransaction tx, String indexName, String queryString, long expectedHits )
+            throws IOException, IndexNotFoundKernelException, ParseException;
+
+    default ScoreEntityIterator queryWithSort( KernelTransaction ktx, String indexName, String queryString, String sortProperty, String sortDirection )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        return queryWithSort( ktx, indexName, queryString, sortProperty, sortDirection, SearchAfterValuesIterator.DEFAULT_FIRST_PAGE_SIZE );
+    }
+
+    ScoreEntityIterator queryWithSort( KernelTransaction ktx, String indexName, String queryString, String sortProperty, String sortDirection,
+            long expectedHits ) throws IndexNotFoundKernelException, ParseException;
 
     CountResult queryForCount( KernelTransaction ktx, String indexName, String queryString )
             throws IndexNotFoundKernelException, ParseException;
 
+    /**
+     * Aggregates the values of a sort property over the hits of a query of the given fulltext index, see {@link FulltextIndexReader#aggregate(String,
+     * FulltextAggregation)}.
+     */
+    void aggregate( KernelTransaction ktx, String indexName, String queryString, FulltextAggregation aggregation )
+            throws IndexNotFoundKernelException, ParseException;
+
     void awaitRefresh();
 
     Stream<AnalyzerProvider> listAvailableAnalyzers();
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Aggregates the values of a property over the hits of a fulltext query. The values are read from the doc values the index keeps for its sort
+ * properties, so nothing is read from the store. Every partition of the index, and the transaction state, aggregates into its own
+ * {@link #newAggregation() copy}, and the copies are then {@link #merge(FulltextAggregation) merged}.
+ */
+public abstract class FulltextAggregation
+{
+    private final String property;
+
+    private FulltextAggregation( String property )
+    {
+        this.property = property;
+    }
+
+    /**
+     * @return the sort property whose values are aggregated
+     */
+    public String property()
+    {
+        return property;
+    }
+
+    /**
+     * @return a new, empty, aggregation of the same kind and property as this one
+     */
+    abstract FulltextAggregation newAggregation();
+
+    /**
+     * Include a value that a number of hits have in this aggregation. A hit may have more than one value.
+     */
+    abstract void add( Value value, long hits );
+
+    /**
+     * Include everything aggregated by the given aggregation, which is of the same kind as this one, in this aggregation.
+     */
+    abstract void merge( FulltextAggregation other );
+
+    public static TermFacets termFacets( String property )
+    {
+        return new TermFacets( property );
+    }
+
+    public static RangeFacets rangeFacets( String property, double[] boundaries )
+    {
+        for ( int i = 1; i < boundaries.length; i++ )
+        {
+            if ( !(boundaries[i - 1] < boundaries[i]) )
+            {
+                throw new IllegalArgumentException( "Range facet boundaries must be in increasing order, but got " + Arrays.toString( boundaries ) + "." );
+            }
+        }
+        return new RangeFacets( property, boundaries );
+    }
+
+    public static Stats stats( String property )
+    {
+        return new Stats( property );
+    }
+
+    /**
+     * Counts the hits of every distinct value.
+     */
+    public static final class TermFacets extends FulltextAggregation
+    {
+        private final MutableObjectLongMap<Value> counts = new ObjectLongHashMap<>();
+
+        private TermFacets( String property )
+        {
+            super( property );
+        }
+
+        @Override
+        TermFacets newAggregation()
+        {
+            return new TermFacets( property() );
+        }
+
+        @Override
+        void add( Value value, long hits )
+        {
+            counts.addToValue( value, hits );
+        }
+
+        @Override
+        void merge( FulltextAggregation other )
+        {
+            ((TermFacets) other).counts.forEachKeyValue( counts::addToValue );
+        }
+
+        public long count( Value value )
+        {
+            return counts.get( value );
+        }
+
+        /**
+         * @return the distinct values, the ones with the most hits first
+         */
+        public List<Value> values()
+        {
+            List<Value> values = new ArrayList<>( counts.keySet() );
+            values.sort( Comparator.<Value>comparingLong( counts::get ).reversed().thenComparing( Values.COMPARATOR ) );
+            return values;
+        }
+    }
+
+    /**
+     * Counts the numeric hits in each of the ranges given by a list of increasing boundaries. Range {@code i} holds the values
+     * from boundary {@code i - 1}, inclusive, up to boundary {@code i}, exclusive. The first and last ranges are open ended.
+     */
+    public static final class RangeFacets extends FulltextAggregation
+    {
+        private final double[] boundaries;
+        private final long[] counts;
+
+        private RangeFacets( String property, double[] boundaries )
+        {
+            super( property );
+            this.boundaries = boundaries;
+            this.counts = new long[boundaries.length + 1];
+        }
+
+        @Override
+        RangeFacets newAggregation()
+        {
+            return new RangeFacets( property(), boundaries );
+        }
+
+        @Override
+        void add( Value value, long hits )
+        {
+            if ( value instanceof NumberValue )
+            {
+                int position = Arrays.binarySearch( boundaries, ((NumberValue) value).doubleValue() );
+                counts[position >= 0 ? position + 1 : -position - 1] += hits;
+            }
+        }
+
+        @Override
+        void merge( FulltextAggregation other )
+        {
+            long[] otherCounts = ((RangeFacets) other).counts;
+            for ( int i = 0; i < counts.length; i++ )
+            {
+                counts[i] += otherCounts[i];
+            }
+        }
+
+        public int ranges()
+        {
+            return counts.length;
+        }
+
+        /**
+         * @return the inclusive lower bound of the given range, or {@code null} for the first range
+         */
+        public Double from( int range )
+        {
+            return range == 0 ? null : boundaries[range - 1];
+        }
+
+        /**
+         * @return the exclusive upper bound of the given range, or {@code null} for the last range
+         */
+        public Double to( int range )
+        {
+            return range == boundaries.length ? null : boundaries[range];
+        }
+
+        public long count( int range )
+        {
+            return counts[range];
+        }
+    }
+
+    /**
+     * Count, sum, minimum and maximum of the numeric hits.
+     */
+    public static final class Stats extends FulltextAggregation
+    {
+        private long count;
+        private double sum;
+        private NumberValue min;
+        private NumberValue max;
+
+        private Stats( String property )
+        {
+            super( property );
+        }
+
+        @Override
+        Stats newAggregation()
+        {
+            return new Stats( property() );
+        }
+
+        @Override
+        void add( Value value, long hits )
+        {
+            if ( value instanceof NumberValue )
+            {
+                NumberValue number = (NumberValue) value;
+                count += hits;
+                sum += number.doubleValue() * hits;
+                includeInRange( number, number );
+            }
+        }
+
+        @Override
+        void merge( FulltextAggregation other )
+        {
+            Stats that = (Stats) other;
+            if ( that.count > 0 )
+            {
+                count += that.count;
+                sum += that.sum;
+                includeInRange( that.min, that.max );
+            }
+        }
+
+        private void includeInRange( NumberValue low, NumberValue high )
+        {
+            min = min == null || Values.COMPARATOR.compare( low, min ) < 0 ? low : min;
+            max = max == null || Values.COMPARATOR.compare( high, max ) > 0 ? high : max;
+        }
+
+        public long count()
+        {
+            return count;
+        }
+
+        public double sum()
+        {
+            return sum;
+        }
+
+        public Object min()
+        {
+            return min == null ? null : min.asObject();
+        }
+
+        public Object max()
+        {
+            return max == null ? null : max.asObject();
+        }
+
+        public Double average()
+        {
+            return count == 0 ? null : sum / count;
+        }
+    }
+}
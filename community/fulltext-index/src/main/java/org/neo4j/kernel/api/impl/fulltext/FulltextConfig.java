@@ -58,4 +58,19 @@ public class FulltextConfig implements LoadableConfig
                     .constraint( min( 1 ) )
                     .constraint( max( 50_000_000 ) )
                     .build();
+
+    @Description( "The maximum number of query results that every fulltext index keeps in its query cache, evicting the least recently used ones " +
+                  "first. Cached results are only used until the searchers of the index are refreshed to see new changes, and are never used by " +
+                  "transactions that have changed the indexed entities themselves. A value of 0 disables the query cache." )
+    public static final Setting<Integer> query_cache_max_entries =
+            buildSetting( "dbms.index.fulltext.query_cache.max_entries", INTEGER, "0" )
+                    .constraint( min( 0 ) )
+                    .build();
+
+    @Description( "The maximum number of hits of a query result that is kept in the fulltext query cache. Results with more hits are searched for " +
+                  "every time." )
+    public static final Setting<Integer> query_cache_max_hits =
+            buildSetting( "dbms.index.fulltext.query_cache.max_hits", INTEGER, "1000" )
+                    .constraint( min( 1 ) )
+                    .build();
 }
@@ -46,14 +46,25 @@ public class FulltextIndexAccessor extends AbstractLuceneIndexAccessor<FulltextI
     private final IndexUpdateSink indexUpdateSink;
     private final FulltextIndexDescriptor descriptor;
     private final Runnable onClose;
+    private final FulltextQueryCache queryCache;
 
     public FulltextIndexAccessor( IndexUpdateSink indexUpdateSink, DatabaseFulltextIndex luceneIndex, FulltextIndexDescriptor descriptor,
             Runnable onClose )
+    {
+        this( indexUpdateSink, luceneIndex, descriptor, onClose, null );
+    }
+
+    /**
+     * @param queryCache the cache to answer repeated queries from, or {@code null} to search the index for every query.
+     */
+    FulltextIndexAccessor( IndexUpdateSink indexUpdateSink, DatabaseFulltextIndex luceneIndex, FulltextIndexDescriptor descriptor, Runnable onClose,
+            FulltextQueryCache queryCache )
     {
         super( luceneIndex, descriptor );
         this.indexUpdateSink = indexUpdateSink;
         this.descriptor = descriptor;
         this.onClose = onClose;
+        this.queryCache = queryCache;
     }
 
     public FulltextIndexDescriptor getDescriptor()
@@ -72,6 +83,13 @@ public class FulltextIndexAccessor extends AbstractLuceneIndexAccessor<FulltextI
         return indexUpdater;
     }
 
+    @Override
+    public FulltextIndexReader newReader()
+    {
+        FulltextIndexReader reader = super.newReader();
+        return queryCache == null ? reader : new CachingFulltextIndexReader( reader, queryCache );
+    }
+
     @Override
     public void close()
     {
@@ -85,6 +103,10 @@ public class FulltextIndexAccessor extends AbstractLuceneIndexAccessor<FulltextI
         }
         finally
         {
+            if ( queryCache != null )
+            {
+                queryCache.clear();
+            }
             onClose.run();
         }
     }
@@ -23,15 +23,18 @@
 package org.neo4j.kernel.api.impl.fulltext;
 
 import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.neo4j.function.ThrowingAction;
 import org.neo4j.kernel.api.impl.index.DatabaseIndex;
+import org.neo4j.kernel.api.impl.index.partition.AbstractIndexPartition;
 import org.neo4j.kernel.api.impl.schema.populator.LuceneIndexPopulator;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.api.index.IndexUpdater;
@@ -70,6 +73,13 @@ public class FulltextIndexPopulator extends LuceneIndexPopulator<DatabaseIndex<F
     @Override
     public void add( Collection<? extends IndexEntryUpdate<?>> updates )
     {
+        List<AbstractIndexPartition> partitions = populationPartitionsFor( updates.size() );
+        if ( !partitions.isEmpty() )
+        {
+            addToPartitions( partitions, updates );
+            return;
+        }
+
         try
         {
             for ( IndexEntryUpdate<?> update : updates )
@@ -84,6 +94,16 @@ public class FulltextIndexPopulator extends LuceneIndexPopulator<DatabaseIndex<F
         }
     }
 
+    @Override
+    protected void addToPartition( IndexWriter partitionWriter, List<IndexEntryUpdate<?>> updates ) throws IOException
+    {
+        for ( IndexEntryUpdate<?> update : updates )
+        {
+            partitionWriter.updateDocument( LuceneFulltextDocumentStructure.newTermForChangeOrRemove( update.getEntityId() ),
+                                            updateAsDocument( update.getEntityId(), update ) );
+        }
+    }
+
     @Override
     public void verifyDeferredConstraints( NodePropertyAccessor propertyAccessor )
     {
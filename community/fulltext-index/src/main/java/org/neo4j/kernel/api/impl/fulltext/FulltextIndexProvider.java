@@ -31,9 +31,11 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.graphdb.index.fulltext.AnalyzerProvider;
 import org.neo4j.internal.kernel.api.IndexCapability;
 import org.neo4j.internal.kernel.api.IndexReference;
@@ -69,7 +71,10 @@ import org.neo4j.kernel.impl.newapi.AllStoreHolder;
 import org.neo4j.kernel.impl.storemigration.StoreMigrationParticipant;
 import org.neo4j.kernel.impl.storemigration.participant.SchemaIndexMigrator;
 import org.neo4j.kernel.impl.util.FulltextSortType;
+import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.logging.Log;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
@@ -95,10 +100,16 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
     private final IndexUpdateSink indexUpdateSink;
     private final ConcurrentMap<StoreIndexDescriptor,FulltextIndexAccessor> openOnlineAccessors;
     private final IndexStorageFactory indexStorageFactory;
+    private final JobScheduler scheduler;
+    private final long refreshMaxStalenessMillis;
+    private final int queryCacheMaxEntries;
+    private final int queryCacheMaxHits;
+    private final FulltextQueryCacheMonitor queryCacheMonitor;
+    private JobHandle refreshJobHandle;
 
     FulltextIndexProvider( IndexProviderDescriptor descriptor, IndexDirectoryStructure.Factory directoryStructureFactory,
             FileSystemAbstraction fileSystem, Config config, TokenHolders tokenHolders, DirectoryFactory directoryFactory, OperationalMode operationalMode,
-            JobScheduler scheduler, AuxiliaryTransactionStateManager auxiliaryTransactionStateManager, Log log )
+            JobScheduler scheduler, AuxiliaryTransactionStateManager auxiliaryTransactionStateManager, Monitors monitors, Log log )
     {
         super( descriptor, directoryStructureFactory );
         this.fileSystem = fileSystem;
@@ -113,6 +124,11 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
         indexUpdateSink = new IndexUpdateSink( scheduler, config.get( FulltextConfig.eventually_consistent_index_update_queue_max_length ) );
         openOnlineAccessors = new ConcurrentHashMap<>();
         indexStorageFactory = buildIndexStorageFactory( fileSystem, directoryFactory );
+        this.scheduler = scheduler;
+        refreshMaxStalenessMillis = config.get( GraphDatabaseSettings.index_refresh_max_staleness ).toMillis();
+        queryCacheMaxEntries = config.get( FulltextConfig.query_cache_max_entries );
+        queryCacheMaxHits = config.get( FulltextConfig.query_cache_max_hits );
+        queryCacheMonitor = monitors.newMonitor( FulltextQueryCacheMonitor.class );
     }
 
     private IndexStorageFactory buildIndexStorageFactory( FileSystemAbstraction fileSystem, DirectoryFactory directoryFactory )
@@ -143,15 +159,44 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
     {
         super.start();
         auxiliaryTransactionStateManager.registerProvider( this );
+        refreshJobHandle = scheduler.scheduleRecurring( Group.INDEX_REFRESH, this::refreshStaleIndexes, refreshMaxStalenessMillis, TimeUnit.MILLISECONDS );
     }
 
     @Override
     public void stop() throws Throwable
     {
+        if ( refreshJobHandle != null )
+        {
+            refreshJobHandle.cancel( false );
+            refreshJobHandle = null;
+        }
         auxiliaryTransactionStateManager.unregisterProvider( this );
         indexStorageFactory.close();
     }
 
+    /**
+     * Make changes applied to the online indexes visible to their searchers. Readers of eventually consistent indexes leave this to
+     * the background refresh, other readers refresh the index themselves if this job hasn't done so yet.
+     */
+    private void refreshStaleIndexes()
+    {
+        for ( FulltextIndexAccessor accessor : openOnlineAccessors.values() )
+        {
+            try
+            {
+                accessor.refreshIfStale();
+            }
+            catch ( IllegalStateException e )
+            {
+                // The index was closed while we were refreshing it, so there is nothing left to refresh.
+            }
+            catch ( RuntimeException e )
+            {
+                log.warn( "Failed to refresh the searchers of fulltext index " + accessor.getDescriptor().getName() + " in the background.", e );
+            }
+        }
+    }
+
     @Override
     public IndexCapability getCapability( StoreIndexDescriptor descriptor )
     {
@@ -220,6 +265,12 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
         {
             return InternalIndexState.FAILED;
         }
+        if ( !FulltextIndexSettings.hasCurrentSortValues( descriptor, indexStorage.getIndexFolder(), fileSystem ) )
+        {
+            // Reported as populating, so that the index gets populated again with the current encoding of its sort values.
+            log.info( "Fulltext index " + descriptor.getId() + " stores its sort values in an older format and will be populated again." );
+            return InternalIndexState.POPULATING;
+        }
         try
         {
             return indexIsOnline( indexStorage, descriptor ) ? InternalIndexState.ONLINE : InternalIndexState.POPULATING;
@@ -273,7 +324,8 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
         fulltextIndex.open();
 
         Runnable onClose = () -> openOnlineAccessors.remove( descriptor );
-        FulltextIndexAccessor accessor = new FulltextIndexAccessor( indexUpdateSink, fulltextIndex, fulltextIndexDescriptor, onClose );
+        FulltextQueryCache queryCache = queryCacheMaxEntries == 0 ? null : new FulltextQueryCache( queryCacheMaxEntries, queryCacheMaxHits, queryCacheMonitor );
+        FulltextIndexAccessor accessor = new FulltextIndexAccessor( indexUpdateSink, fulltextIndex, fulltextIndexDescriptor, onClose, queryCache );
         openOnlineAccessors.put( descriptor, accessor );
         log.debug( "Created online accessor for fulltext schema index %s: %s", descriptor, accessor );
         return accessor;
@@ -386,49 +438,38 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
     }
 
     @Override
-    public ScoreEntityIterator query( KernelTransaction ktx, String indexName, String queryString ) throws IndexNotFoundKernelException, ParseException
+    public ScoreEntityIterator query( KernelTransaction ktx, String indexName, String queryString, long expectedHits )
+            throws IndexNotFoundKernelException, ParseException
     {
-        KernelTransactionImplementation kti = (KernelTransactionImplementation) ktx;
-        AllStoreHolder allStoreHolder = (AllStoreHolder) kti.dataRead();
-        IndexReference indexReference = kti.schemaRead().indexGetForName( indexName );
-        FulltextIndexReader fulltextIndexReader;
-        if ( kti.hasTxStateWithChanges() && !isEventuallyConsistent( indexReference ) )
-        {
-            FulltextAuxiliaryTransactionState auxiliaryTxState = (FulltextAuxiliaryTransactionState) allStoreHolder.auxiliaryTxState( TX_STATE_PROVIDER_KEY );
-            fulltextIndexReader = auxiliaryTxState.indexReader( indexReference, kti );
-        }
-        else
-        {
-            IndexReader indexReader = allStoreHolder.indexReader( indexReference, false );
-            fulltextIndexReader = (FulltextIndexReader) indexReader;
-        }
-        return fulltextIndexReader.query( queryString );
+        FulltextIndexReader fulltextIndexReader = fulltextIndexReader( ktx, indexName );
+        return fulltextIndexReader.query( queryString, expectedHits );
     }
 
     @Override
-    public ScoreEntityIterator queryWithSort( KernelTransaction ktx, String indexName, String queryString, String sortProperty, String sortDirection )
-            throws IndexNotFoundKernelException, ParseException
+    public ScoreEntityIterator queryWithSort( KernelTransaction ktx, String indexName, String queryString, String sortProperty, String sortDirection,
+            long expectedHits ) throws IndexNotFoundKernelException, ParseException
     {
-        KernelTransactionImplementation kti = (KernelTransactionImplementation) ktx;
-        AllStoreHolder allStoreHolder = (AllStoreHolder) kti.dataRead();
-        IndexReference indexReference = kti.schemaRead().indexGetForName( indexName );
-        FulltextIndexReader fulltextIndexReader;
-        if ( kti.hasTxStateWithChanges() && !isEventuallyConsistent( indexReference ) )
-        {
-            FulltextAuxiliaryTransactionState auxiliaryTxState = (FulltextAuxiliaryTransactionState) allStoreHolder.auxiliaryTxState( TX_STATE_PROVIDER_KEY );
-            fulltextIndexReader = auxiliaryTxState.indexReader( indexReference, kti );
-        }
-        else
-        {
-            IndexReader indexReader = allStoreHolder.indexReader( indexReference, false );
-            fulltextIndexReader = (FulltextIndexReader) indexReader;
-        }
-        return fulltextIndexReader.queryWithSort( queryString, sortProperty, sortDirection );
+        FulltextIndexReader fulltextIndexReader = fulltextIndexReader( ktx, indexName );
+        return fulltextIndexReader.queryWithSort( queryString, sortProperty, sortDirection, expectedHits );
     }
 
     @Override
     public CountResult queryForCount( KernelTransaction ktx, String indexName, String queryString )
             throws IndexNotFoundKernelException, ParseException
+    {
+        FulltextIndexReader fulltextIndexReader = fulltextIndexReader( ktx, indexName );
+        return fulltextIndexReader.queryForCount( queryString );
+    }
+
+    @Override
+    public void aggregate( KernelTransaction ktx, String indexName, String queryString, FulltextAggregation aggregation )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        FulltextIndexReader fulltextIndexReader = fulltextIndexReader( ktx, indexName );
+        fulltextIndexReader.aggregate( queryString, aggregation );
+    }
+
+    private FulltextIndexReader fulltextIndexReader( KernelTransaction ktx, String indexName ) throws IndexNotFoundKernelException
     {
         KernelTransactionImplementation kti = (KernelTransactionImplementation) ktx;
         AllStoreHolder allStoreHolder = (AllStoreHolder) kti.dataRead();
@@ -444,7 +485,7 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
             IndexReader indexReader = allStoreHolder.indexReader( indexReference, false );
             fulltextIndexReader = (FulltextIndexReader) indexReader;
         }
-        return fulltextIndexReader.queryForCount( queryString );
+        return fulltextIndexReader;
     }
 
     private boolean isEventuallyConsistent( IndexReference indexReference )
@@ -461,6 +502,7 @@ class FulltextIndexProvider extends IndexProvider implements FulltextAdapter, Au
     public void awaitRefresh()
     {
         indexUpdateSink.awaitUpdateApplication();
+        refreshStaleIndexes();
     }
 
     @Override
@@ -24,6 +24,8 @@ package org.neo4j.kernel.api.impl.fulltext;
 
 import org.apache.lucene.queryparser.classic.ParseException;
 
+import java.util.function.LongPredicate;
+
 import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.internal.kernel.api.IndexOrder;
 import org.neo4j.internal.kernel.api.IndexQuery;
@@ -41,12 +43,68 @@ public abstract class FulltextIndexReader implements IndexReader
      * @param query the lucene query
      * @return A {@link ScoreEntityIterator} over the results
      */
-    public abstract ScoreEntityIterator query( String query ) throws ParseException;
+    public ScoreEntityIterator query( String query ) throws ParseException
+    {
+        return query( query, SearchAfterValuesIterator.DEFAULT_FIRST_PAGE_SIZE );
+    }
 
-    public abstract ScoreEntityIterator queryWithSort( String query, String sortProp, String sortDirection ) throws ParseException;
+    /**
+     * Queries the fulltext index with the given lucene-syntax query, expecting to only read the given number of the best hits.
+     * The hits are searched for in pages, where the first page has room for {@code expectedHits} hits. Reading past those
+     * searches for more of them, so the number of hits expected is only a hint, and not a limit.
+     *
+     * @param query the lucene query
+     * @param expectedHits the number of hits the caller expects to read
+     * @return A {@link ScoreEntityIterator} over the results
+     */
+    public abstract ScoreEntityIterator query( String query, long expectedHits ) throws ParseException;
+
+    public ScoreEntityIterator queryWithSort( String query, String sortProp, String sortDirection ) throws ParseException
+    {
+        return queryWithSort( query, sortProp, sortDirection, SearchAfterValuesIterator.DEFAULT_FIRST_PAGE_SIZE );
+    }
+
+    public abstract ScoreEntityIterator queryWithSort( String query, String sortProp, String sortDirection, long expectedHits ) throws ParseException;
 
     public abstract CountResult queryForCount( String query ) throws ParseException;
 
+    /**
+     * Aggregates the values of a sort property over the hits of the given lucene-syntax query, without reading anything from the store.
+     *
+     * @param query the lucene query
+     * @param aggregation the {@link FulltextAggregation} to include the values of the hits in
+     */
+    public void aggregate( String query, FulltextAggregation aggregation ) throws ParseException
+    {
+        aggregate( query, aggregation, entityId -> false );
+    }
+
+    /**
+     * Aggregates the values of a sort property over the hits of the given lucene-syntax query, leaving out the hits of the excluded entities.
+     *
+     * @param query the lucene query
+     * @param aggregation the {@link FulltextAggregation} to include the values of the hits in
+     * @param excludedEntities tells which entities to leave out of the aggregation
+     */
+    public abstract void aggregate( String query, FulltextAggregation aggregation, LongPredicate excludedEntities ) throws ParseException;
+
+    /**
+     * @return the generations of the searchers this reader searches with, which change whenever the searchers are refreshed to see new changes,
+     * or {@code null} if the results of this reader can not be cached.
+     */
+    long[] searcherGenerations()
+    {
+        return null;
+    }
+
+    /**
+     * @return a reader that searches the index for every query, even if the results of this reader are otherwise cached.
+     */
+    FulltextIndexReader uncached()
+    {
+        return this;
+    }
+
     @Override
     public IndexSampler createSampler()
     {
@@ -56,6 +56,12 @@ public class FulltextIndexSettings
     public static final String INDEX_CONFIG_EVENTUALLY_CONSISTENT = "eventually_consistent";
     private static final String INDEX_CONFIG_FILE = "fulltext-index.properties";
     private static final String INDEX_CONFIG_PROPERTY_NAMES = "propertyNames";
+    private static final String INDEX_CONFIG_SORT_VALUES_VERSION = "_sortValuesVersion";
+    /**
+     * Version of the doc values that sort properties are stored as. Version 2 encodes the values by the declared
+     * {@link FulltextSortType} of the sort property, where earlier indexes encoded them by the type of the value.
+     */
+    private static final String SORT_VALUES_VERSION = "2";
 
     static FulltextIndexDescriptor readOrInitialiseDescriptor( StoreIndexDescriptor descriptor, String defaultAnalyzerName,
             TokenHolder propertyKeyTokenHolder, File indexFolder, FileSystemAbstraction fileSystem )
@@ -134,6 +140,23 @@ public class FulltextIndexSettings
         }
     }
 
+    /**
+     * Indexes with sort properties that were populated with an older encoding of their doc values can't be sorted,
+     * aggregated or faceted correctly, and must be populated again.
+     *
+     * @return {@code true} if the sort properties of the index are stored in the current encoding, or if it has none.
+     */
+    static boolean hasCurrentSortValues( StoreIndexDescriptor descriptor, File indexFolder, FileSystemAbstraction fileSystem )
+    {
+        if ( descriptor.schema().getSortIds().length == 0 )
+        {
+            return true;
+        }
+        Properties settings = new Properties();
+        loadPersistedSettings( settings, indexFolder, fileSystem );
+        return SORT_VALUES_VERSION.equals( settings.getProperty( INDEX_CONFIG_SORT_VALUES_VERSION ) );
+    }
+
     public static Analyzer createAnalyzer( String analyzerName )
     {
         try
@@ -164,6 +187,7 @@ public class FulltextIndexSettings
         settings.setProperty( "_schema_entityTokenIds", Arrays.toString( schema.getEntityTokenIds() ) );
         settings.setProperty( "_sortIds", Arrays.toString( schema.getSortIds() ) );
         settings.setProperty( "_sortTypes", Arrays.toString( schema.getSortTypes() ) );
+        settings.setProperty( INDEX_CONFIG_SORT_VALUES_VERSION, SORT_VALUES_VERSION );
         try ( StoreChannel channel = fs.create( indexConfigFile );
                 Writer writer = fs.openAsWriter( indexConfigFile, StandardCharsets.UTF_8, false ) )
         {
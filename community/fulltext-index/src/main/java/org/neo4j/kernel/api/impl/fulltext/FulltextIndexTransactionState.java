@@ -50,7 +50,10 @@ import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
  * index, where the transaction state is indexed. This all happens in the {@link TransactionStateFulltextIndexReader}.
  * <p>
  * The transaction state is indexed prior to querying whenever we detect that the
- * {@link KernelTransactionImplementation#getTransactionDataRevision() transaction data revision} has changed.
+ * {@link KernelTransactionImplementation#getTransactionDataRevision() transaction data revision} has changed. The in-memory index is kept for the whole
+ * transaction, and only entities whose indexed values changed since the last revision are written to it again.
+ * If none of the entities in the transaction state are indexed, then the in-memory index is not queried at all, and the committed results are just
+ * filtered.
  * <p>
  * The actual transaction state indexing is done by the {@link FulltextIndexTransactionStateVisitor}, which for the most part only looks at the ids, and then
  * loads the modified entities up through the existing transaction state, via the {@link AllStoreHolder} API.
@@ -103,7 +106,6 @@ class FulltextIndexTransactionState implements Closeable
     private void updateReader( KernelTransactionImplementation kti ) throws Exception
     {
         modifiedEntityIdsInThisTransaction.clear(); // Clear this so we don't filter out entities who have had their changes reversed since last time.
-        writer.resetWriterState();
         AllStoreHolder read = (AllStoreHolder) kti.dataRead();
         TransactionState transactionState = kti.txState();
 
@@ -113,7 +115,9 @@ class FulltextIndexTransactionState implements Closeable
         {
             transactionState.accept( txStateVisitor.init( read, nodeCursor, relationshipCursor, propertyCursor ) );
         }
-        FulltextIndexReader baseReader = (FulltextIndexReader) read.indexReader( descriptor, false );
+        txStateVisitor.removeEntitiesNotVisited();
+        // The results of the base reader are filtered and merged with the changes of this transaction, so they are never served from the query cache
+        FulltextIndexReader baseReader = ((FulltextIndexReader) read.indexReader( descriptor, false )).uncached();
         FulltextIndexReader nearRealTimeReader = writer.getNearRealTimeReader();
         currentReader = new TransactionStateFulltextIndexReader( baseReader, nearRealTimeReader, modifiedEntityIdsInThisTransaction );
         lastUpdateRevision = kti.getTransactionDataRevision();
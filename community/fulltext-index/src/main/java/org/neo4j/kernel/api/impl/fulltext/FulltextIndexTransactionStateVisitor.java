@@ -22,10 +22,15 @@
  */
 package org.neo4j.kernel.api.impl.fulltext;
 
+import org.apache.lucene.document.Document;
 import org.eclipse.collections.api.IntIterable;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import org.eclipse.collections.api.set.primitive.LongSet;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -45,10 +50,15 @@ import org.neo4j.values.storable.Value;
 
 import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.documentRepresentingProperties;
 import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.documentRepresentingPropertiesWithSort;
+import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.newTermForChangeOrRemove;
 
 /**
  * A {@link TxStateVisitor} that adds all entities to a {@link TransactionStateLuceneIndexWriter}, that matches the index according to the
  * {@link FulltextIndexDescriptor}.
+ * <p>
+ * The writer is kept for the whole transaction, and the visitor remembers the property values it last wrote for each entity. Entities whose indexed
+ * values are unchanged since the previous visit are not written again, and entities that are no longer part of the transaction state are removed by
+ * {@link #removeEntitiesNotVisited()}. This way the Lucene work done per visit is proportional to what changed since the last visit.
  */
 class FulltextIndexTransactionStateVisitor extends TxStateVisitor.Adapter
 {
@@ -60,6 +70,8 @@ class FulltextIndexTransactionStateVisitor extends TxStateVisitor.Adapter
     private final IntIntHashMap propKeyToIndex;
     private final MutableLongSet modifiedEntityIdsInThisTransaction;
     private final TransactionStateLuceneIndexWriter writer;
+    private final MutableLongObjectMap<Value[]> indexedEntityValues;
+    private final MutableLongSet indexedEntitiesInThisVisit;
     private AllStoreHolder read;
     private NodeCursor nodeCursor;
     private PropertyCursor propertyCursor;
@@ -72,6 +84,8 @@ class FulltextIndexTransactionStateVisitor extends TxStateVisitor.Adapter
         this.schema = descriptor.schema();
         this.modifiedEntityIdsInThisTransaction = modifiedEntityIdsInThisTransaction;
         this.writer = writer;
+        this.indexedEntityValues = new LongObjectHashMap<>();
+        this.indexedEntitiesInThisVisit = new LongHashSet();
         this.visitingNodes = schema.entityType() == EntityType.NODE;
         entityTokenIds = schema.getEntityTokenIds();
         int[] propertyIds = schema.getPropertyIds();
@@ -90,9 +104,25 @@ class FulltextIndexTransactionStateVisitor extends TxStateVisitor.Adapter
         this.nodeCursor = nodeCursor;
         this.relationshipCursor = relationshipCursor;
         this.propertyCursor = propertyCursor;
+        indexedEntitiesInThisVisit.clear();
         return this;
     }
 
+    /**
+     * Remove the documents of entities that were written by an earlier visit, but were not seen in the latest one, e.g. because they have since been
+     * deleted, or no longer match the index.
+     */
+    void removeEntitiesNotVisited() throws IOException
+    {
+        LongIterator removed = indexedEntityValues.keySet().reject( indexedEntitiesInThisVisit::contains ).longIterator();
+        while ( removed.hasNext() )
+        {
+            long id = removed.next();
+            writer.deleteDocuments( newTermForChangeOrRemove( id ) );
+            indexedEntityValues.remove( id );
+        }
+    }
+
     @Override
     public void visitCreatedNode( long id )
     {
@@ -179,23 +209,31 @@ class FulltextIndexTransactionStateVisitor extends TxStateVisitor.Adapter
         }
         if ( modifiedEntityIdsInThisTransaction.add( id ) )
         {
-            try
+            indexedEntitiesInThisVisit.add( id );
+            Value[] previousValues = indexedEntityValues.get( id );
+            if ( previousValues == null || !Arrays.equals( previousValues, propertyValues ) )
             {
-                if ( descriptor.sortPropertyNames() == null || descriptor.sortPropertyNames().isEmpty() )
+                try
                 {
-                    writer.addDocument( documentRepresentingProperties( id, descriptor.propertyNames(), propertyValues ) );
+                    writer.updateDocument( newTermForChangeOrRemove( id ), document( id ) );
                 }
-                else
+                catch ( IOException e )
                 {
-                    writer.addDocument( documentRepresentingPropertiesWithSort( id, descriptor.propertyNames(), propertyValues, descriptor.sortPropertyNames(),
-                                                                                descriptor.sortTypes() ) );
+                    throw new UncheckedIOException( e );
                 }
-            }
-            catch ( IOException e )
-            {
-                throw new UncheckedIOException( e );
+                indexedEntityValues.put( id, propertyValues.clone() );
             }
         }
         Arrays.fill( propertyValues, null );
     }
+
+    private Document document( long id )
+    {
+        if ( descriptor.sortPropertyNames() == null || descriptor.sortPropertyNames().isEmpty() )
+        {
+            return documentRepresentingProperties( id, descriptor.propertyNames(), propertyValues );
+        }
+        return documentRepresentingPropertiesWithSort( id, descriptor.propertyNames(), propertyValues, descriptor.sortPropertyNames(),
+                descriptor.sortTypes() );
+    }
 }
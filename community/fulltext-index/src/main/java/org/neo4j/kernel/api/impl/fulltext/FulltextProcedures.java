@@ -34,6 +34,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Spliterator;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -185,11 +186,14 @@ public class FulltextProcedures
         tx.schemaWrite().indexDrop( indexReference );
     }
 
-    @Description( "Query the given fulltext index. Returns the matching nodes and their lucene query score, ordered by score." )
+    @Description( "Query the given fulltext index. Returns the matching nodes and their lucene query score, ordered by score. " +
+                  "The optional skip and limit page through the results, a negative limit returns all of them." )
     @Procedure( name = "db.index.fulltext.queryNodes", mode = READ )
     public Stream<NodeOutput> queryFulltextForNodes( @Name( "indexName" ) String name, @Name( "queryString" ) String query,
                                                      @Name( value = "sortProperty", defaultValue = "" ) String sortProperty,
-                                                     @Name( value = "sortDirection", defaultValue = "ASC" ) String sortDirection )
+                                                     @Name( value = "sortDirection", defaultValue = "ASC" ) String sortDirection,
+                                                     @Name( value = "skip", defaultValue = "0" ) long skip,
+                                                     @Name( value = "limit", defaultValue = "-1" ) long limit )
             throws ParseException, IndexNotFoundKernelException, IOException
     {
         IndexReference indexReference = getValidIndexReference( name );
@@ -203,25 +207,28 @@ public class FulltextProcedures
 
         if ( sortProperty.isEmpty() )
         {
-            ScoreEntityIterator resultIterator = accessor.query( tx, name, query );
-            return resultIterator.stream()
-                                 .map( result -> NodeOutput.forExistingEntityOrNull( db, result ) )
-                                 .filter( Objects::nonNull );
+            ScoreEntityIterator resultIterator = accessor.query( tx, name, query, expectedHits( skip, limit ) );
+            return page( resultIterator.stream()
+                                       .map( result -> NodeOutput.forExistingEntityOrNull( db, result ) )
+                                       .filter( Objects::nonNull ), skip, limit );
         }
         else
         {
-            ScoreEntityIterator resultIterator = accessor.queryWithSort( tx, name, query, sortProperty, sortDirection );
-            return resultIterator.stream()
-                                 .map( result -> NodeOutput.forExistingEntityOrNull( db, result ) )
-                                 .filter( Objects::nonNull );
+            ScoreEntityIterator resultIterator = accessor.queryWithSort( tx, name, query, sortProperty, sortDirection, expectedHits( skip, limit ) );
+            return page( resultIterator.stream()
+                                       .map( result -> NodeOutput.forExistingEntityOrNull( db, result ) )
+                                       .filter( Objects::nonNull ), skip, limit );
         }
     }
 
-    @Description( "Query the given fulltext index. Returns the matching relationships and their lucene query score, ordered by score." )
+    @Description( "Query the given fulltext index. Returns the matching relationships and their lucene query score, ordered by score. " +
+                  "The optional skip and limit page through the results, a negative limit returns all of them." )
     @Procedure( name = "db.index.fulltext.queryRelationships", mode = READ )
     public Stream<RelationshipOutput> queryFulltextForRelationships( @Name( "indexName" ) String name, @Name( "queryString" ) String query,
                                                                      @Name( value = "sortProperty", defaultValue = "" ) String sortProperty,
-                                                                     @Name( value = "sortDirection", defaultValue = "ASC" ) String sortDirection )
+                                                                     @Name( value = "sortDirection", defaultValue = "ASC" ) String sortDirection,
+                                                                     @Name( value = "skip", defaultValue = "0" ) long skip,
+                                                                     @Name( value = "limit", defaultValue = "-1" ) long limit )
             throws ParseException, IndexNotFoundKernelException, IOException
     {
         IndexReference indexReference = getValidIndexReference( name );
@@ -235,17 +242,17 @@ public class FulltextProcedures
 
         if ( sortProperty.isEmpty() )
         {
-            ScoreEntityIterator resultIterator = accessor.query( tx, name, query );
-            return resultIterator.stream()
-                                 .map( result -> RelationshipOutput.forExistingEntityOrNull( db, result ) )
-                                 .filter( Objects::nonNull );
+            ScoreEntityIterator resultIterator = accessor.query( tx, name, query, expectedHits( skip, limit ) );
+            return page( resultIterator.stream()
+                                       .map( result -> RelationshipOutput.forExistingEntityOrNull( db, result ) )
+                                       .filter( Objects::nonNull ), skip, limit );
         }
         else
         {
-            ScoreEntityIterator resultIterator = accessor.queryWithSort( tx, name, query, sortProperty, sortDirection );
-            return resultIterator.stream()
-                                 .map( result -> RelationshipOutput.forExistingEntityOrNull( db, result ) )
-                                 .filter( Objects::nonNull );
+            ScoreEntityIterator resultIterator = accessor.queryWithSort( tx, name, query, sortProperty, sortDirection, expectedHits( skip, limit ) );
+            return page( resultIterator.stream()
+                                       .map( result -> RelationshipOutput.forExistingEntityOrNull( db, result ) )
+                                       .filter( Objects::nonNull ), skip, limit );
         }
     }
 
@@ -283,6 +290,126 @@ public class FulltextProcedures
         return Stream.of( countResult );
     }
 
+    @Description( "Query the given fulltext index, and count the matching nodes for every value of the given sort property. " +
+                  "Returns the values and their counts, the most frequent values first." )
+    @Procedure( name = "db.index.fulltext.facetNodes", mode = READ )
+    public Stream<FacetOutput> fulltextFacetNodes( @Name( "indexName" ) String name, @Name( "queryString" ) String query,
+                                                   @Name( "property" ) String property )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        return facets( name, EntityType.NODE, query, property );
+    }
+
+    @Description( "Query the given fulltext index, and count the matching relationships for every value of the given sort property. " +
+                  "Returns the values and their counts, the most frequent values first." )
+    @Procedure( name = "db.index.fulltext.facetRelationships", mode = READ )
+    public Stream<FacetOutput> fulltextFacetRelationships( @Name( "indexName" ) String name, @Name( "queryString" ) String query,
+                                                           @Name( "property" ) String property )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        return facets( name, EntityType.RELATIONSHIP, query, property );
+    }
+
+    @Description( "Query the given fulltext index, and count the matching nodes in each of the ranges of the given numeric sort property " +
+                  "that the increasing boundaries split it into. Returns every range with its count." )
+    @Procedure( name = "db.index.fulltext.rangeFacetNodes", mode = READ )
+    public Stream<RangeFacetOutput> fulltextRangeFacetNodes( @Name( "indexName" ) String name, @Name( "queryString" ) String query,
+                                                             @Name( "property" ) String property, @Name( "boundaries" ) List<Number> boundaries )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        return rangeFacets( name, EntityType.NODE, query, property, boundaries );
+    }
+
+    @Description( "Query the given fulltext index, and count the matching relationships in each of the ranges of the given numeric sort " +
+                  "property that the increasing boundaries split it into. Returns every range with its count." )
+    @Procedure( name = "db.index.fulltext.rangeFacetRelationships", mode = READ )
+    public Stream<RangeFacetOutput> fulltextRangeFacetRelationships( @Name( "indexName" ) String name, @Name( "queryString" ) String query,
+                                                                     @Name( "property" ) String property, @Name( "boundaries" ) List<Number> boundaries )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        return rangeFacets( name, EntityType.RELATIONSHIP, query, property, boundaries );
+    }
+
+    @Description( "Query the given fulltext index. Returns the count, sum, minimum, maximum and average of the given numeric sort property " +
+                  "over the matching nodes." )
+    @Procedure( name = "db.index.fulltext.statsNodes", mode = READ )
+    public Stream<StatsOutput> fulltextStatsNodes( @Name( "indexName" ) String name, @Name( "queryString" ) String query,
+                                                   @Name( "property" ) String property )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        return stats( name, EntityType.NODE, query, property );
+    }
+
+    @Description( "Query the given fulltext index. Returns the count, sum, minimum, maximum and average of the given numeric sort property " +
+                  "over the matching relationships." )
+    @Procedure( name = "db.index.fulltext.statsRelationships", mode = READ )
+    public Stream<StatsOutput> fulltextStatsRelationships( @Name( "indexName" ) String name, @Name( "queryString" ) String query,
+                                                           @Name( "property" ) String property )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        return stats( name, EntityType.RELATIONSHIP, query, property );
+    }
+
+    private Stream<FacetOutput> facets( String name, EntityType entityType, String query, String property )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        FulltextAggregation.TermFacets facets = aggregate( name, entityType, query, FulltextAggregation.termFacets( property ) );
+        return facets.values().stream().map( value -> new FacetOutput( value.asObject(), facets.count( value ) ) );
+    }
+
+    private Stream<RangeFacetOutput> rangeFacets( String name, EntityType entityType, String query, String property, List<Number> boundaries )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        double[] boundaryValues = boundaries.stream().mapToDouble( Number::doubleValue ).toArray();
+        FulltextAggregation.RangeFacets facets = aggregate( name, entityType, query, FulltextAggregation.rangeFacets( property, boundaryValues ) );
+        return IntStream.range( 0, facets.ranges() ).mapToObj( range -> new RangeFacetOutput( facets.from( range ), facets.to( range ), facets.count( range ) ) );
+    }
+
+    private Stream<StatsOutput> stats( String name, EntityType entityType, String query, String property )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        FulltextAggregation.Stats stats = aggregate( name, entityType, query, FulltextAggregation.stats( property ) );
+        return Stream.of( new StatsOutput( stats.count(), stats.sum(), stats.min(), stats.max(), stats.average() ) );
+    }
+
+    private <T extends FulltextAggregation> T aggregate( String name, EntityType entityType, String query, T aggregation )
+            throws IndexNotFoundKernelException, ParseException
+    {
+        IndexReference indexReference = getValidIndexReference( name );
+        awaitOnline( indexReference );
+        EntityType indexEntityType = indexReference.schema().entityType();
+        if ( indexEntityType != entityType )
+        {
+            throw new IllegalArgumentException( "The '" + name + "' index (" + indexReference + ") is an index on " + indexEntityType +
+                                                ", so it cannot be queried for " + (entityType == EntityType.NODE ? "nodes." : "relationships.") );
+        }
+        accessor.aggregate( tx, name, query, aggregation );
+        return aggregation;
+    }
+
+    /**
+     * The number of hits that are expected to be read from the index, which is as many as the ones skipped and returned, or a first page
+     * of hits if all of them are to be returned. The hits are searched for in pages, see {@link FulltextIndexReader#query(String, long)}.
+     */
+    private static long expectedHits( long skip, long limit )
+    {
+        if ( limit < 0 )
+        {
+            return SearchAfterValuesIterator.DEFAULT_FIRST_PAGE_SIZE;
+        }
+        return Math.min( skip, Integer.MAX_VALUE ) + Math.min( limit, Integer.MAX_VALUE );
+    }
+
+    private static <T> Stream<T> page( Stream<T> results, long skip, long limit )
+    {
+        if ( skip < 0 )
+        {
+            throw new IllegalArgumentException( "Can not skip a negative number of results, but got " + skip + "." );
+        }
+        results = results.skip( skip );
+        return limit < 0 ? results : results.limit( limit );
+    }
+
     private IndexReference getValidIndexReference( @Name( "indexName" ) String name )
     {
         IndexReference indexReference = tx.schemaRead().indexGetForName( name );
@@ -370,4 +497,48 @@ public class FulltextProcedures
             this.description = description;
         }
     }
+
+    public static final class FacetOutput
+    {
+        public final Object value;
+        public final long count;
+
+        FacetOutput( Object value, long count )
+        {
+            this.value = value;
+            this.count = count;
+        }
+    }
+
+    public static final class RangeFacetOutput
+    {
+        public final Double lowerBound;
+        public final Double upperBound;
+        public final long count;
+
+        RangeFacetOutput( Double lowerBound, Double upperBound, long count )
+        {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.count = count;
+        }
+    }
+
+    public static final class StatsOutput
+    {
+        public final long count;
+        public final double sum;
+        public final Object min;
+        public final Object max;
+        public final Double average;
+
+        StatsOutput( long count, double sum, Object min, Object max, Double average )
+        {
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+            this.average = average;
+        }
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded, least recently used, cache of the results of the queries of a single fulltext index.
+ * <p>
+ * Every result is tagged with the generations of the searchers it was searched for with. A cached result is only used by readers with searchers of the
+ * very same generations, so results are invalidated as soon as the searchers are refreshed to see new changes, no matter if the refresh is done by the
+ * synchronous updaters, the eventually consistent updaters or the background refresh.
+ */
+class FulltextQueryCache
+{
+    // rough estimates of the memory used by an entry besides its hits, and by each hit, including the reference to it
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+    private static final long HIT_BYTES = 40;
+
+    private final int maxEntries;
+    private final int maxHits;
+    private final FulltextQueryCacheMonitor monitor;
+    private final LinkedHashMap<QueryKey,CachedResult> results = new LinkedHashMap<>( 16, 0.75f, true );
+    private long memoryUsage;
+
+    FulltextQueryCache( int maxEntries, int maxHits, FulltextQueryCacheMonitor monitor )
+    {
+        this.maxEntries = maxEntries;
+        this.maxHits = maxHits;
+        this.monitor = monitor;
+    }
+
+    /**
+     * @return the maximum number of hits of a result that can be cached
+     */
+    int maxHits()
+    {
+        return maxHits;
+    }
+
+    /**
+     * Look up the result of a query, as searched for by searchers of the given generations.
+     *
+     * @return the cached result, or {@code null} if there is none for these generations
+     */
+    synchronized CachedResult get( QueryKey key, long[] generations )
+    {
+        CachedResult result = results.get( key );
+        if ( result != null && Arrays.equals( result.generations, generations ) )
+        {
+            monitor.hit();
+            return result;
+        }
+        if ( result != null )
+        {
+            // The searchers have been refreshed since this result was cached, so it will never be used again.
+            results.remove( key );
+            changeMemoryUsage( -result.bytes( key ) );
+        }
+        monitor.miss();
+        return null;
+    }
+
+    synchronized void put( QueryKey key, CachedResult result )
+    {
+        CachedResult previous = results.put( key, result );
+        long bytes = result.bytes( key ) - (previous == null ? 0 : previous.bytes( key ));
+        Iterator<Map.Entry<QueryKey,CachedResult>> leastRecentlyUsed = results.entrySet().iterator();
+        while ( results.size() > maxEntries )
+        {
+            Map.Entry<QueryKey,CachedResult> evicted = leastRecentlyUsed.next();
+            bytes -= evicted.getValue().bytes( evicted.getKey() );
+            leastRecentlyUsed.remove();
+        }
+        changeMemoryUsage( bytes );
+    }
+
+    synchronized void clear()
+    {
+        results.clear();
+        changeMemoryUsage( -memoryUsage );
+    }
+
+    private void changeMemoryUsage( long bytes )
+    {
+        memoryUsage += bytes;
+        monitor.memoryUsageChanged( bytes );
+    }
+
+    /**
+     * Identifies a query of the index, by its kind, query string and sort.
+     */
+    static final class QueryKey
+    {
+        private final String kind;
+        private final String query;
+        private final String sortProperty;
+        private final String sortDirection;
+
+        QueryKey( String kind, String query, String sortProperty, String sortDirection )
+        {
+            this.kind = kind;
+            this.query = query;
+            this.sortProperty = sortProperty;
+            this.sortDirection = sortDirection;
+        }
+
+        @Override
+        public boolean equals( Object o )
+        {
+            if ( this == o )
+            {
+                return true;
+            }
+            if ( o == null || getClass() != o.getClass() )
+            {
+                return false;
+            }
+            QueryKey that = (QueryKey) o;
+            return kind.equals( that.kind ) && query.equals( that.query ) && Objects.equals( sortProperty, that.sortProperty ) &&
+                   Objects.equals( sortDirection, that.sortDirection );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash( kind, query, sortProperty, sortDirection );
+        }
+
+        private long bytes()
+        {
+            return Character.BYTES * (long) (query.length() + (sortProperty == null ? 0 : sortProperty.length()));
+        }
+    }
+
+    /**
+     * The hits, or count, of a query, together with the generations of the searchers that found them.
+     */
+    static final class CachedResult
+    {
+        private final long[] generations;
+        private final List<ScoreEntityIterator.ScoreEntry> hits;
+        private final long count;
+
+        private CachedResult( long[] generations, List<ScoreEntityIterator.ScoreEntry> hits, long count )
+        {
+            this.generations = generations;
+            this.hits = hits;
+            this.count = count;
+        }
+
+        static CachedResult ofHits( long[] generations, List<ScoreEntityIterator.ScoreEntry> hits )
+        {
+            return new CachedResult( generations, hits, hits.size() );
+        }
+
+        static CachedResult ofCount( long[] generations, long count )
+        {
+            return new CachedResult( generations, Collections.emptyList(), count );
+        }
+
+        long count()
+        {
+            return count;
+        }
+
+        List<ScoreEntityIterator.ScoreEntry> hits()
+        {
+            return hits;
+        }
+
+        private long bytes( QueryKey key )
+        {
+            return ENTRY_OVERHEAD_BYTES + key.bytes() + HIT_BYTES * hits.size() + Long.BYTES * generations.length;
+        }
+    }
+}
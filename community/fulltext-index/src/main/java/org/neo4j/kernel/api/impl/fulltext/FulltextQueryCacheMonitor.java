@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+/**
+ * Monitors the query result caches of the fulltext indexes.
+ */
+public interface FulltextQueryCacheMonitor
+{
+    /**
+     * A query was answered from the cache.
+     */
+    void hit();
+
+    /**
+     * A query was looked up in the cache, but had to be searched for in the index.
+     */
+    void miss();
+
+    /**
+     * The estimated memory used by the cached results changed.
+     *
+     * @param bytes the number of bytes more, or less if negative, that are used now.
+     */
+    void memoryUsageChanged( long bytes );
+
+    class Adapter implements FulltextQueryCacheMonitor
+    {
+        @Override
+        public void hit()
+        {
+        }
+
+        @Override
+        public void miss()
+        {
+        }
+
+        @Override
+        public void memoryUsageChanged( long bytes )
+        {
+        }
+    }
+}
@@ -131,6 +131,12 @@ class FulltextSchemaDescriptor implements SchemaDescriptor
         return schema.getSortTypes();
     }
 
+    @Override
+    public int[] getIncludedPropertyIds()
+    {
+        return schema.getIncludedPropertyIds();
+    }
+
     @Override
     public int hashCode()
     {
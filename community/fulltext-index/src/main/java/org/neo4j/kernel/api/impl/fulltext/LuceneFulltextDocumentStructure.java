@@ -45,6 +45,8 @@ import java.util.Iterator;
 import java.util.Map;
 
 import org.neo4j.kernel.impl.util.FulltextSortType;
+import org.neo4j.values.storable.IntegralValue;
+import org.neo4j.values.storable.NumberValue;
 import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
@@ -105,27 +107,33 @@ public class LuceneFulltextDocumentStructure
         return null;
     }
 
-    private static Field encodeSortableValueField( String sortKey, Value value )
+    /**
+     * Encodes the value as a doc value of the declared sort type of its property, so that it's read back the same way whatever the type
+     * of the value itself. Values that the declared type can't hold, like text in a numeric property or fractions in a LONG property, are
+     * left out.
+     */
+    private static Field encodeSortableValueField( String sortKey, Value value, FulltextSortType sortType )
     {
-        Object valueObject = value.asObject();
-        ValueGroup valueGroup = value.valueGroup();
-        if ( valueGroup.equals( ValueGroup.NUMBER ) )
+        if ( sortType == null )
         {
-            if ( valueObject instanceof Long )
-            {
-                return new SortedNumericDocValuesField( sortKey, (Long) valueObject );
-            }
-            else if ( valueObject instanceof Double )
+            return null;
+        }
+        switch ( sortType )
+        {
+        case LONG:
+            if ( value instanceof IntegralValue )
             {
-                return new SortedNumericDocValuesField( sortKey, NumericUtils.doubleToSortableLong( (Double) valueObject ) );
+                return new SortedNumericDocValuesField( sortKey, ((IntegralValue) value).longValue() );
             }
-            else if ( valueObject instanceof Float )
+            return null;
+        case DOUBLE:
+            if ( value instanceof NumberValue )
             {
-                return new SortedNumericDocValuesField( sortKey, NumericUtils.floatToSortableInt( (Float) valueObject ) );
+                return new SortedNumericDocValuesField( sortKey, NumericUtils.doubleToSortableLong( ((NumberValue) value).doubleValue() ) );
             }
-        }
-        if ( valueGroup.equals( ValueGroup.TEXT ) )
-        {
+            return null;
+        case STRING:
+            Object valueObject = value.asObject();
             BytesRef bytesRef = null;
             if ( valueObject instanceof Character )
             {
@@ -140,8 +148,10 @@ public class LuceneFulltextDocumentStructure
             {
                 return new SortedDocValuesField( sortKey, bytesRef );
             }
+            return null;
+        default:
+            return null;
         }
-        return null;
     }
 
     private static String convertNumberValue( Value value )
@@ -211,24 +221,6 @@ public class LuceneFulltextDocumentStructure
         return builder.build();
     }
 
-    /**
-     * Validates that the sortField is the correct sortType.
-     */
-    private static boolean validateSortType( Field sortField, String sortType )
-    {
-        FulltextSortType fulltextSortType = FulltextSortType.valueOfIgnoreCase( sortType );
-        switch ( fulltextSortType )
-        {
-        case LONG:
-        case DOUBLE:
-            return sortField instanceof SortedNumericDocValuesField;
-        case STRING:
-            return sortField instanceof SortedDocValuesField;
-        default:
-            return false;
-        }
-    }
-
     private static boolean checkSearchValue( Value value )
     {
         return value != null && (value.valueGroup() == ValueGroup.TEXT || value.valueGroup() == ValueGroup.NUMBER);
@@ -295,8 +287,10 @@ public class LuceneFulltextDocumentStructure
                 Value value = values[i++];
                 if ( value != null )
                 {
-                    Field sortableField = encodeSortableValueField( name, value );
-                    if ( sortableField != null && validateSortType( sortableField, sortTypes.get( name ) ) )
+                    String sortTypeName = sortTypes.get( name );
+                    FulltextSortType sortType = sortTypeName == null ? null : FulltextSortType.valueOfIgnoreCase( sortTypeName );
+                    Field sortableField = encodeSortableValueField( name, value, sortType );
+                    if ( sortableField != null )
                     {
                         document.add( sortableField );
                     }
@@ -48,6 +48,7 @@ public class LuceneFulltextIndex extends AbstractLuceneIndex<FulltextIndexReader
     private final Collection<String> properties;
     private final TokenHolder propertyKeyTokenHolder;
     private final File transactionsFolder;
+    private final boolean eventuallyConsistent;
 
     private final Collection<String> sortProperties;
     private final Map<String,String> sortTypes;
@@ -66,6 +67,7 @@ public class LuceneFulltextIndex extends AbstractLuceneIndex<FulltextIndexReader
 
         sortProperties = descriptor.sortPropertyNames();
         sortTypes = descriptor.sortTypes();
+        eventuallyConsistent = descriptor.isEventuallyConsistent();
     }
 
     @Override
@@ -82,6 +84,16 @@ public class LuceneFulltextIndex extends AbstractLuceneIndex<FulltextIndexReader
         indexStorage.cleanupFolder( transactionsFolder );
     }
 
+    /**
+     * Eventually consistent indexes apply their updates in the background anyway, so their readers don't wait for the searchers
+     * to be refreshed either. Changes become visible by the background refresh, or by {@link FulltextAdapter#awaitRefresh()}.
+     */
+    @Override
+    protected boolean readsMayBeStale()
+    {
+        return eventuallyConsistent;
+    }
+
     @Override
     public String toString()
     {
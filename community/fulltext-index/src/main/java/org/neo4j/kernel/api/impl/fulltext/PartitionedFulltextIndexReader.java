@@ -29,8 +29,16 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
+import org.neo4j.helpers.NamedThreadFactory;
 import org.neo4j.io.IOUtils;
 import org.neo4j.kernel.api.impl.index.partition.PartitionSearcher;
 import org.neo4j.kernel.api.impl.schema.reader.IndexReaderCloseException;
@@ -58,21 +66,21 @@ class PartitionedFulltextIndexReader extends FulltextIndexReader
                                 .collect( Collectors.toList() ) );
     }
 
-    private PartitionedFulltextIndexReader( List<FulltextIndexReader> readers )
+    PartitionedFulltextIndexReader( List<FulltextIndexReader> readers )
     {
         this.indexReaders = readers;
     }
 
     @Override
-    public ScoreEntityIterator query( String query ) throws ParseException
+    public ScoreEntityIterator query( String query, long expectedHits ) throws ParseException
     {
-        return partitionedQuery( query );
+        return partitionedQuery( query, expectedHits );
     }
 
     @Override
-    public ScoreEntityIterator queryWithSort( String query, String sortField, String sortDirection ) throws ParseException
+    public ScoreEntityIterator queryWithSort( String query, String sortField, String sortDirection, long expectedHits ) throws ParseException
     {
-        return partitionedQuery( query, sortField, sortDirection );
+        return partitionedQuery( query, sortField, sortDirection, expectedHits );
     }
 
     @Override
@@ -88,24 +96,31 @@ class PartitionedFulltextIndexReader extends FulltextIndexReader
         }
     }
 
-    private ScoreEntityIterator partitionedQuery( String query ) throws ParseException
+    private ScoreEntityIterator partitionedQuery( String query, long expectedHits ) throws ParseException
     {
-        List<ScoreEntityIterator> results = new ArrayList<>();
-        for ( FulltextIndexReader indexReader : indexReaders )
-        {
-            results.add( indexReader.query( query ) );
-        }
-        return ScoreEntityIterator.mergeIterators( results );
+        // Every partition may hold all of the best hits, but each partition only searches for more of them when the merge gets to them
+        return partitionedQuery( reader -> reader.query( query, expectedHits ) );
     }
 
-    private ScoreEntityIterator partitionedQuery( String query, String sortFieldString, String sortDirection ) throws ParseException
+    private ScoreEntityIterator partitionedQuery( String query, String sortFieldString, String sortDirection, long expectedHits ) throws ParseException
     {
-        List<ScoreEntityIterator> results = new ArrayList<>();
-        for ( FulltextIndexReader indexReader : indexReaders )
-        {
-            results.add( indexReader.queryWithSort( query, sortFieldString, sortDirection ) );
-        }
-        return ScoreEntityIterator.mergeIterators( results );
+        return partitionedQuery( reader -> reader.queryWithSort( query, sortFieldString, sortDirection, expectedHits ) );
+    }
+
+    /**
+     * Search the first page of hits of all partitions in parallel, since the merge needs the best hit of every partition before it can produce
+     * its first hit anyway. The pages after the first one are searched by the merge, as it gets to them.
+     */
+    private ScoreEntityIterator partitionedQuery( PartitionQuery partitionQuery ) throws ParseException
+    {
+        return ScoreEntityIterator.mergeIterators( searchPartitions( reader -> searchFirstPage( reader, partitionQuery ) ) );
+    }
+
+    private static ScoreEntityIterator searchFirstPage( FulltextIndexReader reader, PartitionQuery partitionQuery ) throws ParseException
+    {
+        ScoreEntityIterator iterator = partitionQuery.query( reader );
+        iterator.hasNext();
+        return iterator;
     }
 
     @Override
@@ -117,11 +132,127 @@ class PartitionedFulltextIndexReader extends FulltextIndexReader
     @Override
     public CountResult queryForCount( String query ) throws ParseException
     {
-        List<CountResult> results = new ArrayList<>();
-        for ( FulltextIndexReader indexReader : indexReaders )
+        return new CountResult( searchPartitions( reader -> reader.queryForCount( query ).getCount() ).stream().mapToLong( Long::longValue ).sum() );
+    }
+
+    /**
+     * Aggregate every partition into its own copy of the aggregation in parallel, and merge the copies.
+     */
+    @Override
+    public void aggregate( String query, FulltextAggregation aggregation, LongPredicate excludedEntities ) throws ParseException
+    {
+        List<FulltextAggregation> partitionAggregations = searchPartitions( reader ->
+        {
+            FulltextAggregation partitionAggregation = aggregation.newAggregation();
+            reader.aggregate( query, partitionAggregation, excludedEntities );
+            return partitionAggregation;
+        } );
+        partitionAggregations.forEach( aggregation::merge );
+    }
+
+    /**
+     * Search all partitions, the first one on the calling thread and the others on the {@link PartitionSearchPool}.
+     *
+     * @return the results of the partitions, in partition order.
+     */
+    private <T> List<T> searchPartitions( PartitionSearch<T> search ) throws ParseException
+    {
+        if ( indexReaders.isEmpty() )
+        {
+            return new ArrayList<>();
+        }
+        List<Future<T>> searches = new ArrayList<>( indexReaders.size() );
+        for ( int i = 1; i < indexReaders.size(); i++ )
+        {
+            FulltextIndexReader reader = indexReaders.get( i );
+            searches.add( PartitionSearchPool.executor.submit( () -> search.search( reader ) ) );
+        }
+
+        List<T> results = new ArrayList<>( indexReaders.size() );
+        Throwable failure = null;
+        try
+        {
+            results.add( search.search( indexReaders.get( 0 ) ) );
+        }
+        catch ( ParseException | RuntimeException e )
         {
-            results.add( indexReader.queryForCount( query ) );
+            failure = e;
         }
-        return new CountResult( results.stream().mapToLong( CountResult::getCount ).sum() );
+        for ( Future<T> partitionSearch : searches )
+        {
+            try
+            {
+                results.add( partitionSearch.get() );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                failure = failure == null ? e : failure;
+            }
+            catch ( ExecutionException e )
+            {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if ( failure instanceof ParseException )
+        {
+            throw (ParseException) failure;
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        if ( failure != null )
+        {
+            throw new RuntimeException( "Failed to search index partitions", failure );
+        }
+        return results;
+    }
+
+    @Override
+    long[] searcherGenerations()
+    {
+        long[][] partitionGenerations = new long[indexReaders.size()][];
+        int length = 0;
+        for ( int i = 0; i < partitionGenerations.length; i++ )
+        {
+            partitionGenerations[i] = indexReaders.get( i ).searcherGenerations();
+            if ( partitionGenerations[i] == null )
+            {
+                return null;
+            }
+            length += partitionGenerations[i].length;
+        }
+        long[] generations = new long[length];
+        int offset = 0;
+        for ( long[] partitionGeneration : partitionGenerations )
+        {
+            System.arraycopy( partitionGeneration, 0, generations, offset, partitionGeneration.length );
+            offset += partitionGeneration.length;
+        }
+        return generations;
+    }
+
+    @FunctionalInterface
+    private interface PartitionQuery
+    {
+        ScoreEntityIterator query( FulltextIndexReader reader ) throws ParseException;
+    }
+
+    @FunctionalInterface
+    private interface PartitionSearch<T>
+    {
+        T search( FulltextIndexReader reader ) throws ParseException;
+    }
+
+    /**
+     * Threads searching partitions, shared by all partitioned readers. When all threads are busy the querying thread
+     * searches the partition itself.
+     */
+    private static class PartitionSearchPool
+    {
+        private static final ExecutorService executor =
+                new ThreadPoolExecutor( 0, Runtime.getRuntime().availableProcessors(), 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                        new NamedThreadFactory( "Fulltext-Partition-Search", true ), new ThreadPoolExecutor.CallerRunsPolicy() );
     }
 }
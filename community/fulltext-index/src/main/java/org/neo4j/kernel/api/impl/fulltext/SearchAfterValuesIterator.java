@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.neo4j.collection.PrimitiveLongCollections;
+import org.neo4j.kernel.api.impl.index.collector.ValuesIterator;
+
+/**
+ * Iterates over the entity ids of the hits of a query, best hits first, by searching for one page of top hits at a time.
+ * Every page after the first one {@link IndexSearcher#searchAfter(ScoreDoc, Query, int) continues after} the last hit of the page before it,
+ * so that the hits collected, and kept in memory, are only as many as the ones read, rounded up to the size of the page, and not all the
+ * hits of the query. The first page is as large as the number of hits expected to be read, and every page after that is twice as large
+ * as the one before it, up to the number of hits left. The page size is not capped otherwise, so reading all the hits of a query takes
+ * a number of searches logarithmic in the number of hits.
+ */
+class SearchAfterValuesIterator extends PrimitiveLongCollections.PrimitiveLongBaseIterator implements ValuesIterator
+{
+    static final int DEFAULT_FIRST_PAGE_SIZE = 100;
+
+    private final IndexSearcher searcher;
+    private final Query query;
+    private final Sort sort;
+    private final List<LeafReaderContext> leaves;
+    private final NumericDocValues[] entityIds;
+    private int pageSize;
+    private ScoreDoc[] page;
+    private int pageIndex;
+    private boolean lastPage;
+    private int totalHits;
+    private int index;
+    private ScoreDoc current;
+
+    /**
+     * @param sort the order of the hits, or {@code null} to have them ordered by relevance.
+     * @param expectedHits the number of hits the caller expects to read, which is used as the size of the first page.
+     */
+    SearchAfterValuesIterator( IndexSearcher searcher, Query query, Sort sort, long expectedHits )
+    {
+        this.searcher = searcher;
+        this.query = query;
+        this.sort = sort;
+        this.leaves = searcher.getIndexReader().leaves();
+        this.entityIds = new NumericDocValues[leaves.size()];
+        this.pageSize = (int) Math.max( 1, Math.min( expectedHits, Integer.MAX_VALUE ) );
+    }
+
+    @Override
+    protected boolean fetchNext()
+    {
+        if ( page == null || (pageIndex == page.length && !lastPage) )
+        {
+            searchNextPage();
+        }
+        if ( pageIndex == page.length )
+        {
+            return false;
+        }
+        current = page[pageIndex++];
+        index++;
+        return next( entityId( current.doc ) );
+    }
+
+    private void searchNextPage()
+    {
+        ScoreDoc after = page == null || page.length == 0 ? null : page[page.length - 1];
+        if ( page != null )
+        {
+            int hitsLeft = totalHits - index;
+            pageSize = (int) Math.max( 1, Math.min( pageSize * 2L, hitsLeft ) );
+        }
+        try
+        {
+            TopDocs topDocs = sort == null ? searcher.searchAfter( after, query, pageSize )
+                                           : searcher.searchAfter( after, query, pageSize, sort, true, false );
+            if ( page == null )
+            {
+                totalHits = topDocs.totalHits;
+            }
+            page = topDocs.scoreDocs;
+            pageIndex = 0;
+            lastPage = page.length < pageSize || index + page.length >= totalHits;
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    private long entityId( int doc )
+    {
+        int leaf = ReaderUtil.subIndex( doc, leaves );
+        LeafReaderContext context = leaves.get( leaf );
+        try
+        {
+            if ( entityIds[leaf] == null )
+            {
+                entityIds[leaf] = context.reader().getNumericDocValues( LuceneFulltextDocumentStructure.FIELD_ENTITY_ID );
+            }
+            return entityIds[leaf].get( doc - context.docBase );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    @Override
+    public int remaining()
+    {
+        return totalHits - index;
+    }
+
+    @Override
+    public float currentScore()
+    {
+        return current.score;
+    }
+
+    @Override
+    public long current()
+    {
+        return index;
+    }
+
+    @Override
+    public long getValue( String field )
+    {
+        try
+        {
+            int leaf = ReaderUtil.subIndex( current.doc, leaves );
+            LeafReaderContext context = leaves.get( leaf );
+            NumericDocValues values = context.reader().getNumericDocValues( field );
+            if ( values == null )
+            {
+                throw new IllegalStateException( "No numeric doc values field " + field + " in the document." );
+            }
+            return values.get( current.doc - context.docBase );
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+}
@@ -23,25 +23,34 @@
 package org.neo4j.kernel.api.impl.fulltext;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.SortedNumericDocValues;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SimpleCollector;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.SortedNumericSortField;
 import org.apache.lucene.search.TotalHitCountCollector;
+import org.apache.lucene.util.NumericUtils;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.LongPredicate;
 
-import org.neo4j.kernel.api.impl.index.collector.DocValuesCollector;
-import org.neo4j.kernel.api.impl.index.collector.ValuesIterator;
 import org.neo4j.kernel.api.impl.schema.reader.IndexReaderCloseException;
 import org.neo4j.kernel.impl.core.TokenHolder;
 import org.neo4j.kernel.impl.util.FulltextSortType;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 /**
  * Lucene index reader that is able to read/sample a single partition of a partitioned Lucene index.
@@ -83,21 +92,21 @@ class SimpleFulltextIndexReader extends FulltextIndexReader
     }
 
     @Override
-    public ScoreEntityIterator query( String queryString ) throws ParseException
+    public ScoreEntityIterator query( String queryString, long expectedHits ) throws ParseException
     {
         MultiFieldQueryParser multiFieldQueryParser = new MultiFieldQueryParser( properties, analyzer );
         multiFieldQueryParser.setAllowLeadingWildcard( true );
         Query query = multiFieldQueryParser.parse( queryString );
-        return indexQuery( query );
+        return indexQuery( query, expectedHits );
     }
 
     @Override
-    public ScoreEntityIterator queryWithSort( String queryString, String sortField, String sortDirection ) throws ParseException
+    public ScoreEntityIterator queryWithSort( String queryString, String sortField, String sortDirection, long expectedHits ) throws ParseException
     {
         MultiFieldQueryParser multiFieldQueryParser = new MultiFieldQueryParser( properties, analyzer );
         multiFieldQueryParser.setAllowLeadingWildcard( true );
         Query query = multiFieldQueryParser.parse( queryString );
-        return indexQueryWithSort( query, sortField, sortDirection );
+        return indexQueryWithSort( query, sortField, sortDirection, expectedHits );
     }
 
     @Override
@@ -109,15 +118,18 @@ class SimpleFulltextIndexReader extends FulltextIndexReader
         return indexQueryForCount( query );
     }
 
-    private ScoreEntityIterator indexQuery( Query query )
+    @Override
+    public void aggregate( String queryString, FulltextAggregation aggregation, LongPredicate excludedEntities ) throws ParseException
     {
+        MultiFieldQueryParser multiFieldQueryParser = new MultiFieldQueryParser( properties, analyzer );
+        multiFieldQueryParser.setAllowLeadingWildcard( true );
+        Query query = multiFieldQueryParser.parse( queryString );
+        FulltextSortType sortType = aggregatedSortType( aggregation.property() );
         try
         {
-            DocValuesCollector docValuesCollector = new DocValuesCollector( true );
-            getIndexSearcher().search( query, docValuesCollector );
-            ValuesIterator sortedValuesIterator =
-                    docValuesCollector.getSortedValuesIterator( LuceneFulltextDocumentStructure.FIELD_ENTITY_ID, Sort.RELEVANCE );
-            return new ScoreEntityIterator( sortedValuesIterator );
+            AggregatingCollector collector = new AggregatingCollector( aggregation, sortType, excludedEntities );
+            getIndexSearcher().search( query, collector );
+            collector.finish();
         }
         catch ( IOException e )
         {
@@ -125,7 +137,28 @@ class SimpleFulltextIndexReader extends FulltextIndexReader
         }
     }
 
-    private ScoreEntityIterator indexQueryWithSort( Query query, String sortFieldString, String sortDirection )
+    private FulltextSortType aggregatedSortType( String property )
+    {
+        // Only the sort properties are kept as doc values, so those are the only ones that can be aggregated
+        FulltextSortType sortType = null;
+        if ( sortTypes != null && Arrays.asList( sortProperties ).contains( property ) )
+        {
+            sortType = FulltextSortType.valueOfIgnoreCase( sortTypes.get( property ) );
+        }
+        if ( sortType == null )
+        {
+            throw new IllegalArgumentException( "Property '" + property + "' can not be aggregated, since it is not a sort property of the index." );
+        }
+        return sortType;
+    }
+
+    private ScoreEntityIterator indexQuery( Query query, long expectedHits )
+    {
+        // The hits are searched for lazily, a page of top hits at a time, so that reading a few of the best hits doesn't collect all of them
+        return new ScoreEntityIterator( new SearchAfterValuesIterator( getIndexSearcher(), query, null, expectedHits ) );
+    }
+
+    private ScoreEntityIterator indexQueryWithSort( Query query, String sortFieldString, String sortDirection, long expectedHits )
     {
         try
         {
@@ -141,11 +174,7 @@ class SimpleFulltextIndexReader extends FulltextIndexReader
                 throw new IOException( "Sort Field '" + sortFieldString + "' is not an indexed property." );
             }
 
-            DocValuesCollector docValuesCollector = new DocValuesCollector( true );
-            getIndexSearcher().search( query, docValuesCollector );
-            ValuesIterator sortedValuesIterator =
-                    docValuesCollector.getSortedValuesIterator( LuceneFulltextDocumentStructure.FIELD_ENTITY_ID, sort );
-            return new ScoreEntityIterator( sortedValuesIterator );
+            return new ScoreEntityIterator( new SearchAfterValuesIterator( getIndexSearcher(), query, sort, expectedHits ) );
         }
         catch ( IOException e )
         {
@@ -234,6 +263,13 @@ class SimpleFulltextIndexReader extends FulltextIndexReader
         }
     }
 
+    @Override
+    long[] searcherGenerations()
+    {
+        org.apache.lucene.index.IndexReader indexReader = getIndexSearcher().getIndexReader();
+        return indexReader instanceof DirectoryReader ? new long[]{((DirectoryReader) indexReader).getVersion()} : null;
+    }
+
     private IndexSearcher getIndexSearcher()
     {
         return searcherRef.getIndexSearcher();
@@ -259,4 +295,95 @@ class SimpleFulltextIndexReader extends FulltextIndexReader
             throw new RuntimeException( e );
         }
     }
+
+    /**
+     * Reads the doc values of the aggregated property for every hit, and includes them in the aggregation. String values are counted by
+     * their ordinal in each segment, and only looked up once per segment, see {@link #finish()}.
+     */
+    private static class AggregatingCollector extends SimpleCollector
+    {
+        private final FulltextAggregation aggregation;
+        private final FulltextSortType sortType;
+        private final LongPredicate excludedEntities;
+        private NumericDocValues entityIds;
+        private SortedDocValues stringValues;
+        private int[] hitsPerOrdinal;
+        private SortedNumericDocValues numericValues;
+
+        AggregatingCollector( FulltextAggregation aggregation, FulltextSortType sortType, LongPredicate excludedEntities )
+        {
+            this.aggregation = aggregation;
+            this.sortType = sortType;
+            this.excludedEntities = excludedEntities;
+        }
+
+        @Override
+        protected void doSetNextReader( LeafReaderContext context ) throws IOException
+        {
+            finish();
+            LeafReader reader = context.reader();
+            entityIds = DocValues.getNumeric( reader, LuceneFulltextDocumentStructure.FIELD_ENTITY_ID );
+            if ( sortType == FulltextSortType.STRING )
+            {
+                stringValues = DocValues.getSorted( reader, aggregation.property() );
+                hitsPerOrdinal = new int[stringValues.getValueCount()];
+            }
+            else
+            {
+                numericValues = DocValues.getSortedNumeric( reader, aggregation.property() );
+            }
+        }
+
+        @Override
+        public void collect( int doc )
+        {
+            if ( excludedEntities.test( entityIds.get( doc ) ) )
+            {
+                return;
+            }
+            if ( sortType == FulltextSortType.STRING )
+            {
+                int ord = stringValues.getOrd( doc );
+                if ( ord >= 0 )
+                {
+                    hitsPerOrdinal[ord]++;
+                }
+            }
+            else
+            {
+                // The values are encoded by the declared sort type of the property, see LuceneFulltextDocumentStructure
+                numericValues.setDocument( doc );
+                for ( int i = 0; i < numericValues.count(); i++ )
+                {
+                    long value = numericValues.valueAt( i );
+                    aggregation.add( sortType == FulltextSortType.LONG ? Values.longValue( value )
+                                                                        : Values.doubleValue( NumericUtils.sortableLongToDouble( value ) ), 1 );
+                }
+            }
+        }
+
+        /**
+         * Includes the string values counted in the current segment in the aggregation. Must be called when the search is done.
+         */
+        void finish()
+        {
+            if ( hitsPerOrdinal != null )
+            {
+                for ( int ord = 0; ord < hitsPerOrdinal.length; ord++ )
+                {
+                    if ( hitsPerOrdinal[ord] > 0 )
+                    {
+                        aggregation.add( Values.stringValue( stringValues.lookupOrd( ord ).utf8ToString() ), hitsPerOrdinal[ord] );
+                    }
+                }
+                hitsPerOrdinal = null;
+            }
+        }
+
+        @Override
+        public boolean needsScores()
+        {
+            return false;
+        }
+    }
 }
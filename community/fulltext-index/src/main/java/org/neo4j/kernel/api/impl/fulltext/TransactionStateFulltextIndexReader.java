@@ -25,12 +25,19 @@ package org.neo4j.kernel.api.impl.fulltext;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 
+import java.util.function.LongPredicate;
+
 import org.neo4j.io.IOUtils;
 import org.neo4j.values.storable.Value;
 
 import static java.util.Arrays.asList;
 import static org.neo4j.kernel.api.impl.fulltext.ScoreEntityIterator.mergeIterators;
 
+/**
+ * Combines the results of the committed base index with those of the transaction state. Entities modified in the transaction are filtered out of the
+ * base results, and the {@code nearRealTimeReader} over the in-memory transaction state index supplies their current hits. The {@code nearRealTimeReader}
+ * is {@code null} when the transaction state holds no documents for this index, in which case the base results are only filtered.
+ */
 class TransactionStateFulltextIndexReader extends FulltextIndexReader
 {
     private final FulltextIndexReader baseReader;
@@ -46,20 +53,27 @@ class TransactionStateFulltextIndexReader extends FulltextIndexReader
     }
 
     @Override
-    public ScoreEntityIterator query( String query ) throws ParseException
+    public ScoreEntityIterator query( String query, long expectedHits ) throws ParseException
     {
-        ScoreEntityIterator iterator = baseReader.query( query );
+        // Hits of entities modified in this transaction are filtered out of the base index, so expect to read past as many of them
+        ScoreEntityIterator iterator = baseReader.query( query, expectedHits + modifiedEntityIdsInThisTransaction.size() );
         iterator = iterator.filter( entry -> !modifiedEntityIdsInThisTransaction.contains( entry.entityId() ) );
-        iterator = mergeIterators( asList( iterator, nearRealTimeReader.query( query ) ) );
+        if ( nearRealTimeReader != null )
+        {
+            iterator = mergeIterators( asList( iterator, nearRealTimeReader.query( query, expectedHits ) ) );
+        }
         return iterator;
     }
 
     @Override
-    public ScoreEntityIterator queryWithSort( String query, String sortField, String sortDirection ) throws ParseException
+    public ScoreEntityIterator queryWithSort( String query, String sortField, String sortDirection, long expectedHits ) throws ParseException
     {
-        ScoreEntityIterator iterator = baseReader.queryWithSort( query, sortField, sortDirection );
+        ScoreEntityIterator iterator = baseReader.queryWithSort( query, sortField, sortDirection, expectedHits + modifiedEntityIdsInThisTransaction.size() );
         iterator = iterator.filter( entry -> !modifiedEntityIdsInThisTransaction.contains( entry.entityId() ) );
-        iterator = mergeIterators( asList( iterator, nearRealTimeReader.queryWithSort( query, sortField, sortDirection ) ) );
+        if ( nearRealTimeReader != null )
+        {
+            iterator = mergeIterators( asList( iterator, nearRealTimeReader.queryWithSort( query, sortField, sortDirection, expectedHits ) ) );
+        }
         return iterator;
     }
 
@@ -75,10 +89,24 @@ class TransactionStateFulltextIndexReader extends FulltextIndexReader
     @Override
     public CountResult queryForCount( String query ) throws ParseException
     {
+        if ( modifiedEntityIdsInThisTransaction.isEmpty() )
+        {
+            return baseReader.queryForCount( query );
+        }
         long count = query( query ).stream().count();
         return new CountResult( count );
     }
 
+    @Override
+    public void aggregate( String query, FulltextAggregation aggregation, LongPredicate excludedEntities ) throws ParseException
+    {
+        baseReader.aggregate( query, aggregation, entityId -> modifiedEntityIdsInThisTransaction.contains( entityId ) || excludedEntities.test( entityId ) );
+        if ( nearRealTimeReader != null )
+        {
+            nearRealTimeReader.aggregate( query, aggregation, excludedEntities );
+        }
+    }
+
     @Override
     public long countIndexedNodes( long nodeId, int[] propertyKeyIds, Value... propertyValues )
     {
@@ -41,13 +41,15 @@ import org.neo4j.kernel.api.impl.schema.writer.LuceneIndexWriter;
 public class TransactionStateLuceneIndexWriter implements LuceneIndexWriter, Closeable
 {
     private final LuceneFulltextIndex index;
-    private IndexWriter writer;
     private final Directory directory;
+    private final IndexWriter writer;
+    private DirectoryReader nearRealTimeReader;
 
-    TransactionStateLuceneIndexWriter( LuceneFulltextIndex index )
+    TransactionStateLuceneIndexWriter( LuceneFulltextIndex index ) throws IOException
     {
         this.index = index;
         directory = new RAMDirectory();
+        writer = new IndexWriter( directory, IndexWriterConfigs.transactionState( index.getAnalyzer() ) );
     }
 
     @Override
@@ -80,26 +82,36 @@ public class TransactionStateLuceneIndexWriter implements LuceneIndexWriter, Clo
         writer.deleteDocuments( query );
     }
 
-    void resetWriterState() throws IOException
+    /**
+     * Get a reader of the documents written so far. The writer is kept open for the life time of the transaction, so the reader is reopened from the
+     * previous one, which means that only the segments written since the last call need to be opened.
+     *
+     * @return a reader of the transaction state, or {@code null} if the transaction state of this index holds no documents.
+     */
+    FulltextIndexReader getNearRealTimeReader() throws IOException
     {
-        if ( writer != null )
+        if ( nearRealTimeReader == null )
         {
-            // Note that 'rollback' closes the writer.
-            writer.rollback();
+            nearRealTimeReader = DirectoryReader.open( writer, true );
         }
-        openWriter();
-    }
-
-    private void openWriter() throws IOException
-    {
-        writer = new IndexWriter( directory, IndexWriterConfigs.transactionState( index.getAnalyzer() ) );
-    }
-
-    FulltextIndexReader getNearRealTimeReader() throws IOException
-    {
-        DirectoryReader directoryReader = DirectoryReader.open( writer, true );
+        else
+        {
+            DirectoryReader changedReader = DirectoryReader.openIfChanged( nearRealTimeReader, writer, true );
+            if ( changedReader != null )
+            {
+                nearRealTimeReader.decRef();
+                nearRealTimeReader = changedReader;
+            }
+        }
+        if ( nearRealTimeReader.numDocs() == 0 )
+        {
+            return null;
+        }
+        // The returned reader holds its own reference, so it stays usable after this writer has moved on to a newer reader.
+        DirectoryReader directoryReader = nearRealTimeReader;
+        directoryReader.incRef();
         IndexSearcher searcher = new IndexSearcher( directoryReader );
-        SearcherReference searcherRef = new DirectSearcherReference( searcher, directoryReader );
+        SearcherReference searcherRef = new DirectSearcherReference( searcher, directoryReader::decRef );
         return new SimpleFulltextIndexReader( searcherRef, index.getPropertiesArray(), index.getAnalyzer(), index.getPropertyKeyTokenHolder(),
                                               index.getSortPropertiesArray(), index.getSortTypes() );
     }
@@ -107,6 +119,7 @@ public class TransactionStateLuceneIndexWriter implements LuceneIndexWriter, Clo
     @Override
     public void close() throws IOException
     {
-        IOUtils.closeAll( writer, directory );
+        Closeable releaseReader = nearRealTimeReader == null ? null : nearRealTimeReader::decRef;
+        IOUtils.closeAll( releaseReader, writer, directory );
     }
 }
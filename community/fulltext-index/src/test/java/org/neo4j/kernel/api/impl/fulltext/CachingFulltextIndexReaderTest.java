@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.neo4j.kernel.impl.core.TokenRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.FIELD_ENTITY_ID;
+
+public class CachingFulltextIndexReaderTest
+{
+    private static final String[] PROPERTIES = {"text"};
+    private static final int MAX_HITS = 10;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final CountingMonitor monitor = new CountingMonitor();
+    private final FulltextQueryCache cache = new FulltextQueryCache( 2, MAX_HITS, monitor );
+    private Directory directory;
+    private IndexWriter writer;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        directory = new RAMDirectory();
+        writer = new IndexWriter( directory, new IndexWriterConfig( analyzer ) );
+        for ( long entityId = 0; entityId < 20; entityId++ )
+        {
+            addDocument( entityId, entityId < 5 ? "few" : "many" );
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        writer.close();
+        directory.close();
+    }
+
+    @Test
+    public void repeatedQueryMustBeAnsweredFromCache() throws Exception
+    {
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            assertEquals( entityIds( reader.uncached().query( "few" ) ), entityIds( reader.query( "few" ) ) );
+            assertEquals( entityIds( reader.uncached().query( "few" ) ), entityIds( reader.query( "few" ) ) );
+        }
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            assertEquals( 5, entityIds( reader.query( "few" ) ).size() );
+        }
+        assertEquals( 2, monitor.hits );
+        assertEquals( 1, monitor.misses );
+    }
+
+    @Test
+    public void queryMustNotBeAnsweredFromCacheAfterIndexChanged() throws Exception
+    {
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            assertEquals( 5, entityIds( reader.query( "few" ) ).size() );
+        }
+        addDocument( 20, "few" );
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            assertEquals( 6, entityIds( reader.query( "few" ) ).size() );
+            assertEquals( 6, reader.queryForCount( "few" ).getCount() );
+        }
+        assertEquals( 0, monitor.hits );
+        assertEquals( 3, monitor.misses );
+    }
+
+    @Test
+    public void resultsWithMoreHitsThanCacheableMustNotBeCached() throws Exception
+    {
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            assertEquals( 15, entityIds( reader.query( "many" ) ).size() );
+            assertEquals( 15, entityIds( reader.query( "many" ) ).size() );
+        }
+        assertEquals( 0, monitor.hits );
+        assertEquals( 2, monitor.misses );
+        assertEquals( 0, monitor.memory );
+    }
+
+    @Test
+    public void countsMustBeCachedSeparatelyFromHits() throws Exception
+    {
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            assertEquals( 15, reader.queryForCount( "many" ).getCount() );
+            assertEquals( 15, reader.queryForCount( "many" ).getCount() );
+            assertEquals( 15, entityIds( reader.query( "many" ) ).size() );
+        }
+        assertEquals( 1, monitor.hits );
+        assertEquals( 2, monitor.misses );
+    }
+
+    @Test
+    public void leastRecentlyUsedResultsMustBeEvicted() throws Exception
+    {
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            reader.query( "few" );
+            reader.queryForCount( "few" );
+            reader.query( "few" );
+            reader.queryForCount( "many" );
+            reader.query( "few" );
+            reader.queryForCount( "few" );
+        }
+        assertEquals( 2, monitor.hits );
+        assertEquals( 4, monitor.misses );
+    }
+
+    @Test
+    public void clearMustReleaseAllMemory() throws Exception
+    {
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            reader.query( "few" );
+            reader.queryForCount( "few" );
+        }
+        cache.clear();
+        assertEquals( 0, monitor.memory );
+    }
+
+    @Test
+    public void uncachedMustReturnWrappedReader() throws IOException
+    {
+        try ( FulltextIndexReader reader = newReader() )
+        {
+            FulltextIndexReader uncached = reader.uncached();
+            assertSame( uncached, uncached.uncached() );
+        }
+    }
+
+    private FulltextIndexReader newReader() throws IOException
+    {
+        DirectoryReader directoryReader = DirectoryReader.open( writer, true );
+        SearcherReference searcher = new DirectSearcherReference( new IndexSearcher( directoryReader ), directoryReader );
+        FulltextIndexReader reader = new SimpleFulltextIndexReader( searcher, PROPERTIES, analyzer, new SimpleTokenHolder( new TokenRegistry( "PropertyKey" ) ),
+                new String[0], Collections.emptyMap() );
+        return new CachingFulltextIndexReader( reader, cache );
+    }
+
+    private void addDocument( long entityId, String text ) throws IOException
+    {
+        Document document = new Document();
+        document.add( new StringField( FIELD_ENTITY_ID, Long.toString( entityId ), Field.Store.YES ) );
+        document.add( new NumericDocValuesField( FIELD_ENTITY_ID, entityId ) );
+        document.add( new TextField( "text", text, Field.Store.NO ) );
+        writer.addDocument( document );
+    }
+
+    private static List<Long> entityIds( ScoreEntityIterator iterator )
+    {
+        List<Long> entityIds = new ArrayList<>();
+        iterator.forEachRemaining( entry -> entityIds.add( entry.entityId() ) );
+        return entityIds;
+    }
+
+    private static class CountingMonitor implements FulltextQueryCacheMonitor
+    {
+        private long hits;
+        private long misses;
+        private long memory;
+
+        @Override
+        public void hit()
+        {
+            hits++;
+        }
+
+        @Override
+        public void miss()
+        {
+            misses++;
+        }
+
+        @Override
+        public void memoryUsageChanged( long bytes )
+        {
+            memory += bytes;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.neo4j.kernel.api.schema.MultiTokenSchemaDescriptor;
 import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
 import org.neo4j.kernel.impl.core.TokenHolder;
 import org.neo4j.kernel.impl.core.TokenRegistry;
+import org.neo4j.kernel.impl.util.FulltextSortType;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
@@ -45,6 +46,8 @@ import org.neo4j.test.extension.TestDirectoryExtension;
 import org.neo4j.test.rule.TestDirectory;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor.UNDECIDED;
 import static org.neo4j.kernel.api.impl.fulltext.FulltextIndexSettings.readOrInitialiseDescriptor;
 import static org.neo4j.storageengine.api.schema.IndexDescriptor.Type.GENERAL;
@@ -88,6 +91,36 @@ class FulltextIndexSettingsTest
         assertEquals( fulltextIndexDescriptor.isEventuallyConsistent(), loadedDescriptor.isEventuallyConsistent() );
     }
 
+    @Test
+    void shouldRequireSortValuesToBePopulatedInTheCurrentEncoding() throws IOException
+    {
+        // Given an index with a sort property, whose settings were persisted before the sort values were versioned
+        File indexFolder = directory.directory( "indexFolder" );
+        int[] propertyIds = {1, 2, 3};
+        MultiTokenSchemaDescriptor schema = SchemaDescriptorFactory.multiTokenSort( new int[]{1}, EntityType.NODE, new int[]{1, 2}, new int[]{3},
+                new int[]{FulltextSortType.LONG.getNeoStoreByte()} );
+        StoreIndexDescriptor storeIndexDescriptor = storeIndexDescriptorFromSchema( new FulltextSchemaDescriptor( schema, properties( "simple", "false" ) ) );
+        TokenRegistry tokenRegistry = SimpleTokenHolder.createPopulatedTokenRegistry( TokenHolder.TYPE_PROPERTY_KEY, propertyIds );
+        SimpleTokenHolder tokenHolder = new SimpleTokenHolder( tokenRegistry );
+        FulltextIndexDescriptor fulltextIndexDescriptor = readOrInitialiseDescriptor( storeIndexDescriptor, "standard", tokenHolder, indexFolder, fs );
+        assertFalse( FulltextIndexSettings.hasCurrentSortValues( storeIndexDescriptor, indexFolder, fs ) );
+
+        // When it has been populated again
+        FulltextIndexSettings.saveFulltextIndexSettings( fulltextIndexDescriptor, indexFolder, fs );
+
+        // Then
+        assertTrue( FulltextIndexSettings.hasCurrentSortValues( storeIndexDescriptor, indexFolder, fs ) );
+    }
+
+    @Test
+    void shouldNotRequireRepopulationOfIndexesWithoutSortProperties()
+    {
+        File indexFolder = directory.directory( "indexFolder" );
+        MultiTokenSchemaDescriptor schema = SchemaDescriptorFactory.multiToken( new int[]{1}, EntityType.NODE, 1, 2 );
+
+        assertTrue( FulltextIndexSettings.hasCurrentSortValues( storeIndexDescriptorFromSchema( schema ), indexFolder, fs ) );
+    }
+
     private StoreIndexDescriptor storeIndexDescriptorFromSchema( SchemaDescriptor schema )
     {
         return new IndexDescriptor( schema, GENERAL, Optional.of( "indexName" ), UNDECIDED ).withId( 1 );
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.neo4j.io.IOUtils;
+import org.neo4j.kernel.api.impl.fulltext.ScoreEntityIterator.ScoreEntry;
+import org.neo4j.kernel.impl.core.TokenRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.FIELD_ENTITY_ID;
+
+public class PartitionedFulltextIndexReaderTest
+{
+    private static final int PARTITIONS = 4;
+    private static final int DOCUMENTS_PER_PARTITION = 150;
+    private static final String[] PROPERTIES = {"text"};
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final List<Directory> directories = new ArrayList<>();
+    private PartitionedFulltextIndexReader reader;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        List<FulltextIndexReader> partitionReaders = new ArrayList<>();
+        for ( int partition = 0; partition < PARTITIONS; partition++ )
+        {
+            Directory directory = new RAMDirectory();
+            directories.add( directory );
+            try ( IndexWriter writer = new IndexWriter( directory, new IndexWriterConfig( analyzer ) ) )
+            {
+                for ( int i = 0; i < DOCUMENTS_PER_PARTITION; i++ )
+                {
+                    long entityId = partition * DOCUMENTS_PER_PARTITION + i;
+                    Document document = new Document();
+                    document.add( new StringField( FIELD_ENTITY_ID, Long.toString( entityId ), Field.Store.YES ) );
+                    document.add( new NumericDocValuesField( FIELD_ENTITY_ID, entityId ) );
+                    StringBuilder text = new StringBuilder( i % 2 == 0 ? "even" : "odd" );
+                    for ( int j = 0; j <= (i + partition) % 5; j++ )
+                    {
+                        text.append( " value" );
+                    }
+                    document.add( new TextField( "text", text.toString(), Field.Store.NO ) );
+                    writer.addDocument( document );
+                }
+            }
+            DirectoryReader directoryReader = DirectoryReader.open( directory );
+            SearcherReference searcher = new DirectSearcherReference( new IndexSearcher( directoryReader ), directoryReader );
+            partitionReaders.add( new SimpleFulltextIndexReader( searcher, PROPERTIES, analyzer,
+                    new SimpleTokenHolder( new TokenRegistry( "PropertyKey" ) ), new String[0], Collections.emptyMap() ) );
+        }
+        reader = new PartitionedFulltextIndexReader( partitionReaders );
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        reader.close();
+        IOUtils.closeAll( directories );
+    }
+
+    @Test
+    public void queryMustMergeHitsOfAllPartitionsByScore() throws ParseException
+    {
+        for ( long expectedHits : new long[]{1, 10, 1000} )
+        {
+            ScoreEntityIterator iterator = reader.query( "value", expectedHits );
+            Set<Long> entityIds = new HashSet<>();
+            float lastScore = Float.MAX_VALUE;
+            while ( iterator.hasNext() )
+            {
+                ScoreEntry entry = iterator.next();
+                assertTrue( entry.score() <= lastScore );
+                lastScore = entry.score();
+                assertTrue( entityIds.add( entry.entityId() ) );
+            }
+            assertEquals( PARTITIONS * DOCUMENTS_PER_PARTITION, entityIds.size() );
+        }
+    }
+
+    @Test
+    public void queryMustOnlyReturnMatchingHitsOfAllPartitions() throws ParseException
+    {
+        ScoreEntityIterator iterator = reader.query( "odd", 10 );
+        int hits = 0;
+        while ( iterator.hasNext() )
+        {
+            long entityId = iterator.next().entityId();
+            assertEquals( 1, entityId % DOCUMENTS_PER_PARTITION % 2 );
+            hits++;
+        }
+        assertEquals( PARTITIONS * DOCUMENTS_PER_PARTITION / 2, hits );
+    }
+
+    @Test
+    public void queryForCountMustSumCountsOfAllPartitions() throws ParseException
+    {
+        assertEquals( PARTITIONS * DOCUMENTS_PER_PARTITION / 2, reader.queryForCount( "even" ).getCount() );
+    }
+
+    @Test
+    public void queriesFromMoreThreadsThanSearchThreadsMustAllSeeAllPartitions() throws Exception
+    {
+        int threads = Runtime.getRuntime().availableProcessors() * 4;
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            List<Future<Long>> counts = new ArrayList<>();
+            for ( int i = 0; i < threads; i++ )
+            {
+                counts.add( executor.submit( () -> reader.queryForCount( "odd" ).getCount() ) );
+            }
+            for ( Future<Long> count : counts )
+            {
+                assertEquals( PARTITIONS * DOCUMENTS_PER_PARTITION / 2, count.get().longValue() );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test( expected = ParseException.class )
+    public void queryMustThrowParseExceptionOfPartitions() throws ParseException
+    {
+        reader.query( "text:(value", 10 );
+    }
+}
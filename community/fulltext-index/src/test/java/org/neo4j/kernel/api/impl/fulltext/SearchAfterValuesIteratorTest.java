@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.impl.fulltext;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.neo4j.kernel.api.impl.fulltext.LuceneFulltextDocumentStructure.FIELD_ENTITY_ID;
+
+public class SearchAfterValuesIteratorTest
+{
+    private static final int DOCUMENTS = 250;
+
+    private final Query query = new TermQuery( new Term( "text", "value" ) );
+    private Directory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        directory = new RAMDirectory();
+        try ( IndexWriter writer = new IndexWriter( directory, new IndexWriterConfig( new StandardAnalyzer() ) ) )
+        {
+            for ( int i = 0; i < DOCUMENTS; i++ )
+            {
+                Document document = new Document();
+                document.add( new StringField( FIELD_ENTITY_ID, Long.toString( 1000 + i ), Field.Store.YES ) );
+                document.add( new NumericDocValuesField( FIELD_ENTITY_ID, 1000 + i ) );
+                StringBuilder text = new StringBuilder( "other" );
+                for ( int j = 0; j <= i % 7; j++ )
+                {
+                    text.append( " value" );
+                }
+                document.add( new TextField( "text", text.toString(), Field.Store.NO ) );
+                writer.addDocument( document );
+                if ( i % 100 == 0 )
+                {
+                    // Spread the documents over a few segments
+                    writer.commit();
+                }
+            }
+        }
+        reader = DirectoryReader.open( directory );
+        searcher = new IndexSearcher( reader );
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        reader.close();
+        directory.close();
+    }
+
+    @Test
+    public void shouldReturnAllHitsInOrderAcrossPages() throws IOException
+    {
+        ScoreDoc[] expected = searcher.search( query, DOCUMENTS ).scoreDocs;
+
+        for ( long expectedHits : new long[]{1, 7, 100, DOCUMENTS, 10 * DOCUMENTS} )
+        {
+            SearchAfterValuesIterator iterator = new SearchAfterValuesIterator( searcher, query, null, expectedHits );
+            List<Long> entityIds = new ArrayList<>();
+            while ( iterator.hasNext() )
+            {
+                long entityId = iterator.next();
+                ScoreDoc hit = expected[entityIds.size()];
+                assertEquals( reader.document( hit.doc ).get( FIELD_ENTITY_ID ), Long.toString( entityId ) );
+                assertEquals( hit.score, iterator.currentScore(), 0.0f );
+                entityIds.add( entityId );
+                assertEquals( DOCUMENTS - entityIds.size(), iterator.remaining() );
+            }
+            assertEquals( DOCUMENTS, entityIds.size() );
+        }
+    }
+
+    @Test
+    public void shouldReadAllHitsOfLargeQueryInLogarithmicNumberOfSearches() throws IOException
+    {
+        int documents = 1_000_000;
+        try ( Directory largeDirectory = new RAMDirectory() )
+        {
+            try ( IndexWriter writer = new IndexWriter( largeDirectory, new IndexWriterConfig( new StandardAnalyzer() ) ) )
+            {
+                for ( int i = 0; i < documents; i++ )
+                {
+                    Document document = new Document();
+                    document.add( new NumericDocValuesField( FIELD_ENTITY_ID, i ) );
+                    document.add( new StringField( "text", "value", Field.Store.NO ) );
+                    writer.addDocument( document );
+                }
+            }
+            try ( DirectoryReader largeReader = DirectoryReader.open( largeDirectory ) )
+            {
+                CountingIndexSearcher countingSearcher = new CountingIndexSearcher( largeReader );
+
+                // when reading all hits, with the first page size used when there is no limit
+                SearchAfterValuesIterator iterator = new SearchAfterValuesIterator( countingSearcher, query,
+                        null, SearchAfterValuesIterator.DEFAULT_FIRST_PAGE_SIZE );
+                int hits = 0;
+                while ( iterator.hasNext() )
+                {
+                    iterator.next();
+                    hits++;
+                }
+
+                // then
+                assertEquals( documents, hits );
+                double pageDoublings = Math.log( (double) documents / SearchAfterValuesIterator.DEFAULT_FIRST_PAGE_SIZE ) / Math.log( 2 );
+                assertThat( countingSearcher.searches, lessThanOrEqualTo( 2 + (int) pageDoublings ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldHandleQueryWithoutHits()
+    {
+        SearchAfterValuesIterator iterator = new SearchAfterValuesIterator( searcher, new TermQuery( new Term( "text", "nothing" ) ), null, 10 );
+        assertFalse( iterator.hasNext() );
+    }
+
+    private static class CountingIndexSearcher extends IndexSearcher
+    {
+        private int searches;
+
+        CountingIndexSearcher( IndexReader reader )
+        {
+            super( reader );
+        }
+
+        @Override
+        public TopDocs searchAfter( ScoreDoc after, Query query, int numHits ) throws IOException
+        {
+            searches++;
+            return super.searchAfter( after, query, numHits );
+        }
+    }
+}
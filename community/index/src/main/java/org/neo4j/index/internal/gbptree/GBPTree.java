@@ -31,13 +31,17 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.helpers.Exceptions;
+import org.neo4j.io.IOUtils;
 import org.neo4j.io.pagecache.CursorException;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
@@ -80,6 +84,9 @@ import static org.neo4j.index.internal.gbptree.PointerChecking.assertNoSuccessor
  * <p>
  * A single writer w/ multiple concurrent readers is supported. Assuming usage adheres to this
  * constraint neither writer nor readers are blocking. Readers are virtually garbage-free.
+ * Alternatively multiple {@link #parallelWriter() parallel writers} can modify the tree concurrently, as long as
+ * their changes fit in the leaves they belong in. Changes requiring splits, merges or new generation of tree nodes
+ * are serialized among them.
  * <p>
  * An reader of GB+Tree is a {@link SeekCursor} that returns result as it finds them.
  * As the cursor move over keys/values, returned results are considered "behind" it
@@ -299,6 +306,24 @@ public class GBPTree<KEY,VALUE> implements Closeable
      */
     private final SingleWriter writer;
 
+    /**
+     * Guards the structure of the tree among {@link ParallelWriter parallel writers}. Changes that only modify a leaf are made
+     * holding the read lock, changes that modify the structure of the tree are made holding the write lock.
+     */
+    private final ReentrantReadWriteLock parallelWriterStructureLock = new ReentrantReadWriteLock();
+
+    /**
+     * Latches for leaves modified by {@link ParallelWriter parallel writers} holding the read lock of
+     * {@link #parallelWriterStructureLock}.
+     */
+    private final LeafLatches leafLatches = new LeafLatches();
+
+    /**
+     * Number of currently open {@link ParallelWriter parallel writers}. The first one opened takes the writer lock of {@link #lock}
+     * and the last one closed releases it. Guarded by {@link #parallelWriterStructureLock} monitor.
+     */
+    private int openParallelWriters;
+
     /**
      * Tells whether or not there have been made changes (using {@link #writer()}) to this tree
      * since last call to {@link #checkpoint(IOLimiter)}. This variable is set when calling {@link #writer()}
@@ -914,6 +939,184 @@ public class GBPTree<KEY,VALUE> implements Closeable
                 exceptionDecorator, SeekCursor.DEFAULT_MAX_READ_AHEAD );
     }
 
+    /**
+     * Partitions the key range into roughly equally sized parts and opens a seeker for each part. The parts are separated by
+     * keys in the internal nodes of this tree, taken from the highest level which has enough keys within the range to make
+     * {@code desiredNumberOfPartitions} parts, or the level right above the leaves if no level has that many.
+     * The returned seekers are independent of each other and can be consumed by different threads, in any order.
+     * Together they will see the same entries as a single {@link #seek(Object, Object) seek} over the whole range would.
+     * <p>
+     * Only ascending seeks can be partitioned, i.e. {@code fromInclusive} must not be bigger than {@code toExclusive}.
+     *
+     * @param fromInclusive lower bound of the range to seek (inclusive).
+     * @param toExclusive higher bound of the range to seek (exclusive).
+     * @param desiredNumberOfPartitions number of parts to split the range into. Fewer parts are returned if the tree
+     * is too small to be split into this many parts.
+     * @return seekers for the parts of the key range, in key order.
+     * @throws IOException on error reading from index.
+     */
+    public List<RawCursor<Hit<KEY,VALUE>,IOException>> partitionedSeek( KEY fromInclusive, KEY toExclusive, int desiredNumberOfPartitions )
+            throws IOException
+    {
+        if ( layout.compare( fromInclusive, toExclusive ) > 0 )
+        {
+            throw new IllegalArgumentException( "Partitioned seek only supports ascending order, but got from:" + fromInclusive +
+                    " which is bigger than to:" + toExclusive );
+        }
+
+        List<KEY> splitKeys = partitionSplitKeys( fromInclusive, toExclusive, desiredNumberOfPartitions );
+        List<RawCursor<Hit<KEY,VALUE>,IOException>> seekers = new ArrayList<>( splitKeys.size() + 1 );
+        try
+        {
+            KEY from = fromInclusive;
+            for ( KEY splitKey : splitKeys )
+            {
+                seekers.add( seek( from, splitKey ) );
+                from = splitKey;
+            }
+            seekers.add( seek( from, toExclusive ) );
+        }
+        catch ( Throwable e )
+        {
+            IOUtils.closeAllSilently( seekers );
+            throw e;
+        }
+        return seekers;
+    }
+
+    /**
+     * Reads keys from internal nodes, level by level from the root, until finding a level with enough keys within the range.
+     * The keys are only used as boundaries between partitions and the seekers will cover the whole range whichever keys are
+     * picked, which is why reading nodes which are concurrently modified doesn't need to be handled more than by
+     * keeping the keys sorted and within the range.
+     *
+     * @return up to {@code desiredNumberOfPartitions - 1} sorted keys, evenly picked among the keys found in the range.
+     */
+    private List<KEY> partitionSplitKeys( KEY fromInclusive, KEY toExclusive, int desiredNumberOfPartitions ) throws IOException
+    {
+        List<KEY> splitKeys = new ArrayList<>();
+        if ( desiredNumberOfPartitions <= 1 || layout.compare( fromInclusive, toExclusive ) == 0 )
+        {
+            return splitKeys;
+        }
+
+        long generation = this.generation;
+        long stableGeneration = stableGeneration( generation );
+        long unstableGeneration = unstableGeneration( generation );
+        try ( PageCursor cursor = openRootCursor( PagedFile.PF_SHARED_READ_LOCK ) )
+        {
+            List<Long> levelNodes = new ArrayList<>();
+            levelNodes.add( cursor.getCurrentPageId() );
+            while ( !levelNodes.isEmpty() )
+            {
+                List<KEY> levelKeys = new ArrayList<>();
+                List<Long> children = new ArrayList<>();
+                for ( long nodeId : levelNodes )
+                {
+                    TreeNode.goTo( cursor, "partition", nodeId );
+                    if ( !readInternalNodeInRange( cursor, fromInclusive, toExclusive, levelKeys, children, stableGeneration, unstableGeneration ) )
+                    {
+                        // Reached the leaves, use the keys from the level above
+                        return evenlyPicked( splitKeys, desiredNumberOfPartitions - 1 );
+                    }
+                }
+                levelKeys.sort( layout );
+                splitKeys.clear();
+                for ( KEY key : levelKeys )
+                {
+                    if ( splitKeys.isEmpty() || layout.compare( splitKeys.get( splitKeys.size() - 1 ), key ) != 0 )
+                    {
+                        splitKeys.add( key );
+                    }
+                }
+                if ( splitKeys.size() + 1 >= desiredNumberOfPartitions )
+                {
+                    break;
+                }
+                levelNodes = children;
+            }
+        }
+        return evenlyPicked( splitKeys, desiredNumberOfPartitions - 1 );
+    }
+
+    /**
+     * Adds the keys of the internal node the cursor is placed at which are within the range, and the children whose key ranges
+     * overlap the range, to the given lists.
+     *
+     * @return {@code false} if the node isn't an internal node, otherwise {@code true}.
+     */
+    private boolean readInternalNodeInRange( PageCursor cursor, KEY fromInclusive, KEY toExclusive, List<KEY> keysInRange,
+            List<Long> childrenInRange, long stableGeneration, long unstableGeneration ) throws IOException
+    {
+        boolean isInternal;
+        int keyCount;
+        List<KEY> keys = new ArrayList<>();
+        long[] children;
+        do
+        {
+            keys.clear();
+            children = null;
+            isInternal = TreeNode.isInternal( cursor );
+            keyCount = TreeNode.keyCount( cursor );
+            if ( !isInternal || !bTreeNode.reasonableKeyCount( keyCount ) )
+            {
+                continue;
+            }
+            for ( int pos = 0; pos < keyCount; pos++ )
+            {
+                keys.add( bTreeNode.keyAt( cursor, layout.newKey(), pos, TreeNode.Type.INTERNAL ) );
+            }
+            children = new long[keyCount + 1];
+            for ( int pos = 0; pos <= keyCount; pos++ )
+            {
+                children[pos] = bTreeNode.childAt( cursor, pos, stableGeneration, unstableGeneration );
+            }
+        }
+        while ( cursor.shouldRetry() );
+        checkOutOfBounds( cursor );
+        cursor.checkAndClearCursorException();
+
+        if ( !isInternal )
+        {
+            return false;
+        }
+        if ( children == null )
+        {
+            // Not a reasonable key count, this node can't be used for partitioning
+            return true;
+        }
+        for ( int pos = 0; pos <= keyCount; pos++ )
+        {
+            // Child at pos holds keys from the key at pos - 1 (inclusive) to the key at pos (exclusive)
+            boolean startsBeforeTo = pos == 0 || layout.compare( keys.get( pos - 1 ), toExclusive ) < 0;
+            boolean endsAfterFrom = pos == keyCount || layout.compare( keys.get( pos ), fromInclusive ) > 0;
+            if ( startsBeforeTo && endsAfterFrom && GenerationSafePointerPair.isSuccess( children[pos] ) )
+            {
+                childrenInRange.add( GenerationSafePointerPair.pointer( children[pos] ) );
+            }
+            if ( pos < keyCount && layout.compare( keys.get( pos ), fromInclusive ) > 0 && layout.compare( keys.get( pos ), toExclusive ) < 0 )
+            {
+                keysInRange.add( keys.get( pos ) );
+            }
+        }
+        return true;
+    }
+
+    private static <T> List<T> evenlyPicked( List<T> items, int count )
+    {
+        if ( items.size() <= count )
+        {
+            return items;
+        }
+        // count + 1 partitions out of items.size() + 1 possible parts
+        List<T> picked = new ArrayList<>( count );
+        for ( int i = 1; i <= count; i++ )
+        {
+            picked.add( items.get( (int) ((long) i * (items.size() + 1) / (count + 1)) - 1 ) );
+        }
+        return picked;
+    }
+
     /**
      * Checkpoints and flushes any pending changes to storage. After a successful call to this method
      * the data is durable and safe. {@link #writer() Changes} made after this call and until crashing or
@@ -1113,6 +1316,70 @@ public class GBPTree<KEY,VALUE> implements Closeable
         return writer;
     }
 
+    /**
+     * Use default value for ratioToKeepInLeftOnSplit
+     * @see GBPTree#parallelWriter(double)
+     */
+    public Writer<KEY,VALUE> parallelWriter() throws IOException
+    {
+        return parallelWriter( InternalTreeLogic.DEFAULT_SPLIT_RATIO );
+    }
+
+    /**
+     * Returns a {@link Writer} able to modify the index concurrently with other writers returned from this method.
+     * Changes that only modify the leaf they belong in are made in parallel, while changes requiring structural changes
+     * to the tree, i.e. splits, merges or creating new generation of tree nodes, are serialized.
+     * The first change to a tree node after a {@link #checkpoint(IOLimiter) checkpoint} always requires a new generation
+     * of it, so parallelism is best when changes are spread over many leaves and checkpoints are infrequent.
+     * <p>
+     * Parallel writers can not be open at the same time as the {@link #writer() single writer}, nor during
+     * {@link #checkpoint(IOLimiter) checkpoint}; opening either waits for the other to close.
+     * After usage the returned writer must be closed, typically by using try-with-resource clause.
+     * The returned writer itself must not be used by multiple threads concurrently.
+     * <p>
+     * A {@link ValueMerger} given to {@link Writer#merge(Object, Object, ValueMerger)} of a parallel writer may be called
+     * more than once for the same merge: once while trying to change the leaf in place, and again while making the structural
+     * changes if the merged value didn't fit in the leaf. The merger must therefore be free of side effects, or at least give
+     * the same outcome when called again, and must be safe to call from the threads of all parallel writers sharing it.
+     *
+     * @param ratioToKeepInLeftOnSplit Decide how much to keep in left node on split, 0=keep nothing, 0.5=split 50-50, 1=keep everything.
+     * @return a new {@link Writer} for this index, which can be used concurrently with other parallel writers.
+     * @throws IOException on error accessing the index.
+     */
+    public Writer<KEY,VALUE> parallelWriter( double ratioToKeepInLeftOnSplit ) throws IOException
+    {
+        assertNotReadOnly( "Open parallel tree writer." );
+        ParallelWriter parallelWriter = new ParallelWriter( ratioToKeepInLeftOnSplit );
+        changesSinceLastCheckpoint = true;
+        return parallelWriter;
+    }
+
+    /**
+     * Returns a {@link BulkLoader} which builds the contents of this tree bottom-up from entries given in strictly ascending
+     * key order. This is considerably cheaper than inserting the same entries through a {@link Writer} since every tree node
+     * is written exactly once, sequentially, without any searching or splitting.
+     * <p>
+     * The tree must be empty when calling this method. The bulk loader holds the same lock as the {@link #writer() writer},
+     * so no other writer can be opened until the returned bulk loader has been closed.
+     *
+     * @param fillFactor how much of each tree node to fill, 1=fill nodes completely. Leaving some space free in the nodes
+     * lets later insertions complete without splitting.
+     * @return a {@link BulkLoader} for this index.
+     * @throws IOException on error accessing the index.
+     * @throws IllegalStateException if the tree isn't empty.
+     */
+    public BulkLoader<KEY,VALUE> bulkLoader( double fillFactor ) throws IOException
+    {
+        assertNotReadOnly( "Open bulk loader." );
+        if ( fillFactor <= 0 || fillFactor > 1 )
+        {
+            throw new IllegalArgumentException( "Fill factor must be in range (0,1], but was " + fillFactor );
+        }
+        TreeBulkLoader bulkLoader = new TreeBulkLoader( fillFactor );
+        changesSinceLastCheckpoint = true;
+        return bulkLoader;
+    }
+
     private void setRoot( long rootId, long rootGeneration )
     {
         this.root = new Root( rootId, rootGeneration );
@@ -1300,6 +1567,40 @@ public class GBPTree<KEY,VALUE> implements Closeable
         Exceptions.withMessage( e, e.getMessage() + " | " + toString() );
     }
 
+    /**
+     * Handles structure changes propagated all the way up to the root, i.e. a split of the root or a new generation of it.
+     *
+     * @return {@code true} if the root changed, in which case {@code cursor} is placed at the new root, otherwise {@code false}.
+     */
+    private boolean handleRootStructureChanges( PageCursor cursor, StructurePropagation<KEY> structurePropagation, long stableGeneration,
+            long unstableGeneration ) throws IOException
+    {
+        boolean rootChanged = false;
+        if ( structurePropagation.hasRightKeyInsert )
+        {
+            // New root
+            long newRootId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+            PageCursorUtil.goTo( cursor, "new root", newRootId );
+
+            bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+            bTreeNode.setChildAt( cursor, structurePropagation.midChild, 0,
+                    stableGeneration, unstableGeneration );
+            bTreeNode.insertKeyAndRightChildAt( cursor, structurePropagation.rightKey, structurePropagation.rightChild, 0, 0,
+                    stableGeneration, unstableGeneration );
+            TreeNode.setKeyCount( cursor, 1 );
+            setRoot( newRootId, unstableGeneration );
+            monitor.treeGrowth();
+            rootChanged = true;
+        }
+        else if ( structurePropagation.hasMidChildUpdate )
+        {
+            setRoot( GenerationSafePointerPair.pointer( structurePropagation.midChild ), unstableGeneration );
+            rootChanged = true;
+        }
+        structurePropagation.clear();
+        return rootChanged;
+    }
+
     private class SingleWriter implements Writer<KEY,VALUE>
     {
         /**
@@ -1409,13 +1710,6 @@ public class GBPTree<KEY,VALUE> implements Closeable
             checkOutOfBounds( cursor );
         }
 
-        private void setRoot( long rootPointer )
-        {
-            long rootId = GenerationSafePointerPair.pointer( rootPointer );
-            GBPTree.this.setRoot( rootId, unstableGeneration );
-            treeLogic.initialize( cursor, ratioToKeepInLeftOnSplit );
-        }
-
         @Override
         public VALUE remove( KEY key )
         {
@@ -1444,26 +1738,10 @@ public class GBPTree<KEY,VALUE> implements Closeable
 
         private void handleStructureChanges() throws IOException
         {
-            if ( structurePropagation.hasRightKeyInsert )
-            {
-                // New root
-                long newRootId = freeList.acquireNewId( stableGeneration, unstableGeneration );
-                PageCursorUtil.goTo( cursor, "new root", newRootId );
-
-                bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
-                bTreeNode.setChildAt( cursor, structurePropagation.midChild, 0,
-                        stableGeneration, unstableGeneration );
-                bTreeNode.insertKeyAndRightChildAt( cursor, structurePropagation.rightKey, structurePropagation.rightChild, 0, 0,
-                        stableGeneration, unstableGeneration );
-                TreeNode.setKeyCount( cursor, 1 );
-                setRoot( newRootId );
-                monitor.treeGrowth();
-            }
-            else if ( structurePropagation.hasMidChildUpdate )
+            if ( handleRootStructureChanges( cursor, structurePropagation, stableGeneration, unstableGeneration ) )
             {
-                setRoot( structurePropagation.midChild );
+                treeLogic.initialize( cursor, ratioToKeepInLeftOnSplit );
             }
-            structurePropagation.clear();
         }
 
         @Override
@@ -1488,6 +1766,423 @@ public class GBPTree<KEY,VALUE> implements Closeable
         }
     }
 
+    /**
+     * Writer that can be used concurrently with other parallel writers, see {@link #parallelWriter(double)}.
+     * Each change is first tried while holding the read lock of {@link #parallelWriterStructureLock}, only modifying
+     * the leaf it belongs in. If that's not possible the change is made holding the write lock instead.
+     */
+    private class ParallelWriter implements Writer<KEY,VALUE>
+    {
+        private final InternalTreeLogic<KEY,VALUE> treeLogic;
+        private final StructurePropagation<KEY> structurePropagation;
+        private final double ratioToKeepInLeftOnSplit;
+        private PageCursor cursor;
+        private boolean closed;
+
+        // Parallel writers can't live past a checkpoint because of the mutex with checkpoint,
+        // therefore safe to locally cache these generation fields from the volatile generation in the tree
+        private final long stableGeneration;
+        private final long unstableGeneration;
+
+        ParallelWriter( double ratioToKeepInLeftOnSplit ) throws IOException
+        {
+            this.treeLogic = new InternalTreeLogic<>( freeList, bTreeNode, layout, monitor );
+            this.structurePropagation = new StructurePropagation<>( layout.newKey(), layout.newKey(), layout.newKey() );
+            this.ratioToKeepInLeftOnSplit = ratioToKeepInLeftOnSplit;
+
+            acquireParallelWriterLock();
+            stableGeneration = stableGeneration( generation );
+            unstableGeneration = unstableGeneration( generation );
+            boolean success = false;
+            try
+            {
+                cursor = pagedFile.io( 0L /*Ignored*/, PagedFile.PF_SHARED_WRITE_LOCK );
+                success = true;
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+            finally
+            {
+                if ( !success )
+                {
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public void put( KEY key, VALUE value )
+        {
+            merge( key, value, ValueMergers.overwrite() );
+        }
+
+        @Override
+        public void merge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger )
+        {
+            try
+            {
+                boolean inserted;
+                parallelWriterStructureLock.readLock().lock();
+                try
+                {
+                    goToRoot();
+                    inserted = treeLogic.insertInLeafOnly( cursor, leafLatches, key, value, valueMerger, stableGeneration, unstableGeneration );
+                }
+                finally
+                {
+                    parallelWriterStructureLock.readLock().unlock();
+                }
+
+                if ( !inserted )
+                {
+                    parallelWriterStructureLock.writeLock().lock();
+                    try
+                    {
+                        goToRoot();
+                        treeLogic.insert( cursor, structurePropagation, key, value, valueMerger, stableGeneration, unstableGeneration );
+                        handleRootStructureChanges( cursor, structurePropagation, stableGeneration, unstableGeneration );
+                    }
+                    finally
+                    {
+                        parallelWriterStructureLock.writeLock().unlock();
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+
+            checkOutOfBounds( cursor );
+        }
+
+        @Override
+        public VALUE remove( KEY key )
+        {
+            VALUE result = layout.newValue();
+            try
+            {
+                InternalTreeLogic.LeafOnlyRemoval removal;
+                parallelWriterStructureLock.readLock().lock();
+                try
+                {
+                    goToRoot();
+                    removal = treeLogic.removeInLeafOnly( cursor, leafLatches, key, result, stableGeneration, unstableGeneration );
+                }
+                finally
+                {
+                    parallelWriterStructureLock.readLock().unlock();
+                }
+
+                if ( removal == InternalTreeLogic.LeafOnlyRemoval.NOT_FOUND )
+                {
+                    result = null;
+                }
+                else if ( removal == InternalTreeLogic.LeafOnlyRemoval.NEEDS_STRUCTURE_CHANGE )
+                {
+                    parallelWriterStructureLock.writeLock().lock();
+                    try
+                    {
+                        goToRoot();
+                        result = treeLogic.remove( cursor, structurePropagation, key, result, stableGeneration, unstableGeneration );
+                        handleRootStructureChanges( cursor, structurePropagation, stableGeneration, unstableGeneration );
+                    }
+                    finally
+                    {
+                        parallelWriterStructureLock.writeLock().unlock();
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+
+            checkOutOfBounds( cursor );
+            return result;
+        }
+
+        /**
+         * Other writers may have changed the structure of the tree since last change, so every change starts from the root.
+         */
+        private void goToRoot() throws IOException
+        {
+            root.goTo( cursor );
+            treeLogic.initialize( cursor, ratioToKeepInLeftOnSplit );
+        }
+
+        @Override
+        public void close()
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to close parallel writer of " + GBPTree.this +
+                        ", but writer is already closed." );
+            }
+            closed = true;
+            if ( cursor != null )
+            {
+                cursor.close();
+                cursor = null;
+            }
+            releaseParallelWriterLock();
+        }
+    }
+
+    private class TreeBulkLoader implements BulkLoader<KEY,VALUE>
+    {
+        private final int fillLimit;
+        private final long stableGeneration;
+        private final long unstableGeneration;
+        // One entry per level in the tree being built, leaves at index 0
+        private final List<LevelBuilder> levels = new ArrayList<>();
+        private final KEY previousKey;
+        private boolean hasPreviousKey;
+        private boolean closed;
+
+        TreeBulkLoader( double fillFactor ) throws IOException
+        {
+            lock.writerAndCleanerLock();
+            try
+            {
+                assertRecoveryCleanSuccessful();
+                stableGeneration = stableGeneration( generation );
+                unstableGeneration = unstableGeneration( generation );
+                try ( PageCursor cursor = openRootCursor( PagedFile.PF_SHARED_READ_LOCK ) )
+                {
+                    int keyCount;
+                    boolean isLeaf;
+                    do
+                    {
+                        keyCount = TreeNode.keyCount( cursor );
+                        isLeaf = TreeNode.isLeaf( cursor );
+                    }
+                    while ( cursor.shouldRetry() );
+                    checkOutOfBounds( cursor );
+                    if ( !isLeaf || keyCount != 0 )
+                    {
+                        throw new IllegalStateException( "Can only bulk load into an empty tree" );
+                    }
+                }
+            }
+            catch ( Throwable e )
+            {
+                lock.writerAndCleanerUnlock();
+                throw e;
+            }
+            fillLimit = (int) ((pageSize - TreeNode.BASE_HEADER_LENGTH) * fillFactor);
+            previousKey = layout.newKey();
+        }
+
+        @Override
+        public void add( KEY key, VALUE value )
+        {
+            if ( hasPreviousKey && layout.compare( previousKey, key ) >= 0 )
+            {
+                throw new IllegalArgumentException( format( "Keys must be added in strictly ascending order, but %s came after %s",
+                        key, previousKey ) );
+            }
+            bTreeNode.validateKeyValueSize( key, value );
+            try
+            {
+                if ( levels.isEmpty() )
+                {
+                    levels.add( new LevelBuilder( true ) );
+                }
+                LevelBuilder leaves = levels.get( 0 );
+                int entrySize = layout.keySize( key ) + layout.valueSize( value );
+                if ( leaves.keyCount > 0 )
+                {
+                    TreeNode.Overflow overflow = bTreeNode.leafOverflow( leaves.cursor, leaves.keyCount, key, value );
+                    if ( overflow == TreeNode.Overflow.YES || leaves.usedSpace + entrySize > fillLimit )
+                    {
+                        long leftLeaf = leaves.cursor.getCurrentPageId();
+                        long rightLeaf = leaves.startNextNode();
+                        addToParent( 1, key, leftLeaf, rightLeaf );
+                    }
+                    else if ( overflow == TreeNode.Overflow.NO_NEED_DEFRAG )
+                    {
+                        bTreeNode.defragmentLeaf( leaves.cursor );
+                    }
+                }
+                bTreeNode.insertKeyValueAt( leaves.cursor, key, value, leaves.keyCount, leaves.keyCount );
+                leaves.keyCount++;
+                TreeNode.setKeyCount( leaves.cursor, leaves.keyCount );
+                leaves.usedSpace += entrySize;
+                layout.copyKey( key, previousKey );
+                hasPreviousKey = true;
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+
+        /**
+         * Adds {@code key} as separator between {@code leftChild} and {@code rightChild} on given level,
+         * starting a new node on that level, and possibly on levels above it, if current node on that level is full.
+         */
+        private void addToParent( int level, KEY key, long leftChild, long rightChild ) throws IOException
+        {
+            if ( levels.size() == level )
+            {
+                LevelBuilder newLevel = new LevelBuilder( false );
+                bTreeNode.setChildAt( newLevel.cursor, leftChild, 0, stableGeneration, unstableGeneration );
+                levels.add( newLevel );
+            }
+            LevelBuilder internals = levels.get( level );
+            int entrySize = layout.keySize( key ) + GenerationSafePointerPair.SIZE;
+            if ( internals.keyCount > 0 && (internals.usedSpace + entrySize > fillLimit ||
+                    bTreeNode.internalOverflow( internals.cursor, internals.keyCount, key ) == TreeNode.Overflow.YES) )
+            {
+                // The separator moves up a level and the right child becomes the first child of a new node on this level
+                long leftNode = internals.cursor.getCurrentPageId();
+                long rightNode = internals.startNextNode();
+                bTreeNode.setChildAt( internals.cursor, rightChild, 0, stableGeneration, unstableGeneration );
+                addToParent( level + 1, key, leftNode, rightNode );
+                return;
+            }
+            bTreeNode.insertKeyAndRightChildAt( internals.cursor, key, rightChild, internals.keyCount, internals.keyCount,
+                    stableGeneration, unstableGeneration );
+            internals.keyCount++;
+            TreeNode.setKeyCount( internals.cursor, internals.keyCount );
+            internals.usedSpace += entrySize;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to close bulk loader of " + indexFile + ", but bulk loader is already closed." );
+            }
+            closed = true;
+            try
+            {
+                if ( !levels.isEmpty() )
+                {
+                    // Every level but the top one has at least two nodes, which is why there's a level above it
+                    long newRootId = levels.get( levels.size() - 1 ).cursor.getCurrentPageId();
+                    closeLevels();
+                    long oldRootId = root.id();
+                    setRoot( newRootId, unstableGeneration );
+                    freeList.releaseId( stableGeneration, unstableGeneration, oldRootId );
+                }
+            }
+            finally
+            {
+                closeLevels();
+                lock.writerAndCleanerUnlock();
+            }
+        }
+
+        private void closeLevels()
+        {
+            for ( LevelBuilder level : levels )
+            {
+                level.cursor.close();
+            }
+            levels.clear();
+        }
+
+        /**
+         * The right-most node currently being filled on one level of the tree.
+         */
+        private class LevelBuilder
+        {
+            private final boolean isLeaf;
+            private final PageCursor cursor;
+            private int keyCount;
+            private int usedSpace;
+
+            LevelBuilder( boolean isLeaf ) throws IOException
+            {
+                this.isLeaf = isLeaf;
+                this.cursor = pagedFile.io( 0 /*ignored*/, PagedFile.PF_SHARED_WRITE_LOCK );
+                PageCursorUtil.goTo( cursor, "new bulk loaded node", freeList.acquireNewId( stableGeneration, unstableGeneration ) );
+                initializeNode();
+            }
+
+            /**
+             * Starts a new node as right sibling of the current node on this level.
+             * @return id of the new node.
+             */
+            long startNextNode() throws IOException
+            {
+                long leftId = cursor.getCurrentPageId();
+                long rightId = freeList.acquireNewId( stableGeneration, unstableGeneration );
+                TreeNode.setRightSibling( cursor, rightId, stableGeneration, unstableGeneration );
+                PageCursorUtil.goTo( cursor, "new bulk loaded sibling", rightId );
+                initializeNode();
+                TreeNode.setLeftSibling( cursor, leftId, stableGeneration, unstableGeneration );
+                keyCount = 0;
+                usedSpace = 0;
+                return rightId;
+            }
+
+            private void initializeNode()
+            {
+                if ( isLeaf )
+                {
+                    bTreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+                }
+                else
+                {
+                    bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+                }
+            }
+        }
+    }
+
+    private void acquireParallelWriterLock() throws IOException
+    {
+        synchronized ( parallelWriterStructureLock )
+        {
+            if ( openParallelWriters == 0 )
+            {
+                // Block here until cleaning has completed, if cleaning was required
+                lock.writerAndCleanerLock();
+                try
+                {
+                    assertRecoveryCleanSuccessful();
+                }
+                catch ( Throwable e )
+                {
+                    lock.writerAndCleanerUnlock();
+                    throw e;
+                }
+            }
+            openParallelWriters++;
+        }
+    }
+
+    private void releaseParallelWriterLock()
+    {
+        synchronized ( parallelWriterStructureLock )
+        {
+            openParallelWriters--;
+            if ( openParallelWriters == 0 )
+            {
+                lock.writerAndCleanerUnlock();
+            }
+        }
+    }
+
     public boolean wasDirtyOnStartup()
     {
         return dirtyOnStartup;
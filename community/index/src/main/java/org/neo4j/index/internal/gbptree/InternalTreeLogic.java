@@ -159,6 +159,16 @@ class InternalTreeLogic<KEY,VALUE>
         }
     }
 
+    /**
+     * Outcome of {@link #removeInLeafOnly(PageCursor, LeafLatches, Object, Object, long, long)}.
+     */
+    enum LeafOnlyRemoval
+    {
+        REMOVED,
+        NOT_FOUND,
+        NEEDS_STRUCTURE_CHANGE
+    }
+
     InternalTreeLogic( IdProvider idProvider, TreeNode<KEY,VALUE> bTreeNode, Layout<KEY,VALUE> layout, GBPTree.Monitor monitor )
     {
         this.idProvider = idProvider;
@@ -377,6 +387,141 @@ class InternalTreeLogic<KEY,VALUE>
         handleStructureChanges( cursor, structurePropagation, stableGeneration, unstableGeneration );
     }
 
+    /**
+     * Insert {@code key} and associate it with {@code value}, just like
+     * {@link #insert(PageCursor, StructurePropagation, Object, Object, ValueMerger, long, long)}, but only if that can be done
+     * by modifying the leaf that {@code key} belongs in, i.e. without any structural changes in the tree.
+     * <p>
+     * The leaf is only modified while holding its latch in {@code leafLatches}. This makes it safe to call this method
+     * concurrently from multiple instances of tree logic operating on the same tree, as long as no structural changes
+     * are made to the tree at the same time.
+     * <p>
+     * If {@code key} exists, {@code valueMerger} is called before knowing whether the merged value fits in the leaf. If it
+     * doesn't, {@code false} is returned and the caller inserts again with structural changes, calling {@code valueMerger} a
+     * second time with the value that is in the tree by then. Callers must only use mergers without side effects.
+     *
+     * @param cursor {@link PageCursor} pinned to root of tree.
+     * @param leafLatches {@link LeafLatches} guarding leaves from concurrent modification.
+     * @param key key to be inserted
+     * @param value value to be associated with key
+     * @param valueMerger {@link ValueMerger} for deciding what to do with existing keys
+     * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @return {@code true} if the insert was done, or {@code false} if it requires structural changes, in which case
+     * the tree has not been modified.
+     * @throws IOException on cursor failure
+     */
+    boolean insertInLeafOnly( PageCursor cursor, LeafLatches leafLatches, KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger,
+            long stableGeneration, long unstableGeneration ) throws IOException
+    {
+        assert cursorIsAtExpectedLocation( cursor );
+        bTreeNode.validateKeyValueSize( key, value );
+        moveToCorrectLeaf( cursor, key, stableGeneration, unstableGeneration );
+
+        long leafId = cursor.getCurrentPageId();
+        leafLatches.lock( leafId );
+        try
+        {
+            if ( TreeNode.generation( cursor ) != unstableGeneration )
+            {
+                // Leaf needs a successor, which means updating its parent
+                return false;
+            }
+
+            int keyCount = TreeNode.keyCount( cursor );
+            int search = search( cursor, LEAF, key, readKey, keyCount );
+            int pos = positionOf( search );
+            if ( isHit( search ) )
+            {
+                bTreeNode.valueAt( cursor, readValue, pos );
+                VALUE mergedValue = valueMerger.merge( readKey, key, readValue, value );
+                return mergedValue == null || bTreeNode.setValueAt( cursor, mergedValue, pos );
+            }
+            return insertInLeafIfFits( cursor, key, value, pos, keyCount );
+        }
+        finally
+        {
+            leafLatches.unlock( leafId );
+        }
+    }
+
+    /**
+     * Remove given {@code key} and associated value from tree, just like
+     * {@link #remove(PageCursor, StructurePropagation, Object, Object, long, long)}, but only if that can be done by modifying
+     * the leaf that {@code key} belongs in, i.e. without any structural changes in the tree.
+     * See {@link #insertInLeafOnly(PageCursor, LeafLatches, Object, Object, ValueMerger, long, long)} for concurrency guarantees.
+     *
+     * @param cursor {@link PageCursor} pinned to root of tree.
+     * @param leafLatches {@link LeafLatches} guarding leaves from concurrent modification.
+     * @param key key to be removed
+     * @param into {@code VALUE} instance to write removed value to
+     * @param stableGeneration stable generation, i.e. generations <= this generation are considered stable.
+     * @param unstableGeneration unstable generation, i.e. generation which is under development right now.
+     * @return outcome of the removal. If it requires structural changes the tree has not been modified.
+     * @throws IOException on cursor failure
+     */
+    LeafOnlyRemoval removeInLeafOnly( PageCursor cursor, LeafLatches leafLatches, KEY key, VALUE into,
+            long stableGeneration, long unstableGeneration ) throws IOException
+    {
+        assert cursorIsAtExpectedLocation( cursor );
+        moveToCorrectLeaf( cursor, key, stableGeneration, unstableGeneration );
+
+        long leafId = cursor.getCurrentPageId();
+        leafLatches.lock( leafId );
+        try
+        {
+            int keyCount = TreeNode.keyCount( cursor );
+            int search = search( cursor, LEAF, key, readKey, keyCount );
+            int pos = positionOf( search );
+            if ( !isHit( search ) )
+            {
+                return LeafOnlyRemoval.NOT_FOUND;
+            }
+            if ( TreeNode.generation( cursor ) != unstableGeneration )
+            {
+                // Leaf needs a successor, which means updating its parent
+                return LeafOnlyRemoval.NEEDS_STRUCTURE_CHANGE;
+            }
+
+            keyCount = simplyRemoveFromLeaf( cursor, into, keyCount, pos );
+            if ( bTreeNode.leafUnderflow( cursor, keyCount ) && hasSibling( cursor, stableGeneration, unstableGeneration ) )
+            {
+                // Rebalancing or merging with siblings is a structural change, put the entry back
+                boolean reinserted = insertInLeafIfFits( cursor, readKey, into, pos, keyCount );
+                assert reinserted : "Could not put back removed entry in leaf " + leafId;
+                return LeafOnlyRemoval.NEEDS_STRUCTURE_CHANGE;
+            }
+            return LeafOnlyRemoval.REMOVED;
+        }
+        finally
+        {
+            leafLatches.unlock( leafId );
+        }
+    }
+
+    private boolean insertInLeafIfFits( PageCursor cursor, KEY key, VALUE value, int pos, int keyCount )
+    {
+        Overflow overflow = bTreeNode.leafOverflow( cursor, keyCount, key, value );
+        if ( overflow == YES )
+        {
+            return false;
+        }
+
+        if ( overflow == NO_NEED_DEFRAG )
+        {
+            bTreeNode.defragmentLeaf( cursor );
+        }
+        bTreeNode.insertKeyValueAt( cursor, key, value, pos, keyCount );
+        TreeNode.setKeyCount( cursor, keyCount + 1 );
+        return true;
+    }
+
+    private static boolean hasSibling( PageCursor cursor, long stableGeneration, long unstableGeneration )
+    {
+        return TreeNode.isNode( TreeNode.leftSibling( cursor, stableGeneration, unstableGeneration ) ) ||
+               TreeNode.isNode( TreeNode.rightSibling( cursor, stableGeneration, unstableGeneration ) );
+    }
+
     private int search( PageCursor cursor, TreeNode.Type type, KEY key, KEY readKey, int keyCount )
     {
         int searchResult = KeySearch.search( cursor, bTreeNode, type, key, readKey, keyCount );
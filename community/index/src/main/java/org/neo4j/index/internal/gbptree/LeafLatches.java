@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latches for tree nodes that are modified concurrently by multiple writers, see {@link GBPTree#parallelWriter()}.
+ * Latches are striped over tree node ids, so that memory usage is constant regardless of tree size.
+ * Two tree nodes may share a latch, which only limits concurrency, never correctness.
+ */
+class LeafLatches
+{
+    private static final int STRIPES = 1 << 10;
+    private static final int STRIPE_MASK = STRIPES - 1;
+
+    private final ReentrantLock[] latches = new ReentrantLock[STRIPES];
+
+    LeafLatches()
+    {
+        for ( int i = 0; i < latches.length; i++ )
+        {
+            latches[i] = new ReentrantLock();
+        }
+    }
+
+    void lock( long treeNodeId )
+    {
+        latch( treeNodeId ).lock();
+    }
+
+    void unlock( long treeNodeId )
+    {
+        latch( treeNodeId ).unlock();
+    }
+
+    private ReentrantLock latch( long treeNodeId )
+    {
+        return latches[(int) (treeNodeId & STRIPE_MASK)];
+    }
+}
@@ -25,6 +25,9 @@ package org.neo4j.index.internal.gbptree;
 /**
  * Decides what to do when inserting key which already exists in index. Different implementations of
  * {@link ValueMerger} can result in unique/non-unique indexes for example.
+ * <p>
+ * Mergers used with {@link GBPTree#parallelWriter() parallel writers} may be called more than once for the same merge and
+ * from multiple threads, and must not have side effects.
  *
  * @param <KEY> type of keys to merge.
  * @param <VALUE> type of values to merge.
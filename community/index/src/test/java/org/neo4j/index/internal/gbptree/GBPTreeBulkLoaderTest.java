@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier.EMPTY;
+
+@ExtendWith( TestDirectoryExtension.class )
+class GBPTreeBulkLoaderTest
+{
+    private static final int COUNT = 50_000;
+
+    @Inject
+    TestDirectory directory;
+    private PageCache pageCache;
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void createPageCache()
+    {
+        SingleFilePageSwapperFactory factory = new SingleFilePageSwapperFactory();
+        factory.open( new DefaultFileSystemAbstraction(), Configuration.EMPTY );
+        MemoryAllocator mman = MemoryAllocator.createAllocator( "8 MiB", new LocalMemoryTracker() );
+        jobScheduler = new ThreadPoolJobScheduler();
+        pageCache = new MuninnPageCache( factory, mman, 256, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, EMPTY, jobScheduler );
+    }
+
+    @AfterEach
+    void tearDownPageCache()
+    {
+        pageCache.close();
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldBulkLoadFixedSizeEntries() throws IOException
+    {
+        shouldBulkLoadAndThenAcceptUpdates( SimpleLongLayout.longLayout().withFixedSize( true ).build(), 1.0 );
+    }
+
+    @Test
+    void shouldBulkLoadDynamicSizeEntries() throws IOException
+    {
+        shouldBulkLoadAndThenAcceptUpdates( SimpleLongLayout.longLayout().withFixedSize( false ).build(), 1.0 );
+    }
+
+    @Test
+    void shouldBulkLoadWithFillFactor() throws IOException
+    {
+        shouldBulkLoadAndThenAcceptUpdates( SimpleLongLayout.longLayout().withFixedSize( true ).build(), 0.5 );
+    }
+
+    @Test
+    void shouldLeaveTreeEmptyIfNothingAdded() throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            tree.bulkLoader( 1.0 ).close();
+
+            assertTrue( tree.consistencyCheck() );
+            try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek = tree.seek( layout.key( 0 ), layout.key( Long.MAX_VALUE ) ) )
+            {
+                assertFalse( seek.next() );
+            }
+        }
+    }
+
+    @Test
+    void shouldThrowOnKeysNotInAscendingOrder() throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build();
+              BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( 1.0 ) )
+        {
+            bulkLoader.add( layout.key( 2 ), layout.value( 2 ) );
+            assertThrows( IllegalArgumentException.class, () -> bulkLoader.add( layout.key( 2 ), layout.value( 2 ) ) );
+            assertThrows( IllegalArgumentException.class, () -> bulkLoader.add( layout.key( 1 ), layout.value( 1 ) ) );
+        }
+    }
+
+    @Test
+    void shouldThrowWhenBulkLoadingIntoNonEmptyTree() throws IOException
+    {
+        SimpleLongLayout layout = SimpleLongLayout.longLayout().build();
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+            {
+                writer.put( layout.key( 1 ), layout.value( 1 ) );
+            }
+
+            assertThrows( IllegalStateException.class, () -> tree.bulkLoader( 1.0 ) );
+
+            // and the writer lock should have been released
+            tree.writer().close();
+        }
+    }
+
+    private void shouldBulkLoadAndThenAcceptUpdates( SimpleLongLayout layout, double fillFactor ) throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            // given even keys bulk loaded
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = tree.bulkLoader( fillFactor ) )
+            {
+                for ( long key = 0; key < COUNT * 2; key += 2 )
+                {
+                    bulkLoader.add( layout.key( key ), layout.value( key ) );
+                }
+            }
+            assertTrue( tree.consistencyCheck() );
+            assertKeys( layout, tree, 0, 2 );
+
+            // when inserting odd keys in between
+            tree.checkpoint( IOLimiter.UNLIMITED );
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+            {
+                for ( long key = 1; key < COUNT * 2; key += 2 )
+                {
+                    writer.put( layout.key( key ), layout.value( key ) );
+                }
+            }
+
+            // then
+            assertTrue( tree.consistencyCheck() );
+            assertKeys( layout, tree, 0, 1 );
+        }
+    }
+
+    private static void assertKeys( SimpleLongLayout layout, GBPTree<MutableLong,MutableLong> tree, long firstKey, long step ) throws IOException
+    {
+        long expectedKey = firstKey;
+        try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek = tree.seek( layout.key( 0 ), layout.key( Long.MAX_VALUE ) ) )
+        {
+            while ( seek.next() )
+            {
+                assertEquals( expectedKey, seek.get().key().longValue() );
+                assertEquals( expectedKey, seek.get().value().longValue() );
+                expectedKey += step;
+            }
+        }
+        assertEquals( COUNT * 2L, expectedKey );
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.Race;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier.EMPTY;
+import static org.neo4j.test.Race.throwing;
+
+@ExtendWith( TestDirectoryExtension.class )
+class GBPTreeParallelWriterTest
+{
+    private static final int THREADS = 4;
+    private static final int KEYS_PER_THREAD = 5_000;
+
+    @Inject
+    TestDirectory directory;
+    private PageCache pageCache;
+    private SimpleLongLayout layout;
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void createPageCache()
+    {
+        SingleFilePageSwapperFactory factory = new SingleFilePageSwapperFactory();
+        factory.open( new DefaultFileSystemAbstraction(), Configuration.EMPTY );
+        MemoryAllocator mman = MemoryAllocator.createAllocator( "8 MiB", new LocalMemoryTracker() );
+        jobScheduler = new ThreadPoolJobScheduler();
+        pageCache = new MuninnPageCache( factory, mman, 256, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, EMPTY, jobScheduler );
+        layout = SimpleLongLayout.longLayout()
+                .withFixedSize( true )
+                .build();
+    }
+
+    @AfterEach
+    void tearDownPageCache()
+    {
+        pageCache.close();
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldInsertAndRemoveConcurrently() throws Throwable
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            // when inserting interleaved keys from multiple writers, with checkpoints in between rounds
+            for ( int round = 0; round < 2; round++ )
+            {
+                int currentRound = round;
+                Race race = new Race();
+                for ( int thread = 0; thread < THREADS; thread++ )
+                {
+                    int currentThread = thread;
+                    race.addContestant( throwing( () ->
+                    {
+                        try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter() )
+                        {
+                            for ( int i = currentRound; i < KEYS_PER_THREAD; i += 2 )
+                            {
+                                long key = (long) i * THREADS + currentThread;
+                                writer.put( layout.key( key ), layout.value( key ) );
+                            }
+                        }
+                    } ) );
+                }
+                race.go();
+                tree.checkpoint( IOLimiter.UNLIMITED );
+            }
+
+            // then
+            assertTrue( tree.consistencyCheck() );
+            assertKeys( tree, 0, 1 );
+
+            // when removing every other key concurrently
+            Race race = new Race();
+            for ( int thread = 0; thread < THREADS; thread++ )
+            {
+                int currentThread = thread;
+                race.addContestant( throwing( () ->
+                {
+                    try ( Writer<MutableLong,MutableLong> writer = tree.parallelWriter() )
+                    {
+                        for ( int i = 0; i < KEYS_PER_THREAD; i++ )
+                        {
+                            long key = (long) i * THREADS + currentThread;
+                            if ( key % 2 == 1 )
+                            {
+                                MutableLong removed = writer.remove( layout.key( key ) );
+                                assertEquals( key, removed.longValue() );
+                            }
+                        }
+                    }
+                } ) );
+            }
+            race.go();
+
+            // then
+            assertTrue( tree.consistencyCheck() );
+            assertKeys( tree, 0, 2 );
+        }
+    }
+
+    @Test
+    void shouldReturnNullWhenRemovingNonExistentKey() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build();
+              Writer<MutableLong,MutableLong> writer = tree.parallelWriter() )
+        {
+            writer.put( layout.key( 1 ), layout.value( 1 ) );
+            assertNull( writer.remove( layout.key( 2 ) ) );
+            assertEquals( 1, writer.remove( layout.key( 1 ) ).longValue() );
+            assertNull( writer.remove( layout.key( 1 ) ) );
+        }
+    }
+
+    @Test
+    void shouldAllowMultipleParallelWritersAtTheSameTime() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build();
+              Writer<MutableLong,MutableLong> writer1 = tree.parallelWriter();
+              Writer<MutableLong,MutableLong> writer2 = tree.parallelWriter() )
+        {
+            writer1.put( layout.key( 1 ), layout.value( 10 ) );
+            writer2.put( layout.key( 2 ), layout.value( 20 ) );
+            writer1.merge( layout.key( 2 ), layout.value( 21 ), ValueMergers.overwrite() );
+            assertEquals( 21, writer2.remove( layout.key( 2 ) ).longValue() );
+        }
+    }
+
+    private void assertKeys( GBPTree<MutableLong,MutableLong> tree, long firstKey, long step ) throws IOException
+    {
+        List<Long> found = new ArrayList<>();
+        try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek = tree.seek( layout.key( 0 ), layout.key( Long.MAX_VALUE ) ) )
+        {
+            while ( seek.next() )
+            {
+                long key = seek.get().key().longValue();
+                assertEquals( key, seek.get().value().longValue() );
+                found.add( key );
+            }
+        }
+        long expectedKey = firstKey;
+        for ( long key : found )
+        {
+            assertEquals( expectedKey, key );
+            expectedKey += step;
+        }
+        assertEquals( (long) THREADS * KEYS_PER_THREAD, expectedKey );
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.graphdb.config.Configuration;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier.EMPTY;
+
+@ExtendWith( TestDirectoryExtension.class )
+class GBPTreePartitionedSeekTest
+{
+    private static final int COUNT = 100_000;
+
+    @Inject
+    TestDirectory directory;
+    private PageCache pageCache;
+    private SimpleLongLayout layout;
+    private ThreadPoolJobScheduler jobScheduler;
+
+    @BeforeEach
+    void createPageCache()
+    {
+        SingleFilePageSwapperFactory factory = new SingleFilePageSwapperFactory();
+        factory.open( new DefaultFileSystemAbstraction(), Configuration.EMPTY );
+        MemoryAllocator mman = MemoryAllocator.createAllocator( "8 MiB", new LocalMemoryTracker() );
+        jobScheduler = new ThreadPoolJobScheduler();
+        pageCache = new MuninnPageCache( factory, mman, 256, PageCacheTracer.NULL, PageCursorTracerSupplier.NULL, EMPTY, jobScheduler );
+        layout = SimpleLongLayout.longLayout().build();
+    }
+
+    @AfterEach
+    void tearDownPageCache()
+    {
+        pageCache.close();
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldPartitionWholeRange() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            insertKeys( tree );
+
+            for ( int desiredNumberOfPartitions = 1; desiredNumberOfPartitions <= 64; desiredNumberOfPartitions *= 2 )
+            {
+                List<RawCursor<Hit<MutableLong,MutableLong>,IOException>> partitions =
+                        tree.partitionedSeek( layout.key( 0 ), layout.key( Long.MAX_VALUE ), desiredNumberOfPartitions );
+                assertEquals( desiredNumberOfPartitions, partitions.size() );
+                assertPartitionsCover( partitions, 0, COUNT );
+            }
+        }
+    }
+
+    @Test
+    void shouldPartitionSubRange() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            insertKeys( tree );
+
+            List<RawCursor<Hit<MutableLong,MutableLong>,IOException>> partitions =
+                    tree.partitionedSeek( layout.key( COUNT / 3 ), layout.key( COUNT / 2 ), 8 );
+            assertTrue( partitions.size() > 1 && partitions.size() <= 8 );
+            assertPartitionsCover( partitions, COUNT / 3, COUNT / 2 );
+        }
+    }
+
+    @Test
+    void shouldNotPartitionSmallTree() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+            {
+                for ( long key = 0; key < 10; key++ )
+                {
+                    writer.put( layout.key( key ), layout.value( key ) );
+                }
+            }
+
+            List<RawCursor<Hit<MutableLong,MutableLong>,IOException>> partitions =
+                    tree.partitionedSeek( layout.key( 0 ), layout.key( Long.MAX_VALUE ), 4 );
+            assertEquals( 1, partitions.size() );
+            assertPartitionsCover( partitions, 0, 10 );
+        }
+    }
+
+    @Test
+    void shouldThrowOnDescendingRange() throws IOException
+    {
+        try ( GBPTree<MutableLong,MutableLong> tree = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            assertThrows( IllegalArgumentException.class, () -> tree.partitionedSeek( layout.key( 10 ), layout.key( 0 ), 4 ) );
+        }
+    }
+
+    private void insertKeys( GBPTree<MutableLong,MutableLong> tree ) throws IOException
+    {
+        try ( Writer<MutableLong,MutableLong> writer = tree.writer() )
+        {
+            for ( long key = 0; key < COUNT; key++ )
+            {
+                writer.put( layout.key( key ), layout.value( key ) );
+            }
+        }
+    }
+
+    private static void assertPartitionsCover( List<RawCursor<Hit<MutableLong,MutableLong>,IOException>> partitions, long fromInclusive,
+            long toExclusive ) throws IOException
+    {
+        try
+        {
+            long expectedKey = fromInclusive;
+            for ( RawCursor<Hit<MutableLong,MutableLong>,IOException> partition : partitions )
+            {
+                while ( partition.next() )
+                {
+                    assertEquals( expectedKey, partition.get().key().longValue() );
+                    expectedKey++;
+                }
+            }
+            assertEquals( toExclusive, expectedKey );
+        }
+        finally
+        {
+            IOUtils.closeAll( partitions );
+        }
+    }
+}
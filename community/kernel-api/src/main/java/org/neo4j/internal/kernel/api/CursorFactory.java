@@ -50,6 +50,8 @@ public interface CursorFactory
 
     NodeLabelIndexCursor allocateNodeLabelIndexCursor();
 
+    RelationshipValueIndexCursor allocateRelationshipValueIndexCursor();
+
     // explicit indexes
 
     NodeExplicitIndexCursor allocateNodeExplicitIndexCursor();
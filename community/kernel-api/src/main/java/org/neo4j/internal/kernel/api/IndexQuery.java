@@ -148,6 +148,20 @@ public abstract class IndexQuery
         return new GeometryRangePredicate( propertyKeyId, crs, null, true, null, true );
     }
 
+    /**
+     * Searches the index for all points in the coordinate reference system of {@code point}, in order of increasing distance from it.
+     * Stop reading when having found the wanted number of nearest neighbours. Note that only the committed entries come back in
+     * order of distance, points added in the current transaction come before them.
+     *
+     * @param propertyKeyId the property ID to match.
+     * @param point the point to find the nearest neighbours of.
+     * @return an {@link IndexQuery} instance to be used for querying an index.
+     */
+    public static NearestNeighbourPredicate nearestNeighbours( int propertyKeyId, PointValue point )
+    {
+        return new NearestNeighbourPredicate( propertyKeyId, point );
+    }
+
     /**
      * Searches the index string values starting with {@code prefix}.
      *
@@ -249,7 +263,8 @@ public abstract class IndexQuery
         range,
         stringPrefix,
         stringSuffix,
-        stringContains
+        stringContains,
+        nearestNeighbour
     }
 
     public static final class ExistsPredicate extends IndexQuery
@@ -461,6 +476,53 @@ public abstract class IndexQuery
         }
     }
 
+    public static final class NearestNeighbourPredicate extends IndexQuery
+    {
+        private final PointValue point;
+
+        NearestNeighbourPredicate( int propertyKeyId, PointValue point )
+        {
+            super( propertyKeyId );
+            this.point = point;
+        }
+
+        @Override
+        public IndexQueryType type()
+        {
+            return IndexQueryType.nearestNeighbour;
+        }
+
+        @Override
+        public boolean acceptsValue( Value value )
+        {
+            return value instanceof PointValue && ((PointValue) value).getCoordinateReferenceSystem().equals( point.getCoordinateReferenceSystem() );
+        }
+
+        @Override
+        public ValueGroup valueGroup()
+        {
+            return ValueGroup.GEOMETRY;
+        }
+
+        public PointValue point()
+        {
+            return point;
+        }
+
+        public CoordinateReferenceSystem crs()
+        {
+            return point.getCoordinateReferenceSystem();
+        }
+
+        /**
+         * @return the distance from the point of this query to the given point, which must be in the same coordinate reference system.
+         */
+        public double distanceTo( PointValue other )
+        {
+            return crs().getCalculator().distance( point, other );
+        }
+    }
+
     public static final class NumberRangePredicate extends RangePredicate<NumberValue>
     {
         NumberRangePredicate( int propertyKeyId, NumberValue from, boolean fromInclusive, NumberValue to,
@@ -71,6 +71,33 @@ public interface NodeValueIndexCursor extends NodeIndexCursor
 
     Value propertyValue( int offset );
 
+    /**
+     * @return the number of properties included in, but not indexed by, a covering index. Their values can be read with
+     * {@link #includedPropertyValue(int)} without going to the store.
+     */
+    default int numberOfIncludedProperties()
+    {
+        return 0;
+    }
+
+    default int includedPropertyKey( int offset )
+    {
+        throw new IndexOutOfBoundsException( "No included property at offset " + offset );
+    }
+
+    /**
+     * Value of an included property of the node at the cursor's current location. Result can change with each call to {@link #next()}.
+     *
+     * @param offset offset of the included property, in the range [0, {@link #numberOfIncludedProperties()}).
+     * @return the value of the included property, or {@code null} if the value isn't available from the index and must be read from
+     * the store. That is the case for nodes changed in the current transaction, for nodes which don't have the property and for
+     * values too large to be stored in the index.
+     */
+    default Value includedPropertyValue( int offset )
+    {
+        return null;
+    }
+
     class Empty implements NodeValueIndexCursor
     {
 
@@ -47,6 +47,23 @@ public interface Read
     void nodeIndexSeek( IndexReference index, NodeValueIndexCursor cursor, IndexOrder indexOrder, boolean needsValues, IndexQuery... query )
             throws KernelException;
 
+    /**
+     * Seek all nodes in the index that match the query, with the result split into parts which can be read by different cursors,
+     * e.g. from different threads, by initializing them with the returned {@link Scan}. Results within a part come in no particular order.
+     * <p>
+     * Changes in the transaction state are included in one of the parts, which is why a transaction with changes
+     * always gets its result as a single part.
+     *
+     * @param index {@link IndexReference} referencing index to query.
+     * @param desiredNumberOfPartitions the number of parts to split the result into. The result may be split into fewer parts,
+     * e.g. for small indexes or for indexes which can't split their results.
+     * @param needsValues if the index should fetch property values together with node ids for index queries
+     * @param query Combination of {@link IndexQuery index queries} to run against referenced index.
+     * @return {@link Scan} initializing cursors with parts of the result.
+     */
+    Scan<NodeValueIndexCursor> nodeIndexSeek( IndexReference index, int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+            throws KernelException;
+
     /**
      * Access all distinct counts in an index. Entries fed to the {@code cursor} will be (count,Value[]),
      * where the count (number of nodes having the particular value) will be accessed using {@link NodeValueIndexCursor#nodeReference()}
@@ -90,6 +107,27 @@ public interface Read
      */
     void nodeIndexScan( IndexReference index, NodeValueIndexCursor cursor, IndexOrder indexOrder, boolean needsValues ) throws KernelException;
 
+    /**
+     * Seek all relationships matching the provided index query in an index on relationship type and properties.
+     * Results come in no particular order.
+     *
+     * @param index {@link IndexReference} referencing a relationship index to query.
+     * @param cursor the cursor to use for consuming the results.
+     * @param needsValues if the index should fetch property values together with relationship ids for index queries
+     * @param query Combination of {@link IndexQuery index queries} to run against referenced index.
+     */
+    void relationshipIndexSeek( IndexReference index, RelationshipValueIndexCursor cursor, boolean needsValues, IndexQuery... query )
+            throws KernelException;
+
+    /**
+     * Scan all values in an index on relationship type and properties. Results come in no particular order.
+     *
+     * @param index {@link IndexReference} referencing a relationship index to query.
+     * @param cursor the cursor to use for consuming the results.
+     * @param needsValues if the index should fetch property values together with relationship ids
+     */
+    void relationshipIndexScan( IndexReference index, RelationshipValueIndexCursor cursor, boolean needsValues ) throws KernelException;
+
     void nodeLabelScan( int label, NodeLabelIndexCursor cursor );
 
     /**
@@ -30,5 +30,12 @@ package org.neo4j.internal.kernel.api;
  */
 public interface Scan<Cursor extends org.neo4j.internal.kernel.api.Cursor>
 {
-    void initialize( Cursor cursor );
+    /**
+     * Initializes {@code cursor} with the next part of the scan which hasn't been handed out to a cursor yet.
+     *
+     * @param cursor the cursor to initialize.
+     * @return {@code true} if {@code cursor} was initialized with a part of the scan, or {@code false} if all parts have
+     * already been handed out.
+     */
+    boolean initialize( Cursor cursor );
 }
@@ -67,7 +67,12 @@ public interface Transaction extends AutoCloseable
     enum Type
     {
         implicit,
-        explicit
+        explicit,
+        /**
+         * Read-only transaction that sees the data as of when it began, unaffected by transactions committed while
+         * it's open. Requires a storage engine that keeps versions of its data.
+         */
+        snapshot
     }
 
     /**
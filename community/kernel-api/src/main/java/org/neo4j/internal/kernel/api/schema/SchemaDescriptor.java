@@ -91,6 +91,12 @@ public interface SchemaDescriptor extends SchemaDescriptorSupplier
             return new int[0];
         }
 
+        @Override
+        public int[] getIncludedPropertyIds()
+        {
+            return new int[0];
+        }
+
         @Override
         public int[] getEntityTokenIds()
         {
@@ -223,6 +229,15 @@ public interface SchemaDescriptor extends SchemaDescriptorSupplier
 
     int[] getSortTypes();
 
+    /**
+     * Included properties are properties whose values are stored in the index alongside the indexed values, without being indexed themselves.
+     * They are not part of {@link #getPropertyIds()}, don't affect whether or not an entity is indexed and can't be queried,
+     * but their values can be read from the index instead of from the store.
+     *
+     * @return the included property ids, or an empty array if this schema has no included properties.
+     */
+    int[] getIncludedPropertyIds();
+
     /**
      * This method returns the entity token ids handled by this descriptor.
      * @return the entity token ids that this schema descriptor represents
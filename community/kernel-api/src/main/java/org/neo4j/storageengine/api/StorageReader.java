@@ -66,6 +66,22 @@ public interface StorageReader extends AutoCloseable, StorageSchemaReader
     @Override
     void close();
 
+    /**
+     * Makes the cursors of this reader see the data as of the last closed transaction, unaffected by transactions
+     * committed after it, until {@link #closeSnapshot()} is called. Only meant for read-only transactions.
+     * <p>
+     * Storage engines that can't version their counts or label scans may compute them from the snapshot instead,
+     * and {@link #getIndexReader(IndexDescriptor) index readers} may not be available while the snapshot is open.
+     *
+     * @throws IllegalStateException if the storage engine doesn't keep versions of its data.
+     */
+    void openSnapshot();
+
+    /**
+     * Makes the cursors of this reader see the latest committed data again, after {@link #openSnapshot()}.
+     */
+    void closeSnapshot();
+
     /**
      * @return {@link LabelScanReader} capable of reading nodes for specific label ids.
      */
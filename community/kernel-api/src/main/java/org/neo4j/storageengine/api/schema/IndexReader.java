@@ -86,6 +86,24 @@ public interface IndexReader extends Resource
      */
     void distinctValues( IndexProgressor.NodeValueClient client, NodePropertyAccessor propertyAccessor, boolean needsValues );
 
+    /**
+     * Queries the index for the given {@link IndexQuery} predicates, with the result split into partitions which can be
+     * consumed independently of each other, e.g. from different threads. Results within partitions come in no particular order.
+     * Indexes which can't split their results return the whole result as a single partition.
+     *
+     * @param desiredNumberOfPartitions the number of partitions to split the result into. This is only a hint,
+     * the result may be split into fewer partitions.
+     * @param needsValues if the index should fetch property values together with node ids for index queries.
+     * @param query the query to serve.
+     * @return {@link PartitionedValueSeek} from which partitions of the result can be reserved.
+     * @throws IndexNotApplicableKernelException if the query isn't supported by this index.
+     */
+    default PartitionedValueSeek valueSeek( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+            throws IndexNotApplicableKernelException
+    {
+        return new SinglePartitionValueSeek( this, needsValues, query );
+    }
+
     IndexReader EMPTY = new IndexReader()
     {
         // Used for checking index correctness
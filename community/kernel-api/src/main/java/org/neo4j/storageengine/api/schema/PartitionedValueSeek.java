@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api.schema;
+
+/**
+ * The result of an index query split into partitions, see {@link IndexReader#valueSeek(int, boolean, org.neo4j.internal.kernel.api.IndexQuery...)}.
+ * Partitions are reserved one at a time and each reserved partition can be consumed from a different thread.
+ */
+public interface PartitionedValueSeek
+{
+    /**
+     * @return the number of partitions the result was split into.
+     */
+    int getNumberOfPartitions();
+
+    /**
+     * Initializes {@code client} with the next partition which hasn't been reserved yet. Safe to call concurrently.
+     *
+     * @param client the client which will control the progression through the results of the partition.
+     * @return {@code true} if {@code client} was initialized with a partition, or {@code false} if all partitions have already been reserved.
+     */
+    boolean reservePartition( IndexProgressor.NodeValueClient client );
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api.schema;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
+
+/**
+ * {@link PartitionedValueSeek} for indexes which can't split their results, where the whole result is one partition
+ * served by {@link IndexReader#query(IndexProgressor.NodeValueClient, IndexOrder, boolean, IndexQuery...)}.
+ */
+public class SinglePartitionValueSeek implements PartitionedValueSeek
+{
+    private final IndexReader reader;
+    private final boolean needsValues;
+    private final IndexQuery[] query;
+    private final AtomicBoolean reserved = new AtomicBoolean();
+
+    public SinglePartitionValueSeek( IndexReader reader, boolean needsValues, IndexQuery... query )
+    {
+        this.reader = reader;
+        this.needsValues = needsValues;
+        this.query = query;
+    }
+
+    @Override
+    public int getNumberOfPartitions()
+    {
+        return 1;
+    }
+
+    @Override
+    public boolean reservePartition( IndexProgressor.NodeValueClient client )
+    {
+        if ( !reserved.compareAndSet( false, true ) )
+        {
+            return false;
+        }
+        try
+        {
+            reader.query( client, IndexOrder.NONE, needsValues, query );
+        }
+        catch ( IndexNotApplicableKernelException e )
+        {
+            throw new IllegalArgumentException( "Unexpectedly the index reader couldn't handle this query", e );
+        }
+        return true;
+    }
+}
@@ -107,6 +107,14 @@ public class ManagedTestCursors implements CursorFactory
         return n;
     }
 
+    @Override
+    public RelationshipValueIndexCursor allocateRelationshipValueIndexCursor()
+    {
+        RelationshipValueIndexCursor n = cursors.allocateRelationshipValueIndexCursor();
+        allCursors.add( n );
+        return n;
+    }
+
     @Override
     public NodeExplicitIndexCursor allocateNodeExplicitIndexCursor()
     {
@@ -28,10 +28,15 @@ import org.eclipse.collections.impl.factory.primitive.LongLists;
 import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.neo4j.graphdb.GraphDatabaseService;
@@ -1538,6 +1543,60 @@ public abstract class NodeValueIndexCursorTestBase<G extends KernelAPIReadTestSu
         }
     }
 
+    @Test
+    public void shouldFilterOnFullValuePrecisionInPartitionedSeekFromOtherThreads() throws Exception
+    {
+        // given
+        int label = token.nodeLabel( "Node" );
+        int prop = token.propertyKey( "prop3" );
+        IndexReference index = schemaRead.index( label, prop );
+        int partitions = 4;
+        List<NodeValueIndexCursor> nodes = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool( partitions );
+        try
+        {
+            for ( int i = 0; i < partitions; i++ )
+            {
+                nodes.add( cursors.allocateNodeValueIndexCursor() );
+            }
+
+            // when
+            Scan<NodeValueIndexCursor> scan = read.nodeIndexSeek( index, partitions, false, IndexQuery.exact( prop, POINT_2 ) );
+            List<Future<Integer>> counts = new ArrayList<>();
+            for ( NodeValueIndexCursor node : nodes )
+            {
+                counts.add( executor.submit( () ->
+                {
+                    int count = 0;
+                    if ( scan.initialize( node ) )
+                    {
+                        while ( node.next() )
+                        {
+                            count++;
+                        }
+                    }
+                    return count;
+                } ) );
+            }
+            int total = 0;
+            for ( Future<Integer> count : counts )
+            {
+                total += count.get();
+            }
+
+            // then POINT_1 has the same derived value as POINT_2, but must be filtered out
+            assertEquals( 2, total );
+        }
+        finally
+        {
+            executor.shutdown();
+            for ( NodeValueIndexCursor node : nodes )
+            {
+                node.close();
+            }
+        }
+    }
+
     private long nodeWithProp( GraphDatabaseService graphDb, Object value )
     {
         return nodeWithProp( graphDb, "prop", value );
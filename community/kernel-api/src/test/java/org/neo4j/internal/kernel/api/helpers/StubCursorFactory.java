@@ -36,6 +36,7 @@ import org.neo4j.internal.kernel.api.RelationshipExplicitIndexCursor;
 import org.neo4j.internal.kernel.api.RelationshipGroupCursor;
 import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor;
 
 public class StubCursorFactory implements CursorFactory
 {
@@ -47,6 +48,7 @@ public class StubCursorFactory implements CursorFactory
     private Queue<RelationshipGroupCursor> groupCursors = new LinkedList<>(  );
     private Queue<NodeValueIndexCursor> nodeValueIndexCursors = new LinkedList<>(  );
     private Queue<NodeLabelIndexCursor> nodeLabelIndexCursors = new LinkedList<>(  );
+    private Queue<RelationshipValueIndexCursor> relationshipValueIndexCursors = new LinkedList<>(  );
     private Queue<NodeExplicitIndexCursor> nodeExplicitIndexCursors = new LinkedList<>(  );
     private Queue<RelationshipExplicitIndexCursor> relationshipExplicitIndexCursors = new LinkedList<>(  );
 
@@ -102,6 +104,12 @@ public class StubCursorFactory implements CursorFactory
         return poll( nodeLabelIndexCursors );
     }
 
+    @Override
+    public RelationshipValueIndexCursor allocateRelationshipValueIndexCursor()
+    {
+        return poll( relationshipValueIndexCursors );
+    }
+
     @Override
     public NodeExplicitIndexCursor allocateNodeExplicitIndexCursor()
     {
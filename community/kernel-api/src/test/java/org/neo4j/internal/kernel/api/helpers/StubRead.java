@@ -33,6 +33,7 @@ import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.internal.kernel.api.RelationshipGroupCursor;
 import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor;
 import org.neo4j.internal.kernel.api.Scan;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.values.storable.Value;
@@ -45,6 +46,12 @@ public class StubRead implements Read
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Scan<NodeValueIndexCursor> nodeIndexSeek( IndexReference index, int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void nodeIndexDistinctValues( IndexReference index, NodeValueIndexCursor cursor, boolean needsValues )
     {
@@ -64,6 +71,18 @@ public class StubRead implements Read
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void relationshipIndexSeek( IndexReference index, RelationshipValueIndexCursor cursor, boolean needsValues, IndexQuery... query )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void relationshipIndexScan( IndexReference index, RelationshipValueIndexCursor cursor, boolean needsValues )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void nodeLabelScan( int label, NodeLabelIndexCursor cursor )
     {
@@ -188,11 +188,16 @@ public class GraphDatabaseSettings implements LoadableConfig
     @Description( "Whether to allow an upgrade in case the current version of the database starts against an older version." )
     public static final Setting<Boolean> allow_upgrade = setting( "dbms.allow_upgrade", BOOLEAN, FALSE );
 
-    @Description( "Database record format. Valid values: `standard`, `high_limit`. " +
-            "The `high_limit` format is available for Enterprise Edition only. " +
-            "It is required if you have a graph that is larger than 34 billion nodes, 34 billion relationships, or 68 billion properties. " +
-            "A change of the record format is irreversible. " +
-            "Certain operations may suffer from a performance penalty of up to 10%, which is why this format is not switched on by default." )
+    @Description( "Database record format. Valid values: `standard`, `compact`, `high_limit`. " +
+            "The `compact` and `high_limit` formats are available for Enterprise Edition only. " +
+            "The `compact` format has the same limits as `standard`, but stores relationships and relationship groups in less space. " +
+            "In return, reading them has to decode variable length references, and the few records that don't fit their record " +
+            "need a second record read. " +
+            "The `high_limit` format is required if you have a graph that is larger than 34 billion nodes, 34 billion relationships, " +
+            "or 68 billion properties. " +
+            "With the `high_limit` format certain operations may suffer from a performance penalty of up to 10%, " +
+            "which is why it is not switched on by default. " +
+            "A change of the record format is irreversible." )
     public static final Setting<String> record_format = setting( "dbms.record_format", Settings.STRING, "" );
 
     // Cypher settings
@@ -637,6 +642,13 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Integer> lucene_searcher_cache_size = buildSetting( "dbms.index_searcher_cache_size",INTEGER,
             Integer.toString( Integer.MAX_VALUE ) ).constraint( min( 1 ) ).build();
 
+    @Description( "Committing transactions don't reopen the searchers of the Lucene schema and fulltext indexes they change. Instead, a background " +
+            "thread refreshes the indexes with committed changes at this interval. Readers of indexes it hasn't refreshed yet refresh them first, " +
+            "so they see all committed changes, except for eventually consistent fulltext indexes, whose readers use the current searchers. " +
+            "For those, this interval bounds how long applied changes stay invisible to readers." )
+    public static final Setting<Duration> index_refresh_max_staleness = buildSetting( "dbms.index.refresh_max_staleness", DURATION, "1s" )
+            .constraint( min( Duration.ofMillis( 1 ) ) ).build();
+
     // Lucene schema indexes
     @Internal
     public static final Setting<Boolean> multi_threaded_schema_index_population_enabled =
@@ -820,6 +832,20 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Integer> array_block_size = buildSetting( "unsupported.dbms.block_size.array_properties",
             INTEGER, "0" ).constraint( min( 0 ) ).build();
 
+    @Description( "Store string property values that don't fit in the property record compressed, whenever that saves space. " +
+            "Only the standard record format supports this. Enabling it moves the store to a store version that versions " +
+            "without compressed strings refuse to open, which for an existing store requires `dbms.allow_upgrade=true`. " +
+            "Disabling it again stops compressing new values, but the store keeps that store version." )
+    @Internal
+    public static final Setting<Boolean> string_property_compression = setting( "unsupported.dbms.store.compress_strings", BOOLEAN, FALSE );
+
+    @Description( "Keep before-images of records overwritten by committed transactions, so that read-only transactions can " +
+            "read the store as of a snapshot in time instead of the latest committed state. Before-images are kept in memory " +
+            "for as long as they are visible to an open snapshot. Counts and label scans in a snapshot are computed by scanning " +
+            "the store, and indexes cannot be read in a snapshot. Requires buffered id reuse." )
+    @Internal
+    public static final Setting<Boolean> snapshot_reads = setting( "unsupported.dbms.snapshot_reads", BOOLEAN, FALSE );
+
     @Description( "Specifies the block size for storing labels exceeding in-lined space in node record. " +
             "This parameter is only honored when the store is created, otherwise it is ignored. " +
             "Also note that each block carries a ~10B of overhead so record size on disk will be slightly larger " +
@@ -1130,6 +1156,17 @@ public class GraphDatabaseSettings implements LoadableConfig
             .constraint( min( 16 ) )
             .build();
 
+    @Description( "Defines whether transaction state that does not fit into dbms.tx_state.max_off_heap_memory should be spilled to " +
+            "memory mapped temporary files instead of failing the transaction. Used when dbms.tx_state.memory_allocation is set to " +
+            "'OFF_HEAP' and dbms.tx_state.max_off_heap_memory is not zero." )
+    public static final Setting<Boolean> tx_state_off_heap_spill_to_disk = setting(
+            "dbms.tx_state.off_heap.spill_to_disk", BOOLEAN, FALSE );
+
+    @Description( "Directory for temporary files of spilled transaction state. If not set, the default temporary-file directory " +
+            "of the JVM is used." )
+    public static final Setting<File> tx_state_off_heap_spill_directory = pathSetting(
+            "dbms.tx_state.off_heap.spill_directory", NO_DEFAULT );
+
     // Needed to validate config, accessed via reflection
     @SuppressWarnings( "unused" )
     public static final HttpConnectorValidator httpValidator = new HttpConnectorValidator();
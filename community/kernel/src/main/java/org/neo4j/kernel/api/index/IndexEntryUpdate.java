@@ -55,8 +55,8 @@ public class IndexEntryUpdate<INDEX_KEY extends SchemaDescriptorSupplier>
     private IndexEntryUpdate( long entityId, INDEX_KEY indexKey, UpdateMode updateMode, Value[] before,
             Value[] values )
     {
-        // we do not support partial index entries
-        assert indexKey.schema().getPropertyIds().length == values.length :
+        // we do not support partial index entries, values of included properties follow the indexed values
+        assert indexKey.schema().getPropertyIds().length + indexKey.schema().getIncludedPropertyIds().length == values.length :
                 format( "IndexEntryUpdate values must be of same length as index compositeness. " +
                         "Index on %s, but got values %s", indexKey.schema().toString(), Arrays.toString( values ) );
         assert before == null || before.length == values.length;
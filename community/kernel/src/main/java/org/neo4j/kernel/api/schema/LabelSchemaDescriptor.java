@@ -40,6 +40,7 @@ public class LabelSchemaDescriptor implements org.neo4j.internal.kernel.api.sche
     private final int[] propertyIds;
     private final int[] sortIds;
     private final int[] sortTypes;
+    private final int[] includedPropertyIds;
 
     LabelSchemaDescriptor( int labelId, int... propertyIds )
     {
@@ -47,6 +48,7 @@ public class LabelSchemaDescriptor implements org.neo4j.internal.kernel.api.sche
         this.propertyIds = propertyIds;
         this.sortIds = new int[0];
         this.sortTypes = new int[0];
+        this.includedPropertyIds = new int[0];
     }
 
     LabelSchemaDescriptor( int labelId, int[] propertyIds, int[] sortIds, int[] sortTypes )
@@ -55,6 +57,16 @@ public class LabelSchemaDescriptor implements org.neo4j.internal.kernel.api.sche
         this.propertyIds = propertyIds;
         this.sortIds = sortIds;
         this.sortTypes = sortTypes;
+        this.includedPropertyIds = new int[0];
+    }
+
+    LabelSchemaDescriptor( int labelId, int[] propertyIds, int[] includedPropertyIds )
+    {
+        this.labelId = labelId;
+        this.propertyIds = propertyIds;
+        this.sortIds = new int[0];
+        this.sortTypes = new int[0];
+        this.includedPropertyIds = includedPropertyIds;
     }
 
     @Override
@@ -78,8 +90,13 @@ public class LabelSchemaDescriptor implements org.neo4j.internal.kernel.api.sche
     @Override
     public String userDescription( TokenNameLookup tokenNameLookup )
     {
-        return String.format( ":%s(%s)", tokenNameLookup.labelGetName( labelId ),
+        String description = String.format( ":%s(%s)", tokenNameLookup.labelGetName( labelId ),
                 SchemaUtil.niceProperties( tokenNameLookup, propertyIds ) );
+        if ( includedPropertyIds.length > 0 )
+        {
+            description += String.format( " INCLUDE (%s)", SchemaUtil.niceProperties( tokenNameLookup, includedPropertyIds ) );
+        }
+        return description;
     }
 
     @Override
@@ -136,7 +153,8 @@ public class LabelSchemaDescriptor implements org.neo4j.internal.kernel.api.sche
         if ( o instanceof LabelSchemaDescriptor )
         {
             LabelSchemaDescriptor that = (LabelSchemaDescriptor)o;
-            return labelId == that.getLabelId() && Arrays.equals( propertyIds, that.getPropertyIds() );
+            return labelId == that.getLabelId() && Arrays.equals( propertyIds, that.getPropertyIds() ) &&
+                    Arrays.equals( includedPropertyIds, that.getIncludedPropertyIds() );
         }
         return false;
     }
@@ -144,7 +162,7 @@ public class LabelSchemaDescriptor implements org.neo4j.internal.kernel.api.sche
     @Override
     public int hashCode()
     {
-        return Arrays.hashCode( propertyIds ) + 31 * labelId;
+        return 31 * (Arrays.hashCode( propertyIds ) + 31 * labelId) + Arrays.hashCode( includedPropertyIds );
     }
 
     @Override
@@ -170,4 +188,10 @@ public class LabelSchemaDescriptor implements org.neo4j.internal.kernel.api.sche
     {
         return sortTypes;
     }
+
+    @Override
+    public int[] getIncludedPropertyIds()
+    {
+        return includedPropertyIds;
+    }
 }
@@ -164,6 +164,12 @@ public class MultiTokenSchemaDescriptor implements SchemaDescriptor
         return sortTypes;
     }
 
+    @Override
+    public int[] getIncludedPropertyIds()
+    {
+        return new int[0];
+    }
+
     @Override
     public boolean equals( Object o )
     {
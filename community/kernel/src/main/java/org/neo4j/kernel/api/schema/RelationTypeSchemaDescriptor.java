@@ -165,4 +165,10 @@ public class RelationTypeSchemaDescriptor implements org.neo4j.internal.kernel.a
     {
         return sortTypes;
     }
+
+    @Override
+    public int[] getIncludedPropertyIds()
+    {
+        return new int[0];
+    }
 }
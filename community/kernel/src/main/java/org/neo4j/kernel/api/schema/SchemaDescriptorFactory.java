@@ -41,6 +41,20 @@ public class SchemaDescriptorFactory
         return new LabelSchemaDescriptor( labelId, propertyIds );
     }
 
+    /**
+     * Creates a label schema for an index which, in addition to indexing {@code propertyIds}, stores the values of
+     * {@code includedPropertyIds} so that those can be read from the index without going to the store.
+     * Included properties take part in equality, so an index with included properties can exist next to an index on
+     * the same label and indexed properties without them.
+     */
+    public static LabelSchemaDescriptor forLabelIncluding( int labelId, int[] propertyIds, int[] includedPropertyIds )
+    {
+        validateLabelIds( labelId );
+        validatePropertyIds( propertyIds );
+        validatePropertyIds( includedPropertyIds );
+        return new LabelSchemaDescriptor( labelId, propertyIds, includedPropertyIds );
+    }
+
     public static RelationTypeSchemaDescriptor forRelType( int relTypeId, int... propertyIds )
     {
         validateRelationshipTypeIds( relTypeId );
@@ -251,6 +251,11 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     public KernelTransactionImplementation initialize( long lastCommittedTx, long lastTimeStamp, StatementLocks statementLocks, Type type,
             SecurityContext frozenSecurityContext, long transactionTimeout, long userTransactionId )
     {
+        if ( type == Type.snapshot )
+        {
+            // First, so that nothing needs to be undone if snapshots aren't supported
+            storageReader.openSnapshot();
+        }
         this.type = type;
         this.statementLocks = statementLocks;
         this.userTransactionId = userTransactionId;
@@ -453,15 +458,25 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
 
     void upgradeToDataWrites() throws InvalidTransactionTypeKernelException
     {
+        assertNotSnapshot();
         writeState = writeState.upgradeToDataWrites();
     }
 
     void upgradeToSchemaWrites() throws InvalidTransactionTypeKernelException
     {
+        assertNotSnapshot();
         schemaWriteGuard.assertSchemaWritesAllowed();
         writeState = writeState.upgradeToSchemaWrites();
     }
 
+    private void assertNotSnapshot() throws InvalidTransactionTypeKernelException
+    {
+        if ( type == Type.snapshot )
+        {
+            throw new InvalidTransactionTypeKernelException( "Cannot perform updates in a snapshot transaction, it is read-only." );
+        }
+    }
+
     private void dropCreatedConstraintIndexes() throws TransactionFailureException
     {
         if ( hasTxStateWithChanges() )
@@ -961,6 +976,10 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
             statementLocks.close();
             statementLocks = null;
             terminationReason = null;
+            if ( type == Type.snapshot )
+            {
+                storageReader.closeSnapshot();
+            }
             type = null;
             securityContext = null;
             transactionEvent = null;
@@ -198,8 +198,18 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<Ker
                 TransactionId lastCommittedTransaction = transactionIdStore.getLastCommittedTransaction();
                 KernelTransactionImplementation tx = localTxPool.acquire();
                 StatementLocks statementLocks = statementLocksFactory.newInstance();
-                tx.initialize( lastCommittedTransaction.transactionId(), lastCommittedTransaction.commitTimestamp(),
-                        statementLocks, type, securityContext, timeout, userTransactionIdCounter.incrementAndGet() );
+                try
+                {
+                    tx.initialize( lastCommittedTransaction.transactionId(), lastCommittedTransaction.commitTimestamp(),
+                            statementLocks, type, securityContext, timeout, userTransactionIdCounter.incrementAndGet() );
+                }
+                catch ( RuntimeException e )
+                {
+                    // E.g. a snapshot transaction on a storage engine that doesn't keep versions of its data
+                    statementLocks.close();
+                    localTxPool.release( tx );
+                    throw e;
+                }
                 return tx;
             }
             finally
@@ -40,6 +40,7 @@ import org.neo4j.internal.kernel.api.schema.SchemaDescriptorSupplier;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static java.lang.String.format;
 import static org.neo4j.internal.kernel.api.schema.SchemaDescriptor.PropertySchemaType.COMPLETE_ALL_TOKENS;
@@ -250,19 +251,22 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
             boolean relevantBefore = relevantBefore( schema );
             boolean relevantAfter = relevantAfter( schema );
             int[] propertyIds = schema.getPropertyIds();
+            int[] includedPropertyIds = schema.getIncludedPropertyIds();
             if ( relevantBefore && !relevantAfter )
             {
-                indexUpdates.add( IndexEntryUpdate.remove( entityId, indexKey, valuesBefore( propertyIds ) ) );
+                indexUpdates.add( IndexEntryUpdate.remove( entityId, indexKey, withIncludedValuesBefore( valuesBefore( propertyIds ), includedPropertyIds ) ) );
             }
             else if ( !relevantBefore && relevantAfter )
             {
-                indexUpdates.add( IndexEntryUpdate.add( entityId, indexKey, valuesAfter( propertyIds ) ) );
+                indexUpdates.add( IndexEntryUpdate.add( entityId, indexKey, withIncludedValuesAfter( valuesAfter( propertyIds ), includedPropertyIds ) ) );
             }
             else if ( relevantBefore && relevantAfter )
             {
-                if ( valuesChanged( propertyIds, schema.propertySchemaType() ) )
+                if ( valuesChanged( propertyIds, schema.propertySchemaType() ) || includedValuesChanged( includedPropertyIds ) )
                 {
-                    indexUpdates.add( IndexEntryUpdate.change( entityId, indexKey, valuesBefore( propertyIds ), valuesAfter( propertyIds ) ) );
+                    indexUpdates.add( IndexEntryUpdate.change( entityId, indexKey,
+                            withIncludedValuesBefore( valuesBefore( propertyIds ), includedPropertyIds ),
+                            withIncludedValuesAfter( valuesAfter( propertyIds ), includedPropertyIds ) ) );
                 }
             }
         }
@@ -294,7 +298,13 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
 
     private void gatherPropsToLoad( SchemaDescriptor schema, MutableIntSet target )
     {
-        for ( int propertyId : schema.getPropertyIds() )
+        gatherPropsToLoad( schema.getPropertyIds(), target );
+        gatherPropsToLoad( schema.getIncludedPropertyIds(), target );
+    }
+
+    private void gatherPropsToLoad( int[] propertyIds, MutableIntSet target )
+    {
+        for ( int propertyId : propertyIds )
         {
             if ( knownProperties.get( propertyId ) == null )
             {
@@ -316,6 +326,13 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
                     return true;
                 }
             }
+            for ( int propertyId : schema.getIncludedPropertyIds() )
+            {
+                if ( knownProperties.containsKey( propertyId ) )
+                {
+                    return true;
+                }
+            }
             return false;
         }
         return affectedBefore || affectedAfter;
@@ -384,6 +401,52 @@ public class EntityUpdates implements PropertyLoader.PropertyLoadSink
         return values;
     }
 
+    /**
+     * Included properties don't decide whether or not an entity is indexed, so a missing included property gets {@link Values#NO_VALUE}.
+     */
+    private Value[] withIncludedValuesBefore( Value[] values, int[] includedPropertyIds )
+    {
+        if ( includedPropertyIds.length == 0 )
+        {
+            return values;
+        }
+        Value[] result = Arrays.copyOf( values, values.length + includedPropertyIds.length );
+        for ( int i = 0; i < includedPropertyIds.length; i++ )
+        {
+            PropertyValue propertyValue = knownProperties.get( includedPropertyIds[i] );
+            result[values.length + i] = propertyValue == null || !propertyValue.hasBefore() ? Values.NO_VALUE : propertyValue.before;
+        }
+        return result;
+    }
+
+    private Value[] withIncludedValuesAfter( Value[] values, int[] includedPropertyIds )
+    {
+        if ( includedPropertyIds.length == 0 )
+        {
+            return values;
+        }
+        Value[] result = Arrays.copyOf( values, values.length + includedPropertyIds.length );
+        for ( int i = 0; i < includedPropertyIds.length; i++ )
+        {
+            PropertyValue propertyValue = knownProperties.get( includedPropertyIds[i] );
+            result[values.length + i] = propertyValue == null || !propertyValue.hasAfter() ? Values.NO_VALUE : propertyValue.after;
+        }
+        return result;
+    }
+
+    private boolean includedValuesChanged( int[] includedPropertyIds )
+    {
+        for ( int propertyId : includedPropertyIds )
+        {
+            PropertyValue propertyValue = knownProperties.get( propertyId );
+            if ( propertyValue != null && propertyValue.type != UnChanged && propertyValue.type != NoValue )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * This method should only be called in a context where you know that your entity is relevant both before and after
      */
@@ -59,6 +59,26 @@ public interface IndexStoreView extends NodePropertyAccessor, PropertyLoader
             Visitor<NodeLabelUpdate, FAILURE> labelUpdateVisitor,
             boolean forceStoreScan );
 
+    /**
+     * Like {@link #visitNodes(int[], IntPredicate, Visitor, Visitor, boolean)}, but allows the scan to split the node id space
+     * into up to {@code numberOfPartitions} partitions which are scanned concurrently. The visitor may therefore be called
+     * from multiple threads at the same time and must be thread-safe. Views not able to partition their scan fall back
+     * to a single-threaded one.
+     *
+     * @param labelIds array of label ids to generate updates for. Empty array means all.
+     * @param propertyKeyIdFilter property key ids to generate updates for.
+     * @param propertyUpdateVisitor thread-safe visitor which will see all generated {@link EntityUpdates}.
+     * @param numberOfPartitions maximum number of partitions to scan concurrently.
+     * @return a {@link StoreScan} to start and to stop the scan.
+     */
+    default <FAILURE extends Exception> StoreScan<FAILURE> visitNodesInPartitions(
+            int[] labelIds, IntPredicate propertyKeyIdFilter,
+            Visitor<EntityUpdates, FAILURE> propertyUpdateVisitor,
+            int numberOfPartitions )
+    {
+        return visitNodes( labelIds, propertyKeyIdFilter, propertyUpdateVisitor, null, false );
+    }
+
     /**
      * Retrieve all relationships in the database which has any of the the given relationship types AND
      * one or more of the given property key ids.
@@ -65,7 +65,7 @@ public class LoggingPhaseTracker implements PhaseTracker
     }
 
     @Override
-    public void enterPhase( Phase phase )
+    public synchronized void enterPhase( Phase phase )
     {
         if ( stopped )
         {
@@ -93,7 +93,7 @@ public class LoggingPhaseTracker implements PhaseTracker
     }
 
     @Override
-    public void stop()
+    public synchronized void stop()
     {
         stopped = true;
         logCurrentTime();
@@ -77,6 +77,12 @@ import static org.neo4j.kernel.impl.api.index.IndexPopulationFailure.failure;
  * of concurrent threads.</li>
  * </ul>
  *
+ * Node stores can be scanned by multiple threads, each scanning its own partition of the node id space, if the
+ * {@link #SCAN_THREADS_NAME} feature toggle is set to more than one thread. In that case scan updates are batched and
+ * queued updates are applied from all the scanning threads, one of them at a time. Flushing a batch is serialized with
+ * applying queued updates, so that the scanning threads never add to a populator concurrently and a scanned entity can't
+ * be added after a newer queued update for it has been applied.
+ *
  * Usage of this class should be something like:
  * <ol>
  * <li>Instantiation.</li>
@@ -91,9 +97,11 @@ public class MultipleIndexPopulator implements IndexPopulator
 {
     public static final String QUEUE_THRESHOLD_NAME = "queue_threshold";
     public static final String BATCH_SIZE_NAME = "batch_size";
+    public static final String SCAN_THREADS_NAME = "scan_threads";
 
     final int QUEUE_THRESHOLD = FeatureToggles.getInteger( getClass(), QUEUE_THRESHOLD_NAME, 20_000 );
     final int BATCH_SIZE = FeatureToggles.getInteger( BatchingMultipleIndexPopulator.class, BATCH_SIZE_NAME, 10_000 );
+    final int SCAN_THREADS = FeatureToggles.getInteger( MultipleIndexPopulator.class, SCAN_THREADS_NAME, 1 );
     final boolean PRINT_DEBUG = FeatureToggles.flag( MultipleIndexPopulator.class, "print_debug", false );
 
     // Concurrency queue since multiple concurrent threads may enqueue updates into it. It is important for this queue
@@ -174,6 +182,10 @@ public class MultipleIndexPopulator implements IndexPopulator
         {
             storeScan = storeView.visitRelationships( entityTokenIds, propertyKeyIdFilter, new EntityPopulationVisitor() );
         }
+        else if ( SCAN_THREADS > 1 )
+        {
+            storeScan = storeView.visitNodesInPartitions( entityTokenIds, propertyKeyIdFilter, new EntityPopulationVisitor(), SCAN_THREADS );
+        }
         else
         {
             storeScan = storeView.visitNodes( entityTokenIds, propertyKeyIdFilter, new EntityPopulationVisitor(), null, false );
@@ -336,7 +348,8 @@ public class MultipleIndexPopulator implements IndexPopulator
 
     private IntStream propertyKeyIds( IndexPopulation population )
     {
-        return IntStream.of( population.schema().getPropertyIds() );
+        SchemaDescriptor schema = population.schema();
+        return IntStream.concat( IntStream.of( schema.getPropertyIds() ), IntStream.of( schema.getIncludedPropertyIds() ) );
     }
 
     private int[] entityTokenIds()
@@ -374,7 +387,11 @@ public class MultipleIndexPopulator implements IndexPopulator
         populations.forEach( this::flush );
     }
 
-    protected void flush( IndexPopulation population )
+    /**
+     * Synchronized with {@link #populateFromQueue(int, long)}, so that a batch taken by one scan thread is always added to its
+     * populator before another scan thread applies queued updates, which may be newer than the entities in that batch.
+     */
+    protected synchronized void flush( IndexPopulation population )
     {
         phaseTracker.enterPhase( PhaseTracker.Phase.WRITE );
         doFlush( population );
@@ -394,10 +411,12 @@ public class MultipleIndexPopulator implements IndexPopulator
 
     /**
      * Populates external updates from the update queue if there are {@code queueThreshold} or more queued updates.
+     * Only the updates queued when this method is called are applied, since those are the ones known to come after
+     * the scan updates flushed before them. Synchronized because a partitioned store scan calls this from all its threads.
      *
      * @return whether or not there were external updates applied.
      */
-    boolean populateFromQueue( int queueThreshold, long currentlyIndexedNodeId )
+    synchronized boolean populateFromQueue( int queueThreshold, long currentlyIndexedNodeId )
     {
         int queueSize = updatesQueue.size();
         if ( queueSize > 0 && queueSize >= queueThreshold )
@@ -412,7 +431,7 @@ public class MultipleIndexPopulator implements IndexPopulator
 
             try ( MultipleIndexUpdater updater = newPopulatingUpdater( storeView ) )
             {
-                do
+                for ( int i = 0; i < queueSize; i++ )
                 {
                     // no need to check for null as nobody else is emptying this queue
                     IndexEntryUpdate<?> update = updatesQueue.poll();
@@ -422,7 +441,6 @@ public class MultipleIndexPopulator implements IndexPopulator
                         log.info( "Applied %s from queue" + update );
                     }
                 }
-                while ( !updatesQueue.isEmpty() );
             }
             if ( PRINT_DEBUG )
             {
@@ -473,7 +491,7 @@ public class MultipleIndexPopulator implements IndexPopulator
 
                 try
                 {
-                    population.populator.includeSample( update );
+                    population.includeSample( update );
                     updater.process( update );
                 }
                 catch ( Throwable t )
@@ -598,13 +616,24 @@ public class MultipleIndexPopulator implements IndexPopulator
 
         private void onUpdate( IndexEntryUpdate<?> update )
         {
-            populator.includeSample( update );
-            if ( batch( update ) )
+            if ( includeSampleAndBatch( update ) )
             {
                 flush( this );
             }
         }
 
+        // Samplers and the current batch aren't thread-safe, but updates may come from a partitioned store scan
+        private synchronized boolean includeSampleAndBatch( IndexEntryUpdate<?> update )
+        {
+            populator.includeSample( update );
+            return batch( update );
+        }
+
+        synchronized void includeSample( IndexEntryUpdate<?> update )
+        {
+            populator.includeSample( update );
+        }
+
         void flip( boolean verifyBeforeFlipping ) throws FlipFailedKernelException
         {
             phaseTracker.enterPhase( PhaseTracker.Phase.FLIP );
@@ -658,13 +687,13 @@ public class MultipleIndexPopulator implements IndexPopulator
             return capableIndexDescriptor.schema();
         }
 
-        public boolean batch( IndexEntryUpdate<?> update )
+        public synchronized boolean batch( IndexEntryUpdate<?> update )
         {
             batchedUpdates.add( update );
             return batchedUpdates.size() >= BATCH_SIZE;
         }
 
-        List<IndexEntryUpdate<?>> takeCurrentBatch()
+        synchronized List<IndexEntryUpdate<?>> takeCurrentBatch()
         {
             if ( batchedUpdates.isEmpty() )
             {
@@ -22,6 +22,7 @@
  */
 package org.neo4j.kernel.impl.api.index;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
 import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
 
@@ -279,6 +280,11 @@ public class SchemaDescriptorLookupSet<T extends SchemaDescriptorSupplier>
             {
                 byAnyProperty.getIfAbsentPut( keyId, HashSet::new ).add( schemaDescriptor );
             }
+            // Included properties don't decide whether or not an entity matches, but changes to them must still reach the index
+            for ( int keyId : schemaDescriptor.schema().getIncludedPropertyIds() )
+            {
+                byAnyProperty.getIfAbsentPut( keyId, HashSet::new ).add( schemaDescriptor );
+            }
         }
 
         /**
@@ -318,7 +324,7 @@ public class SchemaDescriptorLookupSet<T extends SchemaDescriptorSupplier>
             }
 
             // Remove from the fall-back path
-            for ( int keyId : propertyKeyIds )
+            for ( int keyId : ArrayUtils.addAll( propertyKeyIds, schemaDescriptor.schema().getIncludedPropertyIds() ) )
             {
                 Set<T> byProperty = byAnyProperty.get( keyId );
                 if ( byProperty != null )
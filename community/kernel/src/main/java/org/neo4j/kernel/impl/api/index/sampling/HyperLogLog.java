@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct hashes added to it, using a fixed amount of memory,
+ * {@code 2^precision} bytes, regardless of how many hashes are added. Sketches with the same precision can be
+ * {@link #merge(HyperLogLog) merged}, the result being the sketch of the union of the hashes added to both of them.
+ * With the default precision the standard error of the estimate is about 0.8%.
+ * <p>
+ * Not thread-safe.
+ */
+public class HyperLogLog
+{
+    public static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog()
+    {
+        this( DEFAULT_PRECISION );
+    }
+
+    public HyperLogLog( int precision )
+    {
+        if ( precision < 4 || precision > 18 )
+        {
+            throw new IllegalArgumentException( "Precision must be in range [4,18], but was " + precision );
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * @param hash hash of the value to add. The hash is mixed further, so it doesn't need to be uniformly distributed.
+     */
+    public void add( long hash )
+    {
+        long x = mix( hash );
+        int register = (int) (x >>> (64 - precision));
+        // Guard bit limits the rank to 64 - precision + 1, for when all remaining bits are zero
+        long remaining = (x << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros( remaining ) + 1);
+        if ( rank > registers[register] )
+        {
+            registers[register] = rank;
+        }
+    }
+
+    public void merge( HyperLogLog other )
+    {
+        if ( other.precision != precision )
+        {
+            throw new IllegalArgumentException( "Can not merge sketch of precision " + other.precision + " into sketch of precision " + precision );
+        }
+        for ( int i = 0; i < registers.length; i++ )
+        {
+            if ( other.registers[i] > registers[i] )
+            {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * @return estimated number of distinct hashes added to this sketch.
+     */
+    public long estimate()
+    {
+        int m = registers.length;
+        double sum = 0;
+        int zeroRegisters = 0;
+        for ( byte rank : registers )
+        {
+            sum += 1.0 / (1L << rank);
+            if ( rank == 0 )
+            {
+                zeroRegisters++;
+            }
+        }
+        double estimate = alpha( m ) * m * m / sum;
+        if ( estimate <= 2.5 * m && zeroRegisters > 0 )
+        {
+            // Linear counting is more accurate for small cardinalities
+            estimate = m * Math.log( (double) m / zeroRegisters );
+        }
+        return Math.round( estimate );
+    }
+
+    private static double alpha( int m )
+    {
+        switch ( m )
+        {
+        case 16:
+            return 0.673;
+        case 32:
+            return 0.697;
+        case 64:
+            return 0.709;
+        default:
+            return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreading the bits of the given hash over all 64 bits.
+     */
+    private static long mix( long hash )
+    {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -40,6 +40,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.BulkLoader;
+import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Hit;
 import org.neo4j.index.internal.gbptree.Writer;
 import org.neo4j.io.ByteUnit;
@@ -87,6 +89,11 @@ import static org.neo4j.util.concurrent.Runnables.runAll;
 public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,VALUE extends NativeIndexValue> extends NativeIndexPopulator<KEY,VALUE>
 {
     public static final String BLOCK_SIZE_NAME = "blockSize";
+    /**
+     * How much of each tree node to fill when the scanned entries are bulk loaded into the tree, see {@link GBPTree#bulkLoader(double)}.
+     * Leaving space free in the nodes lets updates applied after population complete without splitting.
+     */
+    private static final double FILL_FACTOR = FeatureToggles.getDouble( BlockBasedIndexPopulator.class, "fillFactor", 1.0 );
 
     private final IndexDirectoryStructure directoryStructure;
     private final IndexDropAction dropAction;
@@ -431,12 +438,18 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
                 }
             }
 
-            int asMuchAsPossibleToTheLeft = 1;
-            try ( Writer<KEY,VALUE> writer = tree.writer( asMuchAsPossibleToTheLeft ) )
+            // The merged entries come in key order, so the tree can be built bottom-up instead of inserting entries one by one
+            try ( BulkLoader<KEY,VALUE> bulkLoader = tree.bulkLoader( FILL_FACTOR ) )
             {
+                KEY previousKey = layout.newKey();
+                boolean hasPreviousKey = false;
                 while ( allEntries.next() && !cancellation.cancelled() )
                 {
-                    writeToTree( writer, recordingConflictDetector, allEntries.key(), allEntries.value() );
+                    if ( bulkLoadToTree( bulkLoader, recordingConflictDetector, previousKey, hasPreviousKey, allEntries.key(), allEntries.value() ) )
+                    {
+                        layout.copyKey( allEntries.key(), previousKey );
+                        hasPreviousKey = true;
+                    }
                     numberOfAppliedScanUpdates++;
                 }
             }
@@ -597,6 +610,35 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
         handleMergeConflict( writer, recordingConflictDetector, key, value );
     }
 
+    /**
+     * Conflict detection for entries which are bulk loaded in key order. An entry can only conflict with the entry added right before it,
+     * which is where a merge into the tree would have found it. Conflicting entries are recorded, to have their uniqueness verified later,
+     * and added with relaxed uniqueness, i.e. ordered by entity id as well, like {@link #handleMergeConflict(Writer, RecordingConflictDetector, NativeIndexKey,
+     * NativeIndexValue)} does.
+     *
+     * @return {@code true} if the entry was added, or {@code false} if it was an exact duplicate of the previous entry.
+     */
+    private boolean bulkLoadToTree( BulkLoader<KEY,VALUE> bulkLoader, RecordingConflictDetector<KEY,VALUE> recordingConflictDetector, KEY previousKey,
+            boolean hasPreviousKey, KEY key, VALUE value ) throws IndexEntryConflictException
+    {
+        recordingConflictDetector.controlConflictDetection( key );
+        if ( hasPreviousKey && layout.compare( previousKey, key ) == 0 )
+        {
+            recordingConflictDetector.merge( previousKey, key, value, value );
+            if ( !recordingConflictDetector.wasConflicting() )
+            {
+                return false;
+            }
+            KEY copy = layout.newKey();
+            layout.copyKey( key, copy );
+            recordingConflictDetector.reportConflict( copy );
+        }
+        // Entries come ordered by entity id too, so they can always be added with relaxed uniqueness
+        recordingConflictDetector.relaxUniqueness( key );
+        bulkLoader.add( key, value );
+        return true;
+    }
+
     /**
      * Will check if recording conflict detector saw a conflict. If it did, that conflict has been recorded and we will verify uniqueness for this
      * value later on. But for now we try and insert conflicting value again but with a relaxed uniqueness constraint. Insert is done with a throwing
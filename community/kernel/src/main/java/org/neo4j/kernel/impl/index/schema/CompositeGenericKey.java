@@ -29,6 +29,7 @@ import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveS
 import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
 
 /**
  * {@link GenericKey} which has an array of {@link GenericKey} inside and can therefore hold composite key state.
@@ -38,10 +39,25 @@ class CompositeGenericKey extends GenericKey
 {
     @SuppressWarnings( { "unchecked", "rawtypes" } )
     private GenericKey[] states;
+    private final int numberOfIndexedSlots;
+    private final int maxSize;
 
     CompositeGenericKey( int slots, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings )
+    {
+        this( slots, slots, Integer.MAX_VALUE, spatialSettings );
+    }
+
+    /**
+     * @param slots total number of value slots.
+     * @param numberOfIndexedSlots number of leading slots holding indexed values, remaining slots hold values of included properties.
+     * @param maxSize max size of a key. Included values of a key which would exceed it are dropped, see {@link #writeValue(int, Value, Inclusion)}.
+     * @param spatialSettings settings for spatial values.
+     */
+    CompositeGenericKey( int slots, int numberOfIndexedSlots, int maxSize, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings )
     {
         super( spatialSettings );
+        this.numberOfIndexedSlots = numberOfIndexedSlots;
+        this.maxSize = maxSize;
         states = new GenericKey[slots];
         for ( int i = 0; i < slots; i++ )
         {
@@ -49,10 +65,23 @@ class CompositeGenericKey extends GenericKey
         }
     }
 
+    /**
+     * Entries are always written with values for all slots, in order. If the values of included properties make an entry
+     * too large to fit in the tree they are replaced with {@link Values#NO_VALUE}, which makes readers go to the store
+     * for them. This happens the same way for the before values of a change, so that the stored entry is found.
+     */
     @Override
     void writeValue( int stateSlot, Value value, Inclusion inclusion )
     {
         stateSlot( stateSlot ).writeValue( value, inclusion );
+        if ( stateSlot == states.length - 1 && numberOfIndexedSlots < states.length && inclusion == Inclusion.NEUTRAL &&
+             size() > maxSize )
+        {
+            for ( int i = numberOfIndexedSlots; i < states.length; i++ )
+            {
+                stateSlot( i ).writeValue( Values.NO_VALUE, Inclusion.NEUTRAL );
+            }
+        }
     }
 
     @Override
@@ -44,7 +44,8 @@ class FilteringNativeHitIndexProgressor<KEY extends NativeIndexKey<KEY>, VALUE e
     @Override
     protected boolean acceptValue( Value[] values )
     {
-        for ( int i = 0; i < values.length; i++ )
+        // Values of included properties, if any, come after the filtered values
+        for ( int i = 0; i < filter.length; i++ )
         {
             if ( !filter[i].acceptsValue( values[i] ) )
             {
@@ -44,7 +44,8 @@ class FilteringNativeHitIterator<KEY extends NativeIndexKey<KEY>, VALUE extends
     @Override
     boolean acceptValues( Value[] values )
     {
-        for ( int i = 0; i < values.length; i++ )
+        // Values of included properties, if any, come after the filtered values
+        for ( int i = 0; i < filters.length; i++ )
         {
             if ( !filters[i].acceptsValue( values[i] ) )
             {
@@ -28,8 +28,10 @@ import java.io.UncheckedIOException;
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.kernel.impl.api.index.sampling.HyperLogLog;
 import org.neo4j.kernel.impl.api.index.sampling.NonUniqueIndexSampler;
 import org.neo4j.storageengine.api.schema.IndexSample;
+import org.neo4j.values.storable.Value;
 
 /**
  * {@link NonUniqueIndexSampler} which performs a full scans of a {@link GBPTree} in {@link #result()}.
@@ -42,15 +44,58 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>, VALUE exten
 {
     private final GBPTree<KEY,VALUE> gbpTree;
     private final IndexLayout<KEY,VALUE> layout;
+    private final IndexValueSketch valueSketch;
 
     FullScanNonUniqueIndexSampler( GBPTree<KEY,VALUE> gbpTree, IndexLayout<KEY,VALUE> layout )
+    {
+        this( gbpTree, layout, null );
+    }
+
+    /**
+     * @param valueSketch if not {@code null}, samples are taken from this sketch, instead of scanning the tree,
+     * whenever the sketch {@link IndexValueSketch#samplesIndex() samples the index} and can provide one. Full scans seed the sketch.
+     */
+    FullScanNonUniqueIndexSampler( GBPTree<KEY,VALUE> gbpTree, IndexLayout<KEY,VALUE> layout, IndexValueSketch valueSketch )
     {
         this.gbpTree = gbpTree;
         this.layout = layout;
+        this.valueSketch = valueSketch;
     }
 
     @Override
     public IndexSample result()
+    {
+        if ( valueSketch == null )
+        {
+            return fullScan( null, null );
+        }
+
+        IndexSample sketchedSample = valueSketch.samplesIndex() ? valueSketch.sample() : null;
+        if ( sketchedSample != null )
+        {
+            return sketchedSample;
+        }
+        valueSketch.startSeeding();
+        boolean seeded = false;
+        try
+        {
+            HyperLogLog scannedValues = new HyperLogLog();
+            HyperLogLog scannedLeadingValues = new HyperLogLog();
+            IndexSample sample = fullScan( scannedValues, scannedLeadingValues );
+            valueSketch.completeSeeding( scannedValues, scannedLeadingValues, sample.indexSize() );
+            seeded = true;
+            return sample;
+        }
+        finally
+        {
+            if ( !seeded )
+            {
+                valueSketch.abortSeeding();
+            }
+        }
+    }
+
+    private IndexSample fullScan( HyperLogLog scannedValues, HyperLogLog scannedLeadingValues )
     {
         KEY lowest = layout.newKey();
         lowest.initialize( Long.MIN_VALUE );
@@ -70,15 +115,17 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>, VALUE exten
                 prev = layout.copyKey( seek.get().key(), prev );
                 sampledValues++;
                 uniqueValues++;
+                includeInSketch( scannedValues, scannedLeadingValues, prev );
 
                 // Then do the rest
                 while ( seek.next() )
                 {
                     Hit<KEY,VALUE> hit = seek.get();
-                    if ( layout.compareValue( prev, hit.key() ) != 0 )
+                    if ( layout.compareIndexedValue( prev, hit.key() ) != 0 )
                     {
                         uniqueValues++;
                         layout.copyKey( hit.key(), prev );
+                        includeInSketch( scannedValues, scannedLeadingValues, prev );
                     }
                     // else this is a duplicate of the previous one
                     sampledValues++;
@@ -92,6 +139,16 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>, VALUE exten
         }
     }
 
+    private void includeInSketch( HyperLogLog scannedValues, HyperLogLog scannedLeadingValues, KEY key )
+    {
+        if ( scannedValues != null )
+        {
+            Value[] values = key.asValues();
+            scannedValues.add( valueSketch.hash( values ) );
+            scannedLeadingValues.add( valueSketch.leadingHash( values ) );
+        }
+    }
+
     @Override
     public IndexSample result( int numDocs )
     {
@@ -32,6 +32,7 @@ import org.neo4j.values.SequenceValue;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static java.lang.String.format;
 import static org.neo4j.kernel.impl.index.schema.GenericKey.BIGGEST_STATIC_SIZE;
@@ -131,6 +132,11 @@ class GenericIndexKeyValidator implements Validator<Value[]>
         {
             key.initFromValue( i, values[i], NativeIndexKey.Inclusion.NEUTRAL );
         }
+        // Only indexed values are validated, included values of a covering index are left out of entries they don't fit in
+        for ( int i = values.length; i < key.numberOfStateSlots(); i++ )
+        {
+            key.initFromValue( i, Values.NO_VALUE, NativeIndexKey.Inclusion.NEUTRAL );
+        }
         return key.size();
     }
 }
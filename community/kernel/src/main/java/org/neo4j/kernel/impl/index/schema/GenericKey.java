@@ -91,6 +91,7 @@ public class GenericKey extends NativeIndexKey<GenericKey>
     public static final int SIZE_NUMBER_FLOAT =    Integer.BYTES;  /* raw value bits */
     public static final int SIZE_NUMBER_DOUBLE =   Long.BYTES;     /* raw value bits */
     public static final int SIZE_ARRAY_LENGTH =    Short.BYTES;
+    public static final int SIZE_NO_VALUE =        Byte.BYTES;     /* marker byte, slot has no value */
     static final int BIGGEST_REASONABLE_ARRAY_LENGTH = PAGE_SIZE / 2 / SIZE_NUMBER_BYTE;
 
     static final long TRUE = 1;
@@ -489,6 +490,12 @@ public class GenericKey extends NativeIndexKey<GenericKey>
         }
     }
 
+    @Override
+    public void writeNull()
+    {
+        setType( Types.NO_VALUE );
+    }
+
     @Override
     public void writeBoolean( boolean value )
     {
@@ -28,12 +28,27 @@ import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveS
 class GenericLayout extends IndexLayout<GenericKey,NativeIndexValue>
 {
     private final int numberOfSlots;
+    private final int numberOfIndexedSlots;
+    private final int maxKeySize;
     private final IndexSpecificSpaceFillingCurveSettingsCache spatialSettings;
 
     GenericLayout( int numberOfSlots, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings )
+    {
+        this( numberOfSlots, numberOfSlots, Integer.MAX_VALUE, spatialSettings );
+    }
+
+    /**
+     * @param numberOfSlots total number of value slots in each key.
+     * @param numberOfIndexedSlots number of leading slots holding indexed values, remaining slots hold included values.
+     * @param maxKeySize max size of a key in the tree, included values are left out of keys which would exceed it.
+     * @param spatialSettings settings for spatial values.
+     */
+    GenericLayout( int numberOfSlots, int numberOfIndexedSlots, int maxKeySize, IndexSpecificSpaceFillingCurveSettingsCache spatialSettings )
     {
         super( "NSIL", 0, 5 );
         this.numberOfSlots = numberOfSlots;
+        this.numberOfIndexedSlots = numberOfIndexedSlots;
+        this.maxKeySize = maxKeySize;
         this.spatialSettings = spatialSettings;
     }
 
@@ -44,7 +59,7 @@ class GenericLayout extends IndexLayout<GenericKey,NativeIndexValue>
                // An optimized version which has the GenericKeyState built-in w/o indirection
                ? new GenericKey( spatialSettings )
                // A version which has an indirection to GenericKeyState[]
-               : new CompositeGenericKey( numberOfSlots, spatialSettings );
+               : new CompositeGenericKey( numberOfSlots, numberOfIndexedSlots, maxKeySize, spatialSettings );
     }
 
     @Override
@@ -84,6 +99,29 @@ class GenericLayout extends IndexLayout<GenericKey,NativeIndexValue>
         right.minimalSplitter( left, right, into );
     }
 
+    @Override
+    int compareIndexedValue( GenericKey o1, GenericKey o2 )
+    {
+        if ( numberOfIndexedSlots == numberOfSlots )
+        {
+            return compareValue( o1, o2 );
+        }
+        for ( int i = 0; i < numberOfIndexedSlots; i++ )
+        {
+            int comparison = o1.stateSlot( i ).compareValueToInternal( o2.stateSlot( i ) );
+            if ( comparison != 0 )
+            {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    int numberOfIndexedSlots()
+    {
+        return numberOfIndexedSlots;
+    }
+
     IndexSpecificSpaceFillingCurveSettingsCache getSpaceFillingCurveSettings()
     {
         return spatialSettings;
@@ -52,7 +52,9 @@ class GenericNativeIndexAccessor extends NativeIndexAccessor<GenericKey,NativeIn
             IndexSpecificSpaceFillingCurveSettingsCache spaceFillingCurveSettings, SpaceFillingCurveConfiguration configuration, IndexDropAction dropAction,
             boolean readOnly )
     {
-        super( pageCache, fs, storeFile, layout, monitor, descriptor, new SpaceFillingCurveSettingsWriter( spaceFillingCurveSettings ), readOnly );
+        // Composite indexes are skip scanned when they have few distinct leading values, which the value sketch keeps count of
+        super( pageCache, fs, storeFile, layout, monitor, descriptor, new SpaceFillingCurveSettingsWriter( spaceFillingCurveSettings ), readOnly,
+                descriptor.schema().getPropertyIds().length > 1 );
         this.spaceFillingCurveSettings = spaceFillingCurveSettings;
         this.configuration = configuration;
         this.dropAction = dropAction;
@@ -76,7 +78,7 @@ class GenericNativeIndexAccessor extends NativeIndexAccessor<GenericKey,NativeIn
     public IndexReader newReader()
     {
         assertOpen();
-        return new GenericNativeIndexReader( tree, layout, descriptor, spaceFillingCurveSettings, configuration );
+        return new GenericNativeIndexReader( tree, layout, descriptor, spaceFillingCurveSettings, configuration, valueSketch );
     }
 
     @Override
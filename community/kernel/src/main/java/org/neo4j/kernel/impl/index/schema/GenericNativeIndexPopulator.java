@@ -90,7 +90,7 @@ public class GenericNativeIndexPopulator extends NativeIndexPopulator<GenericKey
     @Override
     NativeIndexReader<GenericKey,NativeIndexValue> newReader()
     {
-        return new GenericNativeIndexReader( tree, layout, descriptor, spatialSettings, configuration );
+        return new GenericNativeIndexReader( tree, layout, descriptor, spatialSettings, configuration, null );
     }
 
     @Override
@@ -32,6 +32,7 @@ import org.neo4j.gis.spatial.index.curves.SpaceFillingCurveConfiguration;
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.TreeNodeDynamicSize;
 import org.neo4j.internal.kernel.api.IndexCapability;
 import org.neo4j.internal.kernel.api.IndexLimitation;
 import org.neo4j.internal.kernel.api.IndexOrder;
@@ -144,14 +145,17 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
     {
         try
         {
-            int numberOfSlots = descriptor.properties().length;
+            int numberOfIndexedSlots = descriptor.properties().length;
+            int numberOfSlots = numberOfIndexedSlots + descriptor.schema().getIncludedPropertyIds().length;
             Map<CoordinateReferenceSystem,SpaceFillingCurveSettings> settings = new HashMap<>();
             if ( storeFile != null && fs.fileExists( storeFile ) )
             {
                 // The index file exists and is sane so use it to read header information from.
                 GBPTree.readHeader( pageCache, storeFile, new NativeIndexHeaderReader( new SpaceFillingCurveSettingsReader( settings ) ) );
             }
-            return new GenericLayout( numberOfSlots, new IndexSpecificSpaceFillingCurveSettingsCache( configuredSettings, settings ) );
+            int maxKeySize = TreeNodeDynamicSize.keyValueSizeCapFromPageSize( pageCache.pageSize() );
+            return new GenericLayout( numberOfSlots, numberOfIndexedSlots, maxKeySize,
+                    new IndexSpecificSpaceFillingCurveSettingsCache( configuredSettings, settings ) );
         }
         catch ( IOException e )
         {
@@ -22,11 +22,14 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.neo4j.cursor.RawCursor;
 import org.neo4j.gis.spatial.index.curves.SpaceFillingCurve;
 import org.neo4j.gis.spatial.index.curves.SpaceFillingCurveConfiguration;
 import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
 import org.neo4j.internal.kernel.api.IndexOrder;
 import org.neo4j.internal.kernel.api.IndexQuery;
 import org.neo4j.internal.kernel.api.IndexQuery.ExactPredicate;
@@ -36,7 +39,13 @@ import org.neo4j.kernel.impl.api.schema.BridgingIndexProgressor;
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettingsCache;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.IndexSample;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
+import org.neo4j.storageengine.api.schema.SinglePartitionValueSeek;
+import org.neo4j.util.FeatureToggles;
+import org.neo4j.values.storable.CRSCalculator;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
+import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
@@ -47,14 +56,21 @@ import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRA
 
 class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexValue>
 {
+    // Number of entries a space filling curve tile may hold for a nearest neighbour search to read them all, rather than splitting the tile
+    private static final int NEAREST_NEIGHBOUR_TILE_ENTRIES = FeatureToggles.getInteger( GenericNativeIndexReader.class, "nearest_neighbour_tile_entries", 64 );
+    private static final boolean SKIP_SCAN = FeatureToggles.flag( GenericNativeIndexReader.class, "skip_scan", true );
+    // Least average number of entries per distinct leading value for a skip scan, which seeks once per leading value, to beat a filtered full seek
+    private static final int SKIP_SCAN_MIN_ENTRIES_PER_LEADING_VALUE =
+            FeatureToggles.getInteger( GenericNativeIndexReader.class, "skip_scan_min_entries_per_leading_value", 16 );
+
     private final IndexSpecificSpaceFillingCurveSettingsCache spaceFillingCurveSettings;
     private final SpaceFillingCurveConfiguration configuration;
 
     GenericNativeIndexReader( GBPTree<GenericKey,NativeIndexValue> tree, IndexLayout<GenericKey,NativeIndexValue> layout,
             IndexDescriptor descriptor, IndexSpecificSpaceFillingCurveSettingsCache spaceFillingCurveSettings,
-            SpaceFillingCurveConfiguration configuration )
+            SpaceFillingCurveConfiguration configuration, IndexValueSketch valueSketch )
     {
-        super( tree, layout, descriptor );
+        super( tree, layout, descriptor, valueSketch );
         this.spaceFillingCurveSettings = spaceFillingCurveSettings;
         this.configuration = configuration;
     }
@@ -82,6 +98,13 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
     @Override
     public void query( IndexProgressor.NodeValueClient client, IndexOrder indexOrder, boolean needsValues, IndexQuery... query )
     {
+        if ( isNearestNeighbourQuery( query ) )
+        {
+            validateQuery( indexOrder, query );
+            startSeekForNearestNeighbours( client, (IndexQuery.NearestNeighbourPredicate) query[0], query, needsValues );
+            return;
+        }
+
         IndexQuery.GeometryRangePredicate geometryRangePredicate = getGeometryRangePredicateIfAny( query );
         if ( geometryRangePredicate != null )
         {
@@ -114,12 +137,69 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
                 client.initialize( descriptor, IndexProgressor.EMPTY, query, indexOrder, needsValues );
             }
         }
+        else if ( SKIP_SCAN && indexOrder != IndexOrder.DESCENDING && isSkipScanQuery( query ) && hasFewLeadingValues() )
+        {
+            validateQuery( indexOrder, query );
+            startSkipScan( client, query, indexOrder, needsValues );
+        }
         else
         {
             super.query( client, indexOrder, needsValues, query );
         }
     }
 
+    @Override
+    public PartitionedValueSeek valueSeek( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+    {
+        if ( getGeometryRangePredicateIfAny( query ) != null || isNearestNeighbourQuery( query ) )
+        {
+            // A geometry range or nearest neighbour search is already a number of sub-range seeks, it goes into a single partition
+            return new SinglePartitionValueSeek( this, needsValues, query );
+        }
+        return super.valueSeek( desiredNumberOfPartitions, needsValues, query );
+    }
+
+    private void startSeekForNearestNeighbours( IndexProgressor.NodeValueClient client, IndexQuery.NearestNeighbourPredicate predicate,
+            IndexQuery[] query, boolean needsValues )
+    {
+        if ( query.length != 1 )
+        {
+            throw new IllegalArgumentException( "Nearest neighbour queries are only supported for single property queries" );
+        }
+        CoordinateReferenceSystem crs = predicate.crs();
+        CRSCalculator calculator = crs.getCalculator();
+        SpaceFillingCurve curve = spaceFillingCurveSettings.forCrs( crs, false );
+        PointValue point = predicate.point();
+        double[] coordinate = point.coordinate();
+        IndexProgressor progressor = new NearestNeighbourIndexProgressor( client, curve,
+                tile -> calculator.distanceLowerBound( coordinate, tile.getMin(), tile.getMax() ), tile -> seekTile( query, crs, tile ),
+                NEAREST_NEIGHBOUR_TILE_ENTRIES, openSeekers, point );
+        client.initialize( descriptor, progressor, query, IndexOrder.NONE, needsValues );
+    }
+
+    private void startSkipScan( IndexProgressor.NodeValueClient client, IndexQuery[] query, IndexOrder indexOrder, boolean needsValues )
+    {
+        GenericKey treeKeyFrom = layout.newKey();
+        GenericKey treeKeyTo = layout.newKey();
+        initializeFromToKeys( treeKeyFrom, treeKeyTo );
+        initializeRangeForQuery( treeKeyFrom, treeKeyTo, query );
+        // Every seek of the skip scan has a fixed leading value, so the key range covers one more predicate than for a plain seek
+        boolean needFilter = needsFiltering( query, 1 );
+        IndexProgressor progressor = new SkipScanIndexProgressor( client, layout, ( from, to ) -> makeIndexSeeker( from, to, indexOrder ), openSeekers,
+                query, needFilter, treeKeyFrom, treeKeyTo );
+        client.initialize( descriptor, progressor, query, indexOrder, needsValues );
+    }
+
+    private RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> seekTile( IndexQuery[] query, CoordinateReferenceSystem crs,
+            SpaceFillingCurve.TileRange tile ) throws IOException
+    {
+        GenericKey treeKeyFrom = layout.newKey();
+        GenericKey treeKeyTo = layout.newKey();
+        initializeFromToKeys( treeKeyFrom, treeKeyTo );
+        initializeRangeForGeometrySubQuery( treeKeyFrom, treeKeyTo, query, crs, tile );
+        return makeIndexSeeker( treeKeyFrom, treeKeyTo, IndexOrder.NONE );
+    }
+
     /**
      * Initializes {@code treeKeyFrom} and {@code treeKeyTo} from the {@link IndexQuery query}.
      * Geometry range queries makes an otherwise straight-forward key construction complex in that a geometry range internally is performed
@@ -140,7 +220,6 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
     private boolean initializeRangeForGeometrySubQuery( GenericKey treeKeyFrom, GenericKey treeKeyTo,
             IndexQuery[] query, CoordinateReferenceSystem crs, SpaceFillingCurve.LongRange range )
     {
-        boolean needsFiltering = false;
         for ( int i = 0; i < query.length; i++ )
         {
             IndexQuery predicate = query[i];
@@ -181,13 +260,48 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
             case stringContains:
                 treeKeyFrom.initValueAsLowest( i, ValueGroup.TEXT );
                 treeKeyTo.initValueAsHighest( i, ValueGroup.TEXT );
-                needsFiltering = true;
+                break;
+            case nearestNeighbour:
+                // Like for a geometry range, the supplied range is one tile out of many that the nearest neighbour search looks at
+                treeKeyFrom.stateSlot( i ).writePointDerived( crs, range.min, LOW );
+                treeKeyTo.stateSlot( i ).writePointDerived( crs, range.max + 1, HIGH );
                 break;
             default:
                 throw new IllegalArgumentException( "IndexQuery of type " + predicate.type() + " is not supported." );
             }
         }
-        return needsFiltering;
+        // Values of included properties, if any, are stored after the indexed values and can be anything
+        for ( int i = query.length; i < treeKeyFrom.numberOfStateSlots(); i++ )
+        {
+            treeKeyFrom.initValueAsLowest( i, ValueGroup.UNKNOWN );
+            treeKeyTo.initValueAsHighest( i, ValueGroup.UNKNOWN );
+        }
+        return needsFiltering( query, 0 );
+    }
+
+    /**
+     * The key range of a query only covers the predicates up to and including the first one that isn't exact, properties after
+     * that are anything in the range. Results needs to be filtered if any of those properties are constrained too, or if a predicate
+     * can't be expressed as a key range at all.
+     *
+     * @param query the query to seek the index with.
+     * @param firstSlot the first predicate that the key range is built from, predicates before it have fixed values.
+     * @return {@code true} if filtering is needed for the results of seeking the key range of the query.
+     */
+    private static boolean needsFiltering( IndexQuery[] query, int firstSlot )
+    {
+        boolean afterNonExact = false;
+        for ( int i = firstSlot; i < query.length; i++ )
+        {
+            IndexQuery.IndexQueryType type = query[i].type();
+            if ( type == IndexQuery.IndexQueryType.stringSuffix || type == IndexQuery.IndexQueryType.stringContains ||
+                 afterNonExact && type != IndexQuery.IndexQueryType.exists )
+            {
+                return true;
+            }
+            afterNonExact |= type != IndexQuery.IndexQueryType.exact;
+        }
+        return false;
     }
 
     @Override
@@ -246,6 +360,41 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
         return null;
     }
 
+    private static boolean isNearestNeighbourQuery( IndexQuery[] predicates )
+    {
+        return predicates.length > 0 && predicates[0].type() == IndexQuery.IndexQueryType.nearestNeighbour;
+    }
+
+    /**
+     * @return {@code true} if the leading property only needs to exist, but some of the properties after it are constrained,
+     * which is what a skip scan over the distinct leading values is good for.
+     */
+    private static boolean isSkipScanQuery( IndexQuery[] predicates )
+    {
+        if ( predicates.length < 2 || predicates[0].type() != IndexQuery.IndexQueryType.exists )
+        {
+            return false;
+        }
+        for ( int i = 1; i < predicates.length; i++ )
+        {
+            if ( predicates[i].type() != IndexQuery.IndexQueryType.exists )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if the sampled number of distinct leading values is small compared to the number of entries, so that seeking once
+     * per leading value reads much less of the index than a filtered seek of the whole index. Without a sample the whole index is seeked.
+     */
+    private boolean hasFewLeadingValues()
+    {
+        IndexSample sample = valueSketch == null ? null : valueSketch.leadingValueSample();
+        return sample != null && sample.uniqueValues() * SKIP_SCAN_MIN_ENTRIES_PER_LEADING_VALUE <= sample.indexSize();
+    }
+
     private boolean isGeometryRangeQuery( IndexQuery predicate )
     {
         return predicate instanceof IndexQuery.GeometryRangePredicate;
@@ -111,4 +111,13 @@ abstract class IndexLayout<KEY extends NativeIndexKey<KEY>, VALUE extends Native
     {
         return o1.compareValueTo( o2 );
     }
+
+    /**
+     * Compares only the indexed values of the two keys, i.e. ignoring any values of included properties
+     * which are stored after the indexed values in covering indexes.
+     */
+    int compareIndexedValue( KEY o1, KEY o2 )
+    {
+        return compareValue( o1, o2 );
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.kernel.impl.api.index.sampling.HyperLogLog;
+import org.neo4j.storageengine.api.schema.IndexSample;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Keeps track of the number of entries and distinct values of a native index as updates are applied to it, so that the index
+ * can be sampled without scanning it. The sketch is seeded by a full scan of the index, see {@link FullScanNonUniqueIndexSampler},
+ * after which added values go into a {@link HyperLogLog} sketch of the distinct values in the index. A second sketch counts the
+ * distinct values of the leading property alone, which decides whether a composite index is skip scanned, see {@link #leadingValueSample()}.
+ * <p>
+ * The distinct values sketch can't forget removed values, which is why the sketch goes stale, asking for a new full scan,
+ * after a certain ratio of the entries have been removed since it was seeded.
+ * <p>
+ * The sketch is not persisted. It starts out unseeded whenever the index is opened, and the index is scanned by its next sample.
+ */
+class IndexValueSketch
+{
+    private final double staleAfterRemovedRatio;
+    private final int numberOfIndexedValues;
+    private final boolean samplesIndex;
+
+    // null until seeded
+    private HyperLogLog distinctValues;
+    private HyperLogLog distinctLeadingValues;
+    // non-null while seeding, keeping values added concurrently with the full scan
+    private HyperLogLog addedDuringSeeding;
+    private HyperLogLog addedLeadingDuringSeeding;
+    private long entries;
+    private long seededEntries;
+    private long removedSinceSeeded;
+
+    /**
+     * @param staleAfterRemovedRatio ratio of removed entries, since seeded, after which the sketch is considered stale.
+     * @param numberOfIndexedValues number of leading values in each entry which are indexed, any values after those
+     * are included property values of a covering index and don't contribute to the distinct values.
+     */
+    IndexValueSketch( double staleAfterRemovedRatio, int numberOfIndexedValues )
+    {
+        this( staleAfterRemovedRatio, numberOfIndexedValues, true );
+    }
+
+    /**
+     * @param samplesIndex whether samples of the index are taken from this sketch. If not, the index is still scanned every time
+     * it is sampled, and the sketch is only kept for its {@link #leadingValueSample() leading values}.
+     */
+    IndexValueSketch( double staleAfterRemovedRatio, int numberOfIndexedValues, boolean samplesIndex )
+    {
+        this.staleAfterRemovedRatio = staleAfterRemovedRatio;
+        this.numberOfIndexedValues = numberOfIndexedValues;
+        this.samplesIndex = samplesIndex;
+    }
+
+    boolean samplesIndex()
+    {
+        return samplesIndex;
+    }
+
+    synchronized void startSeeding()
+    {
+        addedDuringSeeding = new HyperLogLog();
+        addedLeadingDuringSeeding = new HyperLogLog();
+    }
+
+    synchronized void completeSeeding( HyperLogLog scannedValues, HyperLogLog scannedLeadingValues, long scannedEntries )
+    {
+        if ( addedDuringSeeding != null )
+        {
+            scannedValues.merge( addedDuringSeeding );
+            scannedLeadingValues.merge( addedLeadingDuringSeeding );
+            addedDuringSeeding = null;
+            addedLeadingDuringSeeding = null;
+        }
+        distinctValues = scannedValues;
+        distinctLeadingValues = scannedLeadingValues;
+        entries = scannedEntries;
+        seededEntries = scannedEntries;
+        removedSinceSeeded = 0;
+    }
+
+    synchronized void abortSeeding()
+    {
+        addedDuringSeeding = null;
+        addedLeadingDuringSeeding = null;
+    }
+
+    synchronized void added( Value[] values )
+    {
+        long hash = hash( values );
+        long leadingHash = leadingHash( values );
+        if ( distinctValues != null )
+        {
+            distinctValues.add( hash );
+            distinctLeadingValues.add( leadingHash );
+            entries++;
+        }
+        if ( addedDuringSeeding != null )
+        {
+            addedDuringSeeding.add( hash );
+            addedLeadingDuringSeeding.add( leadingHash );
+        }
+    }
+
+    synchronized void removed()
+    {
+        if ( distinctValues != null )
+        {
+            entries = Math.max( 0, entries - 1 );
+            removedSinceSeeded++;
+        }
+    }
+
+    /**
+     * A change to included property values alone replaces the entry with one of the same indexed values, which neither adds
+     * a distinct value nor should count towards the sketch going stale.
+     */
+    void changed( Value[] before, Value[] after )
+    {
+        if ( !sameIndexedValues( before, after ) )
+        {
+            removed();
+            added( after );
+        }
+    }
+
+    /**
+     * @return sample of the index as estimated by this sketch, or {@code null} if the sketch hasn't been seeded or is stale.
+     */
+    synchronized IndexSample sample()
+    {
+        if ( isUnseededOrStale() )
+        {
+            return null;
+        }
+        long uniqueValues = Math.min( distinctValues.estimate(), entries );
+        return new IndexSample( entries, uniqueValues, entries );
+    }
+
+    /**
+     * @return sample of the index where {@link IndexSample#uniqueValues()} is the number of distinct values of the leading property,
+     * as estimated by this sketch, or {@code null} if the sketch hasn't been seeded or is stale.
+     */
+    synchronized IndexSample leadingValueSample()
+    {
+        if ( isUnseededOrStale() )
+        {
+            return null;
+        }
+        long uniqueValues = Math.min( distinctLeadingValues.estimate(), entries );
+        return new IndexSample( entries, uniqueValues, entries );
+    }
+
+    private boolean isUnseededOrStale()
+    {
+        return distinctValues == null || removedSinceSeeded > Math.max( 1, seededEntries ) * staleAfterRemovedRatio;
+    }
+
+    private boolean sameIndexedValues( Value[] before, Value[] after )
+    {
+        int length = Math.min( Math.min( before.length, after.length ), numberOfIndexedValues );
+        for ( int i = 0; i < length; i++ )
+        {
+            if ( !before[i].equals( after[i] ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Combines the 64-bit hashes of the indexed values. The 32-bit {@link Value#hashCode()} would make the sketch
+     * see collisions in indexes with many millions of distinct values.
+     */
+    long hash( Value[] values )
+    {
+        long hash = 1;
+        int length = Math.min( values.length, numberOfIndexedValues );
+        for ( int i = 0; i < length; i++ )
+        {
+            hash = 31 * hash + values[i].hashCode64();
+        }
+        return hash;
+    }
+
+    long leadingHash( Value[] values )
+    {
+        return 31 + values[0].hashCode64();
+    }
+}
@@ -40,6 +40,7 @@ import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+import org.neo4j.util.FeatureToggles;
 
 import static org.neo4j.helpers.collection.Iterators.asResourceIterator;
 import static org.neo4j.helpers.collection.Iterators.iterator;
@@ -48,14 +49,42 @@ import static org.neo4j.kernel.impl.index.schema.NativeIndexPopulator.BYTE_ONLIN
 public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>, VALUE extends NativeIndexValue> extends NativeIndex<KEY,VALUE>
         implements IndexAccessor
 {
+    /**
+     * Whether or not to maintain an {@link IndexValueSketch} as updates are applied, for sampling the index without scanning it.
+     * Experimental and off by default. The sketch only lives in memory, so the first sample after every start of the database
+     * is still a full scan of the index, which seeds the sketch again.
+     */
+    private static final boolean INCREMENTAL_SAMPLING = FeatureToggles.flag( NativeIndexAccessor.class, "incrementalSampling", false );
+    /**
+     * Ratio of the sampled entries which can be removed before the sketch needs to be seeded by a full scan again.
+     */
+    private static final double INCREMENTAL_SAMPLING_MAX_REMOVED_RATIO =
+            FeatureToggles.getDouble( NativeIndexAccessor.class, "incrementalSamplingMaxRemovedRatio", 0.2 );
+
     private final NativeIndexUpdater<KEY,VALUE> singleUpdater;
     final NativeIndexHeaderWriter headerWriter;
+    // null if incremental sampling is disabled and the sketch isn't needed for its leading values
+    final IndexValueSketch valueSketch;
 
     NativeIndexAccessor( PageCache pageCache, FileSystemAbstraction fs, File storeFile, IndexLayout<KEY,VALUE> layout,
             IndexProvider.Monitor monitor, StoreIndexDescriptor descriptor, Consumer<PageCursor> additionalHeaderWriter, boolean readOnly )
+    {
+        this( pageCache, fs, storeFile, layout, monitor, descriptor, additionalHeaderWriter, readOnly, false );
+    }
+
+    /**
+     * @param tracksLeadingValues whether to keep an {@link IndexValueSketch} of the distinct leading values even when incremental sampling
+     * is disabled, for readers to choose between seek strategies.
+     */
+    NativeIndexAccessor( PageCache pageCache, FileSystemAbstraction fs, File storeFile, IndexLayout<KEY,VALUE> layout,
+            IndexProvider.Monitor monitor, StoreIndexDescriptor descriptor, Consumer<PageCursor> additionalHeaderWriter, boolean readOnly,
+            boolean tracksLeadingValues )
     {
         super( pageCache, fs, storeFile, layout, monitor, descriptor, readOnly );
-        singleUpdater = new NativeIndexUpdater<>( layout.newKey(), layout.newValue() );
+        valueSketch = INCREMENTAL_SAMPLING || tracksLeadingValues
+                      ? new IndexValueSketch( INCREMENTAL_SAMPLING_MAX_REMOVED_RATIO, descriptor.schema().getPropertyIds().length, INCREMENTAL_SAMPLING )
+                      : null;
+        singleUpdater = new NativeIndexUpdater<>( layout.newKey(), layout.newValue(), valueSketch );
         headerWriter = new NativeIndexHeaderWriter( BYTE_ONLINE, additionalHeaderWriter );
     }
 
@@ -25,7 +25,11 @@ package org.neo4j.kernel.impl.index.schema;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.cursor.RawCursor;
@@ -39,7 +43,10 @@ import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
+import org.neo4j.storageengine.api.schema.SinglePartitionValueSeek;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
 
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
 
@@ -49,13 +56,23 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
     protected final IndexDescriptor descriptor;
     final IndexLayout<KEY,VALUE> layout;
     final Set<RawCursor<Hit<KEY,VALUE>,IOException>> openSeekers;
+    // Seekers of partitioned value seeks, which may be closed from other threads than the one owning this reader
+    private final Set<RawCursor<Hit<KEY,VALUE>,IOException>> openPartitionSeekers = ConcurrentHashMap.newKeySet();
     final GBPTree<KEY,VALUE> tree;
+    // null if the accessor keeps no value sketch
+    final IndexValueSketch valueSketch;
 
     NativeIndexReader( GBPTree<KEY,VALUE> tree, IndexLayout<KEY,VALUE> layout, IndexDescriptor descriptor )
+    {
+        this( tree, layout, descriptor, null );
+    }
+
+    NativeIndexReader( GBPTree<KEY,VALUE> tree, IndexLayout<KEY,VALUE> layout, IndexDescriptor descriptor, IndexValueSketch valueSketch )
     {
         this.tree = tree;
         this.layout = layout;
         this.descriptor = descriptor;
+        this.valueSketch = valueSketch;
         this.openSeekers = new HashSet<>();
     }
 
@@ -75,7 +92,8 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
         // non-unique sampler which scans the index and counts (potentially duplicates, of which there will
         // be none in a unique index).
 
-        FullScanNonUniqueIndexSampler<KEY,VALUE> sampler = new FullScanNonUniqueIndexSampler<>( tree, layout );
+        // If the accessor keeps a value sketch the sample can often be taken from it, without scanning the index.
+        FullScanNonUniqueIndexSampler<KEY,VALUE> sampler = new FullScanNonUniqueIndexSampler<>( tree, layout, valueSketch );
         return sampler::result;
     }
 
@@ -91,6 +109,11 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
             treeKeyFrom.initFromValue( i, propertyValues[i], NEUTRAL );
             treeKeyTo.initFromValue( i, propertyValues[i], NEUTRAL );
         }
+        for ( int i = propertyValues.length; i < treeKeyFrom.numberOfStateSlots(); i++ )
+        {
+            treeKeyFrom.initValueAsLowest( i, ValueGroup.UNKNOWN );
+            treeKeyTo.initValueAsHighest( i, ValueGroup.UNKNOWN );
+        }
         try ( RawCursor<Hit<KEY,VALUE>,IOException> seeker = tree.seek( treeKeyFrom, treeKeyTo ) )
         {
             long count = 0;
@@ -131,6 +154,32 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
         startSeekForInitializedRange( cursor, treeKeyFrom, treeKeyTo, predicates, indexOrder, needFilter, needsValues );
     }
 
+    @Override
+    public PartitionedValueSeek valueSeek( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+    {
+        validateQuery( IndexOrder.NONE, query );
+
+        KEY treeKeyFrom = layout.newKey();
+        KEY treeKeyTo = layout.newKey();
+        initializeFromToKeys( treeKeyFrom, treeKeyTo );
+
+        boolean needFilter = initializeRangeForQuery( treeKeyFrom, treeKeyTo, query );
+        if ( isEmptyRange( treeKeyFrom, treeKeyTo ) )
+        {
+            return new SinglePartitionValueSeek( this, needsValues, query );
+        }
+        try
+        {
+            List<RawCursor<Hit<KEY,VALUE>,IOException>> seekers = tree.partitionedSeek( treeKeyFrom, treeKeyTo, desiredNumberOfPartitions );
+            openPartitionSeekers.addAll( seekers );
+            return new NativePartitionedValueSeek( seekers, needFilter, needsValues, query );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     void initializeFromToKeys( KEY treeKeyFrom, KEY treeKeyTo )
     {
         treeKeyFrom.initialize( Long.MIN_VALUE );
@@ -152,7 +201,7 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
         try
         {
             RawCursor<Hit<KEY,VALUE>,IOException> seeker = tree.seek( lowest, highest );
-            client.initialize( descriptor, new NativeDistinctValuesProgressor<>( seeker, client, openSeekers, layout, layout::compareValue ),
+            client.initialize( descriptor, new NativeDistinctValuesProgressor<>( seeker, client, openSeekers, layout, layout::compareIndexedValue ),
                     new IndexQuery[0], IndexOrder.NONE, needsValues );
         }
         catch ( IOException e )
@@ -219,10 +268,53 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>, VALUE extends
         {
             IOUtils.closeAll( openSeekers );
             openSeekers.clear();
+            IOUtils.closeAll( openPartitionSeekers );
+            openPartitionSeekers.clear();
         }
         catch ( IOException e )
         {
             throw new UncheckedIOException( e );
         }
     }
+
+    /**
+     * Hands out the seekers of the partitions of a {@link GBPTree#partitionedSeek(Object, Object, int) partitioned seek}, one per reserved partition.
+     */
+    private class NativePartitionedValueSeek implements PartitionedValueSeek
+    {
+        private final Queue<RawCursor<Hit<KEY,VALUE>,IOException>> unreservedSeekers;
+        private final int numberOfPartitions;
+        private final boolean needFilter;
+        private final boolean needsValues;
+        private final IndexQuery[] query;
+
+        NativePartitionedValueSeek( List<RawCursor<Hit<KEY,VALUE>,IOException>> seekers, boolean needFilter, boolean needsValues, IndexQuery[] query )
+        {
+            this.unreservedSeekers = new ConcurrentLinkedQueue<>( seekers );
+            this.numberOfPartitions = seekers.size();
+            this.needFilter = needFilter;
+            this.needsValues = needsValues;
+            this.query = query;
+        }
+
+        @Override
+        public int getNumberOfPartitions()
+        {
+            return numberOfPartitions;
+        }
+
+        @Override
+        public boolean reservePartition( IndexProgressor.NodeValueClient client )
+        {
+            RawCursor<Hit<KEY,VALUE>,IOException> seeker = unreservedSeekers.poll();
+            if ( seeker == null )
+            {
+                return false;
+            }
+            IndexProgressor hitProgressor = needFilter ? new FilteringNativeHitIndexProgressor<>( seeker, client, openPartitionSeekers, query )
+                                                       : new NativeHitIndexProgressor<>( seeker, client, openPartitionSeekers );
+            client.initialize( descriptor, hitProgressor, query, IndexOrder.NONE, needsValues );
+            return true;
+        }
+    }
 }
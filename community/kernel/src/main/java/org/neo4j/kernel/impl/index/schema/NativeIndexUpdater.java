@@ -37,14 +37,21 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>, VALUE extends NativeIn
     private final KEY treeKey;
     private final VALUE treeValue;
     private final ConflictDetectingValueMerger<KEY,VALUE,Value[]> conflictDetectingValueMerger = new ThrowingConflictDetector<>( true );
+    private final IndexValueSketch valueSketch;
     private Writer<KEY,VALUE> writer;
 
     private boolean closed = true;
 
     NativeIndexUpdater( KEY treeKey, VALUE treeValue )
+    {
+        this( treeKey, treeValue, null );
+    }
+
+    NativeIndexUpdater( KEY treeKey, VALUE treeValue, IndexValueSketch valueSketch )
     {
         this.treeKey = treeKey;
         this.treeValue = treeValue;
+        this.valueSketch = valueSketch;
     }
 
     NativeIndexUpdater<KEY,VALUE> initialize( Writer<KEY,VALUE> writer )
@@ -64,6 +71,28 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>, VALUE extends NativeIn
     {
         assertOpen();
         processUpdate( treeKey, treeValue, update, writer, conflictDetectingValueMerger );
+        if ( valueSketch != null )
+        {
+            updateSketch( update );
+        }
+    }
+
+    private void updateSketch( IndexEntryUpdate<?> update )
+    {
+        switch ( update.updateMode() )
+        {
+        case ADDED:
+            valueSketch.added( update.values() );
+            break;
+        case CHANGED:
+            valueSketch.changed( update.beforeValues(), update.values() );
+            break;
+        case REMOVED:
+            valueSketch.removed();
+            break;
+        default:
+            throw new IllegalArgumentException();
+        }
     }
 
     @Override
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.gis.spatial.index.Envelope;
+import org.neo4j.gis.spatial.index.curves.SpaceFillingCurve;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.values.storable.CRSCalculator;
+import org.neo4j.values.storable.PointValue;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Progresses through the points of an index in order of increasing distance from a point, using incremental nearest neighbour search.
+ * Tiles of the space filling curve are visited closest first, the points found in them are queued by their exact distance,
+ * and a queued point is handed to the client once no tile left to look at can hold anything closer.
+ * <p>
+ * Tiles are looked at coarse-to-fine, starting with the tile covering the whole curve. A tile holding more entries than
+ * a given number is split into its sub-tiles instead of having its entries queued. Empty tiles are never split, so the
+ * number of seeks, and of queued tiles, follows the number of entries close to the point rather than the depth of the curve.
+ */
+class NearestNeighbourIndexProgressor implements IndexProgressor
+{
+    private final NodeValueClient client;
+    private final SpaceFillingCurve curve;
+    private final ToDoubleFunction<Envelope> distanceToTile;
+    private final TileSeeker seeker;
+    private final int maxEntriesPerTile;
+    private final Collection<RawCursor<Hit<GenericKey,NativeIndexValue>,IOException>> toRemoveFromOnClose;
+    private final PointValue point;
+    private final CRSCalculator calculator;
+    private final PriorityQueue<SpaceFillingCurve.TileRange> tiles =
+            new PriorityQueue<>( Comparator.comparingDouble( ( SpaceFillingCurve.TileRange tile ) -> tile.distance ) );
+    private final PriorityQueue<Neighbour> neighbours = new PriorityQueue<>( Comparator.comparingDouble( ( Neighbour neighbour ) -> neighbour.distance ) );
+
+    NearestNeighbourIndexProgressor( NodeValueClient client, SpaceFillingCurve curve, ToDoubleFunction<Envelope> distanceToTile, TileSeeker seeker,
+            int maxEntriesPerTile, Collection<RawCursor<Hit<GenericKey,NativeIndexValue>,IOException>> toRemoveFromOnClose, PointValue point )
+    {
+        this.client = client;
+        this.curve = curve;
+        this.distanceToTile = distanceToTile;
+        this.seeker = seeker;
+        this.maxEntriesPerTile = maxEntriesPerTile;
+        this.toRemoveFromOnClose = toRemoveFromOnClose;
+        this.point = point;
+        this.calculator = point.getCoordinateReferenceSystem().getCalculator();
+        this.tiles.add( curve.getRootTile( distanceToTile ) );
+    }
+
+    @Override
+    public boolean next()
+    {
+        while ( true )
+        {
+            Neighbour closest = neighbours.peek();
+            SpaceFillingCurve.TileRange nextTile = tiles.peek();
+            if ( closest != null && (nextTile == null || closest.distance <= nextTile.distance) )
+            {
+                neighbours.poll();
+                if ( client.acceptNode( closest.entityId, closest.values ) )
+                {
+                    return true;
+                }
+            }
+            else if ( nextTile != null )
+            {
+                tiles.poll();
+                visit( nextTile );
+            }
+            else
+            {
+                return false;
+            }
+        }
+    }
+
+    private void visit( SpaceFillingCurve.TileRange tile )
+    {
+        boolean canSplit = tile.getDepth() < curve.getMaxLevel();
+        List<Neighbour> found = new ArrayList<>();
+        try ( RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> cursor = seeker.seek( tile ) )
+        {
+            try
+            {
+                while ( cursor.next() )
+                {
+                    if ( canSplit && found.size() == maxEntriesPerTile )
+                    {
+                        // Too many entries to queue them all, look closer at the parts of the tile instead
+                        tiles.addAll( curve.getSubTiles( tile, distanceToTile ) );
+                        return;
+                    }
+                    GenericKey key = cursor.get().key();
+                    Value[] values = key.asValues();
+                    double distance = calculator.distance( point, (PointValue) values[0] );
+                    found.add( new Neighbour( key.getEntityId(), distance, client.needsValues() ? values : null ) );
+                }
+            }
+            finally
+            {
+                toRemoveFromOnClose.remove( cursor );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+        neighbours.addAll( found );
+    }
+
+    @Override
+    public void close()
+    {
+        neighbours.clear();
+        tiles.clear();
+    }
+
+    /**
+     * Seeks all the index entries in the curve range of a tile.
+     */
+    @FunctionalInterface
+    interface TileSeeker
+    {
+        RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> seek( SpaceFillingCurve.TileRange tile ) throws IOException;
+    }
+
+    private static class Neighbour
+    {
+        private final long entityId;
+        private final double distance;
+        private final Value[] values;
+
+        Neighbour( long entityId, double distance, Value[] values )
+        {
+            this.entityId = entityId;
+            this.distance = distance;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.util.StringJoiner;
+
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Type for a key slot without a value. Used for included properties of covering indexes, where an entity
+ * is indexed even though it doesn't have all of the included properties, or whose values didn't fit in the key.
+ * Sorts after all other types.
+ */
+class NoValueType extends Type
+{
+    // Affected key state:
+    // <none>
+
+    NoValueType( byte typeId )
+    {
+        super( ValueGroup.NO_VALUE, typeId, Values.NO_VALUE, Values.NO_VALUE );
+    }
+
+    @Override
+    int valueSize( GenericKey state )
+    {
+        return GenericKey.SIZE_NO_VALUE;
+    }
+
+    @Override
+    void copyValue( GenericKey to, GenericKey from )
+    {
+        // no state to copy
+    }
+
+    @Override
+    Value asValue( GenericKey state )
+    {
+        return Values.NO_VALUE;
+    }
+
+    @Override
+    int compareValue( GenericKey left, GenericKey right )
+    {
+        return 0;
+    }
+
+    @Override
+    void putValue( PageCursor cursor, GenericKey state )
+    {
+        // A single marker byte, so that the slot isn't mistaken for an empty one when read back
+        cursor.putByte( (byte) 0 );
+    }
+
+    @Override
+    boolean readValue( PageCursor cursor, int size, GenericKey into )
+    {
+        cursor.getByte();
+        into.writeNull();
+        return true;
+    }
+
+    @Override
+    protected void addTypeSpecificDetails( StringJoiner joiner, GenericKey state )
+    {
+        // no type specific details
+    }
+}
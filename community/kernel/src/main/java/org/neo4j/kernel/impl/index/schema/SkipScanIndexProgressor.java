@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.values.storable.ValueGroup;
+
+/**
+ * Progresses through a composite index for a query that only constrains the properties after the leading one, by skipping between
+ * the distinct values of the leading property. For every distinct leading value the range of the other predicates is seeked, after which
+ * a seek from just after the last entry with that leading value finds the next one. The number of seeks is proportional to the number of
+ * distinct leading values, which for a leading property of low cardinality is a lot less work than going through every entry in the index.
+ */
+class SkipScanIndexProgressor implements IndexProgressor
+{
+    private final NodeValueClient client;
+    private final IndexLayout<GenericKey,NativeIndexValue> layout;
+    private final RangeSeeker seeker;
+    private final Collection<RawCursor<Hit<GenericKey,NativeIndexValue>,IOException>> toRemoveFromOnClose;
+    private final IndexQuery[] query;
+    private final boolean needFilter;
+    private final GenericKey rangeFrom;
+    private final GenericKey rangeTo;
+    private final GenericKey nextLeadingFrom;
+    private final GenericKey nextLeadingTo;
+    private IndexProgressor current;
+    private boolean exhausted;
+
+    /**
+     * @param rangeFrom "from" key of the query, where the leading slot is replaced with each distinct leading value.
+     * @param rangeTo "to" key of the query, where the leading slot is replaced with each distinct leading value.
+     */
+    SkipScanIndexProgressor( NodeValueClient client, IndexLayout<GenericKey,NativeIndexValue> layout, RangeSeeker seeker,
+            Collection<RawCursor<Hit<GenericKey,NativeIndexValue>,IOException>> toRemoveFromOnClose, IndexQuery[] query, boolean needFilter,
+            GenericKey rangeFrom, GenericKey rangeTo )
+    {
+        this.client = client;
+        this.layout = layout;
+        this.seeker = seeker;
+        this.toRemoveFromOnClose = toRemoveFromOnClose;
+        this.query = query;
+        this.needFilter = needFilter;
+        this.rangeFrom = rangeFrom;
+        this.rangeTo = rangeTo;
+        this.nextLeadingFrom = layout.newKey();
+        this.nextLeadingTo = layout.newKey();
+        nextLeadingFrom.initialize( Long.MIN_VALUE );
+        nextLeadingFrom.initValuesAsLowest();
+        nextLeadingTo.initialize( Long.MAX_VALUE );
+        nextLeadingTo.initValuesAsHighest();
+    }
+
+    @Override
+    public boolean next()
+    {
+        while ( !exhausted )
+        {
+            if ( current != null )
+            {
+                if ( current.next() )
+                {
+                    return true;
+                }
+                current.close();
+                current = null;
+            }
+            try
+            {
+                seekNextLeadingValue();
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+        return false;
+    }
+
+    private void seekNextLeadingValue() throws IOException
+    {
+        try ( RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> leadingValues = seeker.seek( nextLeadingFrom, nextLeadingTo ) )
+        {
+            try
+            {
+                if ( !leadingValues.next() )
+                {
+                    exhausted = true;
+                    return;
+                }
+                GenericKey leadingValue = leadingValues.get().key().stateSlot( 0 );
+
+                GenericKey from = layout.copyKey( rangeFrom, layout.newKey() );
+                GenericKey to = layout.copyKey( rangeTo, layout.newKey() );
+                from.stateSlot( 0 ).copyFromInternal( leadingValue );
+                to.stateSlot( 0 ).copyFromInternal( leadingValue );
+                RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> hits = seeker.seek( from, to );
+                current = needFilter ? new FilteringNativeHitIndexProgressor<>( hits, client, toRemoveFromOnClose, query )
+                                     : new NativeHitIndexProgressor<>( hits, client, toRemoveFromOnClose );
+
+                // The entries with the next leading value come after every possible entry with this one
+                nextLeadingFrom.initialize( Long.MAX_VALUE );
+                nextLeadingFrom.stateSlot( 0 ).copyFromInternal( leadingValue );
+                for ( int slot = 1; slot < nextLeadingFrom.numberOfStateSlots(); slot++ )
+                {
+                    nextLeadingFrom.initValueAsHighest( slot, ValueGroup.UNKNOWN );
+                }
+            }
+            finally
+            {
+                toRemoveFromOnClose.remove( leadingValues );
+            }
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if ( current != null )
+        {
+            current.close();
+            current = null;
+        }
+        exhausted = true;
+    }
+
+    /**
+     * Seeks the index entries between two keys.
+     */
+    @FunctionalInterface
+    interface RangeSeeker
+    {
+        RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> seek( GenericKey from, GenericKey to ) throws IOException;
+    }
+}
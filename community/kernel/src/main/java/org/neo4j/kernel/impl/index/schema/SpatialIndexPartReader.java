@@ -41,6 +41,8 @@ import org.neo4j.kernel.impl.api.schema.BridgingIndexProgressor;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
+import org.neo4j.storageengine.api.schema.SinglePartitionValueSeek;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 
@@ -74,6 +76,13 @@ public class SpatialIndexPartReader<VALUE extends NativeIndexValue> extends Nati
         throw new UnsupportedOperationException( "Cannot initialize 1D range in multidimensional spatial index reader" );
     }
 
+    @Override
+    public PartitionedValueSeek valueSeek( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+    {
+        // Spatial queries are made up of sub-range seeks along the space filling curve, they go into a single partition
+        return new SinglePartitionValueSeek( this, needsValues, query );
+    }
+
     @Override
     public void query( IndexProgressor.NodeValueClient cursor, IndexOrder indexOrder, boolean needsValues, IndexQuery... predicates )
     {
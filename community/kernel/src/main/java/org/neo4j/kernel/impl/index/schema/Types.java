@@ -56,6 +56,7 @@ class Types
     static final TextArrayType TEXT_ARRAY = new TextArrayType( (byte) 17 );
     static final BooleanArrayType BOOLEAN_ARRAY = new BooleanArrayType( (byte) 18 );
     static final NumberArrayType NUMBER_ARRAY = new NumberArrayType( (byte) 19 );
+    static final NoValueType NO_VALUE = new NoValueType( (byte) 20 );
 
     /**
      * Holds typeId --> {@link Type} mapping.
@@ -158,6 +159,8 @@ class Types
         types.add( BOOLEAN_ARRAY );
         types.add( NUMBER_ARRAY );
 
+        types.add( NO_VALUE );
+
         // Assert order of typeId
         byte expectedTypeId = 0;
         for ( Type type : types )
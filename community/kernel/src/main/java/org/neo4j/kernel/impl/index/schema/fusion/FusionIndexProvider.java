@@ -98,6 +98,24 @@ public class FusionIndexProvider extends IndexProvider
         providers.put( LUCENE, luceneProvider );
     }
 
+    @Override
+    public void start() throws Throwable
+    {
+        for ( IndexSlot slot : IndexSlot.values() )
+        {
+            providers.select( slot ).start();
+        }
+    }
+
+    @Override
+    public void stop() throws Throwable
+    {
+        for ( IndexSlot slot : IndexSlot.values() )
+        {
+            providers.select( slot ).stop();
+        }
+    }
+
     @Override
     public IndexPopulator getPopulator( StoreIndexDescriptor descriptor, IndexSamplingConfig samplingConfig, ByteBufferFactory bufferFactory )
     {
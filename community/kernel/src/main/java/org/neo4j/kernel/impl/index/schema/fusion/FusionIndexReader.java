@@ -36,6 +36,8 @@ import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
+import org.neo4j.storageengine.api.schema.SinglePartitionValueSeek;
 import org.neo4j.values.storable.Value;
 
 import static java.lang.String.format;
@@ -119,6 +121,19 @@ class FusionIndexReader extends FusionIndexBase<IndexReader> implements IndexRea
         }
     }
 
+    @Override
+    public PartitionedValueSeek valueSeek( int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+            throws IndexNotApplicableKernelException
+    {
+        IndexSlot slot = slotSelector.selectSlot( query, IndexQuery::valueGroup );
+        if ( slot != null )
+        {
+            return instanceSelector.select( slot ).valueSeek( desiredNumberOfPartitions, needsValues, query );
+        }
+        // Results from all parts are bridged into one progressor, so they go into a single partition
+        return new SinglePartitionValueSeek( this, needsValues, query );
+    }
+
     private static final class InnerException extends RuntimeException
     {
         private InnerException( IndexNotApplicableKernelException e )
@@ -45,6 +45,7 @@ public class DefaultCursors implements CursorFactory
     private DefaultRelationshipGroupCursor relationshipGroupCursor;
     private DefaultNodeValueIndexCursor nodeValueIndexCursor;
     private DefaultNodeLabelIndexCursor nodeLabelIndexCursor;
+    private DefaultRelationshipValueIndexCursor relationshipValueIndexCursor;
     private DefaultNodeExplicitIndexCursor nodeExplicitIndexCursor;
     private DefaultRelationshipExplicitIndexCursor relationshipExplicitIndexCursor;
 
@@ -74,6 +75,15 @@ public class DefaultCursors implements CursorFactory
         }
     }
 
+    /**
+     * Allocates a node cursor which is not returned to, nor taken from, this pool. Such a cursor can be used
+     * from another thread than the one owning this pool, e.g. by a partition of a partitioned index seek.
+     */
+    DefaultNodeCursor allocateUnpooledNodeCursor()
+    {
+        return new DefaultNodeCursor( null, storageReader.allocateNodeCursor() );
+    }
+
     public void accept( DefaultNodeCursor cursor )
     {
         if ( nodeCursor != null )
@@ -155,6 +165,16 @@ public class DefaultCursors implements CursorFactory
         }
     }
 
+    /**
+     * Allocates a property cursor which is not returned to, nor taken from, this pool.
+     *
+     * @see #allocateUnpooledNodeCursor()
+     */
+    DefaultPropertyCursor allocateUnpooledPropertyCursor()
+    {
+        return new DefaultPropertyCursor( null, storageReader.allocatePropertyCursor() );
+    }
+
     public void accept( DefaultPropertyCursor cursor )
     {
         if ( propertyCursor != null )
@@ -218,6 +238,34 @@ public class DefaultCursors implements CursorFactory
         nodeValueIndexCursor = cursor;
     }
 
+    @Override
+    public DefaultRelationshipValueIndexCursor allocateRelationshipValueIndexCursor()
+    {
+        if ( relationshipValueIndexCursor == null )
+        {
+            return trace( new DefaultRelationshipValueIndexCursor( new DefaultRelationshipScanCursor( null,
+                    storageReader.allocateRelationshipScanCursor() ), this ) );
+        }
+
+        try
+        {
+            return relationshipValueIndexCursor;
+        }
+        finally
+        {
+            relationshipValueIndexCursor = null;
+        }
+    }
+
+    public void accept( DefaultRelationshipValueIndexCursor cursor )
+    {
+        if ( relationshipValueIndexCursor != null )
+        {
+            relationshipValueIndexCursor.release();
+        }
+        relationshipValueIndexCursor = cursor;
+    }
+
     @Override
     public DefaultNodeLabelIndexCursor allocateNodeLabelIndexCursor()
     {
@@ -337,6 +385,11 @@ public class DefaultCursors implements CursorFactory
             nodeLabelIndexCursor.release();
             nodeLabelIndexCursor = null;
         }
+        if ( relationshipValueIndexCursor != null )
+        {
+            relationshipValueIndexCursor.release();
+            relationshipValueIndexCursor = null;
+        }
         if ( nodeExplicitIndexCursor != null )
         {
             nodeExplicitIndexCursor.release();
@@ -206,7 +206,14 @@ class DefaultNodeCursor implements NodeCursor
             addedNodes = ImmutableEmptyLongIterator.INSTANCE;
             storeCursor.reset();
 
-            pool.accept( this );
+            if ( pool != null )
+            {
+                pool.accept( this );
+            }
+            else
+            {
+                release();
+            }
         }
     }
 
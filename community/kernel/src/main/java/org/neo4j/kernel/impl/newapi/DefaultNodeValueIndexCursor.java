@@ -42,20 +42,26 @@ import org.neo4j.kernel.impl.newapi.TxStateIndexChanges.AddedWithValuesAndRemove
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexProgressor.NodeValueClient;
+import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.Value;
 
 import static java.util.Arrays.stream;
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
 import static org.neo4j.collection.PrimitiveLongCollections.mergeToSet;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeek;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSkipScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSuffixOrContains;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForNearestNeighbours;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForScan;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSkipScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSuffixOrContains;
 import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
+import static org.neo4j.values.storable.Values.NO_VALUE;
 
 final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         implements NodeValueIndexCursor, NodeValueClient, SortedMergeJoin.Sink
@@ -64,11 +70,19 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
     private long node;
     private IndexQuery[] query;
     private Value[] values;
+    private int[] includedPropertyKeys = EMPTY_INT_ARRAY;
+    private Value[] includedValues;
+    private long includedValuesNode = NO_ID;
     private LongIterator added = ImmutableEmptyLongIterator.INSTANCE;
     private Iterator<NodeWithPropertyValues> addedWithValues = Collections.emptyIterator();
     private LongSet removed = LongSets.immutable.empty();
     private boolean needsValues;
     private IndexOrder indexOrder;
+    private IndexQuery.NearestNeighbourPredicate nearestNeighbour;
+    private NodeWithPropertyValues nextAdded;
+    private long nextIndexNode = NO_ID;
+    private Value[] nextIndexValues;
+    private boolean indexExhausted;
     private final DefaultCursors pool;
     private SortedMergeJoin sortedMergeJoin = new SortedMergeJoin();
 
@@ -93,6 +107,8 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         this.indexOrder = indexOrder;
         this.needsValues = needsValues;
         this.query = query;
+        this.includedPropertyKeys = descriptor.schema().getIncludedPropertyIds();
+        resetNearestNeighbourMerge();
 
         if ( read.hasTxStateWithChanges() && query.length > 0 )
         {
@@ -107,7 +123,14 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
 
             case exists:
                 setNeedsValuesIfRequiresOrder();
-                scanQuery( descriptor );
+                if ( hasPredicatesAfterLeadingExists( query ) )
+                {
+                    skipScanQuery( descriptor, query );
+                }
+                else
+                {
+                    scanQuery( descriptor );
+                }
                 break;
 
             case range:
@@ -128,6 +151,11 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
                 suffixOrContainsQuery( descriptor, firstPredicate );
                 break;
 
+            case nearestNeighbour:
+                assert query.length == 1;
+                nearestNeighbourQuery( descriptor, (IndexQuery.NearestNeighbourPredicate) firstPredicate );
+                break;
+
             default:
                 throw new UnsupportedOperationException( "Query not supported: " + Arrays.toString( query ) );
             }
@@ -161,11 +189,29 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         else
         {
             this.node = reference;
-            this.values = values;
+            this.values = splitIncludedValues( reference, values );
             return true;
         }
     }
 
+    /**
+     * Covering indexes hand out the values of their included properties after the indexed values. Keep those separately
+     * so that {@link #values} only ever contains the indexed values, like for any other index.
+     */
+    private Value[] splitIncludedValues( long reference, Value[] values )
+    {
+        if ( includedPropertyKeys.length == 0 || values == null || values.length <= includedPropertyKeys.length )
+        {
+            includedValues = null;
+            includedValuesNode = NO_ID;
+            return values;
+        }
+        int numberOfIndexedValues = values.length - includedPropertyKeys.length;
+        includedValues = Arrays.copyOfRange( values, numberOfIndexedValues, values.length );
+        includedValuesNode = reference;
+        return Arrays.copyOf( values, numberOfIndexedValues );
+    }
+
     @Override
     public boolean needsValues()
     {
@@ -175,6 +221,10 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
     @Override
     public boolean next()
     {
+        if ( nearestNeighbour != null )
+        {
+            return nextByDistance();
+        }
         if ( indexOrder == IndexOrder.NONE )
         {
             return nextWithoutOrder();
@@ -227,6 +277,63 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         return node != -1;
     }
 
+    /**
+     * Merges the nodes added in this transaction, which are sorted by distance up front, with the nodes the index hands out
+     * in order of distance, one node from each side at a time.
+     */
+    private boolean nextByDistance()
+    {
+        if ( nextIndexNode == NO_ID && !indexExhausted )
+        {
+            if ( innerNext() )
+            {
+                nextIndexNode = node;
+                nextIndexValues = values;
+            }
+            else
+            {
+                indexExhausted = true;
+            }
+        }
+        if ( nextAdded == null && addedWithValues.hasNext() )
+        {
+            nextAdded = addedWithValues.next();
+        }
+
+        if ( nextAdded != null && (nextIndexNode == NO_ID || distance( nextAdded.getValues() ) <= distance( nextIndexValues )) )
+        {
+            this.node = nextAdded.getNodeId();
+            this.values = nextAdded.getValues();
+            nextAdded = null;
+            return true;
+        }
+        if ( nextIndexNode != NO_ID )
+        {
+            this.node = nextIndexNode;
+            this.values = nextIndexValues;
+            nextIndexNode = NO_ID;
+            nextIndexValues = null;
+            return true;
+        }
+        this.node = NO_ID;
+        this.values = null;
+        return false;
+    }
+
+    private double distance( Value[] values )
+    {
+        return nearestNeighbour.distanceTo( (PointValue) values[0] );
+    }
+
+    private void resetNearestNeighbourMerge()
+    {
+        this.nearestNeighbour = null;
+        this.nextAdded = null;
+        this.nextIndexNode = NO_ID;
+        this.nextIndexValues = null;
+        this.indexExhausted = false;
+    }
+
     @Override
     public void acceptSortedMergeJoin( long nodeId, Value[] values )
     {
@@ -275,6 +382,32 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         return values[offset];
     }
 
+    @Override
+    public int numberOfIncludedProperties()
+    {
+        return includedPropertyKeys.length;
+    }
+
+    @Override
+    public int includedPropertyKey( int offset )
+    {
+        return includedPropertyKeys[offset];
+    }
+
+    @Override
+    public Value includedPropertyValue( int offset )
+    {
+        // The index only knows about committed values, nodes changed in this transaction must be read from the store
+        if ( includedValues == null || includedValuesNode != node ||
+             read.hasTxStateWithChanges() && read.txState().getNodeState( node ).hasPropertyChanges() )
+        {
+            return null;
+        }
+        // Missing properties and values which didn't fit in the index are both stored as NO_VALUE
+        Value value = includedValues[offset];
+        return value == NO_VALUE ? null : value;
+    }
+
     @Override
     public void close()
     {
@@ -284,10 +417,14 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
             this.node = NO_ID;
             this.query = null;
             this.values = null;
+            this.includedPropertyKeys = EMPTY_INT_ARRAY;
+            this.includedValues = null;
+            this.includedValuesNode = NO_ID;
             this.read = null;
             this.added = ImmutableEmptyLongIterator.INSTANCE;
             this.addedWithValues = Collections.emptyIterator();
             this.removed = LongSets.immutable.empty();
+            resetNearestNeighbourMerge();
 
             pool.accept( this );
         }
@@ -369,6 +506,24 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         }
     }
 
+    private void skipScanQuery( IndexDescriptor descriptor, IndexQuery[] query )
+    {
+        TransactionState txState = read.txState();
+
+        if ( needsValues )
+        {
+            AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForSkipScan( txState, descriptor, query, indexOrder );
+            addedWithValues = changes.getAdded().iterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+        else
+        {
+            AddedAndRemoved changes = indexUpdatesForSkipScan( txState, descriptor, query, indexOrder );
+            added = changes.getAdded().longIterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+    }
+
     private void suffixOrContainsQuery( IndexDescriptor descriptor, IndexQuery query )
     {
         TransactionState txState = read.txState();
@@ -387,6 +542,18 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         }
     }
 
+    private void nearestNeighbourQuery( IndexDescriptor descriptor, IndexQuery.NearestNeighbourPredicate predicate )
+    {
+        // Added nodes are merged with the nodes from the index by distance, which needs the points of both
+        this.needsValues = true;
+        this.nearestNeighbour = predicate;
+        TransactionState txState = read.txState();
+
+        AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForNearestNeighbours( txState, descriptor, predicate );
+        addedWithValues = changes.getAdded().iterator();
+        removed = removed( txState, changes.getRemoved() );
+    }
+
     private void seekQuery( IndexDescriptor descriptor, IndexQuery[] query )
     {
         IndexQuery.ExactPredicate[] exactPreds = assertOnlyExactPredicates( query );
@@ -397,6 +564,22 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         removed = removed( txState, changes.getRemoved() );
     }
 
+    /**
+     * A composite query on the trailing properties of an index, i.e. where the leading property only needs to exist, is
+     * answered by the index with a skip scan. Added nodes then have to be matched against all the predicates, not just the first.
+     */
+    private static boolean hasPredicatesAfterLeadingExists( IndexQuery[] query )
+    {
+        for ( int i = 1; i < query.length; i++ )
+        {
+            if ( query[i].type() != IndexQuery.IndexQueryType.exists )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private LongSet removed( TransactionState txState, LongSet removedFromIndex )
     {
         return mergeToSet( txState.addedAndRemovedNodes().getRemoved(), removedFromIndex );
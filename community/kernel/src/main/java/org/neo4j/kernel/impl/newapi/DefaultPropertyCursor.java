@@ -156,7 +156,14 @@ public class DefaultPropertyCursor implements PropertyCursor
             read = null;
             storeCursor.reset();
 
-            pool.accept( this );
+            if ( pool != null )
+            {
+                pool.accept( this );
+            }
+            else
+            {
+                release();
+            }
         }
     }
 
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.iterator.ImmutableEmptyLongIterator;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+import java.util.Arrays;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor;
+import org.neo4j.kernel.api.txstate.TransactionState;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.IndexProgressor.NodeValueClient;
+import org.neo4j.storageengine.api.txstate.RelationshipState;
+import org.neo4j.values.storable.Value;
+
+import static java.util.Arrays.stream;
+import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
+
+/**
+ * Cursor over the result of a seek in an index on relationship type and properties. Index progressors only deal in entity ids,
+ * which is why this cursor acts as a {@link NodeValueClient} even though the ids it gets are relationship ids.
+ * <p>
+ * Relationships which have been created, deleted or had their properties changed in the transaction are matched against the
+ * query using their transaction state instead of the index, and are returned before the relationships from the index.
+ */
+class DefaultRelationshipValueIndexCursor extends IndexCursor<IndexProgressor>
+        implements RelationshipValueIndexCursor, NodeValueClient
+{
+    private Read read;
+    private long relationship;
+    private IndexQuery[] query;
+    private Value[] values;
+    private boolean needsValues;
+    private boolean filterOnStoreValues;
+    private LongIterator added = ImmutableEmptyLongIterator.INSTANCE;
+    private MutableLongSet removed = new LongHashSet();
+    private final DefaultRelationshipScanCursor scanCursor;
+    private DefaultPropertyCursor propertyCursor;
+    private final DefaultCursors pool;
+
+    DefaultRelationshipValueIndexCursor( DefaultRelationshipScanCursor scanCursor, DefaultCursors pool )
+    {
+        this.scanCursor = scanCursor;
+        this.pool = pool;
+        relationship = NO_ID;
+    }
+
+    @Override
+    public void initialize( IndexDescriptor descriptor, IndexProgressor progressor, IndexQuery[] query, IndexOrder indexOrder,
+            boolean needsValues )
+    {
+        assert query != null;
+        super.initialize( progressor );
+        this.query = query;
+        this.needsValues = needsValues;
+
+        if ( read.hasTxStateWithChanges() )
+        {
+            TransactionState txState = read.txState();
+            int relationshipType = descriptor.schema().keyId();
+            MutableLongList addedInTx = new LongArrayList();
+            removed.addAll( txState.addedAndRemovedRelationships().getRemoved() );
+            for ( RelationshipState relationshipState : txState.modifiedRelationships() )
+            {
+                long id = relationshipState.getId();
+                if ( relationshipState.hasPropertyChanges() && !removed.contains( id ) )
+                {
+                    // The index doesn't know about the changes, so decide from the transaction state whether or not it matches
+                    removed.add( id );
+                    if ( positionAt( id ) && scanCursor.type() == relationshipType && matchesQuery() )
+                    {
+                        addedInTx.add( id );
+                    }
+                }
+            }
+            added = addedInTx.longIterator();
+        }
+    }
+
+    /**
+     * Called by {@link Read} for indexes which can't provide the exact values for the query, the index result
+     * is then filtered on the values from the store.
+     */
+    void filterOnStoreValues()
+    {
+        this.filterOnStoreValues = true;
+    }
+
+    @Override
+    public boolean acceptNode( long reference, Value[] values )
+    {
+        if ( removed.contains( reference ) )
+        {
+            return false;
+        }
+        if ( !positionAt( reference ) || filterOnStoreValues && !matchesQuery() )
+        {
+            return false;
+        }
+        this.relationship = reference;
+        this.values = values;
+        return true;
+    }
+
+    @Override
+    public boolean needsValues()
+    {
+        return needsValues;
+    }
+
+    @Override
+    public boolean next()
+    {
+        if ( added.hasNext() )
+        {
+            long id = added.next();
+            positionAt( id );
+            this.relationship = id;
+            this.values = null;
+            return true;
+        }
+        return innerNext();
+    }
+
+    private boolean positionAt( long reference )
+    {
+        read.singleRelationship( reference, scanCursor );
+        return scanCursor.next();
+    }
+
+    private boolean matchesQuery()
+    {
+        if ( propertyCursor == null )
+        {
+            propertyCursor = pool.allocatePropertyCursor();
+        }
+        scanCursor.properties( propertyCursor );
+        int matched = 0;
+        while ( propertyCursor.next() )
+        {
+            for ( IndexQuery predicate : query )
+            {
+                if ( propertyCursor.propertyKey() == predicate.propertyKeyId() )
+                {
+                    if ( !predicate.acceptsValueAt( propertyCursor ) )
+                    {
+                        return false;
+                    }
+                    matched++;
+                }
+            }
+        }
+        return matched == query.length;
+    }
+
+    public void setRead( Read read )
+    {
+        this.read = read;
+    }
+
+    @Override
+    public int numberOfProperties()
+    {
+        return query == null ? 0 : query.length;
+    }
+
+    @Override
+    public int propertyKey( int offset )
+    {
+        return query[offset].propertyKeyId();
+    }
+
+    @Override
+    public boolean hasValue()
+    {
+        return values != null;
+    }
+
+    @Override
+    public Value propertyValue( int offset )
+    {
+        return values[offset];
+    }
+
+    @Override
+    public void relationship( RelationshipScanCursor cursor )
+    {
+        read.singleRelationship( relationship, cursor );
+    }
+
+    @Override
+    public void sourceNode( NodeCursor cursor )
+    {
+        read.singleNode( sourceNodeReference(), cursor );
+    }
+
+    @Override
+    public void targetNode( NodeCursor cursor )
+    {
+        read.singleNode( targetNodeReference(), cursor );
+    }
+
+    @Override
+    public int type()
+    {
+        return scanCursor.type();
+    }
+
+    @Override
+    public long sourceNodeReference()
+    {
+        return scanCursor.sourceNodeReference();
+    }
+
+    @Override
+    public long targetNodeReference()
+    {
+        return scanCursor.targetNodeReference();
+    }
+
+    @Override
+    public long relationshipReference()
+    {
+        return relationship;
+    }
+
+    @Override
+    public void close()
+    {
+        if ( !isClosed() )
+        {
+            super.close();
+            relationship = NO_ID;
+            query = null;
+            values = null;
+            filterOnStoreValues = false;
+            added = ImmutableEmptyLongIterator.INSTANCE;
+            removed.clear();
+            if ( propertyCursor != null )
+            {
+                propertyCursor.close();
+                propertyCursor = null;
+            }
+            read = null;
+
+            pool.accept( this );
+        }
+    }
+
+    @Override
+    public boolean isClosed()
+    {
+        return super.isClosed();
+    }
+
+    @Override
+    public String toString()
+    {
+        if ( isClosed() )
+        {
+            return "RelationshipValueIndexCursor[closed state]";
+        }
+        else
+        {
+            String keys = query == null ? "unknown" : Arrays.toString( stream( query ).map( IndexQuery::propertyKeyId ).toArray( Integer[]::new ) );
+            return "RelationshipValueIndexCursor[relationship=" + relationship + ", open state with: keys=" + keys +
+                    ", values=" + Arrays.toString( values ) + ", underlying record=" + super.toString() + "]";
+        }
+    }
+
+    public void release()
+    {
+        scanCursor.release();
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.internal.kernel.api.CursorFactory;
@@ -91,6 +92,7 @@ import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.api.state.ConstraintIndexCreator;
 import org.neo4j.kernel.impl.constraints.ConstraintSemantics;
 import org.neo4j.kernel.impl.index.IndexEntityType;
+import org.neo4j.kernel.impl.index.schema.GenericNativeIndexProvider;
 import org.neo4j.kernel.impl.locking.ResourceTypes;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.StorageReader;
@@ -981,6 +983,11 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
         assertIndexDoesNotExist( SchemaKernelException.OperationContext.INDEX_CREATION, descriptor, name );
 
         IndexProviderDescriptor providerDescriptor = indexingService.indexProviderByName( provider );
+        if ( descriptor.getIncludedPropertyIds().length > 0 && !GenericNativeIndexProvider.DESCRIPTOR.equals( providerDescriptor ) )
+        {
+            throw new IllegalArgumentException( "Included properties are only supported by index provider " +
+                    GenericNativeIndexProvider.DESCRIPTOR.name() + ", not " + providerDescriptor.name() );
+        }
         IndexDescriptor index = IndexDescriptorFactory.forSchema( descriptor, name, providerDescriptor );
         index = indexingService.getBlessedDescriptorFromProvider( index );
         ktx.txState().indexDoAdd( index );
@@ -1340,6 +1347,12 @@ public class Operations implements Write, ExplicitIndexWrite, SchemaWrite
         {
             throw new RepeatedPropertyInSchemaException( descriptor, context );
         }
+        int[] included = descriptor.getIncludedPropertyIds();
+        long numUniqueIndexedAndIncluded = IntStream.concat( Arrays.stream( descriptor.getPropertyIdsNoSorts() ), Arrays.stream( included ) ).distinct().count();
+        if ( numUniqueIndexedAndIncluded != numUniqueProp + included.length )
+        {
+            throw new RepeatedPropertyInSchemaException( descriptor, context );
+        }
         if ( numUniqueEntityTokens != descriptor.getEntityTokenIds().length )
         {
             if ( descriptor.entityType() == NODE )
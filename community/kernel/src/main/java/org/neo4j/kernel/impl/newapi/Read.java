@@ -34,6 +34,7 @@ import org.neo4j.internal.kernel.api.RelationshipExplicitIndexCursor;
 import org.neo4j.internal.kernel.api.RelationshipGroupCursor;
 import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.internal.kernel.api.RelationshipValueIndexCursor;
 import org.neo4j.internal.kernel.api.Scan;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.exceptions.explicitindex.ExplicitIndexNotFoundKernelException;
@@ -57,6 +58,7 @@ import org.neo4j.storageengine.api.lock.ResourceType;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.PartitionedValueSeek;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
@@ -102,6 +104,36 @@ abstract class Read implements TxStateHolder,
         reader.query( withFullPrecision, indexOrder, needsValues, query );
     }
 
+    @Override
+    public final Scan<NodeValueIndexCursor> nodeIndexSeek( IndexReference index, int desiredNumberOfPartitions, boolean needsValues, IndexQuery... query )
+            throws IndexNotApplicableKernelException, IndexNotFoundKernelException
+    {
+        ktx.assertOpen();
+        if ( hasForbiddenProperties( index ) )
+        {
+            return cursor -> false;
+        }
+
+        IndexReader reader = indexReader( index, false );
+        // Transaction state is merged into the result of the partition a cursor gets initialized with, so it can only go into a single partition
+        int numberOfPartitions = ktx.hasTxStateWithChanges() ? 1 : desiredNumberOfPartitions;
+        PartitionedValueSeek valueSeek = reader.valueSeek( numberOfPartitions, needsValues, query );
+        IndexQuery[] filters = fullValuePrecisionFilters( query, reader );
+        return cursor ->
+        {
+            DefaultNodeValueIndexCursor cursorImpl = (DefaultNodeValueIndexCursor) cursor;
+            cursorImpl.setRead( this );
+            IndexProgressor.NodeValueClient target = cursorImpl;
+            if ( filters != null )
+            {
+                // Partitions are read from other threads than the one owning the cursor pool, so each partition gets cursors of its own
+                target = new NodeValueClientFilter( target, cursors.allocateUnpooledNodeCursor(),
+                        cursors.allocateUnpooledPropertyCursor(), this, filters );
+            }
+            return valueSeek.reservePartition( target );
+        };
+    }
+
     @Override
     public void nodeIndexDistinctValues( IndexReference index, NodeValueIndexCursor cursor, boolean needsValues ) throws IndexNotFoundKernelException
     {
@@ -119,6 +151,21 @@ abstract class Read implements TxStateHolder,
             IndexQuery[] query, IndexReader reader )
     {
         IndexProgressor.NodeValueClient target = cursor;
+        IndexQuery[] filters = fullValuePrecisionFilters( query, reader );
+        if ( filters != null )
+        {
+            target = new NodeValueClientFilter( target, cursors.allocateNodeCursor(),
+                    cursors.allocatePropertyCursor(), this, filters );
+        }
+        return target;
+    }
+
+    /**
+     * @return the predicates which the index can not answer with full precision, each in the slot of the value it filters on,
+     * or {@code null} if no predicate needs to be re-checked against the store.
+     */
+    private static IndexQuery[] fullValuePrecisionFilters( IndexQuery[] query, IndexReader reader )
+    {
         if ( !reader.hasFullValuePrecision( query ) )
         {
             IndexQuery[] filters = new IndexQuery[query.length];
@@ -155,11 +202,10 @@ abstract class Read implements TxStateHolder,
             {
                 // filters[] can contain null elements. The non-null elements are the filters and each sit in the designated slot
                 // matching the values from the index.
-                target = new NodeValueClientFilter( target, cursors.allocateNodeCursor(),
-                        cursors.allocatePropertyCursor(), this, filters );
+                return filters;
             }
         }
-        return target;
+        return null;
     }
 
     @Override
@@ -208,6 +254,34 @@ abstract class Read implements TxStateHolder,
         indexReader( index, false ).query( cursorImpl, indexOrder, needsValues, IndexQuery.exists( firstProperty ) );
     }
 
+    @Override
+    public final void relationshipIndexSeek( IndexReference index, RelationshipValueIndexCursor cursor, boolean needsValues, IndexQuery... query )
+            throws IndexNotApplicableKernelException, IndexNotFoundKernelException
+    {
+        ktx.assertOpen();
+        if ( hasForbiddenProperties( index ) )
+        {
+            cursor.close();
+            return;
+        }
+
+        DefaultRelationshipValueIndexCursor cursorImpl = (DefaultRelationshipValueIndexCursor) cursor;
+        IndexReader reader = indexReader( index, false );
+        cursorImpl.setRead( this );
+        if ( !reader.hasFullValuePrecision( query ) )
+        {
+            cursorImpl.filterOnStoreValues();
+        }
+        reader.query( cursorImpl, IndexOrder.NONE, needsValues, query );
+    }
+
+    @Override
+    public final void relationshipIndexScan( IndexReference index, RelationshipValueIndexCursor cursor, boolean needsValues ) throws KernelException
+    {
+        // for a scan, we simply query for existence of the first property, which covers all entries in an index
+        relationshipIndexSeek( index, cursor, needsValues, IndexQuery.exists( index.properties()[0] ) );
+    }
+
     private boolean hasForbiddenProperties( IndexReference index )
     {
         AccessMode mode = ktx.securityContext().mode();
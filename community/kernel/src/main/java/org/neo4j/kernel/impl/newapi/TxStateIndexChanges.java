@@ -33,6 +33,7 @@ import org.eclipse.collections.impl.factory.primitive.LongLists;
 import org.eclipse.collections.impl.factory.primitive.LongSets;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.NavigableMap;
 
@@ -41,6 +42,7 @@ import org.neo4j.internal.kernel.api.IndexQuery;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.txstate.LongDiffSets;
 import org.neo4j.storageengine.api.txstate.ReadableTransactionState;
+import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueTuple;
@@ -85,7 +87,7 @@ class TxStateIndexChanges
         {
             throw new IllegalStateException( "Suffix and contains queries are only supported for single property queries" );
         }
-        return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
+        return indexUpdatesForScanAndFilter( txState, descriptor, new IndexQuery[]{query}, indexOrder );
     }
 
     static AddedWithValuesAndRemoved indexUpdatesWithValuesForSuffixOrContains( ReadableTransactionState txState,
@@ -97,6 +99,40 @@ class TxStateIndexChanges
         {
             throw new IllegalStateException( "Suffix and contains queries are only supported for single property queries" );
         }
+        return indexUpdatesWithValuesScanAndFilter( txState, descriptor, new IndexQuery[]{query}, indexOrder );
+    }
+
+    // NEAREST NEIGHBOURS
+
+    static AddedWithValuesAndRemoved indexUpdatesWithValuesForNearestNeighbours( ReadableTransactionState txState,
+                                                                                 IndexDescriptor descriptor,
+                                                                                 IndexQuery.NearestNeighbourPredicate query )
+    {
+        if ( descriptor.schema().getPropertyIds().length != 1 )
+        {
+            throw new IllegalStateException( "Nearest neighbour queries are only supported for single property queries" );
+        }
+        AddedWithValuesAndRemoved changes = indexUpdatesWithValuesScanAndFilter( txState, descriptor, new IndexQuery[]{query}, IndexOrder.NONE );
+        MutableList<NodeWithPropertyValues> added = Lists.mutable.withAll( changes.getAdded() );
+        added.sortThis( Comparator.comparingDouble( ( NodeWithPropertyValues node ) -> query.distanceTo( (PointValue) node.getValues()[0] ) ) );
+        return new AddedWithValuesAndRemoved( added, changes.getRemoved() );
+    }
+
+    // SKIP SCAN
+
+    static AddedAndRemoved indexUpdatesForSkipScan( ReadableTransactionState txState,
+                                                    IndexDescriptor descriptor,
+                                                    IndexQuery[] query,
+                                                    IndexOrder indexOrder )
+    {
+        return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
+    }
+
+    static AddedWithValuesAndRemoved indexUpdatesWithValuesForSkipScan( ReadableTransactionState txState,
+                                                                        IndexDescriptor descriptor,
+                                                                        IndexQuery[] query,
+                                                                        IndexOrder indexOrder )
+    {
         return indexUpdatesWithValuesScanAndFilter( txState, descriptor, query, indexOrder );
     }
 
@@ -321,7 +357,7 @@ class TxStateIndexChanges
 
     private static AddedAndRemoved indexUpdatesForScanAndFilter( ReadableTransactionState txState,
                                                                  IndexDescriptor descriptor,
-                                                                 IndexQuery filter,
+                                                                 IndexQuery[] filter,
                                                                  IndexOrder indexOrder )
     {
         Map<ValueTuple,? extends LongDiffSets> updates = getUpdates( txState, descriptor, indexOrder );
@@ -337,7 +373,7 @@ class TxStateIndexChanges
         for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : updates.entrySet() )
         {
             ValueTuple key = entry.getKey();
-            if ( filter == null || filter.acceptsValue( key.getOnlyValue() ) )
+            if ( filter == null || acceptsValues( filter, key ) )
             {
                 LongDiffSets diffSet = entry.getValue();
                 added.addAll( diffSet.getAdded() );
@@ -349,7 +385,7 @@ class TxStateIndexChanges
 
     private static AddedWithValuesAndRemoved indexUpdatesWithValuesScanAndFilter( ReadableTransactionState txState,
                                                                                   IndexDescriptor descriptor,
-                                                                                  IndexQuery filter,
+                                                                                  IndexQuery[] filter,
                                                                                   IndexOrder indexOrder )
     {
         Map<ValueTuple,? extends LongDiffSets> updates = getUpdates( txState, descriptor, indexOrder );
@@ -365,7 +401,7 @@ class TxStateIndexChanges
         for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : updates.entrySet() )
         {
             ValueTuple key = entry.getKey();
-            if ( filter == null || filter.acceptsValue( key.getOnlyValue() ) )
+            if ( filter == null || acceptsValues( filter, key ) )
             {
                 Value[] values = key.getValues();
                 LongDiffSets diffSet = entry.getValue();
@@ -376,6 +412,18 @@ class TxStateIndexChanges
         return new AddedWithValuesAndRemoved( indexOrder == IndexOrder.DESCENDING ? added.asReversed() : added, removed );
     }
 
+    private static boolean acceptsValues( IndexQuery[] filter, ValueTuple key )
+    {
+        for ( int i = 0; i < filter.length; i++ )
+        {
+            if ( !filter[i].acceptsValue( key.valueAt( i ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static Map<ValueTuple,? extends LongDiffSets> getUpdates( ReadableTransactionState txState,
                                                                       IndexDescriptor descriptor,
                                                                       IndexOrder indexOrder )
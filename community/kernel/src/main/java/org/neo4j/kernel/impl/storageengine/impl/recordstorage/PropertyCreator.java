@@ -45,20 +45,23 @@ public class PropertyCreator
     private final IdSequence propertyRecordIdGenerator;
     private final PropertyTraverser traverser;
     private final boolean allowStorePointsAndTemporal;
+    private final boolean compressStrings;
 
     public PropertyCreator( PropertyStore propertyStore, PropertyTraverser traverser )
     {
-        this( propertyStore.getStringStore(), propertyStore.getArrayStore(), propertyStore, traverser, propertyStore.allowStorePointsAndTemporal() );
+        this( propertyStore.getStringStore(), propertyStore.getArrayStore(), propertyStore, traverser,
+                propertyStore.allowStorePointsAndTemporal(), propertyStore.compressStrings() );
     }
 
     PropertyCreator( DynamicRecordAllocator stringRecordAllocator, DynamicRecordAllocator arrayRecordAllocator, IdSequence propertyRecordIdGenerator,
-            PropertyTraverser traverser, boolean allowStorePointsAndTemporal )
+            PropertyTraverser traverser, boolean allowStorePointsAndTemporal, boolean compressStrings )
     {
         this.stringRecordAllocator = stringRecordAllocator;
         this.arrayRecordAllocator = arrayRecordAllocator;
         this.propertyRecordIdGenerator = propertyRecordIdGenerator;
         this.traverser = traverser;
         this.allowStorePointsAndTemporal = allowStorePointsAndTemporal;
+        this.compressStrings = compressStrings;
     }
 
     public <P extends PrimitiveRecord> void primitiveSetProperty(
@@ -198,7 +201,8 @@ public class PropertyCreator
 
     public PropertyBlock encodeValue( PropertyBlock block, int propertyKey, Value value )
     {
-        PropertyStore.encodeValue( block, propertyKey, value, stringRecordAllocator, arrayRecordAllocator, allowStorePointsAndTemporal );
+        PropertyStore.encodeValue( block, propertyKey, value, stringRecordAllocator, arrayRecordAllocator, allowStorePointsAndTemporal,
+                compressStrings );
         return block;
     }
 
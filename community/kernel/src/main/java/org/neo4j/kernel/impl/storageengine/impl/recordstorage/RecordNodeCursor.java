@@ -24,11 +24,18 @@ package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
 
 import org.apache.commons.lang3.exception.CloneFailedException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.kernel.impl.newapi.RelationshipReferenceEncoding;
+import org.neo4j.kernel.impl.store.DynamicArrayStore;
+import org.neo4j.kernel.impl.store.DynamicNodeLabels;
 import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.storageengine.api.StorageNodeCursor;
 
@@ -40,11 +47,18 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
     private long highMark;
     private long nextStoreReference;
     private boolean open;
+    private final RecordVersions.Snapshot snapshot;
 
     RecordNodeCursor( NodeStore read )
+    {
+        this( read, null );
+    }
+
+    RecordNodeCursor( NodeStore read, RecordVersions.Snapshot snapshot )
     {
         super( NO_ID );
         this.read = read;
+        this.snapshot = snapshot;
     }
 
     @Override
@@ -91,14 +105,14 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
     @Override
     public long[] labels()
     {
-        return NodeLabelsField.get( this, read );
+        return labelIds();
     }
 
     @Override
     public boolean hasLabel( int label )
     {
         //Get labels from store and put in intSet, unfortunately we get longs back
-        long[] longs = NodeLabelsField.get( this, read );
+        long[] longs = labelIds();
         for ( long labelToken : longs )
         {
             if ( labelToken == label )
@@ -206,6 +220,34 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
         clear();
     }
 
+    private long[] labelIds()
+    {
+        if ( snapshot != null && snapshot.isOpen() && NodeLabelsField.fieldPointsToDynamicRecordOfLabels( getLabelField() ) )
+        {
+            return DynamicNodeLabels.getDynamicLabelsArrayFromHeavyRecords( snapshotLabelRecords() );
+        }
+        return NodeLabelsField.get( this, read );
+    }
+
+    /**
+     * Label records of the current node in the snapshot. They're loaded forcefully, since label records that were
+     * deleted after the snapshot are restored from their before-images.
+     */
+    private List<DynamicRecord> snapshotLabelRecords()
+    {
+        DynamicArrayStore labelStore = read.getDynamicLabelStore();
+        List<DynamicRecord> records = new ArrayList<>();
+        long reference = NodeLabelsField.firstDynamicLabelRecordId( getLabelField() );
+        while ( reference != Record.NO_NEXT_BLOCK.intValue() )
+        {
+            DynamicRecord record = labelStore.getRecord( reference, labelStore.newRecord(), RecordLoad.FORCE );
+            snapshot.restoreLabels( record );
+            records.add( record );
+            reference = record.getNextBlock();
+        }
+        return records;
+    }
+
     private boolean isSingle()
     {
         return highMark == NO_ID;
@@ -256,10 +298,18 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
     private void node( NodeRecord record, long reference, PageCursor pageCursor )
     {
         read.getRecordByCursor( reference, record, RecordLoad.CHECK, pageCursor );
+        if ( snapshot != null )
+        {
+            snapshot.restore( record );
+        }
     }
 
     private void nodeAdvance( NodeRecord record, PageCursor pageCursor )
     {
         read.nextRecordByCursor( record, RecordLoad.CHECK, pageCursor );
+        if ( snapshot != null )
+        {
+            snapshot.restore( record );
+        }
     }
 }
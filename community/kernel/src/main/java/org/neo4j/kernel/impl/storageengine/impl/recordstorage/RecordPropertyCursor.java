@@ -38,7 +38,6 @@ import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.util.Bits;
 import org.neo4j.storageengine.api.StoragePropertyCursor;
-import org.neo4j.string.UTF8;
 import org.neo4j.values.storable.ArrayValue;
 import org.neo4j.values.storable.BooleanValue;
 import org.neo4j.values.storable.ByteValue;
@@ -65,11 +64,18 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
     private PageCursor stringPage;
     private PageCursor arrayPage;
     private boolean open;
+    private final RecordVersions.Snapshot snapshot;
 
     RecordPropertyCursor( PropertyStore read )
+    {
+        this( read, null );
+    }
+
+    RecordPropertyCursor( PropertyStore read, RecordVersions.Snapshot snapshot )
     {
         super( NO_ID );
         this.read = read;
+        this.snapshot = snapshot;
     }
 
     @Override
@@ -402,18 +408,31 @@ class RecordPropertyCursor extends PropertyRecord implements StoragePropertyCurs
         // We need to load forcefully here since otherwise we can have inconsistent reads
         // for properties across blocks, see org.neo4j.graphdb.ConsistentPropertyReadsIT
         read.getRecordByCursor( reference, record, RecordLoad.FORCE, pageCursor );
+        if ( snapshot != null )
+        {
+            snapshot.restore( record );
+        }
+    }
+
+    private boolean inSnapshot()
+    {
+        return snapshot != null && snapshot.isOpen();
     }
 
     private TextValue string( RecordPropertyCursor cursor, long reference, PageCursor page )
     {
-        ByteBuffer buffer = cursor.buffer = read.loadString( reference, cursor.buffer, page );
+        ByteBuffer buffer = cursor.buffer = inSnapshot()
+                                            ? read.loadString( reference, cursor.buffer, page, snapshot::restoreString )
+                                            : read.loadString( reference, cursor.buffer, page );
         buffer.flip();
-        return Values.stringValue( UTF8.decode( buffer.array(), 0, buffer.limit() ) );
+        return Values.stringValue( PropertyStore.decodeString( buffer.array(), 0, buffer.limit() ) );
     }
 
     private ArrayValue array( RecordPropertyCursor cursor, long reference, PageCursor page )
     {
-        ByteBuffer buffer = cursor.buffer = read.loadArray( reference, cursor.buffer, page );
+        ByteBuffer buffer = cursor.buffer = inSnapshot()
+                                            ? read.loadArray( reference, cursor.buffer, page, snapshot::restoreArray )
+                                            : read.loadArray( reference, cursor.buffer, page );
         buffer.flip();
         return PropertyStore.readArrayFromBuffer( buffer );
     }
@@ -34,11 +34,13 @@ import org.neo4j.storageengine.api.StorageRelationshipCursor;
 abstract class RecordRelationshipCursor extends RelationshipRecord implements RelationshipVisitor<RuntimeException>, StorageRelationshipCursor
 {
     final RelationshipStore relationshipStore;
+    final RecordVersions.Snapshot snapshot;
 
-    RecordRelationshipCursor( RelationshipStore relationshipStore )
+    RecordRelationshipCursor( RelationshipStore relationshipStore, RecordVersions.Snapshot snapshot )
     {
         super( NO_ID );
         this.relationshipStore = relationshipStore;
+        this.snapshot = snapshot;
     }
 
     @Override
@@ -94,6 +96,7 @@ abstract class RecordRelationshipCursor extends RelationshipRecord implements Re
     {
         // When scanning, we inspect RelationshipRecord.inUse(), so using RecordLoad.CHECK is fine
         relationshipStore.getRecordByCursor( reference, record, RecordLoad.CHECK, pageCursor );
+        restore( record );
     }
 
     void relationshipFull( RelationshipRecord record, long reference, PageCursor pageCursor )
@@ -105,6 +108,15 @@ abstract class RecordRelationshipCursor extends RelationshipRecord implements Re
         //      org.neo4j.kernel.impl.store.RelationshipChainPointerChasingTest
         //      org.neo4j.kernel.impl.locking.RelationshipCreateDeleteIT
         relationshipStore.getRecordByCursor( reference, record, RecordLoad.FORCE, pageCursor );
+        restore( record );
+    }
+
+    void restore( RelationshipRecord record )
+    {
+        if ( snapshot != null )
+        {
+            snapshot.restore( record );
+        }
     }
 
     long relationshipHighMark()
@@ -51,12 +51,20 @@ class RecordRelationshipGroupCursor extends RelationshipGroupRecord implements S
     private PageCursor page;
     private PageCursor edgePage;
     private boolean open;
+    private final RecordVersions.Snapshot snapshot;
 
     RecordRelationshipGroupCursor( RelationshipStore relationshipStore, RelationshipGroupStore groupStore )
+    {
+        this( relationshipStore, groupStore, null );
+    }
+
+    RecordRelationshipGroupCursor( RelationshipStore relationshipStore, RelationshipGroupStore groupStore,
+            RecordVersions.Snapshot snapshot )
     {
         super( NO_ID );
         this.relationshipStore = relationshipStore;
         this.groupStore = groupStore;
+        this.snapshot = snapshot;
     }
 
     @Override
@@ -90,6 +98,10 @@ class RecordRelationshipGroupCursor extends RelationshipGroupRecord implements S
             while ( relationshipReference != NO_ID )
             {
                 relationshipStore.getRecordByCursor( relationshipReference, edge, RecordLoad.FORCE, edgePage );
+                if ( snapshot != null )
+                {
+                    snapshot.restore( edge );
+                }
                 // find the group
                 BufferedGroup group = buffer.get( edge.getType() );
                 if ( group == null )
@@ -229,6 +241,10 @@ class RecordRelationshipGroupCursor extends RelationshipGroupRecord implements S
             edgePage = relationshipStore.openPageCursorForReading( reference );
         }
         relationshipStore.getRecordByCursor( reference, edge, RecordLoad.FORCE, edgePage );
+        if ( snapshot != null )
+        {
+            snapshot.restore( edge );
+        }
         if ( edge.getFirstNode() == getOwningNode() )
         {
             return (int) edge.getFirstPrevRel();
@@ -437,5 +453,9 @@ class RecordRelationshipGroupCursor extends RelationshipGroupRecord implements S
         // records which have been concurrently deleted (flagged as inUse = false).
         // @see #org.neo4j.kernel.impl.store.RelationshipChainPointerChasingTest
         groupStore.getRecordByCursor( reference, record, RecordLoad.FORCE, page );
+        if ( snapshot != null )
+        {
+            snapshot.restore( record );
+        }
     }
 }
@@ -39,7 +39,12 @@ class RecordRelationshipScanCursor extends RecordRelationshipCursor implements S
 
     RecordRelationshipScanCursor( RelationshipStore relationshipStore )
     {
-        super( relationshipStore );
+        this( relationshipStore, null );
+    }
+
+    RecordRelationshipScanCursor( RelationshipStore relationshipStore, RecordVersions.Snapshot snapshot )
+    {
+        super( relationshipStore, snapshot );
     }
 
     @Override
@@ -185,5 +190,6 @@ class RecordRelationshipScanCursor extends RecordRelationshipCursor implements S
     {
         // When scanning, we inspect RelationshipRecord.inUse(), so using RecordLoad.CHECK is fine
         relationshipStore.nextRecordByCursor( record, RecordLoad.CHECK, pageCursor );
+        restore( record );
     }
 }
@@ -51,8 +51,14 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
 
     RecordRelationshipTraversalCursor( RelationshipStore relationshipStore, RelationshipGroupStore groupStore )
     {
-        super( relationshipStore );
-        this.group = new RecordRelationshipGroupCursor( relationshipStore, groupStore );
+        this( relationshipStore, groupStore, null );
+    }
+
+    RecordRelationshipTraversalCursor( RelationshipStore relationshipStore, RelationshipGroupStore groupStore,
+            RecordVersions.Snapshot snapshot )
+    {
+        super( relationshipStore, snapshot );
+        this.group = new RecordRelationshipGroupCursor( relationshipStore, groupStore, snapshot );
     }
 
     @Override
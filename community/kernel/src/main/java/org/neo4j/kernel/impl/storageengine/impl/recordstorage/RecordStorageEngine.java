@@ -75,6 +75,7 @@ import org.neo4j.kernel.impl.index.IndexConfigStore;
 import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
 import org.neo4j.kernel.impl.locking.LockGroup;
 import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.id.BufferedIdController;
 import org.neo4j.kernel.impl.storageengine.impl.recordstorage.id.IdController;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.RecordStore;
@@ -91,6 +92,7 @@ import org.neo4j.kernel.impl.transaction.command.IndexBatchTransactionApplier;
 import org.neo4j.kernel.impl.transaction.command.IndexUpdatesWork;
 import org.neo4j.kernel.impl.transaction.command.LabelUpdateWork;
 import org.neo4j.kernel.impl.transaction.command.NeoStoreBatchTransactionApplier;
+import org.neo4j.kernel.impl.transaction.command.RecordVersionsBatchTransactionApplier;
 import org.neo4j.kernel.impl.transaction.state.IntegrityValidator;
 import org.neo4j.kernel.impl.transaction.state.storeview.DynamicIndexStoreView;
 import org.neo4j.kernel.impl.transaction.state.storeview.NeoStoreIndexStoreView;
@@ -148,6 +150,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final IdController idController;
     private final int denseNodeThreshold;
     private final int recordIdBatchSize;
+    private final RecordVersions recordVersions;
 
     public RecordStorageEngine(
             DatabaseLayout databaseLayout,
@@ -219,6 +222,14 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
 
             denseNodeThreshold = config.get( GraphDatabaseSettings.dense_node_threshold );
             recordIdBatchSize = config.get( GraphDatabaseSettings.record_id_batch_size );
+            recordVersions = config.get( GraphDatabaseSettings.snapshot_reads )
+                             ? new RecordVersions( neoStores.getMetaDataStore()::getLastClosedTransactionId ) : null;
+            if ( recordVersions != null && !(idController instanceof BufferedIdController) )
+            {
+                // Freed ids must not be reused while a transaction that was open when they were freed, e.g. a snapshot
+                // transaction, is still open
+                throw new IllegalStateException( GraphDatabaseSettings.snapshot_reads.name() + " requires buffered id reuse" );
+            }
         }
         catch ( Throwable failure )
         {
@@ -231,8 +242,10 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     public StorageReader newReader()
     {
         Supplier<IndexReaderFactory> indexReaderFactory = () -> new IndexReaderFactory.Caching( indexingService );
+        // Readers can be switched to a snapshot, see StorageReader#openSnapshot
+        RecordVersions.Snapshot snapshot = recordVersions != null ? recordVersions.newSnapshot() : null;
         return new RecordStorageReader( tokenHolders, schemaStorage, neoStores, indexingService,
-                schemaCache, indexReaderFactory, labelScanStore::newReader, allocateCommandCreationContext() );
+                schemaCache, indexReaderFactory, labelScanStore::newReader, allocateCommandCreationContext(), snapshot );
     }
 
     @Override
@@ -318,6 +331,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     protected BatchTransactionApplierFacade applier( TransactionApplicationMode mode, IndexActivator indexActivator )
     {
         ArrayList<BatchTransactionApplier> appliers = new ArrayList<>();
+        if ( recordVersions != null && mode != RECOVERY && mode != REVERSE_RECOVERY )
+        {
+            // Before-images must be recorded before the store is updated
+            appliers.add( new RecordVersionsBatchTransactionApplier( recordVersions, neoStores ) );
+        }
         // Graph store application. The order of the decorated store appliers is irrelevant
         appliers.add( new NeoStoreBatchTransactionApplier( mode.version(), neoStores, cacheAccess, lockService( mode ) ) );
         if ( mode.needsHighIdTracking() )
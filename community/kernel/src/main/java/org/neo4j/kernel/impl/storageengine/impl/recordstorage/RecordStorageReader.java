@@ -27,6 +27,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.neo4j.collection.PrimitiveLongResourceIterator;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.internal.kernel.api.IndexReference;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.exceptions.EntityNotFoundException;
@@ -47,6 +48,7 @@ import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.SchemaStorage;
 import org.neo4j.kernel.impl.store.StoreType;
 import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.register.Register;
 import org.neo4j.register.Register.DoubleLongRegister;
@@ -88,6 +90,7 @@ public class RecordStorageReader implements StorageReader
     private final Supplier<IndexReaderFactory> indexReaderFactorySupplier;
     private final Supplier<LabelScanReader> labelScanReaderSupplier;
     private final RecordStorageCommandCreationContext commandCreationContext;
+    private final RecordVersions.Snapshot snapshot;
 
     private IndexReaderFactory indexReaderFactory;
     private LabelScanReader labelScanReader;
@@ -101,6 +104,22 @@ public class RecordStorageReader implements StorageReader
             Supplier<IndexReaderFactory> indexReaderFactory,
             Supplier<LabelScanReader> labelScanReaderSupplier,
             RecordStorageCommandCreationContext commandCreationContext )
+    {
+        this( tokenHolders, schemaStorage, neoStores, indexService, schemaCache, indexReaderFactory, labelScanReaderSupplier,
+                commandCreationContext, null );
+    }
+
+    /**
+     * @param snapshot snapshot that records read through this reader's cursors are restored to while it's open,
+     * or {@code null} if the storage engine doesn't keep record versions.
+     */
+    RecordStorageReader( TokenHolders tokenHolders,
+            SchemaStorage schemaStorage, NeoStores neoStores,
+            IndexingService indexService, SchemaCache schemaCache,
+            Supplier<IndexReaderFactory> indexReaderFactory,
+            Supplier<LabelScanReader> labelScanReaderSupplier,
+            RecordStorageCommandCreationContext commandCreationContext,
+            RecordVersions.Snapshot snapshot )
     {
         this.tokenHolders = tokenHolders;
         this.neoStores = neoStores;
@@ -115,6 +134,7 @@ public class RecordStorageReader implements StorageReader
         this.indexReaderFactorySupplier = indexReaderFactory;
         this.labelScanReaderSupplier = labelScanReaderSupplier;
         this.commandCreationContext = commandCreationContext;
+        this.snapshot = snapshot;
     }
 
     /**
@@ -256,6 +276,10 @@ public class RecordStorageReader implements StorageReader
     {
         // TODO Please don't create a record for this, it's ridiculous
         RelationshipRecord record = relationshipStore.getRecord( relationshipId, relationshipStore.newRecord(), CHECK );
+        if ( inSnapshot() )
+        {
+            snapshot.restore( record );
+        }
         if ( !record.inUse() )
         {
             throw new EntityNotFoundException( EntityType.RELATIONSHIP, relationshipId );
@@ -278,6 +302,10 @@ public class RecordStorageReader implements StorageReader
     @Override
     public long countsForNode( int labelId )
     {
+        if ( inSnapshot() )
+        {
+            return snapshotNodeCount( labelId );
+        }
         return counts.nodeCount( labelId, newDoubleLongRegister() ).readSecond();
     }
 
@@ -288,9 +316,63 @@ public class RecordStorageReader implements StorageReader
         {
             throw new UnsupportedOperationException( "not implemented" );
         }
+        if ( inSnapshot() )
+        {
+            return snapshotRelationshipCount( startLabelId, typeId, endLabelId );
+        }
         return counts.relationshipCount( startLabelId, typeId, endLabelId, newDoubleLongRegister() ).readSecond();
     }
 
+    /**
+     * The counts store isn't versioned, so counts in a snapshot are computed by scanning the snapshot.
+     */
+    private long snapshotNodeCount( int labelId )
+    {
+        long count = 0;
+        try ( RecordNodeCursor node = allocateNodeCursor() )
+        {
+            node.scan();
+            while ( node.next() )
+            {
+                if ( labelId == StatementConstants.ANY_LABEL || node.hasLabel( labelId ) )
+                {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private long snapshotRelationshipCount( int startLabelId, int typeId, int endLabelId )
+    {
+        long count = 0;
+        try ( RecordRelationshipScanCursor relationship = allocateRelationshipScanCursor();
+              RecordNodeCursor node = allocateNodeCursor() )
+        {
+            // Scans all types for ANY_RELATIONSHIP_TYPE
+            relationship.scan( typeId );
+            while ( relationship.next() )
+            {
+                if ( hasLabel( node, relationship.sourceNodeReference(), startLabelId ) &&
+                     hasLabel( node, relationship.targetNodeReference(), endLabelId ) )
+                {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean hasLabel( RecordNodeCursor node, long nodeId, int labelId )
+    {
+        if ( labelId == StatementConstants.ANY_LABEL )
+        {
+            return true;
+        }
+        node.single( nodeId );
+        return node.next() && node.hasLabel( labelId );
+    }
+
     @Override
     public long nodesGetCount()
     {
@@ -343,12 +425,24 @@ public class RecordStorageReader implements StorageReader
     @Override
     public boolean nodeExists( long id )
     {
+        if ( inSnapshot() )
+        {
+            NodeRecord record = nodeStore.getRecord( id, nodeStore.newRecord(), CHECK );
+            snapshot.restore( record );
+            return record.inUse();
+        }
         return nodeStore.isInUse( id );
     }
 
     @Override
     public boolean relationshipExists( long id )
     {
+        if ( inSnapshot() )
+        {
+            RelationshipRecord record = relationshipStore.getRecord( id, relationshipStore.newRecord(), CHECK );
+            snapshot.restore( record );
+            return record.inUse();
+        }
         return relationshipStore.isInUse( id );
     }
 
@@ -388,10 +482,35 @@ public class RecordStorageReader implements StorageReader
         acquired = false;
     }
 
+    @Override
+    public void openSnapshot()
+    {
+        if ( snapshot == null )
+        {
+            throw new IllegalStateException( "Snapshot reads are not enabled, see " + GraphDatabaseSettings.snapshot_reads.name() );
+        }
+        snapshot.open();
+    }
+
+    @Override
+    public void closeSnapshot()
+    {
+        if ( snapshot != null )
+        {
+            snapshot.close();
+        }
+    }
+
+    private boolean inSnapshot()
+    {
+        return snapshot != null && snapshot.isOpen();
+    }
+
     @Override
     public void close()
     {
         assert !closed;
+        closeSnapshot();
         closeSchemaResources();
         if ( commandCreationContext != null )
         {
@@ -417,8 +536,12 @@ public class RecordStorageReader implements StorageReader
     @Override
     public LabelScanReader getLabelScanReader()
     {
-        return labelScanReader != null ?
-               labelScanReader : (labelScanReader = labelScanReaderSupplier.get());
+        if ( labelScanReader == null )
+        {
+            // The label scan store isn't versioned, so a snapshot scans its nodes instead
+            labelScanReader = inSnapshot() ? new SnapshotLabelScanReader( nodeStore, snapshot ) : labelScanReaderSupplier.get();
+        }
+        return labelScanReader;
     }
 
     private IndexReaderFactory indexReaderFactory()
@@ -430,15 +553,25 @@ public class RecordStorageReader implements StorageReader
     @Override
     public IndexReader getIndexReader( IndexDescriptor descriptor ) throws IndexNotFoundKernelException
     {
+        assertNotInSnapshot();
         return indexReaderFactory().newReader( descriptor );
     }
 
     @Override
     public IndexReader getFreshIndexReader( IndexDescriptor descriptor ) throws IndexNotFoundKernelException
     {
+        assertNotInSnapshot();
         return indexReaderFactory().newUnCachedReader( descriptor );
     }
 
+    private void assertNotInSnapshot()
+    {
+        if ( inSnapshot() )
+        {
+            throw new UnsupportedOperationException( "Indexes are not versioned and cannot be read in a snapshot" );
+        }
+    }
+
     RecordStorageCommandCreationContext getCommandCreationContext()
     {
         return commandCreationContext;
@@ -483,25 +616,25 @@ public class RecordStorageReader implements StorageReader
     @Override
     public RecordNodeCursor allocateNodeCursor()
     {
-        return new RecordNodeCursor( nodeStore );
+        return new RecordNodeCursor( nodeStore, snapshot );
     }
 
     @Override
     public StorageRelationshipGroupCursor allocateRelationshipGroupCursor()
     {
-        return new RecordRelationshipGroupCursor( relationshipStore, relationshipGroupStore );
+        return new RecordRelationshipGroupCursor( relationshipStore, relationshipGroupStore, snapshot );
     }
 
     @Override
     public StorageRelationshipTraversalCursor allocateRelationshipTraversalCursor()
     {
-        return new RecordRelationshipTraversalCursor( relationshipStore, relationshipGroupStore );
+        return new RecordRelationshipTraversalCursor( relationshipStore, relationshipGroupStore, snapshot );
     }
 
     @Override
     public RecordRelationshipScanCursor allocateRelationshipScanCursor()
     {
-        return new RecordRelationshipScanCursor( relationshipStore );
+        return new RecordRelationshipScanCursor( relationshipStore, snapshot );
     }
 
     @Override
@@ -513,6 +646,6 @@ public class RecordStorageReader implements StorageReader
     @Override
     public StoragePropertyCursor allocatePropertyCursor()
     {
-        return new RecordPropertyCursor( propertyStore );
+        return new RecordPropertyCursor( propertyStore, snapshot );
     }
 }
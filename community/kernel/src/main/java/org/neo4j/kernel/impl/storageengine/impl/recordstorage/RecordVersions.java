@@ -0,0 +1,534 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
+
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+/**
+ * Keeps before-images of node, relationship, relationship group and property records, as well as of the dynamic
+ * records of long strings, arrays and label fields, that are overwritten by applied transactions, so that readers can see the store as it was at the time they opened a {@link Snapshot}.
+ * <p>
+ * Before-images are recorded for every applied transaction while versioning is enabled, since a snapshot can be opened
+ * concurrently with a transaction that is being applied. They are kept only for as long as an open snapshot, or a
+ * snapshot that could still be opened, might need them; see {@link #prune()}.
+ * <p>
+ * Readers that use a snapshot first read the record from the store and then call the matching {@code restore} method.
+ * Since before-images are recorded before the store is updated, a reader that observes an updated record in the store
+ * is guaranteed to find its image here.
+ * <p>
+ * Dynamic records are only recorded when they are deleted, or for label fields also when changed in place, since
+ * dynamic records of property values are never modified. Their ids are not reused while a snapshot that could see
+ * them is open, as long as id reuse is buffered, but deleting a dynamic record clears its header on disk, so
+ * snapshots read the images instead.
+ */
+public class RecordVersions
+{
+    private static final long NOT_OPEN = -1;
+
+    private final LongSupplier lastClosedTransactionId;
+    private final VersionMap<NodeRecord> nodes = new VersionMap<>();
+    private final VersionMap<RelationshipRecord> relationships = new VersionMap<>();
+    private final VersionMap<RelationshipGroupRecord> groups = new VersionMap<>();
+    private final VersionMap<PropertyRecord> properties = new VersionMap<>();
+    private final VersionMap<DynamicRecord> strings = new VersionMap<>();
+    private final VersionMap<DynamicRecord> arrays = new VersionMap<>();
+    private final VersionMap<DynamicRecord> labels = new VersionMap<>();
+    // All kept versions, in the order they were recorded, which is the order of the transactions that overwrote them
+    // apart from transactions that are applied concurrently
+    private final Queue<Version<?>> prunable = new ConcurrentLinkedQueue<>();
+    private final Lock pruneLock = new ReentrantLock();
+    private final TreeMap<Long,Integer> openSnapshots = new TreeMap<>();
+
+    /**
+     * @param lastClosedTransactionId supplier of the id of the last transaction that has been fully applied,
+     * such that all transactions before it have been fully applied too.
+     */
+    public RecordVersions( LongSupplier lastClosedTransactionId )
+    {
+        this.lastClosedTransactionId = lastClosedTransactionId;
+    }
+
+    /**
+     * @return a new snapshot which isn't {@link Snapshot#open() open} yet, and can be opened and closed repeatedly.
+     */
+    public Snapshot newSnapshot()
+    {
+        return new Snapshot();
+    }
+
+    /**
+     * Opens a snapshot of the store as of the last closed transaction. The snapshot must be closed when no longer used,
+     * otherwise before-images will accumulate.
+     *
+     * @return the opened snapshot.
+     */
+    public Snapshot openSnapshot()
+    {
+        Snapshot snapshot = newSnapshot();
+        snapshot.open();
+        return snapshot;
+    }
+
+    public synchronized int numberOfOpenSnapshots()
+    {
+        return openSnapshots.values().stream().mapToInt( Integer::intValue ).sum();
+    }
+
+    public void nodeChanged( NodeRecord before, long txId )
+    {
+        NodeRecord image = new NodeRecord( before.getId() ).initialize( before.inUse(), before.getNextProp(), before.isDense(),
+                before.getNextRel(), before.getLabelField() );
+        record( nodes, image, txId );
+    }
+
+    public void relationshipChanged( RelationshipRecord before, long txId )
+    {
+        RelationshipRecord image = new RelationshipRecord( before.getId() ).initialize( before.inUse(), before.getNextProp(),
+                before.getFirstNode(), before.getSecondNode(), before.getType(), before.getFirstPrevRel(), before.getFirstNextRel(),
+                before.getSecondPrevRel(), before.getSecondNextRel(), before.isFirstInFirstChain(), before.isFirstInSecondChain() );
+        record( relationships, image, txId );
+    }
+
+    public void relationshipGroupChanged( RelationshipGroupRecord before, long txId )
+    {
+        RelationshipGroupRecord image = new RelationshipGroupRecord( before.getId() ).initialize( before.inUse(), before.getType(),
+                before.getFirstOut(), before.getFirstIn(), before.getFirstLoop(), before.getOwningNode(), before.getNext() );
+        record( groups, image, txId );
+    }
+
+    public void propertyChanged( PropertyRecord before, long txId )
+    {
+        // Keep the image in its raw, loaded form, the way a property cursor reads it from the store
+        PropertyRecord image = new PropertyRecord( before.getId() ).initialize( before.inUse(), before.getPrevProp(), before.getNextProp() );
+        for ( PropertyBlock block : before )
+        {
+            for ( long valueBlock : block.getValueBlocks() )
+            {
+                image.addLoadedBlock( valueBlock );
+            }
+        }
+        record( properties, image, txId );
+    }
+
+    /**
+     * @param before in use string record, as loaded from the store before {@code txId} deleted it.
+     */
+    public void stringRecordChanged( DynamicRecord before, long txId )
+    {
+        record( strings, dynamicImage( before ), txId );
+    }
+
+    /**
+     * @param before in use array record, as loaded from the store before {@code txId} deleted it.
+     */
+    public void arrayRecordChanged( DynamicRecord before, long txId )
+    {
+        record( arrays, dynamicImage( before ), txId );
+    }
+
+    /**
+     * @param before in use label record, as loaded from the store before {@code txId} changed or deleted it.
+     */
+    public void labelRecordChanged( DynamicRecord before, long txId )
+    {
+        record( labels, dynamicImage( before ), txId );
+    }
+
+    /**
+     * Removes before-images that can no longer be seen by any open snapshot, nor by any snapshot opened in the future.
+     * Only looks at the oldest images, so the cost is proportional to the number of removed images. If another
+     * thread is already pruning this call returns right away.
+     */
+    public void prune()
+    {
+        if ( !pruneLock.tryLock() )
+        {
+            return;
+        }
+        try
+        {
+            long threshold = pruneThreshold();
+            for ( Version<?> oldest = prunable.peek(); oldest != null && oldest.overwrittenBy <= threshold; oldest = prunable.peek() )
+            {
+                prunable.poll();
+                oldest.unlink();
+            }
+        }
+        finally
+        {
+            pruneLock.unlock();
+        }
+    }
+
+    /**
+     * @return number of before-images currently kept.
+     */
+    public long size()
+    {
+        return nodes.size() + relationships.size() + groups.size() + properties.size() + strings.size() + arrays.size() + labels.size();
+    }
+
+    private synchronized long pruneThreshold()
+    {
+        long lastClosed = lastClosedTransactionId.getAsLong();
+        return openSnapshots.isEmpty() ? lastClosed : Math.min( openSnapshots.firstKey(), lastClosed );
+    }
+
+    private synchronized long pin()
+    {
+        long txId = lastClosedTransactionId.getAsLong();
+        openSnapshots.merge( txId, 1, Integer::sum );
+        return txId;
+    }
+
+    private synchronized void unpin( long txId )
+    {
+        openSnapshots.computeIfPresent( txId, ( key, count ) -> count == 1 ? null : count - 1 );
+    }
+
+    private <R extends AbstractBaseRecord> void record( VersionMap<R> versions, R image, long txId )
+    {
+        Version<R> version = new Version<>( versions, image, txId );
+        versions.add( version );
+        prunable.add( version );
+    }
+
+    private static DynamicRecord dynamicImage( DynamicRecord before )
+    {
+        DynamicRecord image = new DynamicRecord( before.getId() ).initialize( before.inUse(), before.isStartRecord(),
+                before.getNextBlock(), before.getTypeAsInt(), before.getLength() );
+        image.setData( before.getData().clone() );
+        return image;
+    }
+
+    private static <R extends AbstractBaseRecord> R imageAt( VersionMap<R> versions, long id, long txId )
+    {
+        R image = null;
+        for ( Version<R> version = versions.newest( id ); version != null && version.overwrittenBy > txId; version = version.older )
+        {
+            image = version.image;
+        }
+        return image;
+    }
+
+    /**
+     * Newest version of each record, by record id. Striped so that concurrent appliers and readers of different
+     * records don't contend.
+     */
+    private static class VersionMap<R extends AbstractBaseRecord>
+    {
+        private static final int STRIPES = 64;
+
+        private final MutableLongObjectMap<Version<R>>[] stripes;
+        private final ReadWriteLock[] locks = new ReadWriteLock[STRIPES];
+
+        @SuppressWarnings( "unchecked" )
+        VersionMap()
+        {
+            stripes = new MutableLongObjectMap[STRIPES];
+            for ( int i = 0; i < STRIPES; i++ )
+            {
+                stripes[i] = new LongObjectHashMap<>();
+                locks[i] = new ReentrantReadWriteLock();
+            }
+        }
+
+        Version<R> newest( long id )
+        {
+            int stripe = stripe( id );
+            Lock lock = locks[stripe].readLock();
+            lock.lock();
+            try
+            {
+                return stripes[stripe].get( id );
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+
+        void add( Version<R> version )
+        {
+            long id = version.image.getId();
+            int stripe = stripe( id );
+            Lock lock = locks[stripe].writeLock();
+            lock.lock();
+            try
+            {
+                version.older = stripes[stripe].put( id, version );
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Cuts {@code version} off the chain of its record. It's the oldest one, since versions are pruned in the order
+         * they were recorded and versions of the same record are recorded in transaction order. Readers that are
+         * walking the chain concurrently never need it, since it was overwritten before any open snapshot.
+         */
+        void remove( Version<R> version )
+        {
+            long id = version.image.getId();
+            int stripe = stripe( id );
+            Lock lock = locks[stripe].writeLock();
+            lock.lock();
+            try
+            {
+                Version<R> newest = stripes[stripe].get( id );
+                if ( newest == version )
+                {
+                    stripes[stripe].remove( id );
+                    return;
+                }
+                for ( Version<R> newer = newest; newer != null; newer = newer.older )
+                {
+                    if ( newer.older == version )
+                    {
+                        newer.older = null;
+                        return;
+                    }
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+
+        long size()
+        {
+            long size = 0;
+            for ( int i = 0; i < STRIPES; i++ )
+            {
+                Lock lock = locks[i].readLock();
+                lock.lock();
+                try
+                {
+                    for ( Version<R> newest : stripes[i] )
+                    {
+                        for ( Version<R> version = newest; version != null; version = version.older )
+                        {
+                            size++;
+                        }
+                    }
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            }
+            return size;
+        }
+
+        private static int stripe( long id )
+        {
+            return (int) (id & (STRIPES - 1));
+        }
+    }
+
+    /**
+     * Before-image of a single record, linked to the image it overwrote, i.e. newest first.
+     */
+    private static class Version<R extends AbstractBaseRecord>
+    {
+        private final VersionMap<R> owner;
+        private final R image;
+        private final long overwrittenBy;
+        private volatile Version<R> older;
+
+        Version( VersionMap<R> owner, R image, long overwrittenBy )
+        {
+            this.owner = owner;
+            this.image = image;
+            this.overwrittenBy = overwrittenBy;
+        }
+
+        void unlink()
+        {
+            owner.remove( this );
+        }
+    }
+
+    /**
+     * A consistent view of the store as of a specific transaction. While open, records read from the store are restored
+     * to the state they had at that transaction. A closed snapshot leaves records as they are, and can be opened again.
+     * A snapshot is meant to be used by one thread at a time.
+     */
+    public class Snapshot implements AutoCloseable
+    {
+        private long txId = NOT_OPEN;
+
+        private Snapshot()
+        {
+        }
+
+        /**
+         * Opens this snapshot as of the last closed transaction.
+         *
+         * @throws IllegalStateException if this snapshot is already open.
+         */
+        public void open()
+        {
+            if ( isOpen() )
+            {
+                throw new IllegalStateException( "Snapshot is already open as of transaction " + txId );
+            }
+            txId = pin();
+        }
+
+        public boolean isOpen()
+        {
+            return txId != NOT_OPEN;
+        }
+
+        /**
+         * @return id of the last transaction visible in this snapshot.
+         */
+        public long txId()
+        {
+            return txId;
+        }
+
+        /**
+         * Restores {@code record}, which has just been read from the store, to its state in this snapshot.
+         */
+        public void restore( NodeRecord record )
+        {
+            NodeRecord image = isOpen() ? imageAt( nodes, record.getId(), txId ) : null;
+            if ( image != null )
+            {
+                record.initialize( image.inUse(), image.getNextProp(), image.isDense(), image.getNextRel(), image.getLabelField() );
+            }
+        }
+
+        /**
+         * Restores {@code record}, which has just been read from the store, to its state in this snapshot.
+         */
+        public void restore( RelationshipRecord record )
+        {
+            RelationshipRecord image = isOpen() ? imageAt( relationships, record.getId(), txId ) : null;
+            if ( image != null )
+            {
+                record.initialize( image.inUse(), image.getNextProp(), image.getFirstNode(), image.getSecondNode(), image.getType(),
+                        image.getFirstPrevRel(), image.getFirstNextRel(), image.getSecondPrevRel(), image.getSecondNextRel(),
+                        image.isFirstInFirstChain(), image.isFirstInSecondChain() );
+            }
+        }
+
+        /**
+         * Restores {@code record}, which has just been read from the store, to its state in this snapshot.
+         */
+        public void restore( RelationshipGroupRecord record )
+        {
+            RelationshipGroupRecord image = isOpen() ? imageAt( groups, record.getId(), txId ) : null;
+            if ( image != null )
+            {
+                record.initialize( image.inUse(), image.getType(), image.getFirstOut(), image.getFirstIn(), image.getFirstLoop(),
+                        image.getOwningNode(), image.getNext() );
+            }
+        }
+
+        /**
+         * Restores {@code record}, which has just been read from the store, to its state in this snapshot.
+         */
+        public void restore( PropertyRecord record )
+        {
+            PropertyRecord image = isOpen() ? imageAt( properties, record.getId(), txId ) : null;
+            if ( image != null )
+            {
+                record.initialize( image.inUse(), image.getPrevProp(), image.getNextProp() );
+                long[] blocks = image.getBlocks();
+                for ( int i = 0; i < image.getNumberOfBlocks(); i++ )
+                {
+                    record.addLoadedBlock( blocks[i] );
+                }
+            }
+        }
+
+        /**
+         * Restores {@code record}, which has just been read from the string store, to its state in this snapshot.
+         */
+        public void restoreString( DynamicRecord record )
+        {
+            restore( strings, record );
+        }
+
+        /**
+         * Restores {@code record}, which has just been read from the array store, to its state in this snapshot.
+         */
+        public void restoreArray( DynamicRecord record )
+        {
+            restore( arrays, record );
+        }
+
+        /**
+         * Restores {@code record}, which has just been read from the label store, to its state in this snapshot.
+         */
+        public void restoreLabels( DynamicRecord record )
+        {
+            restore( labels, record );
+        }
+
+        private void restore( VersionMap<DynamicRecord> versions, DynamicRecord record )
+        {
+            DynamicRecord image = isOpen() ? imageAt( versions, record.getId(), txId ) : null;
+            if ( image != null )
+            {
+                record.initialize( image.inUse(), image.isStartRecord(), image.getNextBlock(), image.getTypeAsInt(), image.getLength() );
+                // Images are never modified, so the restored record can share the data
+                record.setData( image.getData() );
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            if ( isOpen() )
+            {
+                unpin( txId );
+                txId = NOT_OPEN;
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.collection.PrimitiveLongResourceCollections.PrimitiveLongBaseResourceIterator;
+import org.neo4j.collection.PrimitiveLongResourceIterator;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.schema.LabelScanReader;
+
+/**
+ * {@link LabelScanReader} for readers that have a {@link RecordVersions.Snapshot} open. The label scan store isn't
+ * versioned, so nodes are found by scanning the node store, with the node records restored to the snapshot. Cost is
+ * therefore proportional to the number of nodes in the store rather than to the number of nodes with the labels.
+ */
+class SnapshotLabelScanReader implements LabelScanReader
+{
+    private final NodeStore nodeStore;
+    private final RecordVersions.Snapshot snapshot;
+    private final List<RecordNodeCursor> openCursors = new ArrayList<>();
+
+    SnapshotLabelScanReader( NodeStore nodeStore, RecordVersions.Snapshot snapshot )
+    {
+        this.nodeStore = nodeStore;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public PrimitiveLongResourceIterator nodesWithLabel( int labelId )
+    {
+        return nodesWithAnyOfLabels( NO_ID, new int[]{labelId} );
+    }
+
+    @Override
+    public void nodesWithLabel( IndexProgressor.NodeLabelClient client, int labelId )
+    {
+        RecordNodeCursor cursor = scan();
+        IndexProgressor progressor = new IndexProgressor()
+        {
+            @Override
+            public boolean next()
+            {
+                while ( cursor.next() )
+                {
+                    if ( cursor.hasLabel( labelId ) && client.acceptNode( cursor.entityReference(), null ) )
+                    {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public void close()
+            {
+                cursor.close();
+            }
+        };
+        client.scan( progressor, false, labelId );
+    }
+
+    @Override
+    public PrimitiveLongResourceIterator nodesWithAnyOfLabels( long fromId, int[] labelIds )
+    {
+        return nodes( fromId, labelIds, false );
+    }
+
+    @Override
+    public PrimitiveLongResourceIterator nodesWithAllLabels( int[] labelIds )
+    {
+        return nodes( NO_ID, labelIds, true );
+    }
+
+    @Override
+    public void close()
+    {
+        for ( RecordNodeCursor cursor : openCursors )
+        {
+            cursor.close();
+        }
+        openCursors.clear();
+    }
+
+    private PrimitiveLongResourceIterator nodes( long fromId, int[] labelIds, boolean all )
+    {
+        RecordNodeCursor cursor = scan();
+        return new PrimitiveLongBaseResourceIterator( cursor::close )
+        {
+            @Override
+            protected boolean fetchNext()
+            {
+                while ( cursor.next() )
+                {
+                    if ( cursor.entityReference() > fromId && hasLabels( cursor, labelIds, all ) )
+                    {
+                        return next( cursor.entityReference() );
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    private RecordNodeCursor scan()
+    {
+        RecordNodeCursor cursor = new RecordNodeCursor( nodeStore, snapshot );
+        cursor.scan();
+        openCursors.add( cursor );
+        return cursor;
+    }
+
+    private static boolean hasLabels( RecordNodeCursor cursor, int[] labelIds, boolean all )
+    {
+        long[] labels = cursor.labels();
+        for ( int labelId : labelIds )
+        {
+            if ( contains( labels, labelId ) != all )
+            {
+                return !all;
+            }
+        }
+        return all;
+    }
+
+    private static boolean contains( long[] labels, int labelId )
+    {
+        for ( long label : labels )
+        {
+            if ( label == labelId )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.neo4j.string.UTF8;
+
+/**
+ * Optional compressed encoding of strings stored in the {@link DynamicStringStore}.
+ * <p>
+ * A compressed string is stored as a {@link #COMPRESSED_MARKER} byte followed by the deflated UTF-8 bytes of the string.
+ * The marker byte can never appear in UTF-8 encoded data, which means that plain and compressed strings can be told
+ * apart without a header and that stores containing only plain strings are unaffected. Compression uses a preset
+ * dictionary of tokens common in structured text such as JSON, which makes it effective also for strings that are only
+ * a few dynamic records long.
+ * <p>
+ * A string is only stored compressed if that saves space, so reading code must always be prepared for both encodings.
+ */
+public final class CompressedStrings
+{
+    /**
+     * Strings shorter than this, in bytes, are never compressed since they are likely to fit in a single dynamic record anyway.
+     */
+    static final int MIN_COMPRESSIBLE_LENGTH = 64;
+    static final byte COMPRESSED_MARKER = (byte) 0xFF;
+
+    private static final byte[] DICTIONARY = UTF8.encode(
+            "\"id\":\"name\":\"type\":\"value\":\"key\":\"data\":\"description\":\"created\":\"updated\":\"timestamp\":" +
+            "\"url\":\"http://https://www.\"status\":\"true,false,null,\"},{\"\":[{\"\":\"\",\"\":" );
+
+    private CompressedStrings()
+    {
+    }
+
+    /**
+     * @param utf8 UTF-8 encoded string.
+     * @return the compressed encoding of the string if it is smaller than {@code utf8}, otherwise {@code utf8} itself.
+     */
+    public static byte[] compress( byte[] utf8 )
+    {
+        if ( utf8.length < MIN_COMPRESSIBLE_LENGTH )
+        {
+            return utf8;
+        }
+        Deflater deflater = new Deflater( Deflater.BEST_SPEED, true );
+        try
+        {
+            deflater.setDictionary( DICTIONARY );
+            deflater.setInput( utf8 );
+            deflater.finish();
+            byte[] compressed = new byte[utf8.length];
+            compressed[0] = COMPRESSED_MARKER;
+            int length = 1;
+            while ( !deflater.finished() && length < compressed.length )
+            {
+                length += deflater.deflate( compressed, length, compressed.length - length );
+            }
+            return deflater.finished() ? Arrays.copyOf( compressed, length ) : utf8;
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @return whether or not the given bytes are a compressed string, as opposed to plain UTF-8.
+     */
+    public static boolean isCompressed( byte[] bytes, int offset, int length )
+    {
+        return length > 0 && bytes[offset] == COMPRESSED_MARKER;
+    }
+
+    /**
+     * @param bytes bytes, as returned from {@link #compress(byte[])}, starting with the {@link #COMPRESSED_MARKER}.
+     * @return the UTF-8 bytes of the uncompressed string.
+     */
+    public static byte[] decompress( byte[] bytes, int offset, int length )
+    {
+        Inflater inflater = new Inflater( true );
+        try
+        {
+            inflater.setDictionary( DICTIONARY );
+            inflater.setInput( bytes, offset + 1, length - 1 );
+            ByteArrayOutputStream out = new ByteArrayOutputStream( length * 4 );
+            byte[] chunk = new byte[Math.max( 256, length * 2 )];
+            while ( !inflater.finished() )
+            {
+                int inflated = inflater.inflate( chunk );
+                if ( inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()) )
+                {
+                    throw new InvalidRecordException( "Truncated compressed string of " + length + " bytes" );
+                }
+                out.write( chunk, 0, inflated );
+            }
+            return out.toByteArray();
+        }
+        catch ( DataFormatException e )
+        {
+            throw new InvalidRecordException( "Corrupt compressed string of " + length + " bytes", e );
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+}
@@ -30,8 +30,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.ToIntFunction;
 
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.helpers.collection.Iterables;
 import org.neo4j.helpers.collection.Pair;
 import org.neo4j.io.pagecache.PageCache;
@@ -149,6 +151,10 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
 {
     public static final String TYPE_DESCRIPTOR = "PropertyStore";
 
+    private static final Consumer<DynamicRecord> NO_RESTORE = record ->
+    {
+    };
+
     private final DynamicStringStore stringStore;
     private final PropertyKeyTokenStore propertyKeyTokenStore;
     private final DynamicArrayStore arrayStore;
@@ -157,6 +163,7 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
     // this variable here can be removed once the support for older store versions (that do not have these two
     // capabilities) has ceased, the variable can be removed.
     private final boolean allowStorePointsAndTemporal;
+    private final boolean compressStrings;
 
     public PropertyStore(
             File file,
@@ -178,6 +185,9 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         this.arrayStore = arrayPropertyStore;
         allowStorePointsAndTemporal =
                 recordFormats.hasCapability( Capability.POINT_PROPERTIES ) && recordFormats.hasCapability( Capability.TEMPORAL_PROPERTIES );
+        // Compressed strings can't be read by versions whose formats lack the capability, so only write them to stores that have it
+        compressStrings = recordFormats.hasCapability( Capability.COMPRESSED_STRINGS ) &&
+                configuration.get( GraphDatabaseSettings.string_property_compression );
     }
 
     @Override
@@ -309,11 +319,21 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
 
     public void encodeValue( PropertyBlock block, int keyId, Value value )
     {
-        encodeValue( block, keyId, value, stringStore, arrayStore, allowStorePointsAndTemporal );
+        encodeValue( block, keyId, value, stringStore, arrayStore, allowStorePointsAndTemporal, compressStrings );
     }
 
     public static void encodeValue( PropertyBlock block, int keyId, Value value, DynamicRecordAllocator stringAllocator, DynamicRecordAllocator arrayAllocator,
             boolean allowStorePointsAndTemporal )
+    {
+        encodeValue( block, keyId, value, stringAllocator, arrayAllocator, allowStorePointsAndTemporal, false );
+    }
+
+    /**
+     * @param compressStrings whether or not strings that don't fit in the property block should be stored using
+     * the {@link CompressedStrings compressed encoding}, if that saves space.
+     */
+    public static void encodeValue( PropertyBlock block, int keyId, Value value, DynamicRecordAllocator stringAllocator, DynamicRecordAllocator arrayAllocator,
+            boolean allowStorePointsAndTemporal, boolean compressStrings )
     {
         if ( value instanceof ArrayValue )
         {
@@ -337,7 +357,7 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         }
         else
         {
-            value.writeTo( new PropertyBlockValueWriter( block, keyId, stringAllocator, allowStorePointsAndTemporal ) );
+            value.writeTo( new PropertyBlockValueWriter( block, keyId, stringAllocator, allowStorePointsAndTemporal, compressStrings ) );
         }
     }
 
@@ -353,16 +373,34 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
 
     public ByteBuffer loadString( long reference, ByteBuffer buffer, PageCursor page )
     {
-        return readDynamic( stringStore, reference, buffer, page );
+        return loadString( reference, buffer, page, NO_RESTORE );
+    }
+
+    /**
+     * Like {@link #loadString(long, ByteBuffer, PageCursor)}, but passes each record to {@code restore} right after
+     * reading it, e.g. to restore it to a snapshot before its data is used.
+     */
+    public ByteBuffer loadString( long reference, ByteBuffer buffer, PageCursor page, Consumer<DynamicRecord> restore )
+    {
+        return readDynamic( stringStore, reference, buffer, page, restore );
     }
 
     public ByteBuffer loadArray( long reference, ByteBuffer buffer, PageCursor page )
     {
-        return readDynamic( arrayStore, reference, buffer, page );
+        return loadArray( reference, buffer, page, NO_RESTORE );
+    }
+
+    /**
+     * Like {@link #loadArray(long, ByteBuffer, PageCursor)}, but passes each record to {@code restore} right after
+     * reading it, e.g. to restore it to a snapshot before its data is used.
+     */
+    public ByteBuffer loadArray( long reference, ByteBuffer buffer, PageCursor page, Consumer<DynamicRecord> restore )
+    {
+        return readDynamic( arrayStore, reference, buffer, page, restore );
     }
 
     private static ByteBuffer readDynamic( AbstractDynamicStore store, long reference, ByteBuffer buffer,
-            PageCursor page )
+            PageCursor page, Consumer<DynamicRecord> restore )
     {
         if ( buffer == null )
         {
@@ -378,6 +416,7 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
             //We need to load forcefully here since otherwise we can have inconsistent reads
             //for properties across blocks, see org.neo4j.graphdb.ConsistentPropertyReadsIT
             store.getRecordByCursor( reference, record, RecordLoad.FORCE, page );
+            restore.accept( record );
             reference = record.getNextBlock();
             byte[] data = record.getData();
             if ( buffer.remaining() < data.length )
@@ -409,12 +448,15 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         private final int keyId;
         private final DynamicRecordAllocator stringAllocator;
         private final boolean allowStorePointsAndTemporal;
-        PropertyBlockValueWriter( PropertyBlock block, int keyId, DynamicRecordAllocator stringAllocator, boolean allowStorePointsAndTemporal )
+        private final boolean compressStrings;
+        PropertyBlockValueWriter( PropertyBlock block, int keyId, DynamicRecordAllocator stringAllocator, boolean allowStorePointsAndTemporal,
+                boolean compressStrings )
         {
             this.block = block;
             this.keyId = keyId;
             this.stringAllocator = stringAllocator;
             this.allowStorePointsAndTemporal = allowStorePointsAndTemporal;
+            this.compressStrings = compressStrings;
         }
 
         @Override
@@ -489,6 +531,10 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
 
             // Fall back to dynamic string store
             byte[] encodedString = encodeString( value );
+            if ( compressStrings )
+            {
+                encodedString = CompressedStrings.compress( encodedString );
+            }
             List<DynamicRecord> valueRecords = new ArrayList<>();
             allocateStringRecords( valueRecords, encodedString, stringAllocator );
             setSingleBlockValue( block, keyId, PropertyType.STRING, Iterables.first( valueRecords ).getId() );
@@ -646,7 +692,19 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
 
     public static String decodeString( byte[] byteArray )
     {
-        return UTF8.decode( byteArray );
+        return decodeString( byteArray, 0, byteArray.length );
+    }
+
+    /**
+     * Decodes a string read from the {@link DynamicStringStore}, which may be plain UTF-8 or {@link CompressedStrings compressed}.
+     */
+    public static String decodeString( byte[] bytes, int offset, int length )
+    {
+        if ( CompressedStrings.isCompressed( bytes, offset, length ) )
+        {
+            return UTF8.decode( CompressedStrings.decompress( bytes, offset, length ) );
+        }
+        return UTF8.decode( bytes, offset, length );
     }
 
     String getStringFor( PropertyBlock propertyBlock )
@@ -704,6 +762,11 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         return allowStorePointsAndTemporal;
     }
 
+    public boolean compressStrings()
+    {
+        return compressStrings;
+    }
+
     /**
      * @return a calculator of property value sizes. The returned instance is designed to be used multiple times by a single thread only.
      */
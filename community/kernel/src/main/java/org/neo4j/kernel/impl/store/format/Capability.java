@@ -65,6 +65,11 @@ public enum Capability
      */
     TEMPORAL_PROPERTIES( true, CapabilityType.STORE ),
 
+    /**
+     * Long string values can be stored compressed, an addition to the format, not a change
+     */
+    COMPRESSED_STRINGS( true, CapabilityType.STORE ),
+
     /**
      * Records can spill over into secondary units (another record with a header saying it's a secondary unit to another record).
      */
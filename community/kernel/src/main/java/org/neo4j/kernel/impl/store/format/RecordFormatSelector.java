@@ -46,9 +46,11 @@ import org.neo4j.kernel.impl.store.format.standard.StandardV3_0;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_2;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_4;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_6;
+import org.neo4j.kernel.impl.store.format.standard.StandardV3_6CompressedStrings;
 import org.neo4j.logging.LogProvider;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.neo4j.helpers.collection.Iterables.concat;
 import static org.neo4j.helpers.collection.Iterables.map;
 import static org.neo4j.kernel.impl.store.MetaDataStore.Position.STORE_VERSION;
@@ -69,7 +71,17 @@ public class RecordFormatSelector
             StandardV3_0.RECORD_FORMATS,
             StandardV3_2.RECORD_FORMATS,
             StandardV3_4.RECORD_FORMATS,
-            StandardV3_6.RECORD_FORMATS
+            StandardV3_6.RECORD_FORMATS,
+            StandardV3_6CompressedStrings.RECORD_FORMATS
+    );
+
+    /**
+     * Formats that add {@link Capability#COMPRESSED_STRINGS} to another format of the same family, without changing its
+     * records. They are only selected when {@link GraphDatabaseSettings#string_property_compression} is enabled and are
+     * never considered the successor of the format they extend.
+     */
+    private static final List<RecordFormats> COMPRESSED_STRINGS_FORMATS = singletonList(
+            StandardV3_6CompressedStrings.RECORD_FORMATS
     );
 
     private RecordFormatSelector()
@@ -126,11 +138,11 @@ public class RecordFormatSelector
         if ( StringUtils.isEmpty( recordFormat ) )
         {
             info( logProvider, "Record format not configured, selected default: " + defaultFormat() );
-            return defaultFormat();
+            return withConfiguredCapabilities( defaultFormat(), config, logProvider );
         }
         RecordFormats format = selectSpecificFormat( recordFormat );
         info( logProvider, "Selected record format based on config: " + format );
-        return format;
+        return withConfiguredCapabilities( format, config, logProvider );
     }
 
     /**
@@ -190,7 +202,7 @@ public class RecordFormatSelector
     public static RecordFormats selectForStoreOrConfig(
             Config config, DatabaseLayout databaseLayout, FileSystemAbstraction fs, PageCache pageCache, LogProvider logProvider )
     {
-        RecordFormats configuredFormat = loadRecordFormat( configuredRecordFormat( config ) );
+        RecordFormats configuredFormat = loadConfiguredRecordFormat( config, logProvider );
         boolean formatConfigured = configuredFormat != null;
 
         RecordFormats currentFormat = selectForStore( databaseLayout, fs, pageCache, logProvider );
@@ -221,7 +233,7 @@ public class RecordFormatSelector
             return configuredFormat;
         }
 
-        return DEFAULT_FORMAT;
+        return withConfiguredCapabilities( DEFAULT_FORMAT, config, logProvider );
     }
 
     /**
@@ -237,7 +249,7 @@ public class RecordFormatSelector
     public static boolean isStoreAndConfigFormatsCompatible(
             Config config, DatabaseLayout databaseLayout, FileSystemAbstraction fs, PageCache pageCache, LogProvider logProvider )
     {
-        RecordFormats configuredFormat = loadRecordFormat( configuredRecordFormat( config ) );
+        RecordFormats configuredFormat = loadConfiguredRecordFormat( config, logProvider );
 
         RecordFormats currentFormat = selectForStore( databaseLayout, fs, pageCache, logProvider );
 
@@ -286,7 +298,7 @@ public class RecordFormatSelector
                         "Selected format '" + DEFAULT_FORMAT + "' for existing store with format '" + result + "'" );
                 result = DEFAULT_FORMAT;
             }
-            return result;
+            return withConfiguredCapabilities( result, config, logProvider );
         }
     }
 
@@ -302,6 +314,7 @@ public class RecordFormatSelector
         return StreamSupport.stream( RecordFormatSelector.allFormats().spliterator(), false )
                 .filter( candidate -> FormatFamily.isSameFamily( format, candidate ) )
                 .filter( candidate -> candidate.generation() > format.generation() )
+                .filter( candidate -> !isCompressedStringsFormat( candidate ) )
                 .reduce( ( a, b ) -> a.generation() < b.generation() ? a : b );
     }
 
@@ -327,6 +340,53 @@ public class RecordFormatSelector
         return formats;
     }
 
+    /**
+     * Replaces the given format with the format of the same family that also has {@link Capability#COMPRESSED_STRINGS},
+     * if {@link GraphDatabaseSettings#string_property_compression} is enabled. Since that format has a higher
+     * {@link RecordFormats#generation() generation}, an existing store is then upgraded to it, and it will not be
+     * opened with a format that can't read compressed strings again.
+     */
+    @Nonnull
+    private static RecordFormats withConfiguredCapabilities( RecordFormats format, Config config, LogProvider logProvider )
+    {
+        if ( !config.get( GraphDatabaseSettings.string_property_compression ) || format.hasCapability( Capability.COMPRESSED_STRINGS ) )
+        {
+            return format;
+        }
+        for ( RecordFormats candidate : COMPRESSED_STRINGS_FORMATS )
+        {
+            if ( FormatFamily.isSameFamily( format, candidate ) && candidate.generation() > format.generation() &&
+                 format.hasCompatibleCapabilities( candidate, CapabilityType.FORMAT ) )
+            {
+                info( logProvider, "Selected format '" + candidate + "' instead of '" + format + "' since string compression is enabled" );
+                return candidate;
+            }
+        }
+        logProvider.getLog( RecordFormatSelector.class ).warn( "String compression is enabled, but not supported by record format '" +
+                format + "'. String property values will be stored uncompressed." );
+        return format;
+    }
+
+    private static boolean isCompressedStringsFormat( RecordFormats format )
+    {
+        for ( RecordFormats compressedStringsFormat : COMPRESSED_STRINGS_FORMATS )
+        {
+            // RecordFormats equality only compares the record formats, which these share with the format they extend
+            if ( compressedStringsFormat.storeVersion().equals( format.storeVersion() ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static RecordFormats loadConfiguredRecordFormat( Config config, LogProvider logProvider )
+    {
+        RecordFormats format = loadRecordFormat( configuredRecordFormat( config ) );
+        return format == null ? null : withConfiguredCapabilities( format, config, logProvider );
+    }
+
     @Nullable
     private static RecordFormats loadRecordFormat( String recordFormat )
     {
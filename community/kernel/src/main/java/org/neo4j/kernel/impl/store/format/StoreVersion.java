@@ -32,6 +32,9 @@ public enum StoreVersion
     STANDARD_V3_2( "v0.A.8", "3.2.0" ),
     STANDARD_V3_4( "v0.A.9", "3.4.0" ),
     STANDARD_V3_6( "v0.A.10", "3.6.0" ),
+    STANDARD_V3_6_COMPRESSED_STRINGS( "v0.A.11", "3.6.0" ),
+
+    COMPACT_V3_6_0( "vE.C.0", "3.6.0" ),
 
     HIGH_LIMIT_V3_0_0( "vE.H.0", "3.0.0" ),
     HIGH_LIMIT_V3_0_6( "vE.H.0b", "3.0.6" ),
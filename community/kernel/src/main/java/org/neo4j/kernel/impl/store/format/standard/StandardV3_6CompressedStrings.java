@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2002-2020 Graph Foundation, Inc.[https://graphfoundation.org]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.format.standard;
+
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.kernel.impl.store.format.BaseRecordFormats;
+import org.neo4j.kernel.impl.store.format.Capability;
+import org.neo4j.kernel.impl.store.format.FormatFamily;
+import org.neo4j.kernel.impl.store.format.RecordFormat;
+import org.neo4j.kernel.impl.store.format.RecordFormats;
+import org.neo4j.kernel.impl.store.format.StoreVersion;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyKeyTokenRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipTypeTokenRecord;
+
+/**
+ * The {@link StandardV3_6} record format, for stores that may contain compressed string property values. Records are laid
+ * out exactly as in {@link StandardV3_6}, so moving a store to this format is only a version bump, but the distinct store
+ * version keeps versions that can't read compressed strings from opening the store.
+ * <p>
+ * This format is never the default, it is only selected when {@link GraphDatabaseSettings#string_property_compression}
+ * is enabled.
+ */
+public class StandardV3_6CompressedStrings extends BaseRecordFormats
+{
+    public static final String STORE_VERSION = StoreVersion.STANDARD_V3_6_COMPRESSED_STRINGS.versionString();
+    public static final RecordFormats RECORD_FORMATS = new StandardV3_6CompressedStrings();
+    public static final String NAME = "standard";
+
+    public StandardV3_6CompressedStrings()
+    {
+        super( STORE_VERSION, StoreVersion.STANDARD_V3_6_COMPRESSED_STRINGS.introductionVersion(), 10, Capability.SCHEMA,
+                Capability.DENSE_NODES, Capability.LUCENE_5, Capability.POINT_PROPERTIES, Capability.TEMPORAL_PROPERTIES, Capability.SORT,
+                Capability.COMPRESSED_STRINGS );
+    }
+
+    @Override
+    public RecordFormat<NodeRecord> node()
+    {
+        return new NodeRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<RelationshipGroupRecord> relationshipGroup()
+    {
+        return new RelationshipGroupRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<RelationshipRecord> relationship()
+    {
+        return new RelationshipRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<PropertyRecord> property()
+    {
+        return new PropertyRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<LabelTokenRecord> labelToken()
+    {
+        return new LabelTokenRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<PropertyKeyTokenRecord> propertyKeyToken()
+    {
+        return new PropertyKeyTokenRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<RelationshipTypeTokenRecord> relationshipTypeToken()
+    {
+        return new RelationshipTypeTokenRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<DynamicRecord> dynamic()
+    {
+        return new DynamicRecordFormat();
+    }
+
+    @Override
+    public FormatFamily getFormatFamily()
+    {
+        return StandardFormatFamily.INSTANCE;
+    }
+
+    @Override
+    public String name()
+    {
+        return NAME;
+    }
+}
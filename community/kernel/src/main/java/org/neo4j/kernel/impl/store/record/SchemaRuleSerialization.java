@@ -69,6 +69,7 @@ public class SchemaRuleSerialization
     private static final byte SIMPLE_LABEL = 91;
     private static final byte SIMPLE_REL_TYPE = 92;
     private static final byte GENERIC_MULTI_TOKEN_TYPE = 93;
+    private static final byte LABEL_WITH_INCLUDED_PROPERTIES = 94;
 
     private static final long NO_OWNING_CONSTRAINT_YET = -1;
     private static final int LEGACY_LABEL_OR_REL_TYPE_ID = -1;
@@ -343,6 +344,11 @@ public class SchemaRuleSerialization
             int labelId = source.getInt();
             propertyIds = readTokenIdList( source );
             return SchemaDescriptorFactory.forLabel( labelId, propertyIds );
+        case LABEL_WITH_INCLUDED_PROPERTIES:
+            int includingLabelId = source.getInt();
+            propertyIds = readTokenIdList( source );
+            int[] includedPropertyIds = readTokenIdList( source );
+            return SchemaDescriptorFactory.forLabelIncluding( includingLabelId, propertyIds, includedPropertyIds );
         case SIMPLE_REL_TYPE:
             int relTypeId = source.getInt();
             propertyIds = readTokenIdList( source );
@@ -450,9 +456,20 @@ public class SchemaRuleSerialization
         @Override
         public void processSpecific( LabelSchemaDescriptor schema )
         {
-            target.put( SIMPLE_LABEL );
-            target.putInt( schema.getLabelId() );
-            putIds( schema.getPropertyIds() );
+            int[] includedPropertyIds = schema.getIncludedPropertyIds();
+            if ( includedPropertyIds.length > 0 )
+            {
+                target.put( LABEL_WITH_INCLUDED_PROPERTIES );
+                target.putInt( schema.getLabelId() );
+                putIds( schema.getPropertyIds() );
+                putIds( includedPropertyIds );
+            }
+            else
+            {
+                target.put( SIMPLE_LABEL );
+                target.putInt( schema.getLabelId() );
+                putIds( schema.getPropertyIds() );
+            }
         }
 
         @Override
@@ -508,10 +525,16 @@ public class SchemaRuleSerialization
         @Override
         public Integer computeSpecific( LabelSchemaDescriptor schema )
         {
-            return     1 // schema descriptor type
-                     + 4 // label id
-                     + 2 // property id count
-                     + 4 * schema.getPropertyIds().length; // the actual property ids
+            int length =   1 // schema descriptor type
+                         + 4 // label id
+                         + 2 // property id count
+                         + 4 * schema.getPropertyIds().length; // the actual property ids
+            if ( schema.getIncludedPropertyIds().length > 0 )
+            {
+                length +=   2 // included property id count
+                          + 4 * schema.getIncludedPropertyIds().length; // the actual included property ids
+            }
+            return length;
         }
 
         @Override
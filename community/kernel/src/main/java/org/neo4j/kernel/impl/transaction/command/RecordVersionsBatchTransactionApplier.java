@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import org.neo4j.kernel.impl.api.BatchTransactionApplier;
+import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordVersions;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.PropertyType;
+import org.neo4j.kernel.impl.store.RecordStore;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.storageengine.api.CommandsToApply;
+
+/**
+ * Records before-images of changed records in {@link RecordVersions}. Must be applied before the store is updated,
+ * i.e. before {@link NeoStoreBatchTransactionApplier}.
+ * <p>
+ * Before-images of dynamic records are loaded from the store, since commands only carry the ids of deleted dynamic
+ * records once they have been written to the log.
+ */
+public class RecordVersionsBatchTransactionApplier extends BatchTransactionApplier.Adapter
+{
+    private final RecordVersions recordVersions;
+    private final NeoStores neoStores;
+
+    public RecordVersionsBatchTransactionApplier( RecordVersions recordVersions, NeoStores neoStores )
+    {
+        this.recordVersions = recordVersions;
+        this.neoStores = neoStores;
+    }
+
+    @Override
+    public TransactionApplier startTx( CommandsToApply transaction )
+    {
+        return new RecordVersionsTransactionApplier( recordVersions, neoStores, transaction.transactionId() );
+    }
+
+    @Override
+    public void close()
+    {
+        recordVersions.prune();
+    }
+
+    private static class RecordVersionsTransactionApplier extends TransactionApplier.Adapter
+    {
+        private final RecordVersions recordVersions;
+        private final RecordStore<DynamicRecord> stringStore;
+        private final RecordStore<DynamicRecord> arrayStore;
+        private final RecordStore<DynamicRecord> labelStore;
+        private final long txId;
+
+        RecordVersionsTransactionApplier( RecordVersions recordVersions, NeoStores neoStores, long txId )
+        {
+            this.recordVersions = recordVersions;
+            this.stringStore = neoStores.getPropertyStore().getStringStore();
+            this.arrayStore = neoStores.getPropertyStore().getArrayStore();
+            this.labelStore = neoStores.getNodeStore().getDynamicLabelStore();
+            this.txId = txId;
+        }
+
+        @Override
+        public boolean visitNodeCommand( Command.NodeCommand command )
+        {
+            recordVersions.nodeChanged( command.getBefore(), txId );
+            // Label records can be changed in place, so all written ones are recorded
+            for ( DynamicRecord record : command.getAfter().getDynamicLabelRecords() )
+            {
+                DynamicRecord before = loadInUse( labelStore, record.getId() );
+                if ( before != null )
+                {
+                    recordVersions.labelRecordChanged( before, txId );
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipCommand( Command.RelationshipCommand command )
+        {
+            recordVersions.relationshipChanged( command.getBefore(), txId );
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipGroupCommand( Command.RelationshipGroupCommand command )
+        {
+            recordVersions.relationshipGroupChanged( command.getBefore(), txId );
+            return false;
+        }
+
+        @Override
+        public boolean visitPropertyCommand( Command.PropertyCommand command )
+        {
+            recordVersions.propertyChanged( command.getBefore(), txId );
+            for ( DynamicRecord record : command.getAfter().getDeletedRecords() )
+            {
+                boolean string = record.getType() == PropertyType.STRING;
+                DynamicRecord before = loadInUse( string ? stringStore : arrayStore, record.getId() );
+                if ( before != null )
+                {
+                    if ( string )
+                    {
+                        recordVersions.stringRecordChanged( before, txId );
+                    }
+                    else
+                    {
+                        recordVersions.arrayRecordChanged( before, txId );
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static DynamicRecord loadInUse( RecordStore<DynamicRecord> store, long id )
+        {
+            DynamicRecord record = store.getRecord( id, store.newRecord(), RecordLoad.CHECK );
+            return record.inUse() ? record : null;
+        }
+    }
+}
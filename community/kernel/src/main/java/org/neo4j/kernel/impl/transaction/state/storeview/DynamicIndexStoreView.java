@@ -84,6 +84,19 @@ public class DynamicIndexStoreView implements IndexStoreView
                 propertyUpdatesVisitor, labelIds, propertyKeyIdFilter );
     }
 
+    @Override
+    public <FAILURE extends Exception> StoreScan<FAILURE> visitNodesInPartitions( int[] labelIds, IntPredicate propertyKeyIdFilter,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor, int numberOfPartitions )
+    {
+        if ( !USE_LABEL_INDEX_FOR_SCHEMA_INDEX_POPULATION || useAllNodeStoreScan( labelIds ) )
+        {
+            return neoStoreIndexStoreView.visitNodesInPartitions( labelIds, propertyKeyIdFilter, propertyUpdatesVisitor, numberOfPartitions );
+        }
+        // The label scan store only visits the labeled nodes, which is cheap enough to do on a single thread
+        return new LabelScanViewNodeStoreScan<>( new RecordStorageReader( neoStores ), locks, labelScanStore, null,
+                propertyUpdatesVisitor, labelIds, propertyKeyIdFilter );
+    }
+
     @Override
     public <FAILURE extends Exception> StoreScan<FAILURE> visitRelationships( int[] relationshipTypeIds, IntPredicate propertyKeyIdFilter,
             Visitor<EntityUpdates,FAILURE> propertyUpdateVisitor )
@@ -117,6 +117,14 @@ public class NeoStoreIndexStoreView implements IndexStoreView
                 propertyUpdatesVisitor, labelIds, propertyKeyIdFilter );
     }
 
+    @Override
+    public <FAILURE extends Exception> StoreScan<FAILURE> visitNodesInPartitions( int[] labelIds, IntPredicate propertyKeyIdFilter,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor, int numberOfPartitions )
+    {
+        return new PartitionedNodeStoreScan<>( () -> new RecordStorageReader( neoStores ), locks, nodeStore.getHighId(), numberOfPartitions,
+                propertyUpdatesVisitor, labelIds, propertyKeyIdFilter );
+    }
+
     @Override
     public <FAILURE extends Exception> StoreScan<FAILURE> visitRelationships( final int[] relationshipTypeIds, IntPredicate propertyKeyIdFilter,
             final Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor )
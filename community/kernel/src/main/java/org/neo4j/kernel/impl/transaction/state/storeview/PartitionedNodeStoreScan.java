@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.state.storeview;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+import org.neo4j.helpers.Exceptions;
+import org.neo4j.helpers.collection.Visitor;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.impl.api.index.EntityUpdates;
+import org.neo4j.kernel.impl.api.index.MultipleIndexPopulator;
+import org.neo4j.kernel.impl.api.index.PhaseTracker;
+import org.neo4j.kernel.impl.api.index.StoreScan;
+import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.storageengine.api.StorageReader;
+import org.neo4j.storageengine.api.schema.PopulationProgress;
+
+import static org.neo4j.helpers.NamedThreadFactory.daemon;
+
+/**
+ * Node store scan which splits the node id space into a number of contiguous partitions and scans them concurrently,
+ * one thread and one {@link StorageReader} per partition. The property update visitor is called from all of those
+ * threads at the same time and must therefore be thread-safe.
+ * <p>
+ * Each partition keeps track of the highest node id it has looked at. Queued concurrent updates are accepted against
+ * the partition the updated node belongs to: an update is applied if that partition has already scanned past the node,
+ * otherwise the partition will read the updated node from the store when it gets there. Nodes created after the scan
+ * started, i.e. beyond the high id at that point, are never scanned and so their updates are always applied.
+ *
+ * @param <FAILURE> type of exception thrown on failure.
+ */
+public class PartitionedNodeStoreScan<FAILURE extends Exception> implements StoreScan<FAILURE>
+{
+    private static final String SCAN_THREAD_NAME_PREFIX = "Index Population Scan Thread";
+
+    private final List<StoreViewNodeStoreScan<FAILURE>> partitionScans = new ArrayList<>();
+    private final long[] partitionStarts;
+    private final AtomicLongArray scannedUpTo;
+    private final long highId;
+    private volatile boolean continueScanning;
+
+    public PartitionedNodeStoreScan( Supplier<StorageReader> storageReaders, LockService locks, long highId, int numberOfPartitions,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor, int[] labelIds, IntPredicate propertyKeyIdFilter )
+    {
+        this.highId = highId;
+        int partitions = (int) Math.max( 1, Math.min( numberOfPartitions, highId ) );
+        this.partitionStarts = new long[partitions];
+        this.scannedUpTo = new AtomicLongArray( partitions );
+        for ( int i = 0; i < partitions; i++ )
+        {
+            partitionStarts[i] = highId * i / partitions;
+            scannedUpTo.set( i, partitionStarts[i] - 1 );
+            partitionScans.add( new StoreViewNodeStoreScan<>( storageReaders.get(), locks, null, propertyUpdatesVisitor, labelIds,
+                    propertyKeyIdFilter ) );
+        }
+    }
+
+    @Override
+    public void run() throws FAILURE
+    {
+        continueScanning = true;
+        ExecutorService executor = Executors.newFixedThreadPool( partitionScans.size(), daemon( SCAN_THREAD_NAME_PREFIX ) );
+        Throwable failure = null;
+        try
+        {
+            List<Future<Void>> futures = new ArrayList<>();
+            for ( int i = 0; i < partitionScans.size(); i++ )
+            {
+                int partition = i;
+                futures.add( executor.submit( () -> scanPartition( partition ) ) );
+            }
+            for ( Future<Void> future : futures )
+            {
+                try
+                {
+                    future.get();
+                }
+                catch ( ExecutionException e )
+                {
+                    stop();
+                    failure = Exceptions.chain( failure, e.getCause() );
+                }
+                catch ( InterruptedException e )
+                {
+                    stop();
+                    Thread.currentThread().interrupt();
+                    failure = Exceptions.chain( failure, new IllegalStateException( "Interrupted while waiting for partitioned node scan", e ) );
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        rethrow( failure );
+    }
+
+    private Void scanPartition( int partition ) throws FAILURE
+    {
+        StoreViewNodeStoreScan<FAILURE> scan = partitionScans.get( partition );
+        long end = partitionEnd( partition );
+        // Progress is published while still holding the node lock, so that a concurrent transaction can't
+        // queue an update for a node in between it being read and it being considered scanned.
+        LongConsumer progress = visited -> scannedUpTo.set( partition, visited );
+        try
+        {
+            for ( long id = partitionStarts[partition]; continueScanning && id < end; id++ )
+            {
+                scan.processSingle( id, progress );
+            }
+        }
+        finally
+        {
+            scan.closeCursors();
+        }
+        return null;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private void rethrow( Throwable failure ) throws FAILURE
+    {
+        if ( failure != null )
+        {
+            Exceptions.throwIfUnchecked( failure );
+            // The only checked exception a partition can throw is the one from its visitor
+            throw (FAILURE) failure;
+        }
+    }
+
+    private long partitionEnd( int partition )
+    {
+        return partition + 1 < partitionStarts.length ? partitionStarts[partition + 1] : highId;
+    }
+
+    private int partitionOf( long nodeId )
+    {
+        int index = Arrays.binarySearch( partitionStarts, nodeId );
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Applies the update if the node it is for has already been scanned by its partition. The given
+     * {@code currentlyIndexedNodeId} doesn't mean anything for a scan which isn't progressing in id order and is ignored.
+     */
+    @Override
+    public void acceptUpdate( MultipleIndexPopulator.MultipleIndexUpdater updater, IndexEntryUpdate<?> update,
+            long currentlyIndexedNodeId )
+    {
+        long nodeId = update.getEntityId();
+        if ( nodeId >= highId || nodeId <= scannedUpTo.get( partitionOf( nodeId ) ) )
+        {
+            updater.process( update );
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+        continueScanning = false;
+    }
+
+    @Override
+    public PopulationProgress getProgress()
+    {
+        if ( highId == 0 )
+        {
+            return PopulationProgress.DONE;
+        }
+        long scanned = 0;
+        for ( int i = 0; i < partitionStarts.length; i++ )
+        {
+            scanned += scannedUpTo.get( i ) - partitionStarts[i] + 1;
+        }
+        return PopulationProgress.single( scanned, highId );
+    }
+
+    @Override
+    public void setPhaseTracker( PhaseTracker phaseTracker )
+    {
+        // Phase trackers time one thread going through phases, which doesn't fit multiple partitions scanning at once
+    }
+}
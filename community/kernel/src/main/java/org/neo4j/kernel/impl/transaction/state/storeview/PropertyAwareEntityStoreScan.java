@@ -25,6 +25,7 @@ package org.neo4j.kernel.impl.transaction.state.storeview;
 import org.apache.commons.lang3.ArrayUtils;
 
 import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
 import java.util.function.LongFunction;
 
 import org.neo4j.io.IOUtils;
@@ -126,10 +127,37 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
         }
         finally
         {
-            IOUtils.closeAllUnchecked( propertyCursor, entityCursor, storageReader );
+            closeCursors();
         }
     }
 
+    /**
+     * Looks at the single entity {@code id} under its entity lock and processes it if it is in use. This is for scans
+     * which drive the id iteration themselves, e.g. one partition of a {@link PartitionedNodeStoreScan}.
+     *
+     * @param id the entity id to look at.
+     * @param visited called with {@code id} after the entity has been processed, while still holding its lock.
+     * @throws FAILURE on failure.
+     */
+    void processSingle( long id, LongConsumer visited ) throws FAILURE
+    {
+        try ( Lock ignored = lockFunction.apply( id ) )
+        {
+            entityCursor.single( id );
+            if ( entityCursor.next() )
+            {
+                count++;
+                process( entityCursor );
+            }
+            visited.accept( id );
+        }
+    }
+
+    void closeCursors()
+    {
+        IOUtils.closeAllUnchecked( propertyCursor, entityCursor, storageReader );
+    }
+
     @Override
     public void acceptUpdate( MultipleIndexPopulator.MultipleIndexUpdater updater, IndexEntryUpdate<?> update,
             long currentlyIndexedNodeId )
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.memory.MemoryAllocationTracker;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.neo4j.util.Preconditions.requirePositive;
+
+/**
+ * Block allocator that serves allocations from the decorated allocator as long as the total amount of used memory stays within
+ * {@link #maxMemory}. Allocations beyond that limit are not refused, instead they are carved out of a memory mapped temporary spill
+ * file, which lets the operating system page them out to disk. This gives very large transactions a bounded memory footprint at the
+ * cost of slower access to the spilled parts of their state.
+ * <p>
+ * The spill file is created on first spill and grows by mapping additional segments of at least {@link #segmentSize} bytes at its end.
+ * Blocks are allocated within segments by a first-fit offset allocator, and regions of freed blocks are coalesced and reused by later
+ * spills. The file is unlinked right after being opened, so it never outlives the process; its mappings are dropped on {@link #release()}.
+ * <p>
+ * This class is thread safe.
+ */
+public class SpillingBlockAllocatorDecorator implements OffHeapBlockAllocator
+{
+    private static final String SPILL_FILE_PREFIX = "tx-state-";
+    private static final String SPILL_FILE_SUFFIX = ".spill";
+    private static final long DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long ALIGNMENT = Long.BYTES;
+
+    private final OffHeapBlockAllocator impl;
+    private final long maxMemory;
+    private final File spillDirectory;
+    private final long segmentSize;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final AtomicLong spilledMemory = new AtomicLong();
+
+    // guarded by this
+    private final List<Segment> segments = new ArrayList<>();
+    private RandomAccessFile spillFile;
+
+    /**
+     * @param impl allocator to use while total used memory is below {@code maxMemory}
+     * @param maxMemory max amount of memory to allocate from {@code impl}
+     * @param spillDirectory directory for the spill file, or {@code null} to use the default temporary-file directory
+     */
+    public SpillingBlockAllocatorDecorator( OffHeapBlockAllocator impl, long maxMemory, File spillDirectory )
+    {
+        this( impl, maxMemory, spillDirectory, DEFAULT_SEGMENT_SIZE );
+    }
+
+    SpillingBlockAllocatorDecorator( OffHeapBlockAllocator impl, long maxMemory, File spillDirectory, long segmentSize )
+    {
+        this.impl = requireNonNull( impl );
+        this.maxMemory = requirePositive( maxMemory );
+        this.spillDirectory = spillDirectory;
+        this.segmentSize = alignedSize( requirePositive( segmentSize ) );
+    }
+
+    @Override
+    public MemoryBlock allocate( long size, MemoryAllocationTracker tracker )
+    {
+        requirePositive( size );
+        while ( true )
+        {
+            final long usedMemoryBefore = usedMemory.get();
+            final long usedMemoryAfter = usedMemoryBefore + size;
+            if ( usedMemoryAfter > maxMemory )
+            {
+                return spill( size );
+            }
+            if ( usedMemory.compareAndSet( usedMemoryBefore, usedMemoryAfter ) )
+            {
+                break;
+            }
+        }
+        try
+        {
+            return impl.allocate( size, tracker );
+        }
+        catch ( Throwable t )
+        {
+            usedMemory.addAndGet( -size );
+            throw t;
+        }
+    }
+
+    @Override
+    public void free( MemoryBlock block, MemoryAllocationTracker tracker )
+    {
+        if ( block instanceof SpilledMemoryBlock )
+        {
+            freeSpilled( (SpilledMemoryBlock) block );
+            return;
+        }
+        try
+        {
+            impl.free( block, tracker );
+        }
+        finally
+        {
+            usedMemory.addAndGet( -block.size );
+        }
+    }
+
+    @Override
+    public void release()
+    {
+        try
+        {
+            impl.release();
+        }
+        finally
+        {
+            usedMemory.set( 0 );
+            releaseSpillFile();
+        }
+    }
+
+    /**
+     * @return amount of memory currently handed out from the spill file
+     */
+    public long spilledMemory()
+    {
+        return spilledMemory.get();
+    }
+
+    private synchronized MemoryBlock spill( long size )
+    {
+        final long regionSize = alignedSize( size );
+        if ( regionSize > Integer.MAX_VALUE )
+        {
+            throw new RuntimeException( format( "Can't spill %d bytes to disk: block size exceeds integer limit", size ) );
+        }
+        for ( Segment segment : segments )
+        {
+            final long offset = segment.allocate( regionSize );
+            if ( offset >= 0 )
+            {
+                return newSpilledBlock( segment, offset, size, regionSize );
+            }
+        }
+        final Segment segment = mapSegment( max( segmentSize, regionSize ) );
+        return newSpilledBlock( segment, segment.allocate( regionSize ), size, regionSize );
+    }
+
+    private MemoryBlock newSpilledBlock( Segment segment, long offset, long size, long regionSize )
+    {
+        spilledMemory.addAndGet( size );
+        return new SpilledMemoryBlock( segment, offset, size, regionSize );
+    }
+
+    private synchronized void freeSpilled( SpilledMemoryBlock block )
+    {
+        // Blocks of segments dropped by release() are not returned to the new segments
+        if ( segments.contains( block.segment ) )
+        {
+            block.segment.free( block.offset, block.unalignedSize );
+        }
+        spilledMemory.addAndGet( -block.size );
+    }
+
+    private Segment mapSegment( long size )
+    {
+        try
+        {
+            if ( spillFile == null )
+            {
+                spillFile = openSpillFile();
+            }
+            final FileChannel channel = spillFile.getChannel();
+            final long position = channel.size();
+            spillFile.setLength( position + size );
+            final Segment segment = new Segment( channel.map( FileChannel.MapMode.READ_WRITE, position, size ) );
+            segments.add( segment );
+            return segment;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( format( "Can't grow spill file by %d bytes", size ), e );
+        }
+    }
+
+    private RandomAccessFile openSpillFile() throws IOException
+    {
+        final File file = File.createTempFile( SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX, spillDirectory );
+        try
+        {
+            return new RandomAccessFile( file, "rw" );
+        }
+        finally
+        {
+            deleteSpillFile( file );
+        }
+    }
+
+    private synchronized void releaseSpillFile()
+    {
+        segments.clear();
+        if ( spillFile != null )
+        {
+            try
+            {
+                spillFile.close();
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( "Can't close spill file", e );
+            }
+            finally
+            {
+                spillFile = null;
+            }
+        }
+    }
+
+    private static void deleteSpillFile( File file )
+    {
+        try
+        {
+            Files.deleteIfExists( file.toPath() );
+        }
+        catch ( IOException e )
+        {
+            // Some platforms refuse to delete files that are still open
+            file.deleteOnExit();
+        }
+    }
+
+    private static long alignedSize( long size )
+    {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Mapped region of the spill file together with the free regions within it, keyed by offset.
+     */
+    private static class Segment
+    {
+        /**
+         * Keeps the mapping alive for as long as the segment is in use.
+         */
+        @SuppressWarnings( "unused" )
+        private final MappedByteBuffer buffer;
+        private final long address;
+        private final TreeMap<Long,Long> freeRegions = new TreeMap<>();
+
+        Segment( MappedByteBuffer buffer )
+        {
+            this.buffer = buffer;
+            this.address = UnsafeUtil.getDirectByteBufferAddress( buffer );
+            freeRegions.put( 0L, (long) buffer.capacity() );
+        }
+
+        /**
+         * @return offset of the allocated region, or {@code -1} if no free region is large enough
+         */
+        long allocate( long size )
+        {
+            for ( Map.Entry<Long,Long> region : freeRegions.entrySet() )
+            {
+                final long offset = region.getKey();
+                final long regionSize = region.getValue();
+                if ( regionSize >= size )
+                {
+                    freeRegions.remove( offset );
+                    if ( regionSize > size )
+                    {
+                        freeRegions.put( offset + size, regionSize - size );
+                    }
+                    return offset;
+                }
+            }
+            return -1;
+        }
+
+        void free( long offset, long size )
+        {
+            final Map.Entry<Long,Long> next = freeRegions.ceilingEntry( offset );
+            if ( next != null && next.getKey() == offset + size )
+            {
+                freeRegions.remove( next.getKey() );
+                size += next.getValue();
+            }
+            final Map.Entry<Long,Long> previous = freeRegions.floorEntry( offset );
+            if ( previous != null && previous.getKey() + previous.getValue() == offset )
+            {
+                offset = previous.getKey();
+                size += previous.getValue();
+            }
+            freeRegions.put( offset, size );
+        }
+    }
+
+    private static class SpilledMemoryBlock extends MemoryBlock
+    {
+        private final Segment segment;
+        private final long offset;
+
+        SpilledMemoryBlock( Segment segment, long offset, long size, long regionSize )
+        {
+            super( segment.address + offset, size, segment.address + offset, regionSize );
+            this.segment = segment;
+            this.offset = offset;
+        }
+    }
+}
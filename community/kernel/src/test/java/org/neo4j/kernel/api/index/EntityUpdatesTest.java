@@ -68,6 +68,8 @@ public class EntityUpdatesTest
     private static final LabelSchemaDescriptor index123
             = SchemaDescriptorFactory.forLabel( labelId1, propertyKeyId1, propertyKeyId2, propertyKeyId3 );
     private static final List<LabelSchemaDescriptor> indexes = Arrays.asList( index1, index2, index3, index123 );
+    private static final LabelSchemaDescriptor covering =
+            SchemaDescriptorFactory.forLabelIncluding( labelId1, new int[]{propertyKeyId1}, new int[]{propertyKeyId2, propertyKeyId3} );
     private static final MultiTokenSchemaDescriptor nonSchemaIndex =
             SchemaDescriptorFactory.multiToken( new int[]{labelId1, labelId2}, EntityType.NODE, propertyKeyId1, propertyKeyId2, propertyKeyId3 );
 
@@ -528,6 +530,79 @@ public class EntityUpdatesTest
         );
     }
 
+    @Test
+    public void shouldAppendIncludedValuesForLabelAddition()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( nodeId, false ).withTokens( empty ).withTokensAfter( label ).build();
+
+        // Then
+        assertThat(
+                updates.forIndexKeys( singleton( covering ), propertyLoader( property1, property2 ), EntityType.NODE ),
+                containsInAnyOrder( IndexEntryUpdate.add( nodeId, covering, property1.value(), property2.value(), Values.NO_VALUE ) ) );
+    }
+
+    @Test
+    public void shouldAppendIncludedValuesBeforeForLabelRemoval()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( nodeId, false ).withTokens( label ).withTokensAfter( empty ).build();
+
+        // Then
+        assertThat(
+                updates.forIndexKeys( singleton( covering ), propertyLoader( property1, property3 ), EntityType.NODE ),
+                containsInAnyOrder( IndexEntryUpdate.remove( nodeId, covering, property1.value(), Values.NO_VALUE, property3.value() ) ) );
+    }
+
+    @Test
+    public void shouldGenerateChangeWhenOnlyIncludedPropertyChanges()
+    {
+        // When
+        Value before = Values.of( 100L );
+        Value after = Values.of( 200L );
+        EntityUpdates updates = EntityUpdates.forEntity( nodeId, false ).withTokens( label )
+                .changed( propertyKeyId2, before, after )
+                .build();
+
+        // Then
+        assertThat(
+                updates.forIndexKeys( singleton( covering ), propertyLoader( property1 ), EntityType.NODE ),
+                containsInAnyOrder( IndexEntryUpdate.change( nodeId, covering,
+                        new Value[]{property1.value(), before, Values.NO_VALUE},
+                        new Value[]{property1.value(), after, Values.NO_VALUE} ) ) );
+    }
+
+    @Test
+    public void shouldGenerateChangeWhenIncludedPropertyIsAddedOrRemoved()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( nodeId, false ).withTokens( label )
+                .added( propertyKeyId2, property2.value() )
+                .removed( propertyKeyId3, property3.value() )
+                .build();
+
+        // Then
+        assertThat(
+                updates.forIndexKeys( singleton( covering ), propertyLoader( property1 ), EntityType.NODE ),
+                containsInAnyOrder( IndexEntryUpdate.change( nodeId, covering,
+                        new Value[]{property1.value(), Values.NO_VALUE, property3.value()},
+                        new Value[]{property1.value(), property2.value(), Values.NO_VALUE} ) ) );
+    }
+
+    @Test
+    public void shouldNotGenerateUpdateWhenIndexedAndIncludedPropertiesAreUnchanged()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( nodeId, false ).withTokens( label )
+                .existing( propertyKeyId1, property1.value() )
+                .existing( propertyKeyId2, property2.value() )
+                .existing( propertyKeyId3, property3.value() )
+                .build();
+
+        // Then
+        assertThat( updates.forIndexKeys( singleton( covering ), assertNoLoading(), EntityType.NODE ), emptyIterable() );
+    }
+
     private PropertyLoader propertyLoader( StorageProperty... properties )
     {
         Map<Integer, Value> propertyMap = new HashMap<>( );
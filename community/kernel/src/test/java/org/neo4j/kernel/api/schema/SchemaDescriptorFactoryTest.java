@@ -26,6 +26,7 @@ import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.neo4j.kernel.api.schema.SchemaTestUtil.assertArray;
 
 public class SchemaDescriptorFactoryTest
@@ -76,6 +77,26 @@ public class SchemaDescriptorFactoryTest
         SchemaTestUtil.assertEquality( desc1, desc2 );
     }
 
+    @Test
+    public void shouldCreateEqualLabelsWithIncludedProperties()
+    {
+        LabelSchemaDescriptor desc1 = SchemaDescriptorFactory.forLabelIncluding( LABEL_ID, new int[]{1}, new int[]{2} );
+        LabelSchemaDescriptor desc2 = SchemaDescriptorFactory.forLabelIncluding( LABEL_ID, new int[]{1}, new int[]{2} );
+        SchemaTestUtil.assertEquality( desc1, desc2 );
+    }
+
+    @Test
+    public void shouldNotCreateEqualLabelsWithDifferentIncludedProperties()
+    {
+        LabelSchemaDescriptor plain = SchemaDescriptorFactory.forLabel( LABEL_ID, 1 );
+        LabelSchemaDescriptor including = SchemaDescriptorFactory.forLabelIncluding( LABEL_ID, new int[]{1}, new int[]{2} );
+        LabelSchemaDescriptor includingOther = SchemaDescriptorFactory.forLabelIncluding( LABEL_ID, new int[]{1}, new int[]{3} );
+
+        assertThat( plain, not( equalTo( including ) ) );
+        assertThat( including, not( equalTo( plain ) ) );
+        assertThat( including, not( equalTo( includingOther ) ) );
+    }
+
     @Test
     public void shouldCreateEqualRelTypes()
     {
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HyperLogLogTest
+{
+    @Test
+    public void shouldEstimateNothing()
+    {
+        assertEquals( 0, new HyperLogLog().estimate() );
+    }
+
+    @Test
+    public void shouldCountSmallCardinalitiesAlmostExactly()
+    {
+        // given
+        HyperLogLog sketch = new HyperLogLog();
+
+        // when
+        for ( int round = 0; round < 3; round++ )
+        {
+            for ( long value = 0; value < 100; value++ )
+            {
+                sketch.add( value );
+            }
+        }
+
+        // then
+        assertEquals( 100, sketch.estimate(), 1 );
+    }
+
+    @Test
+    public void shouldEstimateLargeCardinalities()
+    {
+        // given
+        HyperLogLog sketch = new HyperLogLog();
+
+        // when
+        for ( long value = 0; value < 1_000_000; value++ )
+        {
+            sketch.add( value );
+        }
+
+        // then
+        assertEquals( 1_000_000, sketch.estimate(), 1_000_000 * 0.03 );
+    }
+
+    @Test
+    public void shouldEstimateUnionWhenMerged()
+    {
+        // given
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for ( long value = 0; value < 200_000; value++ )
+        {
+            first.add( value );
+        }
+        for ( long value = 100_000; value < 300_000; value++ )
+        {
+            second.add( value );
+        }
+
+        // when
+        first.merge( second );
+
+        // then
+        assertEquals( 300_000, first.estimate(), 300_000 * 0.03 );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldNotMergeSketchesOfDifferentPrecision()
+    {
+        new HyperLogLog( 10 ).merge( new HyperLogLog( 12 ) );
+    }
+}
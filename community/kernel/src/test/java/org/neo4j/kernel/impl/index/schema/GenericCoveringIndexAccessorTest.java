@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.neo4j.gis.spatial.index.curves.StandardConfiguration;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.TreeNodeDynamicSize;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
+import org.neo4j.kernel.impl.index.schema.config.ConfiguredSpaceFillingCurveSettingsCache;
+import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettingsCache;
+import org.neo4j.storageengine.api.schema.IndexDescriptorFactory;
+import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.SimpleNodeValueClient;
+import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+import org.neo4j.test.rule.PageCacheRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.rules.RuleChain.outerRule;
+import static org.neo4j.kernel.api.index.IndexProvider.Monitor.EMPTY;
+import static org.neo4j.test.rule.PageCacheRule.config;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+import static org.neo4j.values.storable.Values.stringValue;
+
+public class GenericCoveringIndexAccessorTest
+{
+    private static final int LABEL = 1;
+    private static final int INDEXED = 1;
+    private static final int INCLUDED = 2;
+    private static final IndexSpecificSpaceFillingCurveSettingsCache indexSettings =
+            new IndexSpecificSpaceFillingCurveSettingsCache( new ConfiguredSpaceFillingCurveSettingsCache( Config.defaults() ), new HashMap<>() );
+
+    private final DefaultFileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( getClass(), fs.get() );
+    private final PageCacheRule pageCacheRule = new PageCacheRule( config().withAccessChecks( true ) );
+    @Rule
+    public final RuleChain rules = outerRule( fs ).around( directory ).around( pageCacheRule );
+
+    private NativeIndexAccessor accessor;
+    private StoreIndexDescriptor descriptor;
+
+    @Before
+    public void setup()
+    {
+        DefaultFileSystemAbstraction fs = this.fs.get();
+        PageCache pc = pageCacheRule.getPageCache( fs );
+        File file = directory.file( "index" );
+        GenericLayout layout = new GenericLayout( 2, 1, TreeNodeDynamicSize.keyValueSizeCapFromPageSize( pc.pageSize() ), indexSettings );
+        descriptor = IndexDescriptorFactory.forSchema(
+                SchemaDescriptorFactory.forLabelIncluding( LABEL, new int[]{INDEXED}, new int[]{INCLUDED} ) ).withId( 1 );
+        IndexDirectoryStructure structure =
+                IndexDirectoryStructure.directoriesByProvider( directory.storeDir() ).forProvider( GenericNativeIndexProvider.DESCRIPTOR );
+        accessor = new GenericNativeIndexAccessor( pc, fs, file, layout, RecoveryCleanupWorkCollector.ignore(), EMPTY, descriptor, indexSettings,
+                new StandardConfiguration(), new FileSystemIndexDropAction( fs, structure ), false );
+    }
+
+    @After
+    public void tearDown()
+    {
+        accessor.close();
+    }
+
+    @Test
+    public void seeksMustFindEntriesWhateverTheirIncludedValues() throws Exception
+    {
+        // given
+        processAll(
+                IndexEntryUpdate.add( 1, descriptor, stringValue( "a" ), Values.intValue( 10 ) ),
+                IndexEntryUpdate.add( 2, descriptor, stringValue( "a" ), NO_VALUE ),
+                IndexEntryUpdate.add( 3, descriptor, stringValue( "b" ), stringValue( "text" ) ) );
+
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            // then
+            Map<Long,Value[]> exact = query( reader, IndexQuery.exact( INDEXED, "a" ) );
+            assertEquals( 2, exact.size() );
+            assertArrayEquals( new Value[]{stringValue( "a" ), Values.intValue( 10 )}, exact.get( 1L ) );
+            assertArrayEquals( new Value[]{stringValue( "a" ), NO_VALUE}, exact.get( 2L ) );
+
+            Map<Long,Value[]> range = query( reader, IndexQuery.range( INDEXED, "a", false, "b", true ) );
+            assertEquals( 1, range.size() );
+            assertArrayEquals( new Value[]{stringValue( "b" ), stringValue( "text" )}, range.get( 3L ) );
+
+            assertEquals( 3, query( reader, IndexQuery.exists( INDEXED ) ).size() );
+            assertEquals( 1, reader.countIndexedNodes( 2, new int[]{INDEXED}, stringValue( "a" ) ) );
+            assertEquals( 0, reader.countIndexedNodes( 3, new int[]{INDEXED}, stringValue( "a" ) ) );
+        }
+    }
+
+    @Test
+    public void includedValuesTooLargeForTheKeyMustBeLeftOut() throws Exception
+    {
+        // given
+        Value large = stringValue( StringUtils.repeat( 'x', 10_000 ) );
+        Value otherLarge = stringValue( StringUtils.repeat( 'y', 10_000 ) );
+        processAll( IndexEntryUpdate.add( 1, descriptor, stringValue( "a" ), large ) );
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            assertArrayEquals( new Value[]{stringValue( "a" ), NO_VALUE}, query( reader, IndexQuery.exact( INDEXED, "a" ) ).get( 1L ) );
+        }
+
+        // when
+        processAll( IndexEntryUpdate.change( 1, descriptor, new Value[]{stringValue( "a" ), large}, new Value[]{stringValue( "a" ), otherLarge} ) );
+        processAll( IndexEntryUpdate.change( 1, descriptor, new Value[]{stringValue( "a" ), otherLarge},
+                new Value[]{stringValue( "a" ), Values.intValue( 5 )} ) );
+
+        // then
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            Map<Long,Value[]> hits = query( reader, IndexQuery.exact( INDEXED, "a" ) );
+            assertEquals( 1, hits.size() );
+            assertArrayEquals( new Value[]{stringValue( "a" ), Values.intValue( 5 )}, hits.get( 1L ) );
+        }
+    }
+
+    private void processAll( IndexEntryUpdate<?>... updates ) throws Exception
+    {
+        try ( NativeIndexUpdater updater = accessor.newUpdater( IndexUpdateMode.ONLINE ) )
+        {
+            for ( IndexEntryUpdate<?> update : updates )
+            {
+                //noinspection unchecked
+                updater.process( update );
+            }
+        }
+    }
+
+    private static Map<Long,Value[]> query( IndexReader reader, IndexQuery query ) throws Exception
+    {
+        SimpleNodeValueClient client = new SimpleNodeValueClient();
+        reader.query( client, IndexOrder.NONE, true, query );
+        Map<Long,Value[]> hits = new HashMap<>();
+        while ( client.next() )
+        {
+            hits.put( client.reference, client.values );
+        }
+        return hits;
+    }
+}
@@ -498,6 +498,18 @@ class GenericKeyTest
         shouldReadBackToExactOriginalValue( random.randomValues().nextCharArray() );
     }
 
+    @Test
+    void noValueShouldComeBackAsNoValueAndSortLast()
+    {
+        shouldReadBackToExactOriginalValue( Values.NO_VALUE );
+
+        GenericKey noValue = newKeyState();
+        noValue.writeValue( Values.NO_VALUE, NEUTRAL );
+        GenericKey other = newKeyState();
+        other.writeValue( nextValidValue( true ), NEUTRAL );
+        assertTrue( noValue.compareValueTo( other ) > 0, "NO_VALUE not higher than " + other );
+    }
+
     /* TESTS FOR KEY STATE (including entityId) */
 
     @ParameterizedTest
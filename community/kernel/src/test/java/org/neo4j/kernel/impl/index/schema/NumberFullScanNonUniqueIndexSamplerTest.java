@@ -34,8 +34,13 @@ import org.neo4j.values.storable.NumberValue;
 import org.neo4j.values.storable.RandomValues;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueType;
+import org.neo4j.values.storable.Values;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory.forLabel;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
 import static org.neo4j.kernel.impl.index.schema.ValueCreatorUtil.FRACTION_DUPLICATE_NON_UNIQUE;
@@ -67,6 +72,74 @@ public class NumberFullScanNonUniqueIndexSamplerTest extends NativeIndexTestUtil
         assertEquals( values.length, sample.indexSize() );
     }
 
+    @Test
+    public void shouldSampleFromSketchSeededByFullScan() throws Exception
+    {
+        // GIVEN
+        Value[] values = generateNumberValues();
+        buildTree( values );
+        IndexValueSketch sketch = new IndexValueSketch( 0.2, 1 );
+
+        try ( GBPTree<NumberIndexKey,NativeIndexValue> gbpTree = getTree() )
+        {
+            FullScanNonUniqueIndexSampler<NumberIndexKey,NativeIndexValue> sampler =
+                    new FullScanNonUniqueIndexSampler<>( gbpTree, layout, sketch );
+            assertNull( sketch.sample() );
+
+            // WHEN
+            IndexSample seedingSample = sampler.result();
+            sketch.added( new Value[]{Values.stringValue( "not in tree" )} );
+            IndexSample sketchedSample = sampler.result();
+
+            // THEN
+            assertEquals( values.length, seedingSample.indexSize() );
+            assertEquals( countUniqueValues( values ), seedingSample.uniqueValues() );
+            assertEquals( values.length + 1, sketchedSample.indexSize() );
+            assertTrue( sketchedSample.uniqueValues() > 0 && sketchedSample.uniqueValues() <= sketchedSample.indexSize() );
+        }
+    }
+
+    @Test
+    public void shouldScanAgainWhenSketchIsStale() throws Exception
+    {
+        // GIVEN
+        Value[] values = generateNumberValues();
+        buildTree( values );
+        IndexValueSketch sketch = new IndexValueSketch( 0.2, 1 );
+
+        try ( GBPTree<NumberIndexKey,NativeIndexValue> gbpTree = getTree() )
+        {
+            FullScanNonUniqueIndexSampler<NumberIndexKey,NativeIndexValue> sampler =
+                    new FullScanNonUniqueIndexSampler<>( gbpTree, layout, sketch );
+            sampler.result();
+
+            // WHEN
+            for ( int i = 0; i < values.length / 2; i++ )
+            {
+                sketch.removed();
+            }
+
+            // THEN
+            assertNull( sketch.sample() );
+            assertEquals( values.length, sampler.result().indexSize() );
+            assertNotNull( sketch.sample() );
+        }
+    }
+
+    @Test
+    public void shouldTellApartValuesWithSameHashCode()
+    {
+        // GIVEN
+        IndexValueSketch sketch = new IndexValueSketch( 0.2, 1 );
+        Value[] one = {Values.longValue( 1 )};
+        Value[] collidingWithOne = {Values.longValue( 1L << 32 )};
+        assertEquals( one[0].hashCode(), collidingWithOne[0].hashCode() );
+
+        // THEN
+        assertNotEquals( sketch.hash( one ), sketch.hash( collidingWithOne ) );
+        assertNotEquals( sketch.leadingHash( one ), sketch.leadingHash( collidingWithOne ) );
+    }
+
     private Value[] generateNumberValues()
     {
         ValueType[] numberTypes = RandomValues.including( t -> t.valueGroup == NUMBER );
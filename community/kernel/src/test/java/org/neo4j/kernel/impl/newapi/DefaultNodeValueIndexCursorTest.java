@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
+import org.neo4j.kernel.api.txstate.TransactionState;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexDescriptorFactory;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
+import org.neo4j.storageengine.api.txstate.NodeState;
+import org.neo4j.values.storable.Value;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+class DefaultNodeValueIndexCursorTest
+{
+    private static final long NODE = 7;
+    private static final int LABEL = 1;
+    private static final int INDEXED = 2;
+    private static final int INCLUDED = 3;
+    private static final int OTHER_INCLUDED = 4;
+    private static final IndexDescriptor COVERING_INDEX = IndexDescriptorFactory.forSchema(
+            SchemaDescriptorFactory.forLabelIncluding( LABEL, new int[]{INDEXED}, new int[]{INCLUDED, OTHER_INCLUDED} ) );
+
+    private final Read read = mock( Read.class );
+    private final DefaultNodeValueIndexCursor cursor = new DefaultNodeValueIndexCursor( mock( DefaultCursors.class ) );
+
+    @BeforeEach
+    void setUp()
+    {
+        cursor.setRead( read );
+    }
+
+    @Test
+    void shouldHandOutIncludedValuesSeparatelyFromIndexedValues()
+    {
+        // given
+        initialize( stringValue( "a" ), intValue( 10 ), NO_VALUE );
+
+        // when
+        assertTrue( cursor.next() );
+
+        // then
+        assertEquals( NODE, cursor.nodeReference() );
+        assertEquals( stringValue( "a" ), cursor.propertyValue( 0 ) );
+        assertEquals( 2, cursor.numberOfIncludedProperties() );
+        assertEquals( INCLUDED, cursor.includedPropertyKey( 0 ) );
+        assertEquals( OTHER_INCLUDED, cursor.includedPropertyKey( 1 ) );
+        assertEquals( intValue( 10 ), cursor.includedPropertyValue( 0 ) );
+        // missing, or too large to be stored, so it has to be read from the store
+        assertNull( cursor.includedPropertyValue( 1 ) );
+        assertFalse( cursor.next() );
+    }
+
+    @Test
+    void shouldNotHandOutIncludedValuesOfNodesWithPropertyChangesInTransaction()
+    {
+        // given
+        NodeState nodeState = mock( NodeState.class );
+        when( nodeState.hasPropertyChanges() ).thenReturn( true );
+        TransactionState txState = mock( TransactionState.class );
+        when( txState.getNodeState( NODE ) ).thenReturn( nodeState );
+        when( read.hasTxStateWithChanges() ).thenReturn( true );
+        when( read.txState() ).thenReturn( txState );
+        initialize( stringValue( "a" ), intValue( 10 ), intValue( 20 ) );
+
+        // when
+        assertTrue( cursor.next() );
+
+        // then
+        assertEquals( stringValue( "a" ), cursor.propertyValue( 0 ) );
+        assertNull( cursor.includedPropertyValue( 0 ) );
+        assertNull( cursor.includedPropertyValue( 1 ) );
+    }
+
+    private void initialize( Value... values )
+    {
+        // No query predicates, so that transaction state isn't merged into the results
+        cursor.initialize( COVERING_INDEX, new SingleNodeProgressor( values ), new IndexQuery[0], IndexOrder.NONE, true );
+    }
+
+    private class SingleNodeProgressor implements IndexProgressor
+    {
+        private final Value[] values;
+        private boolean done;
+
+        SingleNodeProgressor( Value[] values )
+        {
+            this.values = values;
+        }
+
+        @Override
+        public boolean next()
+        {
+            if ( done )
+            {
+                return false;
+            }
+            done = true;
+            return cursor.acceptNode( NODE, values );
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.kernel.impl.store.record.Record.NO_LABELS_FIELD;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_BLOCK;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_PROPERTY;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_RELATIONSHIP;
+import static org.neo4j.kernel.impl.store.record.Record.NO_PREVIOUS_PROPERTY;
+
+public class RecordVersionsTest
+{
+    private final AtomicLong lastClosedTxId = new AtomicLong( 10 );
+    private final RecordVersions versions = new RecordVersions( lastClosedTxId::get );
+
+    @Test
+    public void shouldSeeRecordAsOfSnapshot()
+    {
+        try ( RecordVersions.Snapshot snapshot = versions.openSnapshot() )
+        {
+            versions.nodeChanged( node( 1, 100 ), 11 );
+            versions.nodeChanged( node( 1, 200 ), 12 );
+
+            NodeRecord record = node( 1, 300 );
+            snapshot.restore( record );
+            assertEquals( 100, record.getNextRel() );
+        }
+    }
+
+    @Test
+    public void shouldNotRestoreChangesVisibleInSnapshot()
+    {
+        versions.nodeChanged( node( 1, 100 ), 10 );
+        try ( RecordVersions.Snapshot snapshot = versions.openSnapshot() )
+        {
+            NodeRecord record = node( 1, 200 );
+            snapshot.restore( record );
+            assertEquals( 200, record.getNextRel() );
+        }
+    }
+
+    @Test
+    public void shouldHideRecordsCreatedAfterSnapshot()
+    {
+        try ( RecordVersions.Snapshot snapshot = versions.openSnapshot() )
+        {
+            RelationshipRecord before = new RelationshipRecord( 5 );
+            versions.relationshipChanged( before, 11 );
+
+            RelationshipRecord record = new RelationshipRecord( 5 ).initialize( true, NO_NEXT_PROPERTY.longValue(), 1, 2, 0,
+                    1, NO_NEXT_RELATIONSHIP.longValue(), 1, NO_NEXT_RELATIONSHIP.longValue(), true, true );
+            snapshot.restore( record );
+            assertFalse( record.inUse() );
+        }
+    }
+
+    @Test
+    public void shouldRestorePropertyBlocks()
+    {
+        PropertyRecord before = new PropertyRecord( 3 ).initialize( true, NO_PREVIOUS_PROPERTY.longValue(), NO_NEXT_PROPERTY.longValue() );
+        PropertyBlock block = new PropertyBlock();
+        block.setValueBlocks( new long[]{42L} );
+        before.addPropertyBlock( block );
+
+        try ( RecordVersions.Snapshot snapshot = versions.openSnapshot() )
+        {
+            versions.propertyChanged( before, 11 );
+
+            PropertyRecord record = new PropertyRecord( 3 ).initialize( false, NO_PREVIOUS_PROPERTY.longValue(), NO_NEXT_PROPERTY.longValue() );
+            snapshot.restore( record );
+            assertTrue( record.inUse() );
+            assertEquals( 1, record.getNumberOfBlocks() );
+            assertEquals( 42L, record.getBlocks()[0] );
+        }
+    }
+
+    @Test
+    public void shouldRestoreDeletedDynamicRecordsPerStore()
+    {
+        try ( RecordVersions.Snapshot snapshot = versions.openSnapshot() )
+        {
+            versions.stringRecordChanged( dynamic( 7, true, new byte[]{1, 2, 3} ), 11 );
+
+            DynamicRecord string = dynamic( 7, false, new byte[0] );
+            snapshot.restoreString( string );
+            assertTrue( string.inUse() );
+            assertTrue( string.isStartRecord() );
+            assertEquals( NO_NEXT_BLOCK.longValue(), string.getNextBlock() );
+            assertArrayEquals( new byte[]{1, 2, 3}, string.getData() );
+
+            // Ids are per store, so the array record with the same id is left as it is
+            DynamicRecord array = dynamic( 7, true, new byte[]{9} );
+            snapshot.restoreArray( array );
+            assertArrayEquals( new byte[]{9}, array.getData() );
+        }
+    }
+
+    @Test
+    public void shouldPruneImagesNoLongerVisibleToAnySnapshot()
+    {
+        RecordVersions.Snapshot snapshot = versions.openSnapshot();
+        versions.nodeChanged( node( 1, 100 ), 11 );
+        versions.nodeChanged( node( 2, 100 ), 12 );
+        lastClosedTxId.set( 12 );
+
+        versions.prune();
+        assertEquals( 2, versions.size() );
+
+        snapshot.close();
+        versions.prune();
+        assertEquals( 0, versions.size() );
+        assertEquals( 0, versions.numberOfOpenSnapshots() );
+    }
+
+    @Test
+    public void shouldKeepImagesOfTransactionsNotYetClosed()
+    {
+        versions.nodeChanged( node( 1, 100 ), 11 );
+        versions.prune();
+        assertEquals( 1, versions.size() );
+
+        // A snapshot opened now must not see the change made by transaction 11
+        try ( RecordVersions.Snapshot snapshot = versions.openSnapshot() )
+        {
+            NodeRecord record = node( 1, 200 );
+            snapshot.restore( record );
+            assertEquals( 100, record.getNextRel() );
+        }
+    }
+
+    @Test
+    public void shouldPruneOnlyImagesOverwrittenBeforeOldestOpenSnapshot()
+    {
+        versions.nodeChanged( node( 1, 100 ), 11 );
+        lastClosedTxId.set( 11 );
+        RecordVersions.Snapshot snapshot = versions.openSnapshot();
+        versions.nodeChanged( node( 1, 200 ), 12 );
+        lastClosedTxId.set( 12 );
+
+        versions.prune();
+        assertEquals( 1, versions.size() );
+        NodeRecord record = node( 1, 300 );
+        snapshot.restore( record );
+        assertEquals( 200, record.getNextRel() );
+
+        snapshot.close();
+        versions.prune();
+        assertEquals( 0, versions.size() );
+    }
+
+    @Test
+    public void shouldReopenSnapshotAsOfLaterTransaction()
+    {
+        RecordVersions.Snapshot snapshot = versions.newSnapshot();
+        assertFalse( snapshot.isOpen() );
+
+        snapshot.open();
+        versions.nodeChanged( node( 1, 100 ), 11 );
+        lastClosedTxId.set( 11 );
+        NodeRecord record = node( 1, 200 );
+        snapshot.restore( record );
+        assertEquals( 100, record.getNextRel() );
+        snapshot.close();
+
+        snapshot.open();
+        assertEquals( 11, snapshot.txId() );
+        record = node( 1, 200 );
+        snapshot.restore( record );
+        assertEquals( 200, record.getNextRel() );
+        snapshot.close();
+        assertEquals( 0, versions.numberOfOpenSnapshots() );
+    }
+
+    @Test
+    public void shouldNotRestoreRecordsWhenSnapshotIsClosed()
+    {
+        RecordVersions.Snapshot snapshot = versions.openSnapshot();
+        versions.nodeChanged( node( 1, 100 ), 11 );
+        snapshot.close();
+
+        NodeRecord record = node( 1, 200 );
+        snapshot.restore( record );
+        assertEquals( 200, record.getNextRel() );
+    }
+
+    private static DynamicRecord dynamic( long id, boolean inUse, byte[] data )
+    {
+        DynamicRecord record = new DynamicRecord( id ).initialize( inUse, true, NO_NEXT_BLOCK.longValue(), -1, data.length );
+        record.setData( data );
+        return record;
+    }
+
+    private static NodeRecord node( long id, long nextRel )
+    {
+        return new NodeRecord( id ).initialize( true, NO_NEXT_PROPERTY.longValue(), false, nextRel, NO_LABELS_FIELD.longValue() );
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.string.UTF8;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedStringsTest
+{
+    private static final String JSON;
+    static
+    {
+        StringBuilder builder = new StringBuilder( "[" );
+        for ( int i = 0; i < 50; i++ )
+        {
+            builder.append( "{\"id\":\"item-" ).append( i ).append( "\",\"type\":\"order\",\"status\":\"shipped\"}," );
+        }
+        JSON = builder.append( "{}]" ).toString();
+    }
+
+    @Test
+    public void shouldCompressAndDecompressRepetitiveString()
+    {
+        // given
+        byte[] utf8 = UTF8.encode( JSON );
+
+        // when
+        byte[] compressed = CompressedStrings.compress( utf8 );
+
+        // then
+        assertTrue( compressed.length < utf8.length );
+        assertTrue( CompressedStrings.isCompressed( compressed, 0, compressed.length ) );
+        assertArrayEquals( utf8, CompressedStrings.decompress( compressed, 0, compressed.length ) );
+        assertEquals( JSON, PropertyStore.decodeString( compressed ) );
+    }
+
+    @Test
+    public void shouldNotCompressShortStrings()
+    {
+        byte[] shortString = UTF8.encode( "short" );
+        assertSame( shortString, CompressedStrings.compress( shortString ) );
+    }
+
+    @Test
+    public void shouldRoundTripRandomStrings()
+    {
+        byte[] random = new byte[1_000];
+        ThreadLocalRandom.current().nextBytes( random );
+        for ( int i = 0; i < random.length; i++ )
+        {
+            // keep it within ASCII, i.e. valid UTF-8
+            random[i] &= 0x7F;
+        }
+        byte[] result = CompressedStrings.compress( random );
+        assertTrue( result.length <= random.length );
+        assertEquals( UTF8.decode( random ), PropertyStore.decodeString( result ) );
+    }
+
+    @Test
+    public void shouldDecodePlainStringsUnchanged()
+    {
+        byte[] utf8 = UTF8.encode( "åäö" + JSON );
+        assertFalse( CompressedStrings.isCompressed( utf8, 0, utf8.length ) );
+        assertEquals( "åäö" + JSON, PropertyStore.decodeString( utf8 ) );
+    }
+
+    @Test
+    public void shouldUseFewerDynamicRecordsForCompressedStrings()
+    {
+        // when
+        PropertyBlock plain = new PropertyBlock();
+        PropertyStore.encodeValue( plain, 0, Values.stringValue( JSON ), new StandaloneDynamicRecordAllocator(),
+                new StandaloneDynamicRecordAllocator(), true, false );
+        PropertyBlock compressed = new PropertyBlock();
+        PropertyStore.encodeValue( compressed, 0, Values.stringValue( JSON ), new StandaloneDynamicRecordAllocator(),
+                new StandaloneDynamicRecordAllocator(), true, true );
+
+        // then
+        assertTrue( compressed.getValueRecords().size() < plain.getValueRecords().size() );
+        assertEquals( JSON, PropertyStore.decodeString( concatenatedData( compressed ) ) );
+    }
+
+    private static byte[] concatenatedData( PropertyBlock block )
+    {
+        byte[] data = new byte[0];
+        for ( DynamicRecord record : block.getValueRecords() )
+        {
+            int offset = data.length;
+            data = Arrays.copyOf( data, offset + record.getLength() );
+            System.arraycopy( record.getData(), 0, data, offset, record.getLength() );
+        }
+        return data;
+    }
+}
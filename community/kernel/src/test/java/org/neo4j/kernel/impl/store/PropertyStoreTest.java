@@ -35,6 +35,9 @@ import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.core.JumpingIdGeneratorFactory;
 import org.neo4j.kernel.impl.store.format.RecordFormatSelector;
+import org.neo4j.kernel.impl.store.format.RecordFormats;
+import org.neo4j.kernel.impl.store.format.standard.StandardV3_6;
+import org.neo4j.kernel.impl.store.format.standard.StandardV3_6CompressedStrings;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyKeyTokenRecord;
@@ -45,6 +48,7 @@ import org.neo4j.test.rule.TestDirectory;
 import org.neo4j.test.rule.fs.EphemeralFileSystemRule;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -120,6 +124,30 @@ public class PropertyStoreTest
         }
     }
 
+    @Test
+    public void shouldNotCompressStringsInFormatWithoutCompressedStringsCapability()
+    {
+        Config config = Config.defaults( GraphDatabaseSettings.string_property_compression, "true" );
+
+        assertFalse( propertyStore( config, StandardV3_6.RECORD_FORMATS ).compressStrings() );
+    }
+
+    @Test
+    public void shouldCompressStringsInFormatWithCompressedStringsCapabilityWhenEnabled()
+    {
+        Config config = Config.defaults( GraphDatabaseSettings.string_property_compression, "true" );
+
+        assertTrue( propertyStore( config, StandardV3_6CompressedStrings.RECORD_FORMATS ).compressStrings() );
+        assertFalse( propertyStore( Config.defaults(), StandardV3_6CompressedStrings.RECORD_FORMATS ).compressStrings() );
+    }
+
+    private PropertyStore propertyStore( Config config, RecordFormats recordFormats )
+    {
+        return new PropertyStore( storeFile, idFile, config, new JumpingIdGeneratorFactory( 1 ),
+                pageCacheRule.getPageCache( fileSystemAbstraction ), NullLogProvider.getInstance(), mock( DynamicStringStore.class ),
+                mock( PropertyKeyTokenStore.class ), mock( DynamicArrayStore.class ), recordFormats );
+    }
+
     private DynamicRecord dynamicRecord()
     {
         DynamicRecord dynamicRecord = new DynamicRecord( 42 );
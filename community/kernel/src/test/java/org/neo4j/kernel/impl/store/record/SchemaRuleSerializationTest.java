@@ -44,7 +44,9 @@ import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.fail;
+import static org.neo4j.kernel.api.schema.SchemaDescriptorFactory.forLabelIncluding;
 import static org.neo4j.kernel.api.schema.SchemaDescriptorFactory.multiToken;
 import static org.neo4j.storageengine.api.schema.IndexDescriptorFactory.forSchema;
 import static org.neo4j.test.assertion.Assert.assertException;
@@ -64,6 +66,9 @@ public class SchemaRuleSerializationTest extends SchemaRuleTestBase
 
     StoreIndexDescriptor indexBigComposite = forLabel( LABEL_ID, IntStream.range(1, 200).toArray() ).withId( RULE_ID );
 
+    StoreIndexDescriptor indexCovering =
+            forSchema( forLabelIncluding( LABEL_ID, new int[]{PROPERTY_ID_1}, new int[]{PROPERTY_ID_2} ) ).withId( RULE_ID );
+
     StoreIndexDescriptor indexBigMultiToken =
             forSchema( multiToken( IntStream.range( 1, 200 ).toArray(), EntityType.RELATIONSHIP, IntStream.range( 1, 200 ).toArray() ) ).withId( RULE_ID );
 
@@ -277,6 +282,15 @@ public class SchemaRuleSerializationTest extends SchemaRuleTestBase
         assertSerializeAndDeserializeIndexRule( indexBigComposite );
     }
 
+    @Test
+    public void shouldSerializeAndDeserializeIndexRulesWithIncludedProperties() throws MalformedSchemaRuleException
+    {
+        assertSerializeAndDeserializeIndexRule( indexCovering );
+        StoreIndexDescriptor deserialized = assertIndexRule( serialiseAndDeserialise( indexCovering ) );
+        assertArrayEquals( new int[]{PROPERTY_ID_1}, deserialized.schema().getPropertyIds() );
+        assertArrayEquals( new int[]{PROPERTY_ID_2}, deserialized.schema().getIncludedPropertyIds() );
+    }
+
     // CONSTRAINT RULES
 
     @Test
@@ -310,6 +324,7 @@ public class SchemaRuleSerializationTest extends SchemaRuleTestBase
         assertCorrectLength( indexCompositeRegular );
         assertCorrectLength( indexCompositeUnique );
         assertCorrectLength( indexBigComposite );
+        assertCorrectLength( indexCovering );
     }
 
     @Test
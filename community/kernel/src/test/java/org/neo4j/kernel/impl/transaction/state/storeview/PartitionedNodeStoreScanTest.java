@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.state.storeview;
+
+import org.eclipse.collections.impl.block.factory.primitive.IntPredicates;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.neo4j.helpers.collection.MapUtil;
+import org.neo4j.helpers.collection.Visitor;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
+import org.neo4j.kernel.impl.api.index.EntityUpdates;
+import org.neo4j.kernel.impl.api.index.MultipleIndexPopulator.MultipleIndexUpdater;
+import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.storageengine.api.StubStorageCursors;
+import org.neo4j.storageengine.api.schema.PopulationProgress;
+import org.neo4j.values.storable.Values;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.kernel.api.schema.SchemaDescriptorFactory.forLabel;
+
+public class PartitionedNodeStoreScanTest
+{
+    private static final int NODE_COUNT = 100;
+    private static final int LABEL = 1;
+
+    private final StubStorageCursors storageCursors = new StubStorageCursors();
+    private final List<Long> visitedNodes = new CopyOnWriteArrayList<>();
+    private final Visitor<EntityUpdates,RuntimeException> visitor = updates ->
+    {
+        visitedNodes.add( updates.getEntityId() );
+        return false;
+    };
+    private final LabelSchemaDescriptor schema = forLabel( LABEL, 0 );
+
+    @Before
+    public void setUp()
+    {
+        for ( long id = 0; id < NODE_COUNT; id++ )
+        {
+            storageCursors.withNode( id, new long[]{LABEL}, MapUtil.genericMap( "name", Values.stringValue( "node" + id ) ) );
+        }
+    }
+
+    @Test
+    public void shouldVisitEveryNodeExactlyOnceAcrossPartitions()
+    {
+        // given
+        PartitionedNodeStoreScan<RuntimeException> scan = newScan( 4 );
+
+        // when
+        scan.run();
+
+        // then
+        Long[] expected = new Long[NODE_COUNT];
+        for ( int i = 0; i < NODE_COUNT; i++ )
+        {
+            expected[i] = (long) i;
+        }
+        assertThat( visitedNodes, containsInAnyOrder( expected ) );
+        PopulationProgress progress = scan.getProgress();
+        assertEquals( progress.getTotal(), progress.getCompleted() );
+    }
+
+    @Test
+    public void shouldOnlyAcceptUpdatesForNodesAlreadyScanned()
+    {
+        // given
+        PartitionedNodeStoreScan<RuntimeException> scan = newScan( 4 );
+        MultipleIndexUpdater updater = mock( MultipleIndexUpdater.class );
+        IndexEntryUpdate<LabelSchemaDescriptor> notYetScanned = IndexEntryUpdate.add( 60, schema, Values.stringValue( "a" ) );
+        IndexEntryUpdate<LabelSchemaDescriptor> createdAfterScanStarted = IndexEntryUpdate.add( NODE_COUNT + 5, schema, Values.stringValue( "b" ) );
+
+        // when
+        scan.acceptUpdate( updater, notYetScanned, Long.MAX_VALUE );
+        scan.acceptUpdate( updater, createdAfterScanStarted, 0 );
+
+        // then
+        verify( updater, never() ).process( notYetScanned );
+        verify( updater ).process( createdAfterScanStarted );
+
+        // and when
+        scan.run();
+        scan.acceptUpdate( updater, notYetScanned, 0 );
+
+        // then
+        verify( updater ).process( notYetScanned );
+    }
+
+    @Test
+    public void shouldScanEmptyStore()
+    {
+        // given
+        PartitionedNodeStoreScan<RuntimeException> scan = new PartitionedNodeStoreScan<>( StubStorageCursors::new, LockService.NO_LOCK_SERVICE, 0, 4,
+                visitor, new int[]{LABEL}, IntPredicates.alwaysTrue() );
+
+        // when
+        scan.run();
+
+        // then
+        assertEquals( 0, visitedNodes.size() );
+        assertEquals( PopulationProgress.DONE, scan.getProgress() );
+    }
+
+    private PartitionedNodeStoreScan<RuntimeException> newScan( int numberOfPartitions )
+    {
+        return new PartitionedNodeStoreScan<>( () -> storageCursors, LockService.NO_LOCK_SERVICE, NODE_COUNT, numberOfPartitions, visitor,
+                new int[]{LABEL}, IntPredicates.alwaysTrue() );
+    }
+}
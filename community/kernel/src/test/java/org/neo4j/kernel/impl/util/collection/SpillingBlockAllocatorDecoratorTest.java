@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator.MemoryBlock;
+import org.neo4j.memory.MemoryAllocationTracker;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith( TestDirectoryExtension.class )
+class SpillingBlockAllocatorDecoratorTest
+{
+    @Inject
+    private TestDirectory testDirectory;
+
+    @Test
+    void spillAllocationsExceedingMaxMemory()
+    {
+        final MemoryAllocationTracker tracker = mock( MemoryAllocationTracker.class );
+        final OffHeapBlockAllocator allocator = mock( OffHeapBlockAllocator.class );
+        when( allocator.allocate( anyLong(), any( MemoryAllocationTracker.class ) ) ).then( invocation ->
+        {
+            final long size = invocation.<Long>getArgument( 0 );
+            return new MemoryBlock( 0, size, 0, size );
+        } );
+        final File spillDirectory = testDirectory.directory( "spill" );
+        final SpillingBlockAllocatorDecorator decorator = new SpillingBlockAllocatorDecorator( allocator, 1024, spillDirectory );
+
+        final List<MemoryBlock> blocks = new ArrayList<>();
+        for ( int i = 0; i < 8; i++ )
+        {
+            blocks.add( decorator.allocate( 128, tracker ) );
+        }
+        assertEquals( 0, decorator.spilledMemory() );
+
+        final MemoryBlock spilled = decorator.allocate( 256, tracker );
+        assertEquals( 256, decorator.spilledMemory() );
+        verify( allocator, times( 8 ) ).allocate( anyLong(), any( MemoryAllocationTracker.class ) );
+        assertArrayEquals( new File[0], spillDirectory.listFiles() );
+
+        decorator.free( spilled, tracker );
+        assertEquals( 0, decorator.spilledMemory() );
+
+        decorator.free( blocks.remove( 0 ), tracker );
+        decorator.allocate( 128, tracker );
+        assertEquals( 0, decorator.spilledMemory() );
+        verify( allocator, times( 9 ) ).allocate( anyLong(), any( MemoryAllocationTracker.class ) );
+    }
+
+    @Test
+    void spilledBlocksShareSegmentsAndReuseFreedRegions()
+    {
+        final MemoryAllocationTracker tracker = mock( MemoryAllocationTracker.class );
+        final OffHeapBlockAllocator allocator = mock( OffHeapBlockAllocator.class );
+        final File spillDirectory = testDirectory.directory( "spill" );
+        final SpillingBlockAllocatorDecorator decorator = new SpillingBlockAllocatorDecorator( allocator, 1, spillDirectory, 1024 );
+
+        final MemoryBlock first = decorator.allocate( 100, tracker );
+        final MemoryBlock second = decorator.allocate( 200, tracker );
+        final MemoryBlock third = decorator.allocate( 300, tracker );
+        assertEquals( first.addr + 104, second.addr );
+        assertEquals( second.addr + 200, third.addr );
+        assertEquals( 600, decorator.spilledMemory() );
+
+        decorator.free( first, tracker );
+        decorator.free( second, tracker );
+        final MemoryBlock coalesced = decorator.allocate( 304, tracker );
+        assertEquals( first.addr, coalesced.addr );
+
+        final MemoryBlock large = decorator.allocate( 2048, tracker );
+        assertEquals( 2048, large.unalignedSize );
+        assertEquals( 2652, decorator.spilledMemory() );
+        verify( allocator, never() ).allocate( anyLong(), any( MemoryAllocationTracker.class ) );
+        assertArrayEquals( new File[0], spillDirectory.listFiles() );
+
+        decorator.release();
+    }
+}
@@ -124,6 +124,17 @@ public class StubStorageCursors implements StorageReader
     {
     }
 
+    @Override
+    public void openSnapshot()
+    {
+        throw new UnsupportedOperationException( "Not implemented yet" );
+    }
+
+    @Override
+    public void closeSnapshot()
+    {
+    }
+
     public TokenHolder propertyKeyTokenHolder()
     {
         return propertyKeyTokenHolder;
@@ -336,7 +347,7 @@ public class StubStorageCursors implements StorageReader
     @Override
     public long nodesGetCount()
     {
-        throw new UnsupportedOperationException( "Not implemented yet" );
+        return nodeData.size();
     }
 
     @Override
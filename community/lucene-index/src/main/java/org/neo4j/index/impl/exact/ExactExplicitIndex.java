@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+import org.neo4j.index.impl.exact.ExactIndexTransactionState.IndexChanges;
+import org.neo4j.index.lucene.ValueContext;
+import org.neo4j.kernel.api.ExplicitIndex;
+import org.neo4j.kernel.api.ExplicitIndexHits;
+import org.neo4j.kernel.impl.api.ExplicitIndexValueValidator;
+import org.neo4j.kernel.impl.index.IndexEntityType;
+import org.neo4j.kernel.impl.util.IoPrimitiveUtils;
+import org.neo4j.kernel.spi.explicitindex.IndexCommandFactory;
+
+import static org.neo4j.collection.PrimitiveLongResourceCollections.emptyIterator;
+import static org.neo4j.index.impl.exact.ExactIndexValue.NO_NODE;
+
+/**
+ * {@link ExplicitIndex} backed by {@link ExactIndexData}, which only supports exact lookups of key and value.
+ * Changes made in the transaction are kept in {@link ExactIndexTransactionState} and are always included in
+ * lookups, since doing so is cheap for exact lookups.
+ */
+abstract class ExactExplicitIndex implements ExplicitIndex
+{
+    protected final ExactIndexDataSource dataSource;
+    protected final IndexEntityType entityType;
+    protected final String indexName;
+    protected final ExactIndexTransactionState transaction;
+    protected final IndexCommandFactory commandFactory;
+
+    ExactExplicitIndex( ExactIndexDataSource dataSource, IndexEntityType entityType, String indexName,
+            ExactIndexTransactionState transaction, IndexCommandFactory commandFactory )
+    {
+        this.dataSource = dataSource;
+        this.entityType = entityType;
+        this.indexName = indexName;
+        this.transaction = transaction;
+        this.commandFactory = commandFactory;
+    }
+
+    @Override
+    public void addNode( long entityId, String key, Object value )
+    {
+        assertValidKey( key );
+        assertValidValue( value );
+        for ( Object oneValue : IoPrimitiveUtils.asArray( value ) )
+        {
+            oneValue = getCorrectValue( oneValue );
+            dataSource.assertValidSize( key, oneValue );
+            changes().add( entityId, key, oneValue, NO_NODE, NO_NODE );
+            commandFactory.addNode( indexName, entityId, key, oneValue );
+        }
+    }
+
+    @Override
+    public void remove( long entityId, String key, Object value )
+    {
+        assertValidKey( key );
+        for ( Object oneValue : IoPrimitiveUtils.asArray( value ) )
+        {
+            oneValue = getCorrectValue( oneValue );
+            changes().remove( entityId, key, oneValue );
+            addRemoveCommand( entityId, key, oneValue );
+        }
+    }
+
+    @Override
+    public void remove( long entityId, String key )
+    {
+        assertValidKey( key );
+        changes().remove( entityId, key );
+        addRemoveCommand( entityId, key, null );
+    }
+
+    @Override
+    public void remove( long entityId )
+    {
+        changes().remove( entityId );
+        addRemoveCommand( entityId, null, null );
+    }
+
+    @Override
+    public void drop()
+    {
+        changes().delete();
+    }
+
+    @Override
+    public ExplicitIndexHits get( String key, Object value )
+    {
+        return lookup( key, value, NO_NODE, NO_NODE );
+    }
+
+    @Override
+    public ExplicitIndexHits query( String key, Object queryOrQueryObject )
+    {
+        throw unsupportedQuery();
+    }
+
+    @Override
+    public ExplicitIndexHits query( Object queryOrQueryObject )
+    {
+        throw unsupportedQuery();
+    }
+
+    /**
+     * Committed entries are read lazily from the trees as the hits are iterated, additions made in this transaction
+     * follow after them.
+     */
+    protected ExplicitIndexHits lookup( String keyOrNull, Object valueOrNull, long startNode, long endNode )
+    {
+        IndexChanges changes = changes();
+        ExactIndexData index = dataSource.getIndex( entityType, indexName );
+        if ( keyOrNull != null && valueOrNull != null )
+        {
+            Object value = ExactIndexKey.normalize( toIndexValue( valueOrNull ) );
+            MutableLongList added = new LongArrayList();
+            changes.added( keyOrNull, value, startNode, endNode, added );
+            return new ExactIndexHits( () -> index != null ? index.seek( keyOrNull, value, startNode, endNode, changes )
+                                                           : emptyIterator(), added );
+        }
+        // Committed entries of entities which this transaction also added an entry for are left out, so that each
+        // entity is reported once
+        MutableLongSet added = new LongHashSet();
+        changes.allAdded( startNode, endNode, added );
+        ExactIndexData.EntryFilter excluded =
+                ( entityId, key, value ) -> added.contains( entityId ) || changes.excludes( entityId, key, value );
+        return new ExactIndexHits( () -> index != null ? index.seekAll( startNode, endNode, excluded ) : emptyIterator(), added );
+    }
+
+    protected IndexChanges changes()
+    {
+        return transaction.changes( entityType, indexName );
+    }
+
+    protected Object getCorrectValue( Object value )
+    {
+        assertValidValue( value );
+        Object result = toIndexValue( value );
+        assertValidValue( result );
+        return ExactIndexKey.normalize( result );
+    }
+
+    private static Object toIndexValue( Object value )
+    {
+        return value instanceof ValueContext ? ((ValueContext) value).getCorrectValue() : value.toString();
+    }
+
+    protected static void assertValidKey( String key )
+    {
+        if ( key == null )
+        {
+            throw new IllegalArgumentException( "Key " + key + " forbidden" );
+        }
+    }
+
+    protected static void assertValidValue( Object value )
+    {
+        ExplicitIndexValueValidator.INSTANCE.validate( value );
+    }
+
+    protected static UnsupportedOperationException unsupportedQuery()
+    {
+        return new UnsupportedOperationException( "Indexes from the '" + ExactIndexImplementation.SERVICE_NAME +
+                "' provider only support exact lookups using get, use the 'lucene' provider for queries" );
+    }
+
+    protected abstract void addRemoveCommand( long entity, String key, Object value );
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "[" + indexName + "]";
+    }
+
+    static class NodeExactIndex extends ExactExplicitIndex
+    {
+        NodeExactIndex( ExactIndexDataSource dataSource, String indexName, ExactIndexTransactionState transaction,
+                IndexCommandFactory commandFactory )
+        {
+            super( dataSource, IndexEntityType.Node, indexName, transaction, commandFactory );
+        }
+
+        @Override
+        public ExplicitIndexHits get( String key, Object value, long startNode, long endNode )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ExplicitIndexHits query( String key, Object queryOrQueryObject, long startNode, long endNode )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ExplicitIndexHits query( Object queryOrQueryObject, long startNode, long endNode )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void addRelationship( long entity, String key, Object value, long startNode, long endNode )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeRelationship( long entity, String key, Object value, long startNode, long endNode )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeRelationship( long entity, String key, long startNode, long endNode )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void removeRelationship( long entity, long startNode, long endNode )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void addRemoveCommand( long entity, String key, Object value )
+        {
+            commandFactory.removeNode( indexName, entity, key, value );
+        }
+    }
+
+    static class RelationshipExactIndex extends ExactExplicitIndex
+    {
+        RelationshipExactIndex( ExactIndexDataSource dataSource, String indexName,
+                ExactIndexTransactionState transaction, IndexCommandFactory commandFactory )
+        {
+            super( dataSource, IndexEntityType.Relationship, indexName, transaction, commandFactory );
+        }
+
+        @Override
+        public void addRelationship( long entityId, String key, Object value, long startNode, long endNode )
+        {
+            assertValidKey( key );
+            assertValidValue( value );
+            for ( Object oneValue : IoPrimitiveUtils.asArray( value ) )
+            {
+                oneValue = getCorrectValue( oneValue );
+                dataSource.assertValidSize( key, oneValue );
+                changes().add( entityId, key, oneValue, startNode, endNode );
+                commandFactory.addRelationship( indexName, entityId, key, oneValue, startNode, endNode );
+            }
+        }
+
+        @Override
+        public ExplicitIndexHits get( String key, Object valueOrNull, long startNode, long endNode )
+        {
+            return lookup( key, valueOrNull, startNode, endNode );
+        }
+
+        /**
+         * Only supports specifying start and/or end node, i.e. a {@code null} query.
+         */
+        @Override
+        public ExplicitIndexHits query( String key, Object queryOrQueryObjectOrNull, long startNode, long endNode )
+        {
+            if ( queryOrQueryObjectOrNull != null )
+            {
+                throw unsupportedQuery();
+            }
+            return lookup( null, null, startNode, endNode );
+        }
+
+        @Override
+        public ExplicitIndexHits query( Object queryOrQueryObjectOrNull, long startNode, long endNode )
+        {
+            return query( null, queryOrQueryObjectOrNull, startNode, endNode );
+        }
+
+        @Override
+        public void removeRelationship( long entityId, String key, Object value, long startNode, long endNode )
+        {
+            remove( entityId, key, value );
+        }
+
+        @Override
+        public void removeRelationship( long entityId, String key, long startNode, long endNode )
+        {
+            remove( entityId, key );
+        }
+
+        @Override
+        public void removeRelationship( long entityId, long startNode, long endNode )
+        {
+            remove( entityId );
+        }
+
+        @Override
+        protected void addRemoveCommand( long entity, String key, Object value )
+        {
+            commandFactory.removeRelationship( indexName, entity, key, value );
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.neo4j.kernel.api.ExplicitIndex;
+import org.neo4j.kernel.spi.explicitindex.ExplicitIndexProviderTransaction;
+import org.neo4j.kernel.spi.explicitindex.IndexCommandFactory;
+
+public class ExactExplicitIndexTransaction implements ExplicitIndexProviderTransaction
+{
+    private final ExactIndexDataSource dataSource;
+    private final Map<String,ExactExplicitIndex> nodeIndexes = new HashMap<>();
+    private final Map<String,ExactExplicitIndex> relationshipIndexes = new HashMap<>();
+    private final ExactIndexTransactionState transactionState;
+    private final IndexCommandFactory commandFactory;
+
+    public ExactExplicitIndexTransaction( ExactIndexDataSource dataSource, IndexCommandFactory commandFactory )
+    {
+        this.dataSource = dataSource;
+        this.commandFactory = commandFactory;
+        this.transactionState = new ExactIndexTransactionState();
+    }
+
+    @Override
+    public ExplicitIndex nodeIndex( String indexName, Map<String,String> configuration )
+    {
+        return nodeIndexes.computeIfAbsent( indexName,
+                name -> new ExactExplicitIndex.NodeExactIndex( dataSource, name, transactionState, commandFactory ) );
+    }
+
+    @Override
+    public ExplicitIndex relationshipIndex( String indexName, Map<String,String> configuration )
+    {
+        return relationshipIndexes.computeIfAbsent( indexName,
+                name -> new ExactExplicitIndex.RelationshipExactIndex( dataSource, name, transactionState, commandFactory ) );
+    }
+
+    @Override
+    public void close()
+    {
+        transactionState.close();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.index.IndexCommand;
+import org.neo4j.kernel.impl.index.IndexCommand.AddNodeCommand;
+import org.neo4j.kernel.impl.index.IndexCommand.AddRelationshipCommand;
+import org.neo4j.kernel.impl.index.IndexCommand.CreateCommand;
+import org.neo4j.kernel.impl.index.IndexCommand.DeleteCommand;
+import org.neo4j.kernel.impl.index.IndexCommand.RemoveCommand;
+import org.neo4j.kernel.impl.index.IndexDefineCommand;
+import org.neo4j.kernel.impl.index.IndexEntityType;
+
+import static org.neo4j.index.impl.exact.ExactIndexValue.NO_NODE;
+
+/**
+ * Applies changes from {@link IndexCommand commands} onto exact explicit indexes. Changes are collected per index
+ * and applied, in order, when this applier is closed, one index at a time. Only the updated index is kept from being
+ * dropped meanwhile, lookups are not blocked. All changes are idempotent, so commands can safely be applied again
+ * during recovery.
+ */
+public class ExactIndexCommandApplier extends TransactionApplier.Adapter
+{
+    private final ExactIndexDataSource dataSource;
+    private final boolean recovery;
+    private final Map<IndexEntityType,Map<String,List<Change>>> changes = new EnumMap<>( IndexEntityType.class );
+    private IndexDefineCommand definitions;
+
+    public ExactIndexCommandApplier( ExactIndexDataSource dataSource, boolean recovery )
+    {
+        this.dataSource = dataSource;
+        this.recovery = recovery;
+    }
+
+    @Override
+    public boolean visitIndexAddNodeCommand( AddNodeCommand command )
+    {
+        return visitIndexAddCommand( command, NO_NODE, NO_NODE );
+    }
+
+    @Override
+    public boolean visitIndexAddRelationshipCommand( AddRelationshipCommand command )
+    {
+        return visitIndexAddCommand( command, command.getStartNode(), command.getEndNode() );
+    }
+
+    private boolean visitIndexAddCommand( IndexCommand command, long startNode, long endNode )
+    {
+        long entityId = command.getEntityId();
+        String key = definitions.getKey( command.getKeyId() );
+        Object value = command.getValue();
+        // Null values have never been accepted by the index, but are ignored here the same way as for lucene indexes
+        if ( value != null )
+        {
+            Object normalizedValue = ExactIndexKey.normalize( value );
+            changes( command ).add( updater -> updater.add( entityId, key, normalizedValue, startNode, endNode ) );
+        }
+        return false;
+    }
+
+    @Override
+    public boolean visitIndexRemoveCommand( RemoveCommand command )
+    {
+        long entityId = command.getEntityId();
+        String key = definitions.getKey( command.getKeyId() );
+        Object value = command.getValue();
+        if ( key != null && value != null )
+        {
+            Object normalizedValue = ExactIndexKey.normalize( value );
+            changes( command ).add( updater -> updater.remove( entityId, key, normalizedValue ) );
+        }
+        else
+        {
+            changes( command ).add( updater -> updater.remove( entityId, key ) );
+        }
+        return false;
+    }
+
+    @Override
+    public boolean visitIndexDeleteCommand( DeleteCommand command ) throws IOException
+    {
+        // Deleted right away, rather than on close, so that the index can be created again by a later
+        // transaction in the same batch
+        changes( command ).clear();
+        dataSource.deleteIndex( IndexEntityType.byId( command.getEntityType() ),
+                definitions.getIndexName( command.getIndexNameId() ), recovery );
+        return false;
+    }
+
+    @Override
+    public boolean visitIndexCreateCommand( CreateCommand createCommand )
+    {
+        return false;
+    }
+
+    @Override
+    public boolean visitIndexDefineCommand( IndexDefineCommand indexDefineCommand )
+    {
+        definitions = indexDefineCommand;
+        return false;
+    }
+
+    @Override
+    public void close()
+    {
+        if ( definitions == null )
+        {
+            return;
+        }
+        try
+        {
+            for ( Map.Entry<IndexEntityType,Map<String,List<Change>>> changesOfType : changes.entrySet() )
+            {
+                for ( Map.Entry<String,List<Change>> changesOfIndex : changesOfType.getValue().entrySet() )
+                {
+                    apply( changesOfType.getKey(), changesOfIndex.getKey(), changesOfIndex.getValue() );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new RuntimeException( "Failure to commit changes to exact index", e );
+        }
+        finally
+        {
+            changes.clear();
+        }
+    }
+
+    private void apply( IndexEntityType entityType, String indexName, List<Change> changesOfIndex ) throws IOException
+    {
+        if ( changesOfIndex.isEmpty() )
+        {
+            return;
+        }
+        try ( ExactIndexData.Updater updater = dataSource.newUpdater( entityType, indexName ) )
+        {
+            for ( Change change : changesOfIndex )
+            {
+                change.apply( updater );
+            }
+        }
+    }
+
+    private List<Change> changes( IndexCommand command )
+    {
+        IndexEntityType entityType = IndexEntityType.byId( command.getEntityType() );
+        String indexName = definitions.getIndexName( command.getIndexNameId() );
+        return changes.computeIfAbsent( entityType, type -> new LinkedHashMap<>() )
+                .computeIfAbsent( indexName, name -> new ArrayList<>() );
+    }
+
+    @FunctionalInterface
+    private interface Change
+    {
+        void apply( ExactIndexData.Updater updater ) throws IOException;
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.neo4j.collection.PrimitiveLongCollections.PrimitiveLongBaseIterator;
+import org.neo4j.collection.PrimitiveLongResourceIterator;
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+
+import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_READER;
+import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_WRITER;
+import static org.neo4j.index.internal.gbptree.GBPTree.NO_MONITOR;
+
+/**
+ * The committed data of one exact explicit index, kept in two {@link GBPTree trees}:
+ * <ul>
+ * <li>a forward tree, ordered by key, value and entity, which answers exact lookups with a single range seek.</li>
+ * <li>a reverse tree, ordered by entity, key and value, which finds all entries of an entity, or of an entity
+ * and key, which is needed when removing without specifying a value.</li>
+ * </ul>
+ * Trees are opened lazily, possibly long after recovery has completed, which is why recovery cleanup of
+ * crash pointers is done {@link RecoveryCleanupWorkCollector#immediate() immediately} when opening.
+ */
+class ExactIndexData implements Closeable
+{
+    static final String FORWARD_TREE_FILE = "forward";
+    static final String REVERSE_TREE_FILE = "reverse";
+
+    private final File directory;
+    private final GBPTree<ExactIndexKey,ExactIndexValue> forwardTree;
+    private final GBPTree<ExactIndexKey,ExactIndexValue> reverseTree;
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    ExactIndexData( PageCache pageCache, File directory, boolean readOnly )
+    {
+        this.directory = directory;
+        this.forwardTree = openTree( pageCache, new File( directory, FORWARD_TREE_FILE ), false, readOnly );
+        try
+        {
+            this.reverseTree = openTree( pageCache, new File( directory, REVERSE_TREE_FILE ), true, readOnly );
+        }
+        catch ( RuntimeException e )
+        {
+            IOUtils.closeAllSilently( forwardTree );
+            throw e;
+        }
+    }
+
+    private static GBPTree<ExactIndexKey,ExactIndexValue> openTree( PageCache pageCache, File file, boolean entityFirst,
+            boolean readOnly )
+    {
+        return new GBPTree<>( pageCache, file, new ExactIndexLayout( entityFirst ), 0, NO_MONITOR, NO_HEADER_READER,
+                NO_HEADER_WRITER, RecoveryCleanupWorkCollector.immediate(), readOnly );
+    }
+
+    File directory()
+    {
+        return directory;
+    }
+
+    /**
+     * Lazily finds all entities indexed with the given key and value. The returned iterator holds no lock between
+     * calls, it ends early if this index is closed, e.g. dropped, while it is in use.
+     *
+     * @param key key to look up.
+     * @param value value to look up.
+     * @param startNode only include relationships with this start node, or {@link ExactIndexValue#NO_NODE}.
+     * @param endNode only include relationships with this end node, or {@link ExactIndexValue#NO_NODE}.
+     * @param excluded entries to leave out, typically those removed or shadowed by transaction state.
+     * @return ids of the found entities, in entity id order.
+     */
+    PrimitiveLongResourceIterator seek( String key, Object value, long startNode, long endNode, EntryFilter excluded )
+    {
+        ExactIndexKey from = new ExactIndexKey();
+        from.initialize( Long.MIN_VALUE, key, value );
+        ExactIndexKey to = new ExactIndexKey();
+        to.copyFrom( from );
+        to.entityId = Long.MAX_VALUE;
+        return new EntityIdIterator( forwardTree, from, to, hit -> hit.value().matches( startNode, endNode ) &&
+                                                                   !excluded.excludes( hit.key().entityId, key, value ) );
+    }
+
+    /**
+     * Lazily finds all indexed entities, regardless of key and value, each entity only once. Only used for relationship
+     * lookups which specify nothing but start and/or end node.
+     */
+    PrimitiveLongResourceIterator seekAll( long startNode, long endNode, EntryFilter excluded )
+    {
+        ExactIndexKey from = new ExactIndexKey();
+        from.initializeAsLowest( Long.MIN_VALUE );
+        ExactIndexKey to = new ExactIndexKey();
+        to.initializeAsLowest( Long.MAX_VALUE );
+        return new EntityIdIterator( reverseTree, from, to, hit ->
+        {
+            ExactIndexKey entry = hit.key();
+            return hit.value().matches( startNode, endNode ) && !excluded.excludes( entry.entityId, entry.key(), entry.value() );
+        } );
+    }
+
+    /**
+     * The returned updater keeps this index from being closed until the updater is closed.
+     */
+    Updater newUpdater() throws IOException
+    {
+        lifecycleLock.readLock().lock();
+        try
+        {
+            assertOpen();
+            Writer<ExactIndexKey,ExactIndexValue> forwardWriter = forwardTree.writer();
+            try
+            {
+                return new Updater( forwardWriter, reverseTree.writer() );
+            }
+            catch ( IOException | RuntimeException e )
+            {
+                IOUtils.closeAllSilently( forwardWriter );
+                throw e;
+            }
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            lifecycleLock.readLock().unlock();
+            throw e;
+        }
+    }
+
+    void checkpoint() throws IOException
+    {
+        lifecycleLock.readLock().lock();
+        try
+        {
+            if ( !closed )
+            {
+                forwardTree.checkpoint( IOLimiter.UNLIMITED );
+                reverseTree.checkpoint( IOLimiter.UNLIMITED );
+            }
+        }
+        finally
+        {
+            lifecycleLock.readLock().unlock();
+        }
+    }
+
+    private void assertOpen()
+    {
+        if ( closed )
+        {
+            throw new IllegalStateException( "Exact index " + directory + " has been closed" );
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        lifecycleLock.writeLock().lock();
+        try
+        {
+            if ( !closed )
+            {
+                closed = true;
+                IOUtils.closeAll( forwardTree, reverseTree );
+            }
+        }
+        finally
+        {
+            lifecycleLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Decides whether or not a committed entry should be left out of a lookup result.
+     */
+    @FunctionalInterface
+    interface EntryFilter
+    {
+        boolean excludes( long entityId, String key, Object value );
+    }
+
+    /**
+     * Entity ids of the tree entries within a range which are accepted by a filter, skipping consecutive
+     * entries of the same entity. The tree cursor is opened on first use and advanced under the read lock of
+     * the index, so that closing the index waits for the current step rather than for the whole iteration.
+     */
+    private class EntityIdIterator extends PrimitiveLongBaseIterator implements PrimitiveLongResourceIterator
+    {
+        private final GBPTree<ExactIndexKey,ExactIndexValue> tree;
+        private final ExactIndexKey from;
+        private final ExactIndexKey to;
+        private final Predicate<Hit<ExactIndexKey,ExactIndexValue>> filter;
+        private RawCursor<Hit<ExactIndexKey,ExactIndexValue>,IOException> cursor;
+        private long previousEntityId = -1;
+        private boolean exhausted;
+
+        EntityIdIterator( GBPTree<ExactIndexKey,ExactIndexValue> tree, ExactIndexKey from, ExactIndexKey to,
+                Predicate<Hit<ExactIndexKey,ExactIndexValue>> filter )
+        {
+            this.tree = tree;
+            this.from = from;
+            this.to = to;
+            this.filter = filter;
+        }
+
+        @Override
+        protected boolean fetchNext()
+        {
+            if ( exhausted )
+            {
+                return false;
+            }
+            lifecycleLock.readLock().lock();
+            try
+            {
+                if ( !closed )
+                {
+                    if ( cursor == null )
+                    {
+                        cursor = tree.seek( from, to );
+                    }
+                    while ( cursor.next() )
+                    {
+                        Hit<ExactIndexKey,ExactIndexValue> hit = cursor.get();
+                        long entityId = hit.key().entityId;
+                        if ( entityId != previousEntityId && filter.test( hit ) )
+                        {
+                            previousEntityId = entityId;
+                            return next( entityId );
+                        }
+                    }
+                }
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( "Unable to seek in exact index " + directory, e );
+            }
+            finally
+            {
+                lifecycleLock.readLock().unlock();
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public void close()
+        {
+            exhausted = true;
+            if ( cursor != null )
+            {
+                try
+                {
+                    cursor.close();
+                }
+                catch ( IOException e )
+                {
+                    throw new UncheckedIOException( e );
+                }
+                finally
+                {
+                    cursor = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies changes to both trees. Only one updater can be open per index at any given time, and it holds
+     * the read lock of the index while open.
+     */
+    class Updater implements Closeable
+    {
+        private final Writer<ExactIndexKey,ExactIndexValue> forwardWriter;
+        private final Writer<ExactIndexKey,ExactIndexValue> reverseWriter;
+        private final ExactIndexKey key = new ExactIndexKey();
+        private final ExactIndexValue value = new ExactIndexValue();
+
+        private Updater( Writer<ExactIndexKey,ExactIndexValue> forwardWriter, Writer<ExactIndexKey,ExactIndexValue> reverseWriter )
+        {
+            this.forwardWriter = forwardWriter;
+            this.reverseWriter = reverseWriter;
+        }
+
+        void add( long entityId, String key, Object value, long startNode, long endNode )
+        {
+            this.key.initialize( entityId, key, value );
+            this.value.initialize( startNode, endNode );
+            forwardWriter.put( this.key, this.value );
+            reverseWriter.put( this.key, this.value );
+        }
+
+        void remove( long entityId, String key, Object value )
+        {
+            this.key.initialize( entityId, key, value );
+            forwardWriter.remove( this.key );
+            reverseWriter.remove( this.key );
+        }
+
+        /**
+         * Removes all entries of the given entity, or only those with the given key if one is specified.
+         */
+        void remove( long entityId, String keyOrNull ) throws IOException
+        {
+            ExactIndexKey from = new ExactIndexKey();
+            if ( keyOrNull != null )
+            {
+                from.initializeAsLowest( entityId, keyOrNull );
+            }
+            else
+            {
+                from.initializeAsLowest( entityId );
+            }
+            ExactIndexKey to = new ExactIndexKey();
+            to.initializeAsLowest( entityId + 1 );
+
+            List<ExactIndexKey> entries = new ArrayList<>();
+            try ( RawCursor<Hit<ExactIndexKey,ExactIndexValue>,IOException> cursor = reverseTree.seek( from, to ) )
+            {
+                while ( cursor.next() )
+                {
+                    ExactIndexKey entry = cursor.get().key();
+                    if ( keyOrNull != null && !entry.hasSameKey( from ) )
+                    {
+                        break;
+                    }
+                    ExactIndexKey copy = new ExactIndexKey();
+                    copy.copyFrom( entry );
+                    entries.add( copy );
+                }
+            }
+            for ( ExactIndexKey entry : entries )
+            {
+                forwardWriter.remove( entry );
+                reverseWriter.remove( entry );
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                IOUtils.closeAll( forwardWriter, reverseWriter );
+            }
+            finally
+            {
+                lifecycleLock.readLock().unlock();
+            }
+        }
+    }
+}
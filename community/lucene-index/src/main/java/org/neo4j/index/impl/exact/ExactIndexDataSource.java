@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.helpers.collection.Iterators;
+import org.neo4j.index.internal.gbptree.TreeNodeDynamicSize;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.impl.index.IndexConfigStore;
+import org.neo4j.kernel.impl.index.IndexEntityType;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+
+import static java.lang.String.format;
+
+/**
+ * Keeps track of the {@link ExactIndexData} of all exact explicit indexes, opening them lazily on first use.
+ * Files are laid out as {@code exact-index/<entity type>/<index name>/{forward,reverse}}.
+ * <p>
+ * Only the lifecycle of indexes, i.e. opening, creating and dropping them, is synchronized here. Lookups and
+ * updates go to the trees of each index directly, which {@link ExactIndexData} keeps from being closed under them.
+ */
+public class ExactIndexDataSource extends LifecycleAdapter
+{
+    private static final String INDEX_DIRECTORY_NAME = "exact-index";
+
+    private final File storeDirectory;
+    private final PageCache pageCache;
+    private final FileSystemAbstraction fileSystem;
+    private final IndexConfigStore indexStore;
+    private final boolean readOnly;
+    private final int keyValueSizeCap;
+    private final Map<IndexEntityType,Map<String,ExactIndexData>> indexes = new EnumMap<>( IndexEntityType.class );
+    private boolean closed;
+
+    public ExactIndexDataSource( DatabaseLayout databaseLayout, PageCache pageCache, FileSystemAbstraction fileSystem,
+            IndexConfigStore indexStore, boolean readOnly )
+    {
+        this.storeDirectory = getExactIndexStoreDirectory( databaseLayout );
+        this.pageCache = pageCache;
+        this.fileSystem = fileSystem;
+        this.indexStore = indexStore;
+        this.readOnly = readOnly;
+        this.keyValueSizeCap = TreeNodeDynamicSize.keyValueSizeCapFromPageSize( pageCache.pageSize() );
+        for ( IndexEntityType entityType : IndexEntityType.values() )
+        {
+            indexes.put( entityType, new HashMap<>() );
+        }
+    }
+
+    public static File getExactIndexStoreDirectory( DatabaseLayout databaseLayout )
+    {
+        return databaseLayout.file( INDEX_DIRECTORY_NAME );
+    }
+
+    static File getIndexDirectory( File storeDirectory, IndexEntityType entityType, String indexName )
+    {
+        return new File( new File( storeDirectory, entityType.nameToLowerCase() ), indexName );
+    }
+
+    /**
+     * @return the index, or {@code null} if nothing has ever been committed to it.
+     */
+    synchronized ExactIndexData getIndex( IndexEntityType entityType, String indexName )
+    {
+        ExactIndexData index = indexes.get( entityType ).get( indexName );
+        if ( index == null )
+        {
+            File directory = getIndexDirectory( storeDirectory, entityType, indexName );
+            if ( !fileSystem.fileExists( new File( directory, ExactIndexData.FORWARD_TREE_FILE ) ) )
+            {
+                return null;
+            }
+            index = open( entityType, indexName, directory );
+        }
+        return index;
+    }
+
+    synchronized ExactIndexData getOrCreateIndex( IndexEntityType entityType, String indexName ) throws IOException
+    {
+        if ( readOnly )
+        {
+            throw new IllegalStateException( "Index modification in read only mode is not supported." );
+        }
+        ExactIndexData index = indexes.get( entityType ).get( indexName );
+        if ( index == null )
+        {
+            File directory = getIndexDirectory( storeDirectory, entityType, indexName );
+            fileSystem.mkdirs( directory );
+            index = open( entityType, indexName, directory );
+        }
+        return index;
+    }
+
+    /**
+     * Opens an updater for the index, creating it if needed. Holding on to the updater keeps the index from being
+     * dropped, so the updater must be closed before the index can be deleted from the same thread.
+     */
+    synchronized ExactIndexData.Updater newUpdater( IndexEntityType entityType, String indexName ) throws IOException
+    {
+        return getOrCreateIndex( entityType, indexName ).newUpdater();
+    }
+
+    private ExactIndexData open( IndexEntityType entityType, String indexName, File directory )
+    {
+        if ( closed )
+        {
+            throw new IllegalStateException( "Exact index data source has been shut down" );
+        }
+        ExactIndexData index = new ExactIndexData( pageCache, directory, readOnly );
+        indexes.get( entityType ).put( indexName, index );
+        return index;
+    }
+
+    /**
+     * Closes and deletes the index. Closing waits for updaters and for lookups in the middle of a step to finish,
+     * and the files are deleted before the index can be created again.
+     */
+    synchronized void deleteIndex( IndexEntityType entityType, String indexName, boolean recovery ) throws IOException
+    {
+        if ( readOnly )
+        {
+            throw new IllegalStateException( "Index deletion in read only mode is not supported." );
+        }
+        ExactIndexData index = indexes.get( entityType ).remove( indexName );
+        if ( index != null )
+        {
+            index.close();
+        }
+        fileSystem.deleteRecursively( getIndexDirectory( storeDirectory, entityType, indexName ) );
+        boolean removeFromIndexStore = !recovery || indexStore.has( entityType.entityClass(), indexName );
+        if ( removeFromIndexStore )
+        {
+            indexStore.remove( entityType.entityClass(), indexName );
+        }
+    }
+
+    /**
+     * Verifies up front that the given key and value fit in the trees, so that the transaction fails
+     * instead of the later application of its commands.
+     */
+    void assertValidSize( String key, Object value )
+    {
+        ExactIndexKey indexKey = new ExactIndexKey();
+        indexKey.initialize( 0, key, value );
+        int size = indexKey.size() + ExactIndexValue.SIZE;
+        if ( size > keyValueSizeCap )
+        {
+            throw new IllegalArgumentException( format(
+                    "Key and value size:%d for key '%s' is too large for an exact index, the maximum is %d. " +
+                    "Please see index documentation for limitations.", size, key, keyValueSizeCap ) );
+        }
+    }
+
+    void force()
+    {
+        if ( readOnly )
+        {
+            return;
+        }
+        for ( ExactIndexData index : getAllIndexes() )
+        {
+            try
+            {
+                index.checkpoint();
+            }
+            catch ( IOException e )
+            {
+                throw new RuntimeException( "Unable to checkpoint " + index.directory(), e );
+            }
+        }
+    }
+
+    ResourceIterator<File> listStoreFiles()
+    {
+        List<File> files = new ArrayList<>();
+        for ( IndexEntityType entityType : IndexEntityType.values() )
+        {
+            File[] indexDirectories = fileSystem.listFiles( new File( storeDirectory, entityType.nameToLowerCase() ) );
+            if ( indexDirectories == null )
+            {
+                continue;
+            }
+            for ( File indexDirectory : indexDirectories )
+            {
+                for ( String fileName : new String[]{ExactIndexData.FORWARD_TREE_FILE, ExactIndexData.REVERSE_TREE_FILE} )
+                {
+                    File file = new File( indexDirectory, fileName );
+                    if ( fileSystem.fileExists( file ) )
+                    {
+                        files.add( file );
+                    }
+                }
+            }
+        }
+        return Iterators.asResourceIterator( files.iterator() );
+    }
+
+    private synchronized List<ExactIndexData> getAllIndexes()
+    {
+        List<ExactIndexData> all = new ArrayList<>();
+        for ( Map<String,ExactIndexData> indexesOfType : indexes.values() )
+        {
+            all.addAll( indexesOfType.values() );
+        }
+        return all;
+    }
+
+    @Override
+    public void shutdown() throws IOException
+    {
+        List<ExactIndexData> all;
+        synchronized ( this )
+        {
+            if ( closed )
+            {
+                return;
+            }
+            closed = true;
+            all = getAllIndexes();
+            for ( Map<String,ExactIndexData> indexesOfType : indexes.values() )
+            {
+                indexesOfType.clear();
+            }
+        }
+        IOUtils.closeAll( all );
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import org.eclipse.collections.api.LongIterable;
+import org.eclipse.collections.api.iterator.LongIterator;
+
+import java.util.function.Supplier;
+
+import org.neo4j.collection.PrimitiveLongResourceIterator;
+import org.neo4j.index.impl.lucene.explicit.AbstractExplicitIndexHits;
+
+/**
+ * Hits of an exact lookup, committed entries first and then additions made in the transaction. Committed entries
+ * are read lazily, and only counted, with a separate seek, if {@link #size()} is asked for. All hits match equally
+ * well, so they all get the same score.
+ */
+class ExactIndexHits extends AbstractExplicitIndexHits
+{
+    private static final float SCORE = 1.0f;
+
+    private final Supplier<PrimitiveLongResourceIterator> committed;
+    private final LongIterable added;
+    private PrimitiveLongResourceIterator committedIds;
+    private LongIterator addedIds;
+    private int size = -1;
+
+    ExactIndexHits( Supplier<PrimitiveLongResourceIterator> committed, LongIterable added )
+    {
+        this.committed = committed;
+        this.added = added;
+    }
+
+    @Override
+    public int size()
+    {
+        if ( size == -1 )
+        {
+            int count = added.size();
+            try ( PrimitiveLongResourceIterator ids = committed.get() )
+            {
+                while ( ids.hasNext() )
+                {
+                    ids.next();
+                    count++;
+                }
+            }
+            size = count;
+        }
+        return size;
+    }
+
+    @Override
+    public float currentScore()
+    {
+        return SCORE;
+    }
+
+    @Override
+    protected boolean fetchNext()
+    {
+        if ( addedIds == null )
+        {
+            if ( committedIds == null )
+            {
+                committedIds = committed.get();
+            }
+            if ( committedIds.hasNext() )
+            {
+                return next( committedIds.next() );
+            }
+            close();
+            addedIds = added.longIterator();
+        }
+        return addedIds.hasNext() && next( addedIds.next() );
+    }
+
+    @Override
+    public void close()
+    {
+        if ( committedIds != null )
+        {
+            committedIds.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.graphdb.index.IndexManager;
+import org.neo4j.helpers.collection.MapUtil;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.index.IndexConfigStore;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.kernel.spi.explicitindex.ExplicitIndexProviderTransaction;
+import org.neo4j.kernel.spi.explicitindex.IndexCommandFactory;
+import org.neo4j.kernel.spi.explicitindex.IndexImplementation;
+
+/**
+ * Explicit index provider for indexes of type {@code exact}, keeping each index in {@link ExactIndexData native trees}
+ * instead of lucene. Lookups are a single seek in the page cache, but only exact lookups using {@code get} are
+ * supported. Existing lucene indexes can be moved over using {@link LuceneExactIndexMigrator}.
+ */
+public class ExactIndexImplementation extends LifecycleAdapter implements IndexImplementation
+{
+    static final String KEY_TYPE = "type";
+    static final String TYPE_EXACT = "exact";
+    private static final String KEY_ANALYZER = "analyzer";
+    private static final String KEY_TO_LOWER_CASE = "to_lower_case";
+    private static final String KEY_SIMILARITY = "similarity";
+    public static final String SERVICE_NAME = "native-exact";
+
+    public static final Map<String, String> EXACT_CONFIG =
+            Collections.unmodifiableMap( MapUtil.stringMap(
+                    IndexManager.PROVIDER, SERVICE_NAME, KEY_TYPE, TYPE_EXACT ) );
+
+    private ExactIndexDataSource dataSource;
+    private final DatabaseLayout databaseLayout;
+    private final PageCache pageCache;
+    private final FileSystemAbstraction fileSystem;
+    private final Supplier<IndexConfigStore> indexStore;
+    private final boolean readOnly;
+
+    public ExactIndexImplementation( DatabaseLayout databaseLayout, PageCache pageCache, FileSystemAbstraction fileSystem,
+            Supplier<IndexConfigStore> indexStore, boolean readOnly )
+    {
+        this.databaseLayout = databaseLayout;
+        this.pageCache = pageCache;
+        this.fileSystem = fileSystem;
+        this.indexStore = indexStore;
+        this.readOnly = readOnly;
+    }
+
+    @Override
+    public void init()
+    {
+        this.dataSource = new ExactIndexDataSource( databaseLayout, pageCache, fileSystem, indexStore.get(), readOnly );
+    }
+
+    @Override
+    public void shutdown() throws Throwable
+    {
+        this.dataSource.shutdown();
+        this.dataSource = null;
+    }
+
+    @Override
+    public File getIndexImplementationDirectory( DatabaseLayout directoryLayout )
+    {
+        return ExactIndexDataSource.getExactIndexStoreDirectory( directoryLayout );
+    }
+
+    @Override
+    public ExplicitIndexProviderTransaction newTransaction( IndexCommandFactory commandFactory )
+    {
+        return new ExactExplicitIndexTransaction( dataSource, commandFactory );
+    }
+
+    @Override
+    public Map<String, String> fillInDefaults( Map<String, String> source )
+    {
+        Map<String, String> result = source != null ? new HashMap<>( source ) : new HashMap<>();
+        String type = result.computeIfAbsent( KEY_TYPE, k -> TYPE_EXACT );
+        if ( !TYPE_EXACT.equals( type ) )
+        {
+            throw new IllegalArgumentException( "The '" + SERVICE_NAME + "' index provider only supports indexes of type '" +
+                    TYPE_EXACT + "', but was given '" + type + "'" );
+        }
+        if ( result.containsKey( KEY_ANALYZER ) || result.containsKey( KEY_SIMILARITY ) ||
+             Boolean.parseBoolean( result.get( KEY_TO_LOWER_CASE ) ) )
+        {
+            throw new IllegalArgumentException( "The '" + SERVICE_NAME + "' index provider does not support '" +
+                    KEY_ANALYZER + "', '" + KEY_SIMILARITY + "' or '" + KEY_TO_LOWER_CASE + "', but was given " + result );
+        }
+        return result;
+    }
+
+    @Override
+    public boolean configMatches( Map<String, String> storedConfig, Map<String, String> config )
+    {
+        return Objects.equals( storedConfig.getOrDefault( KEY_TYPE, TYPE_EXACT ), config.getOrDefault( KEY_TYPE, TYPE_EXACT ) );
+    }
+
+    @Override
+    public TransactionApplier newApplier( boolean recovery )
+    {
+        return new ExactIndexCommandApplier( dataSource, recovery );
+    }
+
+    @Override
+    public ResourceIterator<File> listStoreFiles()
+    {
+        return dataSource.listStoreFiles();
+    }
+
+    @Override
+    public void force()
+    {
+        dataSource.force();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.factory.OperationalMode;
+import org.neo4j.kernel.impl.index.IndexConfigStore;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.kernel.spi.explicitindex.IndexProviders;
+
+public class ExactIndexKernelExtension extends LifecycleAdapter
+{
+    private final DatabaseLayout databaseLayout;
+    private final Config config;
+    private final PageCache pageCache;
+    private final Supplier<IndexConfigStore> indexStore;
+    private final FileSystemAbstraction fileSystemAbstraction;
+    private final IndexProviders indexProviders;
+    private final OperationalMode operationalMode;
+
+    public ExactIndexKernelExtension( File databaseDirectory, Config config, PageCache pageCache, Supplier<IndexConfigStore> indexStore,
+            FileSystemAbstraction fileSystemAbstraction, IndexProviders indexProviders, OperationalMode operationalMode )
+    {
+        this.databaseLayout = DatabaseLayout.of( databaseDirectory );
+        this.config = config;
+        this.pageCache = pageCache;
+        this.indexStore = indexStore;
+        this.fileSystemAbstraction = fileSystemAbstraction;
+        this.indexProviders = indexProviders;
+        this.operationalMode = operationalMode;
+    }
+
+    @Override
+    public void init()
+    {
+        boolean readOnly = config.get( GraphDatabaseSettings.read_only ) && OperationalMode.single == operationalMode;
+        ExactIndexImplementation indexImplementation =
+                new ExactIndexImplementation( databaseLayout, pageCache, fileSystemAbstraction, indexStore, readOnly );
+        indexProviders.registerIndexProvider( ExactIndexImplementation.SERVICE_NAME, indexImplementation );
+    }
+
+    @Override
+    public void shutdown()
+    {
+        indexProviders.unregisterIndexProvider( ExactIndexImplementation.SERVICE_NAME );
+    }
+}
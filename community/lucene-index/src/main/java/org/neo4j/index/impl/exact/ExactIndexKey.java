@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import java.util.Arrays;
+
+import org.neo4j.string.UTF8;
+
+import static java.lang.String.format;
+
+/**
+ * Key in the trees of an exact explicit index. Holds the entity id, the UTF-8 encoded key and a type-tagged
+ * encoding of the value. The order in which these parts are compared is decided by {@link ExactIndexLayout}.
+ */
+class ExactIndexKey
+{
+    static final int ENTITY_ID_SIZE = Long.BYTES;
+    static final int HEADER_SIZE = ENTITY_ID_SIZE + Short.BYTES;
+
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_DOUBLE = 2;
+    private static final byte[] NO_BYTES = new byte[0];
+
+    long entityId;
+    byte[] keyBytes = NO_BYTES;
+    int keyLength;
+    byte[] valueBytes = NO_BYTES;
+    int valueLength;
+
+    /**
+     * Values are kept in the form given to the index after {@code ValueContext} has been resolved, i.e. either
+     * a {@link String} or, for numeric values, a {@link Number}. Numbers are widened to {@link Long} or
+     * {@link Double} so that e.g. an {@link Integer} and a {@link Long} with the same value are considered equal.
+     *
+     * @param value the value to normalize.
+     * @return {@link String}, {@link Long} or {@link Double}.
+     */
+    static Object normalize( Object value )
+    {
+        if ( value instanceof Number )
+        {
+            return value instanceof Double || value instanceof Float
+                   ? (Object) ((Number) value).doubleValue()
+                   : (Object) ((Number) value).longValue();
+        }
+        return value.toString();
+    }
+
+    void initialize( long entityId, String key, Object value )
+    {
+        this.entityId = entityId;
+        setKey( key );
+        setValue( value );
+    }
+
+    /**
+     * Initializes this key to be the lowest possible key for the given entity, i.e. with empty key and value.
+     */
+    void initializeAsLowest( long entityId )
+    {
+        this.entityId = entityId;
+        keyLength = 0;
+        valueLength = 0;
+    }
+
+    /**
+     * Initializes this key to be the lowest possible key for the given entity and key, i.e. with empty value.
+     */
+    void initializeAsLowest( long entityId, String key )
+    {
+        this.entityId = entityId;
+        setKey( key );
+        valueLength = 0;
+    }
+
+    String key()
+    {
+        return UTF8.decode( keyBytes, 0, keyLength );
+    }
+
+    Object value()
+    {
+        switch ( valueBytes[0] )
+        {
+        case TYPE_LONG:
+            return decodeNumber();
+        case TYPE_DOUBLE:
+            return Double.longBitsToDouble( decodeNumber() );
+        default:
+            return UTF8.decode( valueBytes, 1, valueLength - 1 );
+        }
+    }
+
+    private void setKey( String key )
+    {
+        byte[] encoded = UTF8.encode( key );
+        if ( encoded.length > Short.MAX_VALUE )
+        {
+            throw new IllegalArgumentException( format( "Key of length %d is too long to be indexed", encoded.length ) );
+        }
+        keyBytes = encoded;
+        keyLength = encoded.length;
+    }
+
+    private void setValue( Object value )
+    {
+        Object normalized = normalize( value );
+        if ( normalized instanceof Long )
+        {
+            encodeNumber( TYPE_LONG, (Long) normalized );
+        }
+        else if ( normalized instanceof Double )
+        {
+            encodeNumber( TYPE_DOUBLE, Double.doubleToLongBits( (Double) normalized ) );
+        }
+        else
+        {
+            byte[] string = UTF8.encode( (String) normalized );
+            ensureValueCapacity( string.length + 1 );
+            valueBytes[0] = TYPE_STRING;
+            System.arraycopy( string, 0, valueBytes, 1, string.length );
+            valueLength = string.length + 1;
+        }
+    }
+
+    private void encodeNumber( byte type, long bits )
+    {
+        ensureValueCapacity( 1 + Long.BYTES );
+        valueBytes[0] = type;
+        for ( int i = 0; i < Long.BYTES; i++ )
+        {
+            valueBytes[1 + i] = (byte) (bits >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+        }
+        valueLength = 1 + Long.BYTES;
+    }
+
+    private long decodeNumber()
+    {
+        long bits = 0;
+        for ( int i = 0; i < Long.BYTES; i++ )
+        {
+            bits = (bits << Byte.SIZE) | (valueBytes[1 + i] & 0xFF);
+        }
+        return bits;
+    }
+
+    void ensureKeyCapacity( int length )
+    {
+        if ( keyBytes.length < length )
+        {
+            keyBytes = new byte[length];
+        }
+    }
+
+    void ensureValueCapacity( int length )
+    {
+        if ( valueBytes.length < length )
+        {
+            valueBytes = new byte[length];
+        }
+    }
+
+    int size()
+    {
+        return HEADER_SIZE + keyLength + valueLength;
+    }
+
+    void copyFrom( ExactIndexKey key )
+    {
+        entityId = key.entityId;
+        ensureKeyCapacity( key.keyLength );
+        System.arraycopy( key.keyBytes, 0, keyBytes, 0, key.keyLength );
+        keyLength = key.keyLength;
+        ensureValueCapacity( key.valueLength );
+        System.arraycopy( key.valueBytes, 0, valueBytes, 0, key.valueLength );
+        valueLength = key.valueLength;
+    }
+
+    boolean hasSameKey( ExactIndexKey other )
+    {
+        return compareBytes( keyBytes, keyLength, other.keyBytes, other.keyLength ) == 0;
+    }
+
+    int compareKeyAndValue( ExactIndexKey other )
+    {
+        int keyComparison = compareBytes( keyBytes, keyLength, other.keyBytes, other.keyLength );
+        return keyComparison != 0 ? keyComparison : compareBytes( valueBytes, valueLength, other.valueBytes, other.valueLength );
+    }
+
+    private static int compareBytes( byte[] left, int leftLength, byte[] right, int rightLength )
+    {
+        int length = Math.min( leftLength, rightLength );
+        for ( int i = 0; i < length; i++ )
+        {
+            int comparison = Integer.compare( left[i] & 0xFF, right[i] & 0xFF );
+            if ( comparison != 0 )
+            {
+                return comparison;
+            }
+        }
+        return Integer.compare( leftLength, rightLength );
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "[entity:%d,key:%s,value:%s]", entityId, UTF8.decode( keyBytes, 0, keyLength ),
+                Arrays.toString( Arrays.copyOf( valueBytes, valueLength ) ) );
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+import static java.lang.String.format;
+import static org.neo4j.index.impl.exact.ExactIndexKey.HEADER_SIZE;
+
+/**
+ * {@link Layout} for the trees of an exact explicit index. The same key format is used for both trees, only the
+ * order differs: the forward tree orders by key, value and then entity, to answer exact lookups with a range
+ * seek, whereas the reverse tree orders by entity first, to find everything indexed for an entity on removal.
+ */
+class ExactIndexLayout extends Layout.Adapter<ExactIndexKey,ExactIndexValue>
+{
+    private final boolean entityFirst;
+
+    ExactIndexLayout( boolean entityFirst )
+    {
+        this.entityFirst = entityFirst;
+    }
+
+    @Override
+    public int compare( ExactIndexKey o1, ExactIndexKey o2 )
+    {
+        if ( entityFirst )
+        {
+            int entityComparison = Long.compare( o1.entityId, o2.entityId );
+            return entityComparison != 0 ? entityComparison : o1.compareKeyAndValue( o2 );
+        }
+        int keyAndValueComparison = o1.compareKeyAndValue( o2 );
+        return keyAndValueComparison != 0 ? keyAndValueComparison : Long.compare( o1.entityId, o2.entityId );
+    }
+
+    @Override
+    public ExactIndexKey newKey()
+    {
+        return new ExactIndexKey();
+    }
+
+    @Override
+    public ExactIndexKey copyKey( ExactIndexKey key, ExactIndexKey into )
+    {
+        into.copyFrom( key );
+        return into;
+    }
+
+    @Override
+    public ExactIndexValue newValue()
+    {
+        return new ExactIndexValue();
+    }
+
+    @Override
+    public int keySize( ExactIndexKey key )
+    {
+        return key.size();
+    }
+
+    @Override
+    public int valueSize( ExactIndexValue value )
+    {
+        return ExactIndexValue.SIZE;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, ExactIndexKey key )
+    {
+        cursor.putLong( key.entityId );
+        cursor.putShort( (short) key.keyLength );
+        cursor.putBytes( key.keyBytes, 0, key.keyLength );
+        cursor.putBytes( key.valueBytes, 0, key.valueLength );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, ExactIndexValue value )
+    {
+        cursor.putLong( value.startNode );
+        cursor.putLong( value.endNode );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, ExactIndexKey into, int keySize )
+    {
+        if ( keySize < HEADER_SIZE )
+        {
+            into.initializeAsLowest( Long.MIN_VALUE );
+            cursor.setCursorException( format( "Reading exact index key with an unexpected keySize:%d", keySize ) );
+            return;
+        }
+        into.entityId = cursor.getLong();
+        int keyLength = cursor.getShort();
+        int valueLength = keySize - HEADER_SIZE - keyLength;
+        if ( keyLength < 0 || valueLength < 0 )
+        {
+            into.initializeAsLowest( Long.MIN_VALUE );
+            cursor.setCursorException( format( "Reading exact index key with an unexpected keyLength:%d, keySize:%d",
+                    keyLength, keySize ) );
+            return;
+        }
+        into.ensureKeyCapacity( keyLength );
+        cursor.getBytes( into.keyBytes, 0, keyLength );
+        into.keyLength = keyLength;
+        into.ensureValueCapacity( valueLength );
+        cursor.getBytes( into.valueBytes, 0, valueLength );
+        into.valueLength = valueLength;
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, ExactIndexValue into, int valueSize )
+    {
+        into.startNode = cursor.getLong();
+        into.endNode = cursor.getLong();
+    }
+
+    @Override
+    public boolean fixedSize()
+    {
+        return false;
+    }
+
+    @Override
+    public long identifier()
+    {
+        return Layout.namedIdentifier( entityFirst ? "EXIR" : "EXIF", ExactIndexValue.SIZE );
+    }
+
+    @Override
+    public int majorVersion()
+    {
+        return 0;
+    }
+
+    @Override
+    public int minorVersion()
+    {
+        return 1;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import org.eclipse.collections.api.collection.primitive.MutableLongCollection;
+import org.eclipse.collections.api.map.primitive.MutableLongLongMap;
+import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.factory.primitive.LongSets;
+import org.eclipse.collections.impl.map.mutable.primitive.LongLongHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.neo4j.kernel.impl.index.IndexEntityType;
+
+import static org.neo4j.index.impl.exact.ExactIndexValue.NO_NODE;
+
+/**
+ * Changes made to exact explicit indexes in a transaction. Lookups combine these changes with the committed
+ * data in {@link ExactIndexData}: committed entries are reported unless {@link IndexChanges#excludes(long, String, Object)
+ * excluded} and additions are reported on top of them.
+ */
+class ExactIndexTransactionState
+{
+    private final Map<IndexEntityType,Map<String,IndexChanges>> changes = new EnumMap<>( IndexEntityType.class );
+
+    IndexChanges changes( IndexEntityType entityType, String indexName )
+    {
+        return changes.computeIfAbsent( entityType, type -> new HashMap<>() )
+                .computeIfAbsent( indexName, name -> new IndexChanges( entityType, name ) );
+    }
+
+    void close()
+    {
+        changes.clear();
+    }
+
+    static class IndexChanges implements ExactIndexData.EntryFilter
+    {
+        private final IndexEntityType entityType;
+        private final String indexName;
+        private final Map<String,Map<Object,MutableLongSet>> added = new HashMap<>();
+        private final Map<String,Map<Object,MutableLongSet>> removed = new HashMap<>();
+        private final Map<String,MutableLongSet> removedKeys = new HashMap<>();
+        private final MutableLongSet removedEntities = new LongHashSet();
+        private final MutableLongLongMap startNodes = new LongLongHashMap();
+        private final MutableLongLongMap endNodes = new LongLongHashMap();
+        private boolean deleted;
+
+        IndexChanges( IndexEntityType entityType, String indexName )
+        {
+            this.entityType = entityType;
+            this.indexName = indexName;
+        }
+
+        void add( long entityId, String key, Object value, long startNode, long endNode )
+        {
+            assertNotDeleted();
+            ids( added, key, value ).add( entityId );
+            MutableLongSet removedIds = idsOrNull( removed, key, value );
+            if ( removedIds != null )
+            {
+                removedIds.remove( entityId );
+            }
+            if ( startNode != NO_NODE || endNode != NO_NODE )
+            {
+                startNodes.put( entityId, startNode );
+                endNodes.put( entityId, endNode );
+            }
+        }
+
+        void remove( long entityId, String key, Object value )
+        {
+            assertNotDeleted();
+            MutableLongSet addedIds = idsOrNull( added, key, value );
+            if ( addedIds != null )
+            {
+                addedIds.remove( entityId );
+            }
+            ids( removed, key, value ).add( entityId );
+        }
+
+        void remove( long entityId, String key )
+        {
+            assertNotDeleted();
+            Map<Object,MutableLongSet> addedForKey = added.get( key );
+            if ( addedForKey != null )
+            {
+                addedForKey.values().forEach( ids -> ids.remove( entityId ) );
+            }
+            removedKeys.computeIfAbsent( key, k -> new LongHashSet() ).add( entityId );
+        }
+
+        void remove( long entityId )
+        {
+            assertNotDeleted();
+            added.values().forEach( addedForKey -> addedForKey.values().forEach( ids -> ids.remove( entityId ) ) );
+            removedEntities.add( entityId );
+        }
+
+        void delete()
+        {
+            deleted = true;
+        }
+
+        /**
+         * A committed entry is excluded if this transaction removed it, or if this transaction added it again,
+         * in which case it is reported as an addition instead.
+         */
+        @Override
+        public boolean excludes( long entityId, String key, Object value )
+        {
+            assertNotDeleted();
+            if ( removedEntities.contains( entityId ) )
+            {
+                return true;
+            }
+            MutableLongSet removedForKey = removedKeys.get( key );
+            if ( removedForKey != null && removedForKey.contains( entityId ) )
+            {
+                return true;
+            }
+            MutableLongSet removedIds = idsOrNull( removed, key, value );
+            if ( removedIds != null && removedIds.contains( entityId ) )
+            {
+                return true;
+            }
+            MutableLongSet addedIds = idsOrNull( added, key, value );
+            return addedIds != null && addedIds.contains( entityId );
+        }
+
+        LongSet added( String key, Object value )
+        {
+            assertNotDeleted();
+            MutableLongSet addedIds = idsOrNull( added, key, value );
+            return addedIds != null ? addedIds : LongSets.immutable.empty();
+        }
+
+        /**
+         * Adds all entities added in this transaction which match the given start and end node.
+         */
+        void added( String key, Object value, long startNode, long endNode, MutableLongCollection into )
+        {
+            added( key, value ).each( entityId ->
+            {
+                if ( matches( entityId, startNode, endNode ) )
+                {
+                    into.add( entityId );
+                }
+            } );
+        }
+
+        void allAdded( long startNode, long endNode, MutableLongCollection into )
+        {
+            assertNotDeleted();
+            added.values().forEach( addedForKey -> addedForKey.values().forEach( ids -> ids.each( entityId ->
+            {
+                if ( matches( entityId, startNode, endNode ) )
+                {
+                    into.add( entityId );
+                }
+            } ) ) );
+        }
+
+        private boolean matches( long entityId, long startNode, long endNode )
+        {
+            return (startNode == NO_NODE || startNodes.getIfAbsent( entityId, NO_NODE ) == startNode) &&
+                   (endNode == NO_NODE || endNodes.getIfAbsent( entityId, NO_NODE ) == endNode);
+        }
+
+        private void assertNotDeleted()
+        {
+            if ( deleted )
+            {
+                throw new IllegalStateException( "This index (" + indexName + "," + entityType.nameToLowerCase() +
+                        ") has been marked as deleted in this transaction" );
+            }
+        }
+
+        private static MutableLongSet ids( Map<String,Map<Object,MutableLongSet>> map, String key, Object value )
+        {
+            return map.computeIfAbsent( key, k -> new HashMap<>() ).computeIfAbsent( value, v -> new LongHashSet() );
+        }
+
+        private static MutableLongSet idsOrNull( Map<String,Map<Object,MutableLongSet>> map, String key, Object value )
+        {
+            Map<Object,MutableLongSet> forKey = map.get( key );
+            return forKey != null ? forKey.get( value ) : null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+/**
+ * Value in the trees of an exact explicit index. For relationship indexes it holds the start and end node
+ * of the indexed relationship so that lookups which specify them can be answered without touching the store.
+ * Node indexes leave both as {@link #NO_NODE}.
+ */
+class ExactIndexValue
+{
+    static final int SIZE = Long.BYTES * 2;
+    static final long NO_NODE = -1;
+
+    long startNode = NO_NODE;
+    long endNode = NO_NODE;
+
+    void initialize( long startNode, long endNode )
+    {
+        this.startNode = startNode;
+        this.endNode = endNode;
+    }
+
+    boolean matches( long startNode, long endNode )
+    {
+        return (startNode == NO_NODE || this.startNode == startNode) && (endNode == NO_NODE || this.endNode == endNode);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[start:" + startNode + ",end:" + endNode + "]";
+    }
+}
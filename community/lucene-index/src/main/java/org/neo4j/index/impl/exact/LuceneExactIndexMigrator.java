@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.impl.exact;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+import org.neo4j.graphdb.index.IndexManager;
+import org.neo4j.index.impl.lucene.explicit.LuceneDataSource;
+import org.neo4j.index.impl.lucene.explicit.LuceneIndexImplementation;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.impl.index.IndexConfigStore;
+import org.neo4j.kernel.impl.index.IndexEntityType;
+
+import static org.neo4j.index.impl.exact.ExactIndexValue.NO_NODE;
+
+/**
+ * Moves explicit indexes of type {@code exact} from the {@link LuceneIndexImplementation lucene} provider over to the
+ * {@link ExactIndexImplementation native exact} provider. All stored documents of a lucene index are written into the
+ * trees of the native index, after which the index config is updated and the lucene files are deleted.
+ * <p>
+ * Lucene indexes with a custom analyzer, similarity or lower case conversion are left as they are, since their
+ * lookups are not exact. The database must not be running while migrating.
+ */
+public class LuceneExactIndexMigrator
+{
+    // Names of the internal fields of lucene explicit index documents
+    private static final String KEY_DOC_ID = "_id_";
+    private static final String KEY_START_NODE_ID = "_start_node_id_";
+    private static final String KEY_END_NODE_ID = "_end_node_id_";
+
+    private final DatabaseLayout databaseLayout;
+    private final FileSystemAbstraction fileSystem;
+    private final PageCache pageCache;
+    private final IndexConfigStore indexStore;
+
+    public LuceneExactIndexMigrator( DatabaseLayout databaseLayout, FileSystemAbstraction fileSystem, PageCache pageCache,
+            IndexConfigStore indexStore )
+    {
+        this.databaseLayout = databaseLayout;
+        this.fileSystem = fileSystem;
+        this.pageCache = pageCache;
+        this.indexStore = indexStore;
+    }
+
+    /**
+     * Migrates all lucene exact indexes.
+     *
+     * @return the number of migrated indexes.
+     * @throws IOException on error reading the lucene index or writing the native index.
+     */
+    public int migrate() throws IOException
+    {
+        int migrated = 0;
+        for ( IndexEntityType entityType : IndexEntityType.values() )
+        {
+            for ( String indexName : indexStore.getNames( entityType.entityClass() ) )
+            {
+                if ( isLuceneExactIndex( indexStore.get( entityType.entityClass(), indexName ) ) )
+                {
+                    migrate( entityType, indexName );
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    static boolean isLuceneExactIndex( Map<String,String> config )
+    {
+        return LuceneIndexImplementation.SERVICE_NAME.equals( config.get( IndexManager.PROVIDER ) ) &&
+               ExactIndexImplementation.TYPE_EXACT.equals( config.get( ExactIndexImplementation.KEY_TYPE ) ) &&
+               !config.containsKey( "analyzer" ) && !config.containsKey( "similarity" ) &&
+               !Boolean.parseBoolean( config.get( "to_lower_case" ) );
+    }
+
+    private void migrate( IndexEntityType entityType, String indexName ) throws IOException
+    {
+        File luceneDirectory = new File( new File( new File( LuceneDataSource.getLuceneIndexStoreDirectory( databaseLayout ),
+                LuceneIndexImplementation.SERVICE_NAME ), entityType.nameToLowerCase() ), indexName );
+        File exactDirectory = ExactIndexDataSource.getIndexDirectory(
+                ExactIndexDataSource.getExactIndexStoreDirectory( databaseLayout ), entityType, indexName );
+
+        // Anything left over from an earlier, failed, migration is not to be trusted
+        fileSystem.deleteRecursively( exactDirectory );
+        if ( fileSystem.fileExists( luceneDirectory ) )
+        {
+            fileSystem.mkdirs( exactDirectory );
+            try ( ExactIndexData index = new ExactIndexData( pageCache, exactDirectory, false ) )
+            {
+                try ( Directory directory = FSDirectory.open( luceneDirectory.toPath() );
+                      IndexReader reader = DirectoryReader.open( directory );
+                      ExactIndexData.Updater updater = index.newUpdater() )
+                {
+                    copyDocuments( reader, updater );
+                }
+                index.checkpoint();
+            }
+        }
+
+        indexStore.set( entityType.entityClass(), indexName, ExactIndexImplementation.EXACT_CONFIG );
+        fileSystem.deleteRecursively( luceneDirectory );
+    }
+
+    private static void copyDocuments( IndexReader reader, ExactIndexData.Updater updater ) throws IOException
+    {
+        Bits liveDocs = MultiFields.getLiveDocs( reader );
+        for ( int docId = 0; docId < reader.maxDoc(); docId++ )
+        {
+            if ( liveDocs != null && !liveDocs.get( docId ) )
+            {
+                continue;
+            }
+            Document document = reader.document( docId );
+            long entityId = Long.parseLong( document.get( KEY_DOC_ID ) );
+            long startNode = parseNode( document.get( KEY_START_NODE_ID ) );
+            long endNode = parseNode( document.get( KEY_END_NODE_ID ) );
+            for ( IndexableField field : document.getFields() )
+            {
+                String key = field.name();
+                if ( KEY_DOC_ID.equals( key ) || KEY_START_NODE_ID.equals( key ) || KEY_END_NODE_ID.equals( key ) )
+                {
+                    continue;
+                }
+                Object value = field.numericValue() != null ? field.numericValue() : field.stringValue();
+                if ( value != null )
+                {
+                    updater.add( entityId, key, ExactIndexKey.normalize( value ), startNode, endNode );
+                }
+            }
+        }
+    }
+
+    private static long parseNode( String node )
+    {
+        return node != null ? Long.parseLong( node ) : NO_NODE;
+    }
+}
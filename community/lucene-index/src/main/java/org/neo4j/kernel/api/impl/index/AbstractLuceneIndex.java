@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.helpers.ArrayUtil;
@@ -76,6 +77,10 @@ public abstract class AbstractLuceneIndex<READER extends IndexReader>
     // for the thread-safety of this and derived classes.
     private CopyOnWriteArrayList<AbstractIndexPartition> partitions = new CopyOnWriteArrayList<>();
 
+    // Generations of the changes marked as written to the index, and of the ones known to be visible to its readers. See markAsStale().
+    private final AtomicLong writtenGeneration = new AtomicLong();
+    private final AtomicLong refreshedGeneration = new AtomicLong();
+
     private volatile boolean open;
 
     public AbstractLuceneIndex( PartitionedIndexStorage indexStorage, IndexPartitionFactory partitionFactory, IndexDescriptor descriptor )
@@ -201,6 +206,7 @@ public abstract class AbstractLuceneIndex<READER extends IndexReader>
     public READER getIndexReader() throws IOException
     {
         ensureOpen();
+        refreshForReading();
         List<AbstractIndexPartition> partitions = getPartitions();
         return hasSinglePartition( partitions ) ? createSimpleReader( partitions ) : createPartitionedReader( partitions );
     }
@@ -264,6 +270,7 @@ public abstract class AbstractLuceneIndex<READER extends IndexReader>
         List<PartitionSearcher> searchers = new ArrayList<>( partitions.size() );
         try
         {
+            refreshForReading();
             for ( AbstractIndexPartition partition : partitions )
             {
                 searchers.add( partition.acquireSearcher() );
@@ -327,6 +334,8 @@ public abstract class AbstractLuceneIndex<READER extends IndexReader>
      */
     public void maybeRefreshBlocking() throws IOException
     {
+        // Everything written before this point is visible once the partitions have been refreshed
+        long generation = writtenGeneration.get();
         try
         {
             getPartitions().parallelStream().forEach( this::maybeRefreshPartition );
@@ -335,6 +344,57 @@ public abstract class AbstractLuceneIndex<READER extends IndexReader>
         {
             throw e.getCause();
         }
+        refreshedGeneration.accumulateAndGet( generation, Math::max );
+    }
+
+    /**
+     * Note that changes have been written to the index, without refreshing any partitions in the calling thread.
+     * The next reader refreshes the index first, unless {@link #readsMayBeStale() reads may be stale}, in which case readers
+     * keep using the current searchers until the changes are made visible by a {@link #refreshIfStale() background refresh}.
+     */
+    public void markAsStale()
+    {
+        writtenGeneration.incrementAndGet();
+    }
+
+    /**
+     * @return {@code true} if changes have been {@link #markAsStale() marked as written} since the last refresh.
+     */
+    public boolean isStale()
+    {
+        return refreshedGeneration.get() < writtenGeneration.get();
+    }
+
+    /**
+     * Refresh all partitions if changes have been {@link #markAsStale() marked as written} since the last refresh.
+     *
+     * @throws IOException
+     */
+    public void refreshIfStale() throws IOException
+    {
+        if ( isStale() )
+        {
+            maybeRefreshBlocking();
+        }
+    }
+
+    /**
+     * Whether readers may use searchers that don't see all changes {@link #markAsStale() marked as written} yet, leaving it to a
+     * background refresh to make them visible. Otherwise readers see all changes committed before they were acquired.
+     *
+     * @return {@code false}, for indexes whose readers must see all committed changes.
+     */
+    protected boolean readsMayBeStale()
+    {
+        return false;
+    }
+
+    private void refreshForReading() throws IOException
+    {
+        if ( !readsMayBeStale() )
+        {
+            refreshIfStale();
+        }
     }
 
     private void maybeRefreshPartition( AbstractIndexPartition partition )
@@ -108,6 +108,23 @@ public abstract class AbstractLuceneIndexAccessor<READER extends IndexReader, IN
         }
     }
 
+    /**
+     * Refresh the index if changes have been applied since it was last refreshed. Updaters leave the refresh to a background job calling this,
+     * and to the next reader of the index, unless its reads may be stale, in which case the period of the job bounds how long applied changes
+     * stay invisible to readers.
+     */
+    public void refreshIfStale()
+    {
+        try
+        {
+            luceneIndex.refreshIfStale();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     @Override
     public void close()
     {
@@ -221,14 +238,8 @@ public abstract class AbstractLuceneIndexAccessor<READER extends IndexReader, IN
         {
             if ( hasChanges && refresh )
             {
-                try
-                {
-                    luceneIndex.maybeRefreshBlocking();
-                }
-                catch ( IOException e )
-                {
-                    throw new UncheckedIOException( e );
-                }
+                // Reopening the searchers is left to a background refresh, or the next reader, to keep it out of the commit path
+                luceneIndex.markAsStale();
             }
         }
 
@@ -122,12 +122,34 @@ public interface DatabaseIndex<READER extends IndexReader> extends Closeable
      */
     void maybeRefreshBlocking() throws IOException;
 
+    /**
+     * Note that changes have been written that readers must see, without refreshing any partitions in the calling thread.
+     * The changes become visible by the next refresh, which happens in the background, or when the next reader is acquired,
+     * unless reads of the index may be stale.
+     */
+    void markAsStale();
+
+    /**
+     * Refresh all partitions, if changes have been {@link #markAsStale() marked as written} since the last refresh.
+     *
+     * @throws IOException
+     */
+    void refreshIfStale() throws IOException;
+
     /**
      * Get index partitions
      * @return list of index partition
      */
     List<AbstractIndexPartition> getPartitions();
 
+    /**
+     * Make sure index has at least the given number of partitions, creating new empty partitions as needed.
+     * @param count minimal number of partitions
+     * @return list of index partitions
+     * @throws IOException
+     */
+    List<AbstractIndexPartition> ensurePartitions( int count ) throws IOException;
+
     LuceneIndexWriter getIndexWriter();
 
     READER getIndexReader() throws IOException;
@@ -24,8 +24,10 @@ package org.neo4j.kernel.api.impl.index;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.kernel.api.impl.index.partition.AbstractIndexPartition;
 import org.neo4j.kernel.api.impl.schema.writer.LuceneIndexWriter;
 import org.neo4j.storageengine.api.schema.IndexReader;
 
@@ -105,6 +107,33 @@ public abstract class ReadOnlyAbstractDatabaseIndex<INDEX extends AbstractLucene
         //nothing to refresh in read only mode
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markAsStale()
+    {
+        //nothing to refresh in read only mode
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refreshIfStale()
+    {
+        //nothing to refresh in read only mode
+    }
+
+    /**
+     * Unsupported operation in read only index.
+     */
+    @Override
+    public List<AbstractIndexPartition> ensurePartitions( int count )
+    {
+        throw new UnsupportedOperationException( "Can't create partitions in read only lucene index." );
+    }
+
     @Override
     public LuceneIndexWriter getIndexWriter()
     {
@@ -157,6 +157,24 @@ public class WritableAbstractDatabaseIndex<INDEX extends AbstractLuceneIndex<REA
         luceneIndex.maybeRefreshBlocking();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markAsStale()
+    {
+        luceneIndex.markAsStale();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refreshIfStale() throws IOException
+    {
+        luceneIndex.refreshIfStale();
+    }
+
     /**
      * Add new partition to the index. Must only be called by a single thread at a time.
      *
@@ -168,6 +186,23 @@ public class WritableAbstractDatabaseIndex<INDEX extends AbstractLuceneIndex<REA
         return luceneIndex.addNewPartition();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AbstractIndexPartition> ensurePartitions( int count ) throws IOException
+    {
+        synchronized ( this )
+        {
+            // Synchronised on the index, same as PartitionedIndexWriter, so partition creation stays single threaded.
+            while ( luceneIndex.getPartitions().size() < count )
+            {
+                luceneIndex.addNewPartition();
+            }
+            return luceneIndex.getPartitions();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -35,6 +35,7 @@ import org.neo4j.kernel.impl.index.schema.NumberIndexProvider;
 import org.neo4j.kernel.impl.index.schema.SpatialIndexProvider;
 import org.neo4j.kernel.impl.index.schema.StringIndexProvider;
 import org.neo4j.kernel.impl.index.schema.TemporalIndexProvider;
+import org.neo4j.scheduler.JobScheduler;
 
 import static org.neo4j.kernel.api.impl.index.storage.DirectoryFactory.directoryFactory;
 
@@ -70,10 +71,10 @@ class IndexProviderFactoryUtil
     }
 
     static LuceneIndexProvider luceneProvider( FileSystemAbstraction fs, IndexDirectoryStructure.Factory directoryStructure, IndexProvider.Monitor monitor,
-            Config config, OperationalMode operationalMode )
+            Config config, OperationalMode operationalMode, JobScheduler scheduler )
     {
         boolean ephemeral = config.get( GraphDatabaseSettings.ephemeral );
         DirectoryFactory directoryFactory = directoryFactory( ephemeral );
-        return new LuceneIndexProvider( fs, directoryFactory, directoryStructure, monitor, config, operationalMode );
+        return new LuceneIndexProvider( fs, directoryFactory, directoryStructure, monitor, config, operationalMode, scheduler );
     }
 }
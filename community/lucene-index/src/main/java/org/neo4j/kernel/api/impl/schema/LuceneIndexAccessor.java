@@ -38,10 +38,30 @@ import org.neo4j.values.storable.Value;
 
 public class LuceneIndexAccessor extends AbstractLuceneIndexAccessor<IndexReader,SchemaIndex>
 {
+    private final Runnable onClose;
 
     public LuceneIndexAccessor( SchemaIndex luceneIndex, IndexDescriptor descriptor )
+    {
+        this( luceneIndex, descriptor, () -> {} );
+    }
+
+    LuceneIndexAccessor( SchemaIndex luceneIndex, IndexDescriptor descriptor, Runnable onClose )
     {
         super( luceneIndex, descriptor );
+        this.onClose = onClose;
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            super.close();
+        }
+        finally
+        {
+            onClose.run();
+        }
     }
 
     @Override
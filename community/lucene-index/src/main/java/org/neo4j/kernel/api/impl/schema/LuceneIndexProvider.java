@@ -24,6 +24,11 @@ package org.neo4j.kernel.api.impl.schema;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 
 import org.neo4j.internal.kernel.api.IndexCapability;
 import org.neo4j.internal.kernel.api.InternalIndexState;
@@ -45,6 +50,9 @@ import org.neo4j.kernel.impl.factory.OperationalMode;
 import org.neo4j.kernel.impl.index.schema.ByteBufferFactory;
 import org.neo4j.kernel.impl.storemigration.StoreMigrationParticipant;
 import org.neo4j.kernel.impl.storemigration.participant.SchemaIndexMigrator;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 
@@ -57,10 +65,13 @@ public class LuceneIndexProvider extends IndexProvider
     private final OperationalMode operationalMode;
     private final FileSystemAbstraction fileSystem;
     private final Monitor monitor;
+    private final JobScheduler scheduler;
+    private final ConcurrentMap<Long,LuceneIndexAccessor> openOnlineAccessors = new ConcurrentHashMap<>();
+    private JobHandle refreshJobHandle;
 
     public LuceneIndexProvider( FileSystemAbstraction fileSystem, DirectoryFactory directoryFactory,
                                 IndexDirectoryStructure.Factory directoryStructureFactory, Monitor monitor, Config config,
-                                OperationalMode operationalMode )
+                                OperationalMode operationalMode, JobScheduler scheduler )
     {
         super( LuceneIndexProviderFactory.PROVIDER_DESCRIPTOR, directoryStructureFactory );
         this.monitor = monitor;
@@ -68,6 +79,44 @@ public class LuceneIndexProvider extends IndexProvider
         this.fileSystem = fileSystem;
         this.config = config;
         this.operationalMode = operationalMode;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void start()
+    {
+        long refreshMaxStalenessMillis = config.get( GraphDatabaseSettings.index_refresh_max_staleness ).toMillis();
+        refreshJobHandle = scheduler.scheduleRecurring( Group.INDEX_REFRESH, this::refreshStaleIndexes, refreshMaxStalenessMillis, TimeUnit.MILLISECONDS );
+    }
+
+    @Override
+    public void stop()
+    {
+        if ( refreshJobHandle != null )
+        {
+            refreshJobHandle.cancel( false );
+            refreshJobHandle = null;
+        }
+    }
+
+    /**
+     * Make changes committed to the online indexes visible to their searchers ahead of their next reader, which would otherwise
+     * have to refresh the index itself.
+     */
+    private void refreshStaleIndexes()
+    {
+        for ( LuceneIndexAccessor accessor : openOnlineAccessors.values() )
+        {
+            try
+            {
+                accessor.refreshIfStale();
+            }
+            catch ( RuntimeException e )
+            {
+                // The index was closed while we were refreshing it, or failed to refresh. A failed refresh is retried on the next run,
+                // and is also done by the readers and checkpoints that need the changes to be visible.
+            }
+        }
     }
 
     public static IndexDirectoryStructure.Factory defaultDirectoryStructure( File storeDir )
@@ -116,7 +165,10 @@ public class LuceneIndexProvider extends IndexProvider
                                             .withIndexStorage( getIndexStorage( descriptor.getId() ) )
                                             .build();
         luceneIndex.open();
-        return new LuceneIndexAccessor( luceneIndex, descriptor );
+        long indexId = descriptor.getId();
+        LuceneIndexAccessor accessor = new LuceneIndexAccessor( luceneIndex, descriptor, () -> openOnlineAccessors.remove( indexId ) );
+        openOnlineAccessors.put( indexId, accessor );
+        return accessor;
     }
 
     @Override
@@ -41,6 +41,7 @@ import org.neo4j.kernel.impl.index.schema.SpatialIndexProvider;
 import org.neo4j.kernel.impl.index.schema.TemporalIndexProvider;
 import org.neo4j.kernel.impl.index.schema.fusion.FusionIndexProvider;
 import org.neo4j.kernel.impl.index.schema.fusion.FusionSlotSelector10;
+import org.neo4j.scheduler.JobScheduler;
 
 import static org.neo4j.graphdb.factory.GraphDatabaseSettings.SchemaIndex.NATIVE10;
 import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
@@ -65,14 +66,14 @@ public class NativeLuceneFusionIndexProviderFactory10 extends NativeLuceneFusion
 
     @Override
     protected IndexProvider internalCreate( PageCache pageCache, File storeDir, FileSystemAbstraction fs, IndexProvider.Monitor monitor, Config config,
-            OperationalMode operationalMode, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector )
+            OperationalMode operationalMode, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, JobScheduler scheduler )
     {
-        return create( pageCache, storeDir, fs, monitor, config, operationalMode, recoveryCleanupWorkCollector );
+        return create( pageCache, storeDir, fs, monitor, config, operationalMode, recoveryCleanupWorkCollector, scheduler );
     }
 
     public static FusionIndexProvider create( PageCache pageCache, File databaseDirectory, FileSystemAbstraction fs,
                                                    IndexProvider.Monitor monitor, Config config, OperationalMode operationalMode,
-                                                   RecoveryCleanupWorkCollector recoveryCleanupWorkCollector )
+                                                   RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, JobScheduler scheduler )
     {
         IndexDirectoryStructure.Factory childDirectoryStructure = subProviderDirectoryStructure( databaseDirectory );
         boolean readOnly = IndexProviderFactoryUtil.isReadOnly( config, operationalMode );
@@ -84,7 +85,7 @@ public class NativeLuceneFusionIndexProviderFactory10 extends NativeLuceneFusion
                 IndexProviderFactoryUtil.spatialProvider( pageCache, fs, childDirectoryStructure, monitor, recoveryCleanupWorkCollector, readOnly, config );
         TemporalIndexProvider temporal =
                 IndexProviderFactoryUtil.temporalProvider( pageCache, fs, childDirectoryStructure, monitor, recoveryCleanupWorkCollector, readOnly );
-        LuceneIndexProvider lucene = IndexProviderFactoryUtil.luceneProvider( fs, childDirectoryStructure, monitor, config, operationalMode );
+        LuceneIndexProvider lucene = IndexProviderFactoryUtil.luceneProvider( fs, childDirectoryStructure, monitor, config, operationalMode, scheduler );
 
         return new FusionIndexProvider( EMPTY, number, spatial, temporal, lucene, new FusionSlotSelector10(),
                 DESCRIPTOR, directoriesByProvider( databaseDirectory ), fs, archiveFailedIndex );
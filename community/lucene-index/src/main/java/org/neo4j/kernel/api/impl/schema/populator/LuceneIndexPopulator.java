@@ -23,25 +23,50 @@
 package org.neo4j.kernel.api.impl.schema.populator;
 
 import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.neo4j.helpers.NamedThreadFactory;
 import org.neo4j.io.IOUtils;
 import org.neo4j.kernel.api.impl.index.DatabaseIndex;
+import org.neo4j.kernel.api.impl.index.partition.AbstractIndexPartition;
 import org.neo4j.kernel.api.impl.schema.LuceneDocumentStructure;
 import org.neo4j.kernel.api.impl.schema.writer.LuceneIndexWriter;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.util.FeatureToggles;
 
 /**
  * An {@link IndexPopulator} used to create, populate and mark as online a Lucene schema index.
+ * <p>
+ * When more than one population partition is configured, the index is created with that many partitions up front
+ * and every batch of updates is split between them by entity id, with the partitions written in parallel by a bounded
+ * pool of threads shared by all populators. The partitions are kept after population, so searches and updates of the
+ * online index are spread over them as well.
  */
 public abstract class LuceneIndexPopulator<INDEX extends DatabaseIndex<?>> implements IndexPopulator
 {
+    static final String POPULATION_PARTITIONS = "population_partitions";
+
+    // lucene will refuse documents above this limit, so population into fixed partitions stops well before it
+    private static final int MAXIMUM_POPULATION_PARTITION_SIZE = IndexWriter.MAX_DOCS - (IndexWriter.MAX_DOCS / 10);
+
     protected INDEX luceneIndex;
     protected LuceneIndexWriter writer;
+    // only ever changes from the partitions to an empty list after create, see populationPartitionsFor
+    private volatile List<AbstractIndexPartition> populationPartitions = Collections.emptyList();
 
     protected LuceneIndexPopulator( INDEX luceneIndex )
     {
@@ -56,6 +81,11 @@ public abstract class LuceneIndexPopulator<INDEX extends DatabaseIndex<?>> imple
             luceneIndex.create();
             luceneIndex.open();
             writer = luceneIndex.getIndexWriter();
+            int partitions = FeatureToggles.getInteger( LuceneIndexPopulator.class, POPULATION_PARTITIONS, 1 );
+            if ( partitions > 1 )
+            {
+                populationPartitions = new ArrayList<>( luceneIndex.ensurePartitions( partitions ) );
+            }
         }
         catch ( IOException e )
         {
@@ -74,6 +104,13 @@ public abstract class LuceneIndexPopulator<INDEX extends DatabaseIndex<?>> imple
     {
         assert updatesForCorrectIndex( updates );
 
+        List<AbstractIndexPartition> partitions = populationPartitionsFor( updates.size() );
+        if ( !partitions.isEmpty() )
+        {
+            addToPartitions( partitions, updates );
+            return;
+        }
+
         try
         {
             // Lucene documents stored in a ThreadLocal and reused so we can't create an eager collection of documents here
@@ -88,6 +125,122 @@ public abstract class LuceneIndexPopulator<INDEX extends DatabaseIndex<?>> imple
         }
     }
 
+    /**
+     * Get the partitions the given number of updates should be added directly to, rather than through the index writer.
+     * Population falls back to the index writer for good, once any of the partitions gets close to the maximum number
+     * of documents lucene allows.
+     * <p>
+     * Safe to call from concurrent population threads. A thread that got the partitions just before another one fell back
+     * can still add its updates to them, which the margin below the lucene limit leaves plenty of room for.
+     *
+     * @param numberOfUpdates number of updates about to be added
+     * @return the partitions to pass to {@link #addToPartitions(List, Collection)}, or an empty list if updates should be
+     * added through the index writer
+     */
+    protected List<AbstractIndexPartition> populationPartitionsFor( int numberOfUpdates )
+    {
+        List<AbstractIndexPartition> partitions = populationPartitions;
+        for ( AbstractIndexPartition partition : partitions )
+        {
+            if ( MAXIMUM_POPULATION_PARTITION_SIZE - partition.getIndexWriter().maxDoc() < numberOfUpdates )
+            {
+                populationPartitions = Collections.emptyList();
+                return Collections.emptyList();
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Split updates between population partitions by entity id and add the shares to their partitions in parallel,
+     * waiting for all of them to be added.
+     *
+     * @param partitions partitions from {@link #populationPartitionsFor(int)}
+     * @param updates updates to add
+     */
+    protected void addToPartitions( List<AbstractIndexPartition> partitions, Collection<? extends IndexEntryUpdate<?>> updates )
+    {
+        int numberOfPartitions = partitions.size();
+        List<List<IndexEntryUpdate<?>>> shares = new ArrayList<>( numberOfPartitions );
+        for ( int i = 0; i < numberOfPartitions; i++ )
+        {
+            shares.add( new ArrayList<>( updates.size() / numberOfPartitions + 1 ) );
+        }
+        for ( IndexEntryUpdate<?> update : updates )
+        {
+            shares.get( partitionIndex( update.getEntityId(), numberOfPartitions ) ).add( update );
+        }
+
+        // documents have to be created by the thread writing them, since lucene documents are reused per thread
+        List<Future<?>> writes = new ArrayList<>( numberOfPartitions );
+        for ( int i = 0; i < numberOfPartitions; i++ )
+        {
+            List<IndexEntryUpdate<?>> share = shares.get( i );
+            if ( !share.isEmpty() )
+            {
+                IndexWriter partitionWriter = partitions.get( i ).getIndexWriter();
+                writes.add( PopulationPartitionPool.executor.submit( () ->
+                {
+                    addToPartition( partitionWriter, share );
+                    return null;
+                } ) );
+            }
+        }
+        awaitAll( writes );
+    }
+
+    private static void awaitAll( List<Future<?>> writes )
+    {
+        Throwable failure = null;
+        for ( Future<?> write : writes )
+        {
+            try
+            {
+                write.get();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                failure = failure == null ? e : failure;
+            }
+            catch ( ExecutionException e )
+            {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if ( failure instanceof IOException )
+        {
+            throw new UncheckedIOException( (IOException) failure );
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        if ( failure != null )
+        {
+            throw new RuntimeException( "Failed to add updates to population partitions", failure );
+        }
+    }
+
+    /**
+     * Add updates to a single population partition.
+     *
+     * @param partitionWriter writer of the partition
+     * @param updates updates that belong to the partition
+     * @throws IOException on lucene error
+     */
+    protected void addToPartition( IndexWriter partitionWriter, List<IndexEntryUpdate<?>> updates ) throws IOException
+    {
+        partitionWriter.addDocuments( () -> updates.stream()
+                .map( LuceneIndexPopulator::updateAsDocument )
+                .iterator() );
+    }
+
+    static int partitionIndex( long entityId, int partitions )
+    {
+        return Math.floorMod( Long.hashCode( entityId ), partitions );
+    }
+
     @Override
     public void close( boolean populationCompletedSuccessfully )
     {
@@ -137,4 +290,15 @@ public abstract class LuceneIndexPopulator<INDEX extends DatabaseIndex<?>> imple
     {
         return LuceneDocumentStructure.documentRepresentingProperties( update.getEntityId(), update.values() );
     }
+
+    /**
+     * Threads writing population partitions, shared by all populators. When all threads are busy the populating thread
+     * writes the partition itself.
+     */
+    private static class PopulationPartitionPool
+    {
+        private static final ExecutorService executor =
+                new ThreadPoolExecutor( 0, Runtime.getRuntime().availableProcessors(), 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                        new NamedThreadFactory( "Lucene-Population-Partition", true ), new ThreadPoolExecutor.CallerRunsPolicy() );
+    }
 }
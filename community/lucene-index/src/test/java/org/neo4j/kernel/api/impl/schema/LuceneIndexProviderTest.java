@@ -42,6 +42,7 @@ import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
 import org.neo4j.kernel.impl.factory.OperationalMode;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+import org.neo4j.test.OnDemandJobScheduler;
 import org.neo4j.test.extension.DefaultFileSystemExtension;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.TestDirectoryExtension;
@@ -138,6 +139,6 @@ class LuceneIndexProviderTest
                                                         FileSystemAbstraction fs, File graphDbDir )
     {
         return new LuceneIndexProvider( fs, directoryFactory, defaultDirectoryStructure( graphDbDir ),
-                IndexProvider.Monitor.EMPTY, config, OperationalMode.single );
+                IndexProvider.Monitor.EMPTY, config, OperationalMode.single, new OnDemandJobScheduler() );
     }
 }
@@ -47,6 +47,7 @@ import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.factory.OperationalMode;
 import org.neo4j.logging.AssertableLogProvider;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+import org.neo4j.test.OnDemandJobScheduler;
 import org.neo4j.test.extension.EphemeralFileSystemExtension;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.TestDirectoryExtension;
@@ -134,7 +135,7 @@ class LuceneSchemaIndexCorruptionTest
         File indexRootFolder = testDirectory.databaseDir();
         AtomicReference<FaultyIndexStorageFactory> reference = new AtomicReference<>();
         return new LuceneIndexProvider( fs, directoryFactory, defaultDirectoryStructure( indexRootFolder ), monitor,
-                Config.defaults(), OperationalMode.single )
+                Config.defaults(), OperationalMode.single, new OnDemandJobScheduler() )
         {
             @Override
             protected IndexStorageFactory buildIndexStorageFactory( FileSystemAbstraction fileSystem, DirectoryFactory directoryFactory )
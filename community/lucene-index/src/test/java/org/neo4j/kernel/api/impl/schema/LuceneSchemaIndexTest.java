@@ -35,6 +35,7 @@ import java.util.UUID;
 
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.kernel.api.impl.index.LuceneAllDocumentsReader;
 import org.neo4j.kernel.api.impl.index.storage.DirectoryFactory;
 import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
 import org.neo4j.kernel.configuration.Config;
@@ -44,6 +45,7 @@ import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.TestDirectoryExtension;
 import org.neo4j.test.rule.TestDirectory;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith( {DefaultFileSystemExtension.class, TestDirectoryExtension.class} )
@@ -128,6 +130,44 @@ class LuceneSchemaIndexTest
         assertTrue( index.isOnline(), "Should have had online status set" );
     }
 
+    @Test
+    void writtenDocumentsAreNotVisibleUntilMarkedAsStale() throws IOException
+    {
+        index = createIndex();
+        index.getIndexWriter().addDocument( newDocument() );
+
+        assertEquals( 0, countDocuments() );
+
+        index.markAsStale();
+
+        assertEquals( 1, countDocuments() );
+    }
+
+    @Test
+    void documentsMarkedAsStaleByAnotherThreadAreVisibleToReaders() throws Exception
+    {
+        index = createIndex();
+        index.getIndexWriter().addDocument( newDocument() );
+        Thread writer = new Thread( index::markAsStale );
+        writer.start();
+        writer.join();
+
+        assertEquals( 1, countDocuments() );
+    }
+
+    @Test
+    void refreshIfStaleMakesMarkedDocumentsVisible() throws IOException
+    {
+        index = createIndex();
+        index.getIndexWriter().addDocument( newDocument() );
+        index.markAsStale();
+
+        index.refreshIfStale();
+        index.getIndexWriter().addDocument( newDocument() );
+
+        assertEquals( 1, countDocuments() );
+    }
+
     private SchemaIndex createIndex() throws IOException
     {
         SchemaIndex schemaIndex = newSchemaIndex();
@@ -153,6 +193,14 @@ class LuceneSchemaIndexTest
                 .build();
     }
 
+    private long countDocuments() throws IOException
+    {
+        try ( LuceneAllDocumentsReader reader = index.allDocumentsReader() )
+        {
+            return reader.maxCount();
+        }
+    }
+
     private static Document newDocument()
     {
         Document doc = new Document();
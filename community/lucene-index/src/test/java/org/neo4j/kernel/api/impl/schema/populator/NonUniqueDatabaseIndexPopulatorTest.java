@@ -30,14 +30,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.neo4j.collection.PrimitiveLongCollections;
 import org.neo4j.internal.kernel.api.IndexQuery;
 import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.kernel.api.impl.index.partition.AbstractIndexPartition;
 import org.neo4j.kernel.api.impl.index.storage.DirectoryFactory;
 import org.neo4j.kernel.api.impl.index.storage.PartitionedIndexStorage;
 import org.neo4j.kernel.api.impl.schema.LuceneSchemaIndexBuilder;
@@ -54,6 +59,7 @@ import org.neo4j.test.extension.DefaultFileSystemExtension;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.TestDirectoryExtension;
 import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.util.FeatureToggles;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -159,6 +165,92 @@ class NonUniqueDatabaseIndexPopulatorTest
         }
     }
 
+    @Test
+    void addUpdatesToPopulationPartitions() throws Exception
+    {
+        FeatureToggles.set( LuceneIndexPopulator.class, LuceneIndexPopulator.POPULATION_PARTITIONS, 4 );
+        try
+        {
+            populator = newPopulator();
+        }
+        finally
+        {
+            FeatureToggles.clear( LuceneIndexPopulator.class, LuceneIndexPopulator.POPULATION_PARTITIONS );
+        }
+
+        List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+        for ( long nodeId = 0; nodeId < 100; nodeId++ )
+        {
+            updates.add( add( nodeId, labelSchemaDescriptor, "value" + nodeId % 10 ) );
+        }
+
+        populator.add( updates );
+
+        assertEquals( 4, index.getPartitions().size() );
+        for ( AbstractIndexPartition partition : index.getPartitions() )
+        {
+            assertEquals( 25, partition.getIndexWriter().maxDoc() );
+        }
+        index.maybeRefreshBlocking();
+        try ( IndexReader reader = index.getIndexReader() )
+        {
+            int propertyKeyId = labelSchemaDescriptor.getPropertyId();
+            long[] entities = PrimitiveLongCollections.asArray( reader.query( IndexQuery.exact( propertyKeyId, "value3" ) ) );
+            Arrays.sort( entities );
+            assertArrayEquals( new long[]{3, 13, 23, 33, 43, 53, 63, 73, 83, 93}, entities );
+        }
+    }
+
+    @Test
+    void addUpdatesToPopulationPartitionsFromConcurrentThreads() throws Exception
+    {
+        FeatureToggles.set( LuceneIndexPopulator.class, LuceneIndexPopulator.POPULATION_PARTITIONS, 4 );
+        try
+        {
+            populator = newPopulator();
+        }
+        finally
+        {
+            FeatureToggles.clear( LuceneIndexPopulator.class, LuceneIndexPopulator.POPULATION_PARTITIONS );
+        }
+
+        int threads = 4;
+        int updatesPerThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            List<Future<?>> adds = new ArrayList<>();
+            for ( int thread = 0; thread < threads; thread++ )
+            {
+                long firstNodeId = thread * updatesPerThread;
+                adds.add( executor.submit( () ->
+                {
+                    List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+                    for ( long nodeId = firstNodeId; nodeId < firstNodeId + updatesPerThread; nodeId++ )
+                    {
+                        updates.add( add( nodeId, labelSchemaDescriptor, "value" + nodeId ) );
+                    }
+                    populator.add( updates );
+                } ) );
+            }
+            for ( Future<?> add : adds )
+            {
+                add.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        long documents = 0;
+        for ( AbstractIndexPartition partition : index.getPartitions() )
+        {
+            documents += partition.getIndexWriter().maxDoc();
+        }
+        assertEquals( threads * updatesPerThread, documents );
+    }
+
     private NonUniqueLuceneIndexPopulator newPopulator() throws IOException
     {
         IndexSamplingConfig samplingConfig = new IndexSamplingConfig( Config.defaults() );
@@ -63,6 +63,7 @@ import org.neo4j.kernel.impl.util.collection.CapacityLimitingBlockAllocatorDecor
 import org.neo4j.kernel.impl.util.collection.CollectionsFactorySupplier;
 import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator;
 import org.neo4j.kernel.impl.util.collection.OffHeapCollectionsFactory;
+import org.neo4j.kernel.impl.util.collection.SpillingBlockAllocatorDecorator;
 import org.neo4j.kernel.info.JvmChecker;
 import org.neo4j.kernel.info.JvmMetadataRepository;
 import org.neo4j.kernel.info.SystemDiagnostics;
@@ -363,7 +364,12 @@ public class PlatformModule
                     config.get( tx_state_off_heap_block_cache_size ) );
             final OffHeapBlockAllocator sharedBlockAllocator;
             final long maxMemory = config.get( GraphDatabaseSettings.tx_state_max_off_heap_memory );
-            if ( maxMemory > 0 )
+            if ( maxMemory > 0 && config.get( GraphDatabaseSettings.tx_state_off_heap_spill_to_disk ) )
+            {
+                sharedBlockAllocator = new SpillingBlockAllocatorDecorator( allocator, maxMemory,
+                        config.get( GraphDatabaseSettings.tx_state_off_heap_spill_directory ) );
+            }
+            else if ( maxMemory > 0 )
             {
                 sharedBlockAllocator = new CapacityLimitingBlockAllocatorDecorator( allocator, maxMemory );
             }
@@ -65,6 +65,16 @@ class SearchEnvelope
         }
     }
 
+    long getMin( int dim )
+    {
+        return min[dim];
+    }
+
+    long getMax( int dim )
+    {
+        return max[dim];
+    }
+
     SearchEnvelope quadrant( int[] quadNbrs )
     {
         long[] newMin = new long[nbrDim];
@@ -24,6 +24,7 @@ package org.neo4j.gis.spatial.index.curves;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToDoubleFunction;
 
 import org.neo4j.gis.spatial.index.Envelope;
 
@@ -367,6 +368,62 @@ public abstract class SpaceFillingCurve
         }
     }
 
+    /**
+     * The tile covering the whole curve, where a search for the tiles closest to some point starts. Such a search goes
+     * coarse-to-fine, only {@link #getSubTiles(TileRange, ToDoubleFunction) subdividing} the tiles it finds worth a closer look,
+     * which makes it possible to search for the nearest neighbours of a point incrementally.
+     *
+     * @param distanceToTile gives a lower bound of the distance from the point to any coordinate within the given tile envelope.
+     * @return the tile covering the whole curve, together with its distance.
+     */
+    public TileRange getRootTile( ToDoubleFunction<Envelope> distanceToTile )
+    {
+        SearchEnvelope wholeExtent = new SearchEnvelope( 0, getWidth(), nbrDim );
+        // Note that LongRange upper bound is inclusive, hence the '-1'
+        return new TileRange( 0, getValueWidth() - 1, distanceToTile.applyAsDouble( envelopeFor( wholeExtent ) ), wholeExtent, rootCurve(), 0 );
+    }
+
+    /**
+     * Splits a tile into the tiles one level further down the curve, each one with its distance.
+     *
+     * @param tile the tile to split, which must not be at {@link #getMaxLevel()}.
+     * @param distanceToTile gives a lower bound of the distance from the point to any coordinate within the given tile envelope.
+     * @return the sub-tiles of {@code tile}, in curve order.
+     */
+    public List<TileRange> getSubTiles( TileRange tile, ToDoubleFunction<Envelope> distanceToTile )
+    {
+        assertValidLevel( tile.depth + 1 );
+        List<TileRange> subTiles = new ArrayList<>( quadFactor );
+        long subTileWidth = (tile.max + 1 - tile.min) / quadFactor;
+        for ( int i = 0; i < quadFactor; i++ )
+        {
+            int npoint = tile.curve.npointForIndex( i );
+            SearchEnvelope quadrant = tile.extent.quadrant( bitValues( npoint ) );
+            // A sub-tile can't be closer than the tile containing it, even if rounding in the distance function says so
+            double distance = Math.max( tile.distance, distanceToTile.applyAsDouble( envelopeFor( quadrant ) ) );
+            long left = tile.min + i * subTileWidth;
+            subTiles.add( new TileRange( left, left + subTileWidth - 1, distance, quadrant, tile.curve.childAt( i ), tile.depth + 1 ) );
+        }
+        return subTiles;
+    }
+
+    /**
+     * Given a search envelope in normalized coordinates, find the envelope it covers in world coordinates.
+     * Coordinates outside of the range of this curve are clamped into the tiles along its edges, which is why
+     * those tiles reach all the way to infinity on their outer sides.
+     */
+    private Envelope envelopeFor( SearchEnvelope extent )
+    {
+        double[] min = new double[nbrDim];
+        double[] max = new double[nbrDim];
+        for ( int dim = 0; dim < nbrDim; dim++ )
+        {
+            min[dim] = extent.getMin( dim ) == 0 ? Double.NEGATIVE_INFINITY : extent.getMin( dim ) / scalingFactor[dim] + range.getMin( dim );
+            max[dim] = extent.getMax( dim ) == width ? Double.POSITIVE_INFINITY : extent.getMax( dim ) / scalingFactor[dim] + range.getMin( dim );
+        }
+        return new Envelope( min, max );
+    }
+
     /**
      * Bit index describing the in which quadrant an npoint corresponds to
      */
@@ -507,4 +564,38 @@ public abstract class SpaceFillingCurve
             return "LongRange(" + min + "," + max + ")";
         }
     }
+
+    /**
+     * Range of a single tile found by a nearest neighbour search, together with the distance from the searched point to the tile
+     */
+    public static class TileRange extends LongRange
+    {
+        public final double distance;
+        private final SearchEnvelope extent;
+        private final CurveRule curve;
+        private final int depth;
+
+        TileRange( long min, long max, double distance, SearchEnvelope extent, CurveRule curve, int depth )
+        {
+            super( min, max );
+            this.distance = distance;
+            this.extent = extent;
+            this.curve = curve;
+            this.depth = depth;
+        }
+
+        /**
+         * @return the level of this tile in the curve, where the tile covering the whole curve is at level 0.
+         */
+        public int getDepth()
+        {
+            return depth;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "TileRange(" + min + "," + max + "," + distance + ")";
+        }
+    }
 }
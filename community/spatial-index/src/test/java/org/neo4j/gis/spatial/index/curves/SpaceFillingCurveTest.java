@@ -28,8 +28,10 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.PriorityQueue;
 
 import org.neo4j.gis.spatial.index.Envelope;
 import org.neo4j.logging.FormattedLog;
@@ -39,6 +41,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
@@ -661,6 +664,127 @@ public class SpaceFillingCurveTest
         assertThat( ranges.get( 0 ).min, greaterThan( Long.MIN_VALUE ) );
     }
 
+    @Test
+    void shouldGet2DHilbertTilesInOrderOfDistance()
+    {
+        Envelope envelope = new Envelope( -8, 8, -8, 8 );
+        HilbertSpaceFillingCurve2D curve = new HilbertSpaceFillingCurve2D( envelope, 4 );
+        double[] coordinate = {2.5, -3.5};
+        Envelope point = new Envelope( coordinate, coordinate );
+
+        List<SpaceFillingCurve.TileRange> tiles = tilesInOrderOfDistance( curve, point, 3 );
+
+        // The tile containing the point comes first
+        SpaceFillingCurve.TileRange closest = tiles.get( 0 );
+        long derivedValue = curve.derivedValueFor( coordinate );
+        assertThat( closest.distance, equalTo( 0.0 ) );
+        assertThat( closest.min, lessThanOrEqualTo( derivedValue ) );
+        assertThat( closest.max, greaterThanOrEqualTo( derivedValue ) );
+
+        // and then all the others, each one once and never closer than the previous
+        HashSet<Long> tileStarts = new HashSet<>();
+        double previousDistance = closest.distance;
+        for ( SpaceFillingCurve.TileRange tile : tiles )
+        {
+            assertThat( tile.distance, greaterThanOrEqualTo( previousDistance ) );
+            assertThat( tile.max - tile.min, equalTo( 3L ) );
+            assertThat( tile.distance, equalTo( point.distance( tileEnvelope( curve, tile ) ) ) );
+            tileStarts.add( tile.min );
+            previousDistance = tile.distance;
+        }
+        assertThat( tileStarts.size(), equalTo( 64 ) );
+    }
+
+    @Test
+    void shouldGetEdgeTileOfPointOutsideOfCurveRangeFirst()
+    {
+        Envelope envelope = new Envelope( -8, 8, -8, 8 );
+        HilbertSpaceFillingCurve2D curve = new HilbertSpaceFillingCurve2D( envelope, 4 );
+        double[] coordinate = {20.0, -3.5};
+        Envelope point = new Envelope( coordinate, coordinate );
+
+        List<SpaceFillingCurve.TileRange> tiles = tilesInOrderOfDistance( curve, point, 3 );
+
+        // The point is clamped into a tile along the edge of the curve, which must not look further away than any other tile
+        SpaceFillingCurve.TileRange closest = tiles.get( 0 );
+        long derivedValue = curve.derivedValueFor( coordinate );
+        assertThat( closest.distance, equalTo( 0.0 ) );
+        assertThat( closest.min, lessThanOrEqualTo( derivedValue ) );
+        assertThat( closest.max, greaterThanOrEqualTo( derivedValue ) );
+    }
+
+    @Test
+    void shouldSplitTileIntoSubTilesCoveringIt()
+    {
+        Envelope envelope = new Envelope( -8, 8, -8, 8 );
+        HilbertSpaceFillingCurve2D curve = new HilbertSpaceFillingCurve2D( envelope, 4 );
+        double[] coordinate = {2.5, -3.5};
+        Envelope point = new Envelope( coordinate, coordinate );
+
+        SpaceFillingCurve.TileRange root = curve.getRootTile( point::distance );
+        List<SpaceFillingCurve.TileRange> subTiles = curve.getSubTiles( root, point::distance );
+
+        assertThat( root.min, equalTo( 0L ) );
+        assertThat( root.max, equalTo( curve.getValueWidth() - 1 ) );
+        assertThat( subTiles.size(), equalTo( 4 ) );
+        long next = root.min;
+        for ( SpaceFillingCurve.TileRange subTile : subTiles )
+        {
+            assertThat( subTile.min, equalTo( next ) );
+            assertThat( subTile.getDepth(), equalTo( 1 ) );
+            assertThat( subTile.distance, greaterThanOrEqualTo( root.distance ) );
+            next = subTile.max + 1;
+        }
+        assertThat( next, equalTo( root.max + 1 ) );
+    }
+
+    /**
+     * Best-first traversal of the curve, down to the tiles at the given depth
+     */
+    private static List<SpaceFillingCurve.TileRange> tilesInOrderOfDistance( SpaceFillingCurve curve, Envelope point, int depth )
+    {
+        PriorityQueue<SpaceFillingCurve.TileRange> queue =
+                new PriorityQueue<>( Comparator.comparingDouble( ( SpaceFillingCurve.TileRange tile ) -> tile.distance ) );
+        queue.add( curve.getRootTile( point::distance ) );
+        List<SpaceFillingCurve.TileRange> tiles = new ArrayList<>();
+        while ( !queue.isEmpty() )
+        {
+            SpaceFillingCurve.TileRange tile = queue.poll();
+            if ( tile.getDepth() == depth )
+            {
+                tiles.add( tile );
+            }
+            else
+            {
+                queue.addAll( curve.getSubTiles( tile, point::distance ) );
+            }
+        }
+        return tiles;
+    }
+
+    private static Envelope tileEnvelope( SpaceFillingCurve curve, SpaceFillingCurve.LongRange tile )
+    {
+        // The center of the smallest tiles in the range span the envelope of the range, widen by half a tile to get the whole of it
+        double[] min = curve.centerPointFor( tile.min ).clone();
+        double[] max = curve.centerPointFor( tile.min ).clone();
+        for ( long value = tile.min; value <= tile.max; value++ )
+        {
+            double[] center = curve.centerPointFor( value );
+            for ( int dim = 0; dim < center.length; dim++ )
+            {
+                min[dim] = Math.min( min[dim], center[dim] );
+                max[dim] = Math.max( max[dim], center[dim] );
+            }
+        }
+        for ( int dim = 0; dim < min.length; dim++ )
+        {
+            double halfTile = curve.getTileWidth( dim, curve.getMaxLevel() ) / 2.0;
+            min[dim] -= halfTile;
+            max[dim] += halfTile;
+        }
+        return new Envelope( min, max );
+    }
+
     //
     // Set of tests for 3D HilbertCurve at various levels
     //
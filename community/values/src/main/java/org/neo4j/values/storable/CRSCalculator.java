@@ -43,6 +43,29 @@ public abstract class CRSCalculator
 
     public abstract List<Pair<PointValue,PointValue>> boundingBox( PointValue center, double distance );
 
+    /**
+     * A lower bound of the distance from a coordinate to any coordinate within an envelope, exact or not depending on the
+     * coordinate reference system. Used for pruning nearest neighbour searches.
+     *
+     * @param coordinate the coordinate to measure from.
+     * @param min lower corner of the envelope.
+     * @param max upper corner of the envelope.
+     * @return a distance no greater than the distance to the closest coordinate within the envelope.
+     */
+    public abstract double distanceLowerBound( double[] coordinate, double[] min, double[] max );
+
+    /**
+     * @return how far outside of [min,max] the value is, or 0 if it is within.
+     */
+    protected static double gap( double value, double min, double max )
+    {
+        if ( value < min )
+        {
+            return min - value;
+        }
+        return value > max ? value - max : 0.0;
+    }
+
     protected static double pythagoras( double[] a, double[] b )
     {
         double sqrSum = 0.0;
@@ -86,6 +109,18 @@ public abstract class CRSCalculator
             CoordinateReferenceSystem crs = center.getCoordinateReferenceSystem();
             return Collections.singletonList( Pair.of( Values.pointValue( crs, min ), Values.pointValue( crs, max ) ) );
         }
+
+        @Override
+        public double distanceLowerBound( double[] coordinate, double[] min, double[] max )
+        {
+            double sqrSum = 0.0;
+            for ( int i = 0; i < dimension; i++ )
+            {
+                double diff = gap( coordinate[i], min[i], max[i] );
+                sqrSum += diff * diff;
+            }
+            return sqrt( sqrSum );
+        }
     }
 
     public static class GeographicCalculator extends CRSCalculator
@@ -142,6 +177,43 @@ public abstract class CRSCalculator
             }
         }
 
+        @Override
+        public double distanceLowerBound( double[] coordinate, double[] min, double[] max )
+        {
+            // The haversine formula of the distance, with the difference in latitude and in longitude no greater than to any coordinate
+            // of the envelope, and the cosine of the latitude of the envelope no greater than at its pole-ward edge
+            double latGap = toRadians( gap( coordinate[1], min[1], max[1] ) );
+            double lonGap = toRadians( longitudeGap( coordinate[0], min[0], max[0] ) );
+            double polewardLat = Math.max( Math.abs( min[1] ), Math.abs( max[1] ) );
+            double minCosLat = polewardLat >= 90.0 ? 0.0 : cos( toRadians( polewardLat ) );
+            double cosLat = Math.max( 0.0, cos( toRadians( coordinate[1] ) ) );
+            double alpha = Math.min( 1.0, pow( sin( latGap / 2 ), 2.0 ) + cosLat * minCosLat * pow( sin( lonGap / 2 ), 2.0 ) );
+            double greatCircleDistance = 2.0 * atan2( sqrt( alpha ), sqrt( 1 - alpha ) );
+            if ( dimension == 2 )
+            {
+                return EARTH_RADIUS_METERS * greatCircleDistance;
+            }
+            // Same as the 3D distance above, using the lowest possible average height
+            double lowestAvgHeight = (coordinate[2] + min[2]) / 2;
+            double distance2D = Math.max( 0.0, EARTH_RADIUS_METERS + lowestAvgHeight ) * greatCircleDistance;
+            double heightDiff = gap( coordinate[2], min[2], max[2] );
+            return sqrt( distance2D * distance2D + heightDiff * heightDiff );
+        }
+
+        /**
+         * @return the smallest difference in longitude, in degrees, between the longitude and [min,max], going either east or west around the globe.
+         */
+        private static double longitudeGap( double lon, double min, double max )
+        {
+            if ( max - min >= 360.0 || (lon >= min && lon <= max) )
+            {
+                return 0.0;
+            }
+            double eastToMin = ((min - lon) % 360.0 + 360.0) % 360.0;
+            double westToMax = ((lon - max) % 360.0 + 360.0) % 360.0;
+            return Math.min( eastToMin, westToMax );
+        }
+
         @Override
         // http://janmatuschek.de/LatitudeLongitudeBoundingCoordinates
         // But calculating in degrees instead of radians to avoid rounding errors
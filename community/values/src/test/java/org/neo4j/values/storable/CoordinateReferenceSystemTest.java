@@ -29,6 +29,8 @@ import org.neo4j.values.utils.InvalidValuesArgumentException;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.values.storable.CoordinateReferenceSystem.Cartesian;
@@ -120,6 +122,35 @@ class CoordinateReferenceSystemTest
         assertThat( "3D distance should match", crs.getCalculator().distance( cphHigh, malmo ), closeTo( expectedHigh, 0.2 ) );
     }
 
+    @Test
+    void shouldBoundGeographicDistanceToEnvelopeByLatitudeAndLongitude()
+    {
+        CRSCalculator calculator = CoordinateReferenceSystem.WGS84.getCalculator();
+        double[] point = {0.0, 0.0};
+
+        // An envelope straight east of the point is as far away as its western edge
+        double east = calculator.distanceLowerBound( point, new double[]{10.0, -1.0}, new double[]{11.0, 1.0} );
+        double toWesternEdge = calculator.distance( Values.pointValue( WGS84, point ), Values.pointValue( WGS84, 10.0, 0.0 ) );
+        assertThat( east, closeTo( toWesternEdge, 0.1 ) );
+
+        // The difference in longitude is the smallest one going either way around the globe
+        double acrossDateline = calculator.distanceLowerBound( new double[]{175.0, 0.0}, new double[]{-180.0, -1.0}, new double[]{-170.0, 1.0} );
+        assertThat( acrossDateline, closeTo( calculator.distance( Values.pointValue( WGS84, 175.0, 0.0 ), Values.pointValue( WGS84, -180.0, 0.0 ) ), 0.1 ) );
+
+        // Never more than the distance to any coordinate of the envelope
+        double[] min = {20.0, 50.0};
+        double[] max = {30.0, 60.0};
+        double bound = calculator.distanceLowerBound( point, min, max );
+        for ( double lon = min[0]; lon <= max[0]; lon += 1.0 )
+        {
+            for ( double lat = min[1]; lat <= max[1]; lat += 1.0 )
+            {
+                assertThat( bound, lessThanOrEqualTo( calculator.distance( Values.pointValue( WGS84, point ), Values.pointValue( WGS84, lon, lat ) ) ) );
+            }
+        }
+        assertThat( bound, greaterThan( calculator.distanceLowerBound( point, new double[]{0.0, 50.0}, new double[]{30.0, 60.0} ) ) );
+    }
+
     private PointValue cart( double... coords )
     {
         CoordinateReferenceSystem crs = coords.length == 3 ? CoordinateReferenceSystem.Cartesian_3D : CoordinateReferenceSystem.Cartesian;
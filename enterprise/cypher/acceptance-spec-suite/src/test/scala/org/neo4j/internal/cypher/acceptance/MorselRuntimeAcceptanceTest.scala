@@ -52,7 +52,7 @@ abstract class MorselRuntimeAcceptanceTest extends ExecutionEngineFunSuite {
 
   test("should fallback if morsel doesn't support query") {
     //Given
-    val result = graph.execute("CYPHER runtime=morsel MATCH (n)-[*]->(m) RETURN n")
+    val result = graph.execute("CYPHER runtime=morsel MATCH p = shortestPath((n)-[*]->(m)) RETURN p")
 
     // When (exhaust result)
     result.resultAsString()
@@ -421,6 +421,145 @@ abstract class MorselRuntimeAcceptanceTest extends ExecutionEngineFunSuite {
     asScalaResult(result).toList should have size 5
   }
 
+  test("should support node hash join") {
+    // Given
+    for (i <- 1 to 20) {
+      val b = createNode()
+      relate(createLabeledNode(Map("name" -> s"a$i"), "A"), b)
+      relate(createLabeledNode(Map("name" -> s"c$i"), "C"), b)
+    }
+
+    // When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (a:A)-->(b)<--(c:C) USING JOIN ON b RETURN a.name, c.name")
+
+    // Then
+    val resultSet = asScalaResult(result).toSet
+    resultSet should equal((1 to 20).map(i => Map("a.name" -> s"a$i", "c.name" -> s"c$i")).toSet)
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
+  test("should support aggregation on top of node hash join") {
+    // Given
+    for (i <- 1 to 20) {
+      val b = createNode()
+      relate(createLabeledNode("A"), b)
+      relate(createLabeledNode("C"), b)
+      relate(createLabeledNode("C"), b)
+    }
+
+    // When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (a:A)-->(b)<--(c:C) USING JOIN ON b RETURN count(*)")
+
+    // Then
+    asScalaResult(result).toList should equal(List(Map("count(*)" -> 40)))
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
+  test("should support value hash join") {
+    // Given
+    for (i <- 1 to 20) {
+      createLabeledNode(Map("prop" -> i, "name" -> s"a$i"), "A")
+      createLabeledNode(Map("prop" -> i, "name" -> s"b$i"), "B")
+    }
+    createLabeledNode("A")
+    createLabeledNode("B")
+
+    // When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (a:A), (b:B) WHERE a.prop = b.prop RETURN a.name, b.name")
+
+    // Then
+    val resultSet = asScalaResult(result).toSet
+    resultSet should equal((1 to 20).map(i => Map("a.name" -> s"a$i", "b.name" -> s"b$i")).toSet)
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
+  test("should support expand into") {
+    // Given
+    val a = createLabeledNode(Map("name" -> "a"), "A")
+    for (i <- 1 to 20) {
+      val b = createLabeledNode(Map("name" -> s"b$i"), "B")
+      relate(a, b)
+      relate(b, a)
+      if (i % 2 == 0) relate(a, b)
+    }
+
+    // When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (a:A)-->(b:B)-->(a) RETURN b.name")
+
+    // Then
+    val names = asScalaResult(result).toList.map(map => map("b.name"))
+    names.groupBy(identity).mapValues(_.size) should equal(
+      (1 to 20).map(i => s"b$i" -> (if (i % 2 == 0) 2 else 1)).toMap)
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
+  test("should support optional expand") {
+    // Given
+    for (i <- 1 to 20) {
+      val a = createLabeledNode(Map("name" -> s"a$i"), "A")
+      if (i % 2 == 0) relate(a, createNode(Map("name" -> s"b$i")))
+    }
+
+    // When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (a:A) OPTIONAL MATCH (a)-->(b) RETURN a.name, b.name")
+
+    // Then
+    val resultSet = asScalaResult(result).toSet
+    resultSet should equal((1 to 20).map(i => Map("a.name" -> s"a$i", "b.name" -> (if (i % 2 == 0) s"b$i" else null))).toSet)
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
+  test("should support optional expand with predicate") {
+    // Given
+    for (i <- 1 to 20) {
+      val a = createLabeledNode(Map("name" -> s"a$i"), "A")
+      relate(a, createNode(Map("name" -> s"b$i", "prop" -> i)))
+    }
+
+    // When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (a:A) OPTIONAL MATCH (a)-->(b) WHERE b.prop > 10 RETURN a.name, b.name")
+
+    // Then
+    val resultSet = asScalaResult(result).toSet
+    resultSet should equal((1 to 20).map(i => Map("a.name" -> s"a$i", "b.name" -> (if (i > 10) s"b$i" else null))).toSet)
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
+  test("should support var-length expand") {
+    // Given a chain (start)-->(n1)-->(n2)-->...-->(n10)
+    var previous = createLabeledNode(Map("name" -> "n0"), "Start")
+    for (i <- 1 to 10) {
+      val next = createNode(Map("name" -> s"n$i"))
+      relate(previous, next)
+      previous = next
+    }
+
+    // When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (s:Start)-[r*2..5]->(n) RETURN n.name, size(r) AS length")
+
+    // Then
+    val resultSet = asScalaResult(result).toSet
+    resultSet should equal((2 to 5).map(i => Map("n.name" -> s"n$i", "length" -> i)).toSet)
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
+  test("should support var-length expand with more paths than fit in a morsel") {
+    // Given a supernode with three levels of fan-out
+    val start = createLabeledNode("Start")
+    for (i <- 1 to 10) {
+      val middle = createNode()
+      relate(start, middle)
+      for (j <- 1 to 10) relate(middle, createNode())
+    }
+
+    // When
+    val result = graph.execute("CYPHER runtime=morsel MATCH (s:Start)-[*1..2]->(n) RETURN count(n)")
+
+    // Then
+    asScalaResult(result).toList should equal(List(Map("count(n)" -> 110)))
+    result.getExecutionPlanDescription.getArguments.get("runtime") should equal("MORSEL")
+  }
+
   ignore("should support apply") {
 
     graph.createIndex("Person", "name")
@@ -47,6 +47,8 @@ object LogicalPlanConverter {
     case p: plans.Argument => argumentAsCodeGenPlan(p)
     case p: plans.AllNodesScan => allNodesScanAsCodeGenPlan(p)
     case p: plans.NodeByLabelScan => nodeByLabelScanAsCodeGenPlan(p)
+    case p: plans.NodeIndexSeek if p.includedProperties.nonEmpty =>
+      throw new CantCompileQueryException(s"Seeking an index with included properties is not yet supported: $logicalPlan")
     case p: plans.NodeIndexSeek => nodeIndexSeekAsCodeGenPlan(p)
     case p: plans.NodeByIdSeek => nodeByIdSeekAsCodeGenPlan(p)
     case p: plans.NodeUniqueIndexSeek => nodeUniqueIndexSeekAsCodeGen(p)
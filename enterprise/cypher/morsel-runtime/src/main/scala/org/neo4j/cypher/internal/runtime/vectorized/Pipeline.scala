@@ -24,6 +24,7 @@ import java.util.concurrent.atomic.AtomicInteger
 import org.neo4j.cypher.internal.compatibility.v3_6.runtime.SlotConfiguration
 import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.parallel.Task
+import org.neo4j.cypher.internal.runtime.vectorized.operators.{HashJoinOperator, ProbeTable}
 
 import scala.collection.JavaConverters._
 import scala.collection.mutable.ArrayBuffer
@@ -52,7 +53,7 @@ abstract class Pipeline() {
 
   // downstream
   var downstream: Option[Pipeline] = None
-  var downstreamReduce: Option[ReducePipeline] = None
+  var downstreamReduce: Option[CollectingPipeline] = None
   def endPipeline: Boolean = downstream.isEmpty
 
   /**
@@ -63,15 +64,15 @@ abstract class Pipeline() {
     this
   }
 
-  protected def connectPipeline(downstream: Option[Pipeline], downstreamReduce: Option[ReducePipeline]): Unit = {
+  protected[vectorized] def connectPipeline(downstream: Option[Pipeline], downstreamReduce: Option[CollectingPipeline]): Unit = {
     this.downstream = downstream
     this.downstreamReduce = downstreamReduce
     this.upstream.foreach(_.connectPipeline(Some(this), getThisOrDownstreamReduce(downstreamReduce)))
   }
 
-  private def getThisOrDownstreamReduce(downstreamReduce: Option[ReducePipeline]): Option[ReducePipeline] =
+  private def getThisOrDownstreamReduce(downstreamReduce: Option[CollectingPipeline]): Option[CollectingPipeline] =
     this match {
-      case reducePipeline: ReducePipeline => Some(reducePipeline)
+      case collectingPipeline: CollectingPipeline => Some(collectingPipeline)
       case _ => downstreamReduce
     }
 
@@ -178,12 +179,20 @@ class StreamingPipeline(start: StreamingOperator,
   }
 }
 
+/**
+  * A pipeline that needs all the morsels of its upstream before it can start, and so collects them with a [[ReduceCollector]].
+  */
+abstract class CollectingPipeline extends Pipeline {
+
+  def init(): ReduceCollector
+}
+
 /**
   * A reduce pipeline.
   */
 class ReducePipeline(start: ReduceOperator,
                      override val slots: SlotConfiguration,
-                     override val upstream: Option[Pipeline]) extends Pipeline {
+                     override val upstream: Option[Pipeline]) extends CollectingPipeline {
 
   override def toString: String = {
     val x = (start +: operators).map(x => x.getClass.getSimpleName)
@@ -192,18 +201,18 @@ class ReducePipeline(start: ReduceOperator,
 
   override def acceptMorsel(inputMorsel: MorselExecutionContext, context: QueryContext, state: QueryState): Seq[Task] = {
 
-    state.reduceCollector.get.acceptMorsel(inputMorsel)
+    state.reduceCollector.get.acceptMorsel(inputMorsel, context, state)
     Nil
   }
 
-  def init() = new Collector
+  override def init() = new Collector
 
   class Collector() extends ReduceCollector {
 
     private val eagerData = new java.util.concurrent.ConcurrentLinkedQueue[MorselExecutionContext]()
     private val taskCount = new AtomicInteger(0)
 
-    def acceptMorsel(inputMorsel: MorselExecutionContext): Unit = {
+    def acceptMorsel(inputMorsel: MorselExecutionContext, context: QueryContext, state: QueryState): Unit = {
       eagerData.add(inputMorsel)
     }
 
@@ -230,3 +239,77 @@ class ReducePipeline(start: ReduceOperator,
     }
   }
 }
+
+/**
+  * A hash join pipeline. Its upstream is the build side (lhs) of the join, and every morsel of the build side is inserted into
+  * the [[ProbeTable]] of the join by the task that produced it, so that the table is populated by all the workers concurrently.
+  * Once all of the build side is in the table, the probe side (rhs) is started, and every morsel of the probe side is joined
+  * with the table by a task of its own.
+  */
+class HashJoinPipeline[T <: ProbeTable](join: HashJoinOperator[T],
+                                        override val slots: SlotConfiguration,
+                                        lhs: Pipeline,
+                                        rhs: Pipeline) extends CollectingPipeline {
+
+  // The probe side, which produces the output of the join, and so runs the operators after it
+  private val probe = new StreamingPipeline(join, slots, Some(rhs))
+
+  override def upstream: Option[Pipeline] = Some(lhs)
+
+  override def addOperator(operator: StatelessOperator): Unit =
+    probe.addOperator(operator)
+
+  override protected[vectorized] def connectPipeline(downstream: Option[Pipeline], downstreamReduce: Option[CollectingPipeline]): Unit = {
+    super.connectPipeline(downstream, downstreamReduce)
+    probe.connectPipeline(downstream, downstreamReduce)
+  }
+
+  override def acceptMorsel(inputMorsel: MorselExecutionContext, context: QueryContext, state: QueryState): Seq[Task] = {
+    state.reduceCollector.get.acceptMorsel(inputMorsel, context, state)
+    Nil
+  }
+
+  override def init() = new Collector
+
+  override def toString: String = s"HashJoinPipeline(${join.getClass.getSimpleName})"
+
+  class Collector() extends ReduceCollector {
+
+    private val table = join.newProbeTable()
+    private val taskCount = new AtomicInteger(0)
+
+    def acceptMorsel(inputMorsel: MorselExecutionContext, context: QueryContext, state: QueryState): Unit =
+      join.build(table, inputMorsel, context, state)
+
+    def produceTaskScheduled(task: String): Unit = {
+      val tasks = taskCount.incrementAndGet()
+      if (Pipeline.DEBUG)
+        println("taskCount [%3d]: scheduled %s".format(tasks, task))
+    }
+
+    def produceTaskCompleted(task: String, context: QueryContext, state: QueryState): Option[Task] = {
+      val tasksLeft = taskCount.decrementAndGet()
+      if (Pipeline.DEBUG)
+        println("taskCount [%3d]: completed %s".format(tasksLeft, task))
+
+      if (tasksLeft == 0) {
+        // The probe side is started even if the table is empty, since the reduce pipelines after the join count its tasks
+        val probeState = state.copy(probeTables = state.probeTables.updated(join, table))
+        Some(leafOf(rhs).init(MorselExecutionContext.EMPTY, context, probeState))
+      }
+      else if (tasksLeft < 0) {
+        throw new IllegalStateException("Reference counting of tasks has failed: now at task count " + tasksLeft)
+      }
+      else
+        None
+    }
+  }
+
+  private def leafOf(pipeline: Pipeline): StreamingPipeline = {
+    var leaf = pipeline
+    while (leaf.upstream.nonEmpty) {
+      leaf = leaf.upstream.get
+    }
+    leaf.asInstanceOf[StreamingPipeline]
+  }
+}
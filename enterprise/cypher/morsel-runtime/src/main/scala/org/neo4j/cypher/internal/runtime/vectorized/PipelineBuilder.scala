@@ -19,9 +19,11 @@
 package org.neo4j.cypher.internal.runtime.vectorized
 
 import org.neo4j.cypher.internal.compatibility.v3_6.runtime.SlotAllocation.PhysicalPlan
-import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{RefSlot, SlottedIndexedProperty}
+import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{LongSlot, RefSlot, SlotConfiguration, SlottedIndexedProperty}
 import org.neo4j.cypher.internal.compiler.v3_6.planner.CantCompileQueryException
+import org.neo4j.cypher.internal.ir.v3_6.VarPatternLength
 import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.True
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.{IndexSeekModeFactory, LazyLabel, LazyTypes}
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeBuilder.translateColumnOrder
 import org.neo4j.cypher.internal.runtime.vectorized.expressions.AggregationExpressionOperator
@@ -29,6 +31,7 @@ import org.neo4j.cypher.internal.runtime.vectorized.operators._
 import org.neo4j.cypher.internal.v3_6.logical.plans
 import org.neo4j.cypher.internal.v3_6.logical.plans._
 import org.neo4j.cypher.internal.v3_6.ast.semantics.SemanticTable
+import org.neo4j.cypher.internal.v3_6.expressions.Equals
 import org.neo4j.cypher.internal.v3_6.util.InternalException
 
 class PipelineBuilder(physicalPlan: PhysicalPlan, converters: ExpressionConverters, readOnly: Boolean)
@@ -71,7 +74,8 @@ class PipelineBuilder(physicalPlan: PhysicalPlan, converters: ExpressionConverte
           converters.toCommandExpression(id, valueExpr),
           argumentSize)
 
-      case plans.NodeIndexSeek(column, label, properties, valueExpr, _,  indexOrder) =>
+      // Seeks in indexes with included properties are left to the slotted runtime
+      case plans.NodeIndexSeek(column, label, properties, valueExpr, _,  indexOrder, includedProperties) if includedProperties.isEmpty =>
         val indexSeekMode = IndexSeekModeFactory(unique = false, readOnly = readOnly).fromQueryExpression(valueExpr)
         new NodeIndexSeekOperator(
           slots.getLongOffsetFor(column),
@@ -121,6 +125,44 @@ class PipelineBuilder(physicalPlan: PhysicalPlan, converters: ExpressionConverte
           val lazyTypes = LazyTypes(types.toArray)(SemanticTable())
           new ExpandAllOperator(fromOffset, relOffset, toOffset, dir, lazyTypes)
 
+        case plans.Expand(lhs, fromName, dir, types, to, relName, ExpandInto) =>
+          val fromOffset = slots.getLongOffsetFor(fromName)
+          val relOffset = slots.getLongOffsetFor(relName)
+          val toOffset = slots.getLongOffsetFor(to)
+          val lazyTypes = LazyTypes(types.toArray)(SemanticTable())
+          new ExpandIntoOperator(fromOffset, relOffset, toOffset, dir, lazyTypes)
+
+        case plans.OptionalExpand(lhs, fromName, dir, types, to, relName, mode, predicates) =>
+          val fromOffset = slots.getLongOffsetFor(fromName)
+          val relOffset = slots.getLongOffsetFor(relName)
+          val toOffset = slots.getLongOffsetFor(to)
+          val lazyTypes = LazyTypes(types.toArray)(SemanticTable())
+          val predicate = predicates.map(converters.toCommandPredicate(id, _)).reduceOption(_ andWith _).getOrElse(True())
+          mode match {
+            case ExpandAll => new OptionalExpandAllOperator(fromOffset, relOffset, toOffset, dir, lazyTypes, predicate)
+            case ExpandInto => new OptionalExpandIntoOperator(fromOffset, relOffset, toOffset, dir, lazyTypes, predicate)
+          }
+
+        case plans.VarExpand(sourcePlan, fromName, dir, projectedDir, types, to, relName, VarPatternLength(min, max),
+                             mode, tempNode, tempEdge, nodePredicate, edgePredicate, _) =>
+          val fromOffset = slots.getLongOffsetFor(fromName)
+          val relOffset = slots.getReferenceOffsetFor(relName)
+          val toOffset = slots.getLongOffsetFor(to)
+          val lazyTypes = LazyTypes(types.toArray)(SemanticTable())
+
+          // The node/edge predicates are evaluated on the source pipeline, not the produced one
+          val sourceSlots = physicalPlan.slotConfigurations(sourcePlan.id)
+          val tempNodeOffset = sourceSlots.getLongOffsetFor(tempNode)
+          val tempEdgeOffset = sourceSlots.getLongOffsetFor(tempEdge)
+          val argumentSize = SlotConfiguration.Size(sourceSlots.numberOfLongs - 2, sourceSlots.numberOfReferences)
+          new VarLengthExpandOperator(fromOffset, relOffset, toOffset, dir, projectedDir, lazyTypes, min, max,
+                                      shouldExpandAll = mode == ExpandAll,
+                                      tempNodeOffset = tempNodeOffset,
+                                      tempEdgeOffset = tempEdgeOffset,
+                                      nodePredicate = converters.toCommandPredicate(id, nodePredicate),
+                                      edgePredicate = converters.toCommandPredicate(id, edgePredicate),
+                                      argumentSize = argumentSize)
+
         case plans.Projection(_, expressions) =>
           val projectionOps = expressions.map {
             case (key, e) => slots(key) -> converters.toCommandExpression(id, e)
@@ -205,9 +247,54 @@ class PipelineBuilder(physicalPlan: PhysicalPlan, converters: ExpressionConverte
   }
 
   override protected def build(plan: LogicalPlan, lhs: Pipeline, rhs: Pipeline): Pipeline = {
-    val slots = physicalPlan.slotConfigurations(plan.id)
+    val id = plan.id
+    val slots = physicalPlan.slotConfigurations(id)
+
+    val thisOp: HashJoinOperator[_ <: ProbeTable] = plan match {
+      case joinPlan: NodeHashJoin =>
+        val argumentSize = physicalPlan.argumentSizes(id)
+        val leftNodes = joinPlan.nodes.map(k => slots.getLongOffsetFor(k)).toArray
+        val rhsSlots = physicalPlan.slotConfigurations(joinPlan.right.id)
+        val rightNodes = joinPlan.nodes.map(k => rhsSlots.getLongOffsetFor(k)).toArray
+        val copyLongsFromRHS = collection.mutable.ArrayBuffer.newBuilder[(Int,Int)]
+        val copyRefsFromRHS = collection.mutable.ArrayBuffer.newBuilder[(Int,Int)]
+        val copyCachedPropertiesFromRHS = collection.mutable.ArrayBuffer.newBuilder[(Int,Int)]
+
+        // The lhs is copied to the first slots of the produced row, followed by the rhs columns that are not arguments
+        rhsSlots.foreachSlotOrdered({
+          case (key, LongSlot(offset, _, _)) if offset >= argumentSize.nLongs =>
+            copyLongsFromRHS += ((offset, slots.getLongOffsetFor(key)))
+          case (key, RefSlot(offset, _, _)) if offset >= argumentSize.nReferences =>
+            copyRefsFromRHS += ((offset, slots.getReferenceOffsetFor(key)))
+          case _ => // do nothing, already added by lhs
+        }, { cnp =>
+          val offset = rhsSlots.getCachedNodePropertyOffsetFor(cnp)
+          if (offset >= argumentSize.nReferences)
+            copyCachedPropertiesFromRHS += offset -> slots.getCachedNodePropertyOffsetFor(cnp)
+        })
+
+        val longsToCopy = copyLongsFromRHS.result().toArray
+        val refsToCopy = copyRefsFromRHS.result().toArray
+        val cachedPropertiesToCopy = copyCachedPropertiesFromRHS.result().toArray
+
+        if (leftNodes.length == 1)
+          new NodeHashJoinPrimitiveOperator(leftNodes(0), rightNodes(0), longsToCopy, refsToCopy, cachedPropertiesToCopy)
+        else
+          new NodeHashJoinOperator(leftNodes, rightNodes, longsToCopy, refsToCopy, cachedPropertiesToCopy)
+
+      case ValueHashJoin(lhsPlan, _, Equals(lhsAstExp, rhsAstExp)) =>
+        val argumentSize = physicalPlan.argumentSizes(id)
+        val lhsSlots = physicalPlan.slotConfigurations(lhsPlan.id)
+        new ValueHashJoinOperator(converters.toCommandExpression(id, lhsAstExp),
+                                  converters.toCommandExpression(id, rhsAstExp),
+                                  lhsSlots.numberOfLongs,
+                                  lhsSlots.numberOfReferences,
+                                  argumentSize)
+
+      case p => throw new CantCompileQueryException(s"$p not supported in morsel runtime")
+    }
 
-    throw new CantCompileQueryException(s"$plan not supported in morsel runtime")
+    new HashJoinPipeline(thisOp, slots, lhs, rhs)
   }
 }
 
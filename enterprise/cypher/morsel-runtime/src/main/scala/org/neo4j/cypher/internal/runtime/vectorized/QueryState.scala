@@ -18,6 +18,7 @@
  */
 package org.neo4j.cypher.internal.runtime.vectorized
 
+import org.neo4j.cypher.internal.runtime.vectorized.operators.{HashJoinOperator, ProbeTable}
 import org.neo4j.cypher.result.QueryResult.QueryResultVisitor
 import org.neo4j.values.virtual.{MapValue, VirtualValues}
 
@@ -32,4 +33,5 @@ case class QueryState(params: MapValue,
                       visitor: QueryResultVisitor[_],
                       morselSize: Int,
                       singeThreaded: Boolean, // hack until we solve [Transaction 1 - * Threads] problem
-                      reduceCollector: Option[ReduceCollector] = None)
+                      reduceCollector: Option[ReduceCollector] = None,
+                      probeTables: Map[HashJoinOperator[_ <: ProbeTable], ProbeTable] = Map.empty)
@@ -79,7 +79,7 @@ trait ContinuableOperatorTask extends OperatorTask {
   */
 trait ReduceCollector {
 
-  def acceptMorsel(inputMorsel: MorselExecutionContext): Unit
+  def acceptMorsel(inputMorsel: MorselExecutionContext, context: QueryContext, state: QueryState): Unit
 
   def produceTaskScheduled(task: String): Unit
 
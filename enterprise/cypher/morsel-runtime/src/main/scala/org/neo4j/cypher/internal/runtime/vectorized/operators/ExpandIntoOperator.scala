@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.eclipse.collections.api.iterator.LongIterator
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyTypes
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.entityIsNull
+import org.neo4j.cypher.internal.runtime.slotted.pipes.{PrimitiveCachingExpandInto, PrimitiveRelationshipsCache}
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+
+/**
+  * Expand when both end-points are known, find all relationships of the given type in the given direction between the
+  * two end-points. Like [[org.neo4j.cypher.internal.runtime.slotted.pipes.ExpandIntoSlottedPipe]], the connecting
+  * relationships are cached, here for as long as the task expanding a morsel lives.
+  */
+class ExpandIntoOperator(fromOffset: Int,
+                         relOffset: Int,
+                         toOffset: Int,
+                         dir: SemanticDirection,
+                         types: LazyTypes) extends StreamingOperator {
+
+  override def init(queryContext: QueryContext, state: QueryState, inputMorsel: MorselExecutionContext): ContinuableOperatorTask =
+    new OTask(inputMorsel)
+
+  class OTask(val inputRow: MorselExecutionContext) extends ContinuableOperatorTask with PrimitiveCachingExpandInto {
+
+    // Tasks are never run by more than one worker at a time, so each of them has a cache of its own
+    private val relCache = new PrimitiveRelationshipsCache(ExpandIntoOperator.CACHE_SIZE)
+
+    /*
+    Like in ExpandAllOperator, the relationships of the current input row are kept in between calls,
+    so that the expansion can be picked up again in the next output morsel.
+     */
+    var relationships: LongIterator = _
+
+    override def operate(outputRow: MorselExecutionContext,
+                         context: QueryContext,
+                         state: QueryState): Unit = {
+
+      while (inputRow.hasMoreRows && outputRow.hasMoreRows) {
+
+        val fromNode = inputRow.getLongAt(fromOffset)
+        val toNode = inputRow.getLongAt(toOffset)
+        if (entityIsNull(fromNode) || entityIsNull(toNode)) inputRow.moveToNextRow()
+        else {
+          if (relationships == null) {
+            relationships = relCache.get(fromNode, toNode, dir)
+              .getOrElse(findRelationships(context, fromNode, toNode, relCache, dir, types.types(context)))
+          }
+
+          while (outputRow.hasMoreRows && relationships.hasNext) {
+            val relId = relationships.next()
+
+            // Now we have everything needed to create a row.
+            outputRow.copyFrom(inputRow)
+            outputRow.setLongAt(relOffset, relId)
+            outputRow.moveToNextRow()
+          }
+
+          //we have written all the relationships of this row
+          if (!relationships.hasNext) {
+            relationships = null
+            inputRow.moveToNextRow()
+          }
+        }
+      }
+      outputRow.finishedWriting()
+    }
+
+    override def canContinue: Boolean = inputRow.hasMoreRows || relationships != null
+  }
+}
+
+object ExpandIntoOperator {
+  val CACHE_SIZE = 100000
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import java.util
+
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{QueryState => OldQueryState}
+import org.neo4j.cypher.internal.runtime.vectorized._
+
+/**
+  * Base class of the hash join operators. The rows of the build side (lhs) are inserted into a [[ProbeTable]] by the
+  * [[HashJoinPipeline]], and this operator joins every morsel of the probe side (rhs) with the table, once it is complete.
+  */
+abstract class HashJoinOperator[T <: ProbeTable] extends StreamingOperator {
+
+  /**
+    * Creates the table of a single execution of the join.
+    */
+  def newProbeTable(): T
+
+  /**
+    * Inserts all the rows of a morsel of the build side into the table. Called concurrently, by the tasks producing the build side.
+    */
+  def build(table: T, lhsRows: MorselExecutionContext, context: QueryContext, state: QueryState): Unit
+
+  /**
+    * The rows of the build side that match the given row of the probe side.
+    */
+  protected def matches(table: T, rhsRow: MorselExecutionContext, queryState: OldQueryState): util.List[MorselExecutionContext]
+
+  /**
+    * Copies the columns of the probe side that are not part of the build side to the output row.
+    */
+  protected def copyDataFromRhs(outputRow: MorselExecutionContext, rhsRow: MorselExecutionContext): Unit
+
+  override def init(queryContext: QueryContext, state: QueryState, inputMorsel: MorselExecutionContext): ContinuableOperatorTask =
+    new OTask(inputMorsel, state.probeTables(this).asInstanceOf[T])
+
+  class OTask(val inputRow: MorselExecutionContext, table: T) extends ContinuableOperatorTask {
+
+    /*
+    Like in ExpandAllOperator, the position in the matches of the current input row is kept in between calls,
+    so that an input row with more matches than fit in the output morsel is continued in the next one.
+     */
+    var matchingRows: util.List[MorselExecutionContext] = _
+    var matchPos = 0
+
+    override def operate(outputRow: MorselExecutionContext,
+                         context: QueryContext,
+                         state: QueryState): Unit = {
+
+      val queryState = new OldQueryState(context, resources = null, params = state.params)
+
+      while (inputRow.hasMoreRows && outputRow.hasMoreRows) {
+        if (matchingRows == null) {
+          matchingRows = matches(table, inputRow, queryState)
+        }
+
+        while (outputRow.hasMoreRows && matchPos < matchingRows.size()) {
+          outputRow.copyFrom(matchingRows.get(matchPos))
+          copyDataFromRhs(outputRow, inputRow)
+          outputRow.moveToNextRow()
+          matchPos += 1
+        }
+
+        // all the matches of this input row have been written
+        if (matchPos == matchingRows.size()) {
+          matchingRows = null
+          matchPos = 0
+          inputRow.moveToNextRow()
+        }
+      }
+      outputRow.finishedWriting()
+    }
+
+    override def canContinue: Boolean = inputRow.hasMoreRows
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import java.util
+
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{QueryState => OldQueryState}
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.entityIsNull
+import org.neo4j.cypher.internal.runtime.slotted.pipes.Key
+import org.neo4j.cypher.internal.runtime.vectorized._
+
+/**
+  * Joins on a single node, with the primitive node ids as keys.
+  */
+class NodeHashJoinPrimitiveOperator(lhsOffset: Int,
+                                    rhsOffset: Int,
+                                    longsToCopy: Array[(Int, Int)],
+                                    refsToCopy: Array[(Int, Int)],
+                                    cachedPropertiesToCopy: Array[(Int, Int)]) extends HashJoinOperator[LongProbeTable] {
+
+  override def newProbeTable(): LongProbeTable = new LongProbeTable
+
+  override def build(table: LongProbeTable, lhsRows: MorselExecutionContext, context: QueryContext, state: QueryState): Unit = {
+    val row = lhsRows.createClone()
+    row.resetToFirstRow()
+    while (row.hasMoreRows) {
+      val nodeId = row.getLongAt(lhsOffset)
+      if (!entityIsNull(nodeId))
+        table.add(nodeId, row.createClone())
+      row.moveToNextRow()
+    }
+  }
+
+  override protected def matches(table: LongProbeTable,
+                                 rhsRow: MorselExecutionContext,
+                                 queryState: OldQueryState): util.List[MorselExecutionContext] = {
+    val nodeId = rhsRow.getLongAt(rhsOffset)
+    if (entityIsNull(nodeId)) ProbeTable.NO_MATCHES
+    else table.get(nodeId)
+  }
+
+  override protected def copyDataFromRhs(outputRow: MorselExecutionContext, rhsRow: MorselExecutionContext): Unit =
+    NodeHashJoinOperator.copyDataFromRhs(outputRow, rhsRow, longsToCopy, refsToCopy, cachedPropertiesToCopy)
+}
+
+/**
+  * Joins on several nodes, with arrays of the node ids as keys.
+  */
+class NodeHashJoinOperator(lhsOffsets: Array[Int],
+                           rhsOffsets: Array[Int],
+                           longsToCopy: Array[(Int, Int)],
+                           refsToCopy: Array[(Int, Int)],
+                           cachedPropertiesToCopy: Array[(Int, Int)]) extends HashJoinOperator[ObjectProbeTable[Key]] {
+
+  override def newProbeTable(): ObjectProbeTable[Key] = new ObjectProbeTable[Key]
+
+  override def build(table: ObjectProbeTable[Key], lhsRows: MorselExecutionContext, context: QueryContext, state: QueryState): Unit = {
+    val row = lhsRows.createClone()
+    row.resetToFirstRow()
+    while (row.hasMoreRows) {
+      val key = keyOf(row, lhsOffsets)
+      if (key != null)
+        table.add(key, row.createClone())
+      row.moveToNextRow()
+    }
+  }
+
+  override protected def matches(table: ObjectProbeTable[Key],
+                                 rhsRow: MorselExecutionContext,
+                                 queryState: OldQueryState): util.List[MorselExecutionContext] = {
+    val key = keyOf(rhsRow, rhsOffsets)
+    if (key == null) ProbeTable.NO_MATCHES
+    else table.get(key)
+  }
+
+  override protected def copyDataFromRhs(outputRow: MorselExecutionContext, rhsRow: MorselExecutionContext): Unit =
+    NodeHashJoinOperator.copyDataFromRhs(outputRow, rhsRow, longsToCopy, refsToCopy, cachedPropertiesToCopy)
+
+  // Returns null if any of the nodes is null, since such rows never match
+  private def keyOf(row: MorselExecutionContext, offsets: Array[Int]): Key = {
+    val key = new Array[Long](offsets.length)
+    var i = 0
+    while (i < offsets.length) {
+      val nodeId = row.getLongAt(offsets(i))
+      if (entityIsNull(nodeId))
+        return null
+      key(i) = nodeId
+      i += 1
+    }
+    new Key(key)
+  }
+}
+
+object NodeHashJoinOperator {
+
+  private[operators] def copyDataFromRhs(outputRow: MorselExecutionContext,
+                                         rhsRow: MorselExecutionContext,
+                                         longsToCopy: Array[(Int, Int)],
+                                         refsToCopy: Array[(Int, Int)],
+                                         cachedPropertiesToCopy: Array[(Int, Int)]): Unit = {
+    var i = 0
+    while (i < longsToCopy.length) {
+      val (from, to) = longsToCopy(i)
+      outputRow.setLongAt(to, rhsRow.getLongAt(from))
+      i += 1
+    }
+    i = 0
+    while (i < refsToCopy.length) {
+      val (from, to) = refsToCopy(i)
+      outputRow.setRefAt(to, rhsRow.getRefAt(from))
+      i += 1
+    }
+    i = 0
+    while (i < cachedPropertiesToCopy.length) {
+      val (from, to) = cachedPropertiesToCopy(i)
+      outputRow.setCachedPropertyAt(to, rhsRow.getCachedPropertyAt(from))
+      i += 1
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{LazyTypes, QueryState => OldQueryState}
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.entityIsNull
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+
+/**
+  * Expands like [[ExpandAllOperator]], but keeps the rows that have no relationship matching the predicate, with the
+  * relationship and the other node set to null.
+  */
+class OptionalExpandAllOperator(fromOffset: Int,
+                                relOffset: Int,
+                                toOffset: Int,
+                                dir: SemanticDirection,
+                                types: LazyTypes,
+                                predicate: Predicate) extends StreamingOperator {
+
+  override def init(queryContext: QueryContext, state: QueryState, inputMorsel: MorselExecutionContext): ContinuableOperatorTask =
+    new OTask(inputMorsel)
+
+  class OTask(val inputRow: MorselExecutionContext) extends ContinuableOperatorTask {
+
+    /*
+    Like in ExpandAllOperator, the relationships of the current input row are kept in between calls. Whether any of
+    them matched has to be kept as well, since the matches may have been written to an earlier output morsel.
+     */
+    var relationships: RelationshipSelectionCursor = _
+    var hasWritten = false
+
+    override def operate(outputRow: MorselExecutionContext,
+                         context: QueryContext,
+                         state: QueryState): Unit = {
+
+      val queryState = new OldQueryState(context, resources = null, params = state.params)
+
+      while (inputRow.hasMoreRows && outputRow.hasMoreRows) {
+
+        val fromNode = inputRow.getLongAt(fromOffset)
+        if (entityIsNull(fromNode)) {
+          writeNullRow(outputRow)
+          inputRow.moveToNextRow()
+        }
+        else {
+          if (relationships == null) {
+            relationships = context.getRelationshipsCursor(fromNode, dir, types.types(context))
+            hasWritten = false
+          }
+
+          while (outputRow.hasMoreRows && relationships.next()) {
+            val relId = relationships.relationshipReference()
+            val otherSide = relationships.otherNodeReference()
+
+            outputRow.copyFrom(inputRow)
+            outputRow.setLongAt(relOffset, relId)
+            outputRow.setLongAt(toOffset, otherSide)
+            // a row that does not match is overwritten by the next one
+            if (predicate.isTrue(outputRow, queryState)) {
+              outputRow.moveToNextRow()
+              hasWritten = true
+            }
+          }
+
+          //we haven't filled up the rows, so there is room for the null row if nothing matched
+          if (outputRow.hasMoreRows) {
+            if (!hasWritten)
+              writeNullRow(outputRow)
+            relationships.close()
+            relationships = null
+            inputRow.moveToNextRow()
+          }
+        }
+      }
+      outputRow.finishedWriting()
+    }
+
+    private def writeNullRow(outputRow: MorselExecutionContext): Unit = {
+      outputRow.copyFrom(inputRow)
+      outputRow.setLongAt(relOffset, -1)
+      outputRow.setLongAt(toOffset, -1)
+      outputRow.moveToNextRow()
+    }
+
+    override def canContinue: Boolean = inputRow.hasMoreRows || relationships != null
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.eclipse.collections.api.iterator.LongIterator
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{LazyTypes, QueryState => OldQueryState}
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.entityIsNull
+import org.neo4j.cypher.internal.runtime.slotted.pipes.{PrimitiveCachingExpandInto, PrimitiveRelationshipsCache}
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+
+/**
+  * Expands like [[ExpandIntoOperator]], but keeps the rows that have no relationship matching the predicate, with the
+  * relationship set to null.
+  */
+class OptionalExpandIntoOperator(fromOffset: Int,
+                                 relOffset: Int,
+                                 toOffset: Int,
+                                 dir: SemanticDirection,
+                                 types: LazyTypes,
+                                 predicate: Predicate) extends StreamingOperator {
+
+  override def init(queryContext: QueryContext, state: QueryState, inputMorsel: MorselExecutionContext): ContinuableOperatorTask =
+    new OTask(inputMorsel)
+
+  class OTask(val inputRow: MorselExecutionContext) extends ContinuableOperatorTask with PrimitiveCachingExpandInto {
+
+    private val relCache = new PrimitiveRelationshipsCache(ExpandIntoOperator.CACHE_SIZE)
+
+    /*
+    Like in OptionalExpandAllOperator, both the relationships of the current input row and whether any of them matched
+    are kept in between calls.
+     */
+    var relationships: LongIterator = _
+    var hasWritten = false
+
+    override def operate(outputRow: MorselExecutionContext,
+                         context: QueryContext,
+                         state: QueryState): Unit = {
+
+      val queryState = new OldQueryState(context, resources = null, params = state.params)
+
+      while (inputRow.hasMoreRows && outputRow.hasMoreRows) {
+
+        val fromNode = inputRow.getLongAt(fromOffset)
+        val toNode = inputRow.getLongAt(toOffset)
+        if (entityIsNull(fromNode) || entityIsNull(toNode)) {
+          writeNullRow(outputRow)
+          inputRow.moveToNextRow()
+        }
+        else {
+          if (relationships == null) {
+            relationships = relCache.get(fromNode, toNode, dir)
+              .getOrElse(findRelationships(context, fromNode, toNode, relCache, dir, types.types(context)))
+            hasWritten = false
+          }
+
+          while (outputRow.hasMoreRows && relationships.hasNext) {
+            val relId = relationships.next()
+
+            outputRow.copyFrom(inputRow)
+            outputRow.setLongAt(relOffset, relId)
+            // a row that does not match is overwritten by the next one
+            if (predicate.isTrue(outputRow, queryState)) {
+              outputRow.moveToNextRow()
+              hasWritten = true
+            }
+          }
+
+          //we haven't filled up the rows, so there is room for the null row if nothing matched
+          if (outputRow.hasMoreRows) {
+            if (!hasWritten)
+              writeNullRow(outputRow)
+            relationships = null
+            inputRow.moveToNextRow()
+          }
+        }
+      }
+      outputRow.finishedWriting()
+    }
+
+    private def writeNullRow(outputRow: MorselExecutionContext): Unit = {
+      outputRow.copyFrom(inputRow)
+      outputRow.setLongAt(relOffset, -1)
+      outputRow.moveToNextRow()
+    }
+
+    override def canContinue: Boolean = inputRow.hasMoreRows || relationships != null
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import java.util
+
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap
+import org.eclipse.collections.impl.factory.primitive.LongObjectMaps
+import org.neo4j.cypher.internal.runtime.vectorized.MorselExecutionContext
+
+/**
+  * The table of a hash join, that maps join keys to the rows of the build side with those keys. It is populated concurrently,
+  * by the tasks producing the morsels of the build side, so it is split into stripes by key, each guarded by a lock of its own.
+  * It is only probed once all of it has been populated, which needs no locking.
+  */
+trait ProbeTable
+
+object ProbeTable {
+  private val STRIPE_BITS = 6
+  private[operators] val STRIPES = 1 << STRIPE_BITS
+
+  val NO_MATCHES: util.List[MorselExecutionContext] = util.Collections.emptyList()
+
+  /*
+  The stripe is chosen by the high bits of the multiplicatively spread hash, so that the keys of a stripe do not all share
+  the low bits that the maps of the stripes use for their buckets.
+   */
+  private[operators] def stripeOf(hash: Int): Int = (hash * 0x9E3779B9) >>> (32 - STRIPE_BITS)
+}
+
+/**
+  * Probe table with primitive long keys, for joins on a single node.
+  */
+class LongProbeTable extends ProbeTable {
+
+  private val stripes: Array[MutableLongObjectMap[util.ArrayList[MorselExecutionContext]]] =
+    Array.fill(ProbeTable.STRIPES)(LongObjectMaps.mutable.empty[util.ArrayList[MorselExecutionContext]]())
+
+  def add(key: Long, row: MorselExecutionContext): Unit = {
+    val stripe = stripes(stripeOf(key))
+    stripe.synchronized {
+      var rows = stripe.get(key)
+      if (rows == null) {
+        rows = new util.ArrayList[MorselExecutionContext](1)
+        stripe.put(key, rows)
+      }
+      rows.add(row)
+    }
+  }
+
+  def get(key: Long): util.List[MorselExecutionContext] = {
+    val rows = stripes(stripeOf(key)).get(key)
+    if (rows == null) ProbeTable.NO_MATCHES else rows
+  }
+
+  private def stripeOf(key: Long): Int = ProbeTable.stripeOf(java.lang.Long.hashCode(key))
+}
+
+/**
+  * Probe table with object keys, for joins on several nodes, or on values.
+  */
+class ObjectProbeTable[K] extends ProbeTable {
+
+  private val stripes: Array[util.HashMap[K, util.ArrayList[MorselExecutionContext]]] =
+    Array.fill(ProbeTable.STRIPES)(new util.HashMap[K, util.ArrayList[MorselExecutionContext]]())
+
+  def add(key: K, row: MorselExecutionContext): Unit = {
+    val stripe = stripes(stripeOf(key))
+    stripe.synchronized {
+      var rows = stripe.get(key)
+      if (rows == null) {
+        rows = new util.ArrayList[MorselExecutionContext](1)
+        stripe.put(key, rows)
+      }
+      rows.add(row)
+    }
+  }
+
+  def get(key: K): util.List[MorselExecutionContext] = {
+    val rows = stripes(stripeOf(key)).get(key)
+    if (rows == null) ProbeTable.NO_MATCHES else rows
+  }
+
+  private def stripeOf(key: K): Int = ProbeTable.stripeOf(key.hashCode())
+}
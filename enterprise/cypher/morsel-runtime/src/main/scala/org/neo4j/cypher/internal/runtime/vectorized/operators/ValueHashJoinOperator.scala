@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import java.util
+
+import org.neo4j.cypher.internal.compatibility.v3_6.runtime.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{QueryState => OldQueryState}
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Values.NO_VALUE
+
+/**
+  * Joins on the values of an expression of each side. The columns of the probe side, besides the arguments, are copied
+  * to the output row after the ones of the build side.
+  */
+class ValueHashJoinOperator(lhsExpression: Expression,
+                            rhsExpression: Expression,
+                            longOffset: Int,
+                            refsOffset: Int,
+                            argumentSize: SlotConfiguration.Size) extends HashJoinOperator[ObjectProbeTable[AnyValue]] {
+
+  override def newProbeTable(): ObjectProbeTable[AnyValue] = new ObjectProbeTable[AnyValue]
+
+  override def build(table: ObjectProbeTable[AnyValue], lhsRows: MorselExecutionContext, context: QueryContext, state: QueryState): Unit = {
+    val queryState = new OldQueryState(context, resources = null, params = state.params)
+    val row = lhsRows.createClone()
+    row.resetToFirstRow()
+    while (row.hasMoreRows) {
+      val key = lhsExpression(row, queryState)
+      if (key != NO_VALUE)
+        table.add(key, row.createClone())
+      row.moveToNextRow()
+    }
+  }
+
+  override protected def matches(table: ObjectProbeTable[AnyValue],
+                                 rhsRow: MorselExecutionContext,
+                                 queryState: OldQueryState): util.List[MorselExecutionContext] = {
+    val key = rhsExpression(rhsRow, queryState)
+    if (key == NO_VALUE) ProbeTable.NO_MATCHES
+    else table.get(key)
+  }
+
+  override protected def copyDataFromRhs(outputRow: MorselExecutionContext, rhsRow: MorselExecutionContext): Unit = {
+    var i = argumentSize.nLongs
+    while (i < rhsRow.getLongsPerRow) {
+      outputRow.setLongAt(longOffset + i - argumentSize.nLongs, rhsRow.getLongAt(i))
+      i += 1
+    }
+    i = argumentSize.nReferences
+    while (i < rhsRow.getRefsPerRow) {
+      outputRow.setRefAt(refsOffset + i - argumentSize.nReferences, rhsRow.getRefAt(i))
+      i += 1
+    }
+  }
+}
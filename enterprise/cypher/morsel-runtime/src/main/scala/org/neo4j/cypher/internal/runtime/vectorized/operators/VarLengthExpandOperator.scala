@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.neo4j.cypher.internal.compatibility.v3_6.runtime.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{LazyTypes, QueryState => OldQueryState}
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.entityIsNull
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.{RelationshipValue, VirtualValues}
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+
+import scala.collection.mutable
+
+/**
+  * Finds the paths of min to max relationships from a node, depth first, like
+  * [[org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe]].
+  *
+  * The node and edge predicates are evaluated on the input row, with the node and relationship to test set in the
+  * temporary slots, which is why only the argument part of the input row is copied to the output.
+  */
+class VarLengthExpandOperator(fromOffset: Int,
+                              relOffset: Int,
+                              toOffset: Int,
+                              dir: SemanticDirection,
+                              projectedDir: SemanticDirection,
+                              types: LazyTypes,
+                              min: Int,
+                              maxDepth: Option[Int],
+                              shouldExpandAll: Boolean,
+                              tempNodeOffset: Int,
+                              tempEdgeOffset: Int,
+                              nodePredicate: Predicate,
+                              edgePredicate: Predicate,
+                              argumentSize: SlotConfiguration.Size) extends StreamingOperator {
+
+  private val max = maxDepth.getOrElse(Int.MaxValue)
+
+  private val needsFlipping =
+    if (dir == SemanticDirection.BOTH)
+      projectedDir == SemanticDirection.INCOMING
+    else
+      dir != projectedDir
+
+  override def init(queryContext: QueryContext, state: QueryState, inputMorsel: MorselExecutionContext): ContinuableOperatorTask =
+    new OTask(inputMorsel)
+
+  class OTask(val inputRow: MorselExecutionContext) extends ContinuableOperatorTask {
+
+    /*
+    The paths still to be visited from the current input row are kept in between calls, so that a row with more
+    paths than fit in the output morsel is continued in the next one. A path is only expanded when it is visited,
+    which keeps the stack to the relationships of the nodes on the current branch.
+     */
+    var stack: mutable.ArrayStack[(Long, Vector[RelationshipValue])] = _
+
+    override def operate(outputRow: MorselExecutionContext,
+                         context: QueryContext,
+                         state: QueryState): Unit = {
+
+      val queryState = new OldQueryState(context, resources = null, params = state.params)
+
+      while (inputRow.hasMoreRows && outputRow.hasMoreRows) {
+
+        val fromNode = inputRow.getLongAt(fromOffset)
+        if (entityIsNull(fromNode)) {
+          outputRow.copyFrom(inputRow, argumentSize.nLongs, argumentSize.nReferences)
+          outputRow.setRefAt(relOffset, Values.NO_VALUE)
+          if (shouldExpandAll)
+            outputRow.setLongAt(toOffset, -1L)
+          outputRow.moveToNextRow()
+          inputRow.moveToNextRow()
+        }
+        else {
+          if (stack == null) {
+            stack = new mutable.ArrayStack[(Long, Vector[RelationshipValue])]
+            // We set the fromNode on the temp node offset as well, to be able to run our node predicate and make sure
+            // the start node is valid
+            inputRow.setLongAt(tempNodeOffset, fromNode)
+            if (nodePredicate.isTrue(inputRow, queryState))
+              stack.push((fromNode, Vector.empty))
+          }
+
+          while (outputRow.hasMoreRows && stack.nonEmpty) {
+            val (node, rels) = stack.pop()
+            if (rels.length < max)
+              expand(node, rels, context, queryState)
+
+            if (rels.length >= min && isToNodeValid(node)) {
+              outputRow.copyFrom(inputRow, argumentSize.nLongs, argumentSize.nReferences)
+              if (shouldExpandAll)
+                outputRow.setLongAt(toOffset, node)
+              val projectedRels = if (needsFlipping) rels.reverse else rels
+              outputRow.setRefAt(relOffset, VirtualValues.list(projectedRels: _*))
+              outputRow.moveToNextRow()
+            }
+          }
+
+          //all the paths of this row have been visited
+          if (stack.isEmpty) {
+            stack = null
+            inputRow.moveToNextRow()
+          }
+        }
+      }
+      outputRow.finishedWriting()
+    }
+
+    private def expand(node: Long, rels: Vector[RelationshipValue], context: QueryContext, queryState: OldQueryState): Unit = {
+      val relationships: RelationshipSelectionCursor = context.getRelationshipsCursor(node, dir, types.types(context))
+      try {
+        while (relationships.next()) {
+          val relationship = context.getRelationshipFor(relationships.relationshipReference(), relationships.`type`(),
+                                                        relationships.sourceNodeReference(), relationships.targetNodeReference())
+          val relationshipIsUniqueInPath = !rels.contains(relationship)
+
+          if (relationshipIsUniqueInPath) {
+            val otherNode = relationships.otherNodeReference()
+            inputRow.setLongAt(tempEdgeOffset, relationship.id())
+            inputRow.setLongAt(tempNodeOffset, otherNode)
+            // Before expanding, check that both the edge and node in question fulfil the predicate
+            if (edgePredicate.isTrue(inputRow, queryState) && nodePredicate.isTrue(inputRow, queryState)) {
+              stack.push((otherNode, rels :+ relationship))
+            }
+          }
+        }
+      } finally {
+        relationships.close()
+      }
+    }
+
+    private def isToNodeValid(node: Long): Boolean =
+      shouldExpandAll || inputRow.getLongAt(toOffset) == node
+
+    override def canContinue: Boolean = inputRow.hasMoreRows || stack != null
+  }
+}
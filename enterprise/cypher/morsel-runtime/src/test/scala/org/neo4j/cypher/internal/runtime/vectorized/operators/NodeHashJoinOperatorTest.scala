@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.cypher.internal.runtime.vectorized.operators
+
+import org.neo4j.cypher.internal.runtime.vectorized._
+import org.neo4j.values.AnyValue
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+
+class NodeHashJoinOperatorTest extends CypherFunSuite {
+
+  test("should join rows of all build side morsels on a single node") {
+    // Given (a, b) on the build side, and (b, c) on the probe side, joined on b
+    val operator = new NodeHashJoinPrimitiveOperator(1, 0, Array((1, 2)), Array.empty, Array.empty)
+    val table = operator.newProbeTable()
+    operator.build(table, morsel(2, 1, 10, 2, 20, 3, 10), null, QueryState.EMPTY)
+    operator.build(table, morsel(2, 4, 30, 5, -1), null, QueryState.EMPTY)
+    val state = QueryState.EMPTY.copy(probeTables = Map(operator -> table))
+
+    val out = new Morsel(new Array[Long](3 * 2), Array[AnyValue](), 2)
+    val task = operator.init(null, state, morsel(2, 10, 100, 20, 200, 40, 400, -1, 500))
+
+    // When
+    task.operate(MorselExecutionContext(out, 3, 0), null, state)
+
+    // Then
+    task.canContinue should be(true)
+    out.longs should equal(Array(1, 10, 100, 3, 10, 100))
+    out.validRows shouldBe 2
+
+    // And when
+    task.operate(MorselExecutionContext(out, 3, 0), null, state)
+
+    // Then
+    task.canContinue should be(false)
+    out.longs.take(3) should equal(Array(2, 20, 200))
+    out.validRows shouldBe 1
+  }
+
+  test("should join on several nodes") {
+    // Given (a, b) on the build side, and (a, b, c) on the probe side, joined on a and b
+    val operator = new NodeHashJoinOperator(Array(0, 1), Array(0, 1), Array((2, 2)), Array.empty, Array.empty)
+    val table = operator.newProbeTable()
+    operator.build(table, morsel(2, 1, 10, 1, 20, -1, 10), null, QueryState.EMPTY)
+    val state = QueryState.EMPTY.copy(probeTables = Map(operator -> table))
+
+    val out = new Morsel(new Array[Long](3 * 4), Array[AnyValue](), 4)
+    val task = operator.init(null, state, morsel(3, 1, 20, 100, 2, 10, 200, -1, 10, 300, 1, 10, 400))
+
+    // When
+    task.operate(MorselExecutionContext(out, 3, 0), null, state)
+
+    // Then
+    task.canContinue should be(false)
+    out.longs.take(6) should equal(Array(1, 20, 100, 1, 10, 400))
+    out.validRows shouldBe 2
+  }
+
+  test("should not produce rows if the build side is empty") {
+    // Given
+    val operator = new NodeHashJoinPrimitiveOperator(0, 0, Array((1, 1)), Array.empty, Array.empty)
+    val table = operator.newProbeTable()
+    val state = QueryState.EMPTY.copy(probeTables = Map(operator -> table))
+
+    val out = new Morsel(new Array[Long](2 * 2), Array[AnyValue](), 2)
+    val task = operator.init(null, state, morsel(2, 1, 100, 2, 200))
+
+    // When
+    task.operate(MorselExecutionContext(out, 2, 0), null, state)
+
+    // Then
+    task.canContinue should be(false)
+    out.validRows shouldBe 0
+  }
+
+  private def morsel(longsPerRow: Int, longs: Long*): MorselExecutionContext =
+    MorselExecutionContext(new Morsel(longs.toArray, Array[AnyValue](), longs.length / longsPerRow), longsPerRow, 0)
+}
@@ -72,9 +72,10 @@ class SlottedPipeBuilder(fallback: PipeBuilder,
       case NodeIndexScan(column, label, property, _, indexOrder) =>
         NodeIndexScanSlottedPipe(column, label, SlottedIndexedProperty(column, property, slots), indexOrder, slots, argumentSize)(id)
 
-      case NodeIndexSeek(column, label, properties, valueExpr, _, indexOrder) =>
+      case NodeIndexSeek(column, label, properties, valueExpr, _, indexOrder, includedProperties) =>
         val indexSeekMode = IndexSeekModeFactory(unique = false, readOnly = readOnly).fromQueryExpression(valueExpr)
-        NodeIndexSeekSlottedPipe(column, label, properties.map(SlottedIndexedProperty(column, _, slots)).toIndexedSeq, valueExpr.map(convertExpressions), indexSeekMode, indexOrder, slots, argumentSize)(id)
+        NodeIndexSeekSlottedPipe(column, label, properties.map(SlottedIndexedProperty(column, _, slots)).toIndexedSeq, valueExpr.map(convertExpressions), indexSeekMode, indexOrder, slots, argumentSize,
+          includedProperties.map(SlottedIndexedProperty(column, _, slots)).toIndexedSeq)(id)
 
       case NodeUniqueIndexSeek(column, label, properties, valueExpr, _, indexOrder) =>
         val indexSeekMode = IndexSeekModeFactory(unique = true, readOnly = readOnly).fromQueryExpression(valueExpr)
@@ -39,6 +39,10 @@ trait IndexSlottedPipeWithValues extends Pipe {
   val indexPropertyIndices: Array[Int]
   // the offsets of the cached node property slots where we will set values
   val indexPropertySlotOffsets: Array[Int]
+  // the property keys of the included properties where we will get values
+  def includedPropertyKeys: Array[Int] = Array.emptyIntArray
+  // the offsets of the cached node property slots where we will set the values of included properties
+  def includedPropertySlotOffsets: Array[Int] = Array.emptyIntArray
   // Number of longs and refs
   val argumentSize: SlotConfiguration.Size
 
@@ -58,6 +62,11 @@ trait IndexSlottedPipeWithValues extends Pipe {
           slottedContext.setCachedPropertyAt(indexPropertySlotOffsets(i), value)
           i += 1
         }
+        i = 0
+        while (i < includedPropertyKeys.length) {
+          slottedContext.setCachedPropertyAt(includedPropertySlotOffsets(i), includedPropertyValue(includedPropertyKeys(i)))
+          i += 1
+        }
         slottedContext
       } else null
     }
@@ -40,7 +40,8 @@ case class NodeIndexSeekSlottedPipe(ident: String,
                                     indexMode: IndexSeekMode = IndexSeek,
                                     indexOrder: IndexOrder,
                                     slots: SlotConfiguration,
-                                    argumentSize: SlotConfiguration.Size)
+                                    argumentSize: SlotConfiguration.Size,
+                                    includedProperties: IndexedSeq[SlottedIndexedProperty] = IndexedSeq.empty)
                                    (val id: Id = Id.INVALID_ID) extends Pipe with NodeIndexSeeker with IndexSlottedPipeWithValues {
 
   override val offset: Int = slots.getLongOffsetFor(ident)
@@ -49,13 +50,19 @@ case class NodeIndexSeekSlottedPipe(ident: String,
 
   override val indexPropertyIndices: Array[Int] = properties.zipWithIndex.filter(_._1.getValueFromIndex).map(_._2).toArray
   override val indexPropertySlotOffsets: Array[Int] = properties.map(_.maybeCachedNodePropertySlot).collect{ case Some(o) => o }.toArray
-  private val needsValues: Boolean = indexPropertyIndices.nonEmpty
+
+  private val includedPropertyIds: Array[Int] = includedProperties.map(_.propertyKeyId).toArray
+  override val includedPropertyKeys: Array[Int] = includedProperties.filter(_.getValueFromIndex).map(_.propertyKeyId).toArray
+  override val includedPropertySlotOffsets: Array[Int] = includedProperties.map(_.maybeCachedNodePropertySlot).collect{ case Some(o) => o }.toArray
+  private val needsValues: Boolean = indexPropertyIndices.nonEmpty || includedPropertyKeys.nonEmpty
 
   private var reference: IndexReference = IndexReference.NO_INDEX
 
   private def reference(context: QueryContext): IndexReference = {
     if (reference == IndexReference.NO_INDEX) {
-      reference = context.indexReference(label.nameId.id, propertyIds: _*)
+      reference =
+        if (includedPropertyIds.isEmpty) context.indexReference(label.nameId.id, propertyIds: _*)
+        else context.coveringIndexReference(label.nameId.id, propertyIds, includedPropertyIds)
     }
     reference
   }
@@ -78,6 +85,7 @@ case class NodeIndexSeekSlottedPipe(ident: String,
         ident == that.ident &&
         label == that.label &&
         (properties == that.properties) &&
+        (includedProperties == that.includedProperties) &&
         valueExpr == that.valueExpr &&
         indexMode == that.indexMode &&
         slots == that.slots &&
@@ -86,7 +94,7 @@ case class NodeIndexSeekSlottedPipe(ident: String,
   }
 
   override def hashCode(): Int = {
-    val state = Seq(ident, label, properties, valueExpr, indexMode, slots, argumentSize)
+    val state = Seq(ident, label, properties, includedProperties, valueExpr, indexMode, slots, argumentSize)
     state.map(_.hashCode()).foldLeft(0)((a, b) => 31 * a + b)
   }
 }
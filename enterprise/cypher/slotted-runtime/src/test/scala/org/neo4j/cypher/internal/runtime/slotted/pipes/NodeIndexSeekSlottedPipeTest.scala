@@ -22,15 +22,17 @@
  */
 package org.neo4j.cypher.internal.runtime.slotted.pipes
 
+import org.mockito.ArgumentMatchers.any
 import org.mockito.Mockito._
 import org.neo4j.cypher.internal.compatibility.v3_6.runtime.SlotConfiguration.Size
 import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{SlotConfiguration, SlottedIndexedProperty}
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.{ListLiteral, Literal}
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.{IndexMockingHelp, LockingUniqueIndexSeek}
 import org.neo4j.cypher.internal.runtime.interpreted.{ExecutionContext, ImplicitDummyPos, QueryStateHelper}
+import org.neo4j.cypher.internal.runtime.NodeValueHit
 import org.neo4j.cypher.internal.runtime.slotted.{SlottedExecutionContext, SlottedExecutionContextFactory}
-import org.neo4j.cypher.internal.v3_6.logical.plans.{CompositeQueryExpression, IndexOrderNone, ManyQueryExpression}
-import org.neo4j.values.storable.Values
+import org.neo4j.cypher.internal.v3_6.logical.plans.{CompositeQueryExpression, IndexOrderNone, ManyQueryExpression, SingleQueryExpression}
+import org.neo4j.values.storable.{Value, Values}
 import org.neo4j.values.virtual.NodeValue
 import org.neo4j.cypher.internal.v3_6.expressions.{LabelName, LabelToken, PropertyKeyName, PropertyKeyToken}
 import org.neo4j.cypher.internal.v3_6.util.symbols._
@@ -175,4 +177,50 @@ class NodeIndexSeekSlottedPipeTest extends CypherFunSuite with ImplicitDummyPos
       Map("n" -> node2.id, "n." + propertyKey(0).name -> Values.stringValue("bye"))
     ))
   }
+
+  test("should use values of included properties provided by the index and leave the others to the store") {
+    // given
+    val includedKey = PropertyKeyToken(PropertyKeyName("included") _, PropertyKeyId(12))
+    val query = indexFor[ExecutionContext]()
+    when(query.indexSeek(any(), any(), any(), any())).thenReturn(
+      new IncludingCursor(Seq(nodeValueHit(node, "hello"), nodeValueHit(node2, "hello")), includedKey.nameId.id,
+        Seq(Values.stringValue("world"), null)))
+    val queryState = QueryStateHelper.emptyWith(query = query)
+
+    // when
+    val slots = SlotConfiguration.empty.newLong("n", nullable = false, CTNode)
+      .newReference("n." + includedKey.name, nullable = true, CTAny)
+    val properties = propertyKey.map(pk => SlottedIndexedProperty(pk.nameId.id, None)).toIndexedSeq
+    val includedProperties = IndexedSeq(SlottedIndexedProperty(includedKey.nameId.id, Some(slots.getReferenceOffsetFor("n." + includedKey.name))))
+    val pipe = NodeIndexSeekSlottedPipe("n", label, properties, SingleQueryExpression(Literal("hello")),
+      indexOrder = IndexOrderNone,
+      slots = slots,
+      argumentSize = slots.size(),
+      includedProperties = includedProperties)()
+    val result = pipe.createResults(queryState)
+
+    // then
+    val list: Iterator[ExecutionContext] = result
+    testableResult(list, slots) should equal(List(
+      Map("n" -> node.id, "n." + includedKey.name -> Values.stringValue("world")),
+      Map("n" -> node2.id, "n." + includedKey.name -> null)
+    ))
+    verify(query).coveringIndexReference(label.nameId.id, Array(propertyKey(0).nameId.id), Array(includedKey.nameId.id))
+  }
+
+  class IncludingCursor(hits: Seq[NodeValueHit], includedKey: Int, includedValues: Seq[Value]) extends PredefinedCursor[Any](hits) {
+
+    private var position = -1
+
+    override def next(): Boolean = {
+      position += 1
+      super.next()
+    }
+
+    override def numberOfIncludedProperties(): Int = 1
+
+    override def includedPropertyKey(offset: Int): Int = includedKey
+
+    override def includedPropertyValue(offset: Int): Value = includedValues(position)
+  }
 }
@@ -74,6 +74,7 @@ import org.neo4j.kernel.impl.index.schema.fusion.FusionIndexProvider;
 import org.neo4j.kernel.impl.spi.KernelContext;
 import org.neo4j.kernel.impl.storemigration.StoreMigrationParticipant;
 import org.neo4j.kernel.lifecycle.Lifecycle;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.schema.IndexSample;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 import org.neo4j.test.DoubleLatch;
@@ -500,6 +501,18 @@ public class SchemaIndexHaIT
             this.delegate = delegate;
         }
 
+        @Override
+        public void start() throws Throwable
+        {
+            delegate.start();
+        }
+
+        @Override
+        public void stop() throws Throwable
+        {
+            delegate.stop();
+        }
+
         @Override
         public IndexPopulator getPopulator( StoreIndexDescriptor descriptor,
             IndexSamplingConfig samplingConfig, ByteBufferFactory bufferFactory )
@@ -545,6 +558,7 @@ public class SchemaIndexHaIT
         Config config();
         PageCache pageCache();
         RecoveryCleanupWorkCollector recoveryCleanupWorkCollector();
+        JobScheduler jobScheduler();
     }
 
     private static class ControllingIndexProviderFactory extends KernelExtensionFactory<IndexProviderDependencies>
@@ -571,7 +585,7 @@ public class SchemaIndexHaIT
             RecoveryCleanupWorkCollector recoveryCleanupWorkCollector = deps.recoveryCleanupWorkCollector();
 
             FusionIndexProvider fusionIndexProvider = NativeLuceneFusionIndexProviderFactory20.create( pageCache, databaseDirectory, fs, monitor,
-                    config, operationalMode, recoveryCleanupWorkCollector );
+                    config, operationalMode, recoveryCleanupWorkCollector, deps.jobScheduler() );
 
             if ( injectLatchPredicate.test( deps.db() ) )
             {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.kernel.impl.store.format.highlimit;
+
+import org.neo4j.kernel.impl.store.format.BaseRecordFormats;
+import org.neo4j.kernel.impl.store.format.Capability;
+import org.neo4j.kernel.impl.store.format.FormatFamily;
+import org.neo4j.kernel.impl.store.format.RecordFormat;
+import org.neo4j.kernel.impl.store.format.RecordFormats;
+import org.neo4j.kernel.impl.store.format.StoreVersion;
+import org.neo4j.kernel.impl.store.format.standard.DynamicRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.LabelTokenRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.NodeRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.PropertyKeyTokenRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.PropertyRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.RelationshipTypeTokenRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.StandardFormatSettings;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyKeyTokenRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipTypeTokenRecord;
+
+/**
+ * Record format that keeps the ID limits of the standard format, but stores relationship and relationship group records
+ * using the variable length reference encoding of the high limit format. Since IDs are bounded by 35 bits, references
+ * rarely need more than 4 bytes, which allows for records considerably smaller than their standard counterparts.
+ * Records that don't fit in a single unit spill over into a secondary record unit, just like in the high limit format.
+ * <p>
+ * Node, property, dynamic and token records use the standard format, since their standard layout is already close
+ * to the minimal size for the standard ID limits.
+ *
+ * @see BaseHighLimitRecordFormat
+ */
+public class Compact extends BaseRecordFormats
+{
+    public static final String STORE_VERSION = StoreVersion.COMPACT_V3_6_0.versionString();
+
+    public static final RecordFormats RECORD_FORMATS = new Compact();
+    public static final String NAME = "compact";
+
+    /**
+     * Relationship record: header, 3B type, and on average 4B for each of the six references it holds.
+     */
+    static final int RELATIONSHIP_RECORD_SIZE = 28;
+    /**
+     * Relationship group record: header, 3B type, and on average 4B for each of the four references it usually holds.
+     */
+    static final int RELATIONSHIP_GROUP_RECORD_SIZE = 20;
+
+    private Compact()
+    {
+        super( STORE_VERSION, StoreVersion.COMPACT_V3_6_0.introductionVersion(), 1, Capability.DENSE_NODES,
+                Capability.SCHEMA, Capability.LUCENE_5, Capability.POINT_PROPERTIES, Capability.TEMPORAL_PROPERTIES,
+                Capability.SECONDARY_RECORD_UNITS, Capability.SORT );
+    }
+
+    @Override
+    public RecordFormat<NodeRecord> node()
+    {
+        return new NodeRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<RelationshipRecord> relationship()
+    {
+        return new RelationshipRecordFormat( RELATIONSHIP_RECORD_SIZE, StandardFormatSettings.RELATIONSHIP_MAXIMUM_ID_BITS );
+    }
+
+    @Override
+    public RecordFormat<RelationshipGroupRecord> relationshipGroup()
+    {
+        return new RelationshipGroupRecordFormat( RELATIONSHIP_GROUP_RECORD_SIZE, StandardFormatSettings.RELATIONSHIP_GROUP_MAXIMUM_ID_BITS );
+    }
+
+    @Override
+    public RecordFormat<PropertyRecord> property()
+    {
+        return new PropertyRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<LabelTokenRecord> labelToken()
+    {
+        return new LabelTokenRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<PropertyKeyTokenRecord> propertyKeyToken()
+    {
+        return new PropertyKeyTokenRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<RelationshipTypeTokenRecord> relationshipTypeToken()
+    {
+        return new RelationshipTypeTokenRecordFormat();
+    }
+
+    @Override
+    public RecordFormat<DynamicRecord> dynamic()
+    {
+        return new DynamicRecordFormat();
+    }
+
+    @Override
+    public FormatFamily getFormatFamily()
+    {
+        return CompactFormatFamily.INSTANCE;
+    }
+
+    @Override
+    public String name()
+    {
+        return NAME;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.kernel.impl.store.format.highlimit;
+
+import org.neo4j.kernel.impl.store.format.FormatFamily;
+
+/**
+ * Compact format family. Ranked between the standard and the high limit families, since it supports the ID limits of the
+ * standard format, but not those of the high limit format.
+ * @see FormatFamily
+ */
+public class CompactFormatFamily extends FormatFamily
+{
+    public static final FormatFamily INSTANCE = new CompactFormatFamily();
+
+    private static final String COMPACT_FORMAT_FAMILY_NAME = "Compact format family";
+
+    private CompactFormatFamily()
+    {
+    }
+
+    @Override
+    public String getName()
+    {
+        return COMPACT_FORMAT_FAMILY_NAME;
+    }
+
+    @Override
+    public int rank()
+    {
+        return 1;
+    }
+}
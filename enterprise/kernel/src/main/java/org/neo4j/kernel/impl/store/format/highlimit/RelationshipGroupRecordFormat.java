@@ -82,7 +82,12 @@ class RelationshipGroupRecordFormat extends BaseHighLimitRecordFormat<Relationsh
 
     RelationshipGroupRecordFormat( int recordSize )
     {
-        super( fixedRecordSize( recordSize ), 0, HighLimitFormatSettings.RELATIONSHIP_GROUP_MAXIMUM_ID_BITS );
+        this( recordSize, HighLimitFormatSettings.RELATIONSHIP_GROUP_MAXIMUM_ID_BITS );
+    }
+
+    RelationshipGroupRecordFormat( int recordSize, int maxIdBits )
+    {
+        super( fixedRecordSize( recordSize ), 0, maxIdBits );
     }
 
     @Override
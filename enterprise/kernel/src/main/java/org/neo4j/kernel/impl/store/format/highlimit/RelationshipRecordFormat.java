@@ -96,7 +96,12 @@ class RelationshipRecordFormat extends BaseHighLimitRecordFormat<RelationshipRec
 
     RelationshipRecordFormat( int recordSize )
     {
-        super( fixedRecordSize( recordSize ), 0, HighLimitFormatSettings.RELATIONSHIP_MAXIMUM_ID_BITS );
+        this( recordSize, HighLimitFormatSettings.RELATIONSHIP_MAXIMUM_ID_BITS );
+    }
+
+    RelationshipRecordFormat( int recordSize, int maxIdBits )
+    {
+        super( fixedRecordSize( recordSize ), 0, maxIdBits );
     }
 
     @Override
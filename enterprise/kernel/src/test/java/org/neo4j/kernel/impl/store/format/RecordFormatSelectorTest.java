@@ -30,6 +30,7 @@ import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.store.MetaDataStore;
+import org.neo4j.kernel.impl.store.format.highlimit.Compact;
 import org.neo4j.kernel.impl.store.format.highlimit.HighLimit;
 import org.neo4j.kernel.impl.store.format.highlimit.v300.HighLimitV3_0_0;
 import org.neo4j.kernel.impl.store.format.highlimit.v306.HighLimitV3_0_6;
@@ -42,6 +43,7 @@ import org.neo4j.kernel.impl.store.format.standard.StandardV3_0;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_2;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_4;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_6;
+import org.neo4j.kernel.impl.store.format.standard.StandardV3_6CompressedStrings;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.test.rule.PageCacheRule;
@@ -54,6 +56,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -96,11 +99,13 @@ public class RecordFormatSelectorTest
         assertSame( StandardV3_2.RECORD_FORMATS, selectForVersion( StandardV3_2.STORE_VERSION ) );
         assertSame( StandardV3_4.RECORD_FORMATS, selectForVersion( StandardV3_4.STORE_VERSION ) );
         assertSame( StandardV3_6.RECORD_FORMATS, selectForVersion( StandardV3_6.STORE_VERSION ) );
+        assertSame( StandardV3_6CompressedStrings.RECORD_FORMATS, selectForVersion( StandardV3_6CompressedStrings.STORE_VERSION ) );
         assertSame( HighLimitV3_0_0.RECORD_FORMATS, selectForVersion( HighLimitV3_0_0.STORE_VERSION ) );
         assertSame( HighLimitV3_1_0.RECORD_FORMATS, selectForVersion( HighLimitV3_1_0.STORE_VERSION ) );
         assertSame( HighLimitV3_2_0.RECORD_FORMATS, selectForVersion( HighLimitV3_2_0.STORE_VERSION ) );
         assertSame( HighLimitV3_4_0.RECORD_FORMATS, selectForVersion( HighLimitV3_4_0.STORE_VERSION ) );
         assertSame( HighLimit.RECORD_FORMATS, selectForVersion( HighLimit.STORE_VERSION ) );
+        assertSame( Compact.RECORD_FORMATS, selectForVersion( Compact.STORE_VERSION ) );
     }
 
     @Test
@@ -351,6 +356,62 @@ public class RecordFormatSelectorTest
         assertSame( defaultFormat(), selectNewestFormat( config, testDirectory.databaseLayout(), fs, getPageCache(), LOG ) );
     }
 
+    @Test
+    public void selectNewestFormatWithStringCompressionForNewStore()
+    {
+        assertSame( StandardV3_6CompressedStrings.RECORD_FORMATS,
+                selectNewestFormat( compressedStringsConfig(), testDirectory.databaseLayout(), fs, getPageCache(), LOG ) );
+    }
+
+    @Test
+    public void selectNewestFormatWithStringCompressionUpgradesExistingStandardStore() throws IOException
+    {
+        PageCache pageCache = getPageCache();
+        prepareNeoStoreFile( StandardV3_6.STORE_VERSION, pageCache );
+
+        RecordFormats format = selectNewestFormat( compressedStringsConfig(), testDirectory.databaseLayout(), fs, pageCache, LOG );
+
+        assertSame( StandardV3_6CompressedStrings.RECORD_FORMATS, format );
+        assertTrue( format.generation() > StandardV3_6.RECORD_FORMATS.generation() );
+    }
+
+    @Test
+    public void selectNewestFormatWithoutStringCompressionKeepsCompressedStringsStore() throws IOException
+    {
+        PageCache pageCache = getPageCache();
+        prepareNeoStoreFile( StandardV3_6CompressedStrings.STORE_VERSION, pageCache );
+
+        assertSame( StandardV3_6CompressedStrings.RECORD_FORMATS,
+                selectNewestFormat( Config.defaults(), testDirectory.databaseLayout(), fs, pageCache, LOG ) );
+    }
+
+    @Test
+    public void selectNewestFormatWithStringCompressionKeepsHighLimitFormat() throws IOException
+    {
+        PageCache pageCache = getPageCache();
+        prepareNeoStoreFile( HighLimit.STORE_VERSION, pageCache );
+
+        assertSame( HighLimit.RECORD_FORMATS,
+                selectNewestFormat( compressedStringsConfig(), testDirectory.databaseLayout(), fs, pageCache, LOG ) );
+    }
+
+    @Test
+    public void selectForStoreOrConfigRefusesStandardConfiguredForCompressedStringsStore() throws IOException
+    {
+        PageCache pageCache = getPageCache();
+        prepareNeoStoreFile( StandardV3_6CompressedStrings.STORE_VERSION, pageCache );
+
+        try
+        {
+            selectForStoreOrConfig( config( Standard.LATEST_NAME ), testDirectory.databaseLayout(), fs, pageCache, LOG );
+            fail( "Exception expected" );
+        }
+        catch ( Exception e )
+        {
+            assertThat( e, instanceOf( IllegalArgumentException.class ) );
+        }
+    }
+
     @Test
     public void findSuccessorLatestVersion()
     {
@@ -397,6 +458,11 @@ public class RecordFormatSelectorTest
         return neoStoreFile;
     }
 
+    private static Config compressedStringsConfig()
+    {
+        return Config.defaults( GraphDatabaseSettings.string_property_compression, "true" );
+    }
+
     private static Config config( String recordFormatName )
     {
         return Config.defaults( GraphDatabaseSettings.record_format, recordFormatName );
@@ -123,6 +123,10 @@ public class MetricsSettings implements LoadableConfig
     public static final Setting<Boolean> cypherPlanningEnabled =
             buildSetting( "metrics.cypher.replanning.enabled", BOOLEAN ).inherits( neoEnabled ).build();
 
+    @Description( "Enable reporting metrics about the hits, misses and memory usage of the fulltext index query caches." )
+    public static final Setting<Boolean> fulltextQueryCacheEnabled =
+            buildSetting( "metrics.fulltext.query_cache.enabled", BOOLEAN ).inherits( neoEnabled ).build();
+
     @Description( "Enable reporting metrics about Bolt Protocol message processing." )
     public static final Setting<Boolean> boltMessagesEnabled = buildSetting( "metrics.bolt.messages.enabled", BOOLEAN ).inherits( neoEnabled ).build();
 
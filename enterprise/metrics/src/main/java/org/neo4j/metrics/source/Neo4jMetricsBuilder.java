@@ -48,6 +48,7 @@ import org.neo4j.metrics.source.cluster.NetworkMetrics;
 import org.neo4j.metrics.source.db.BoltMetrics;
 import org.neo4j.metrics.source.db.CheckPointingMetrics;
 import org.neo4j.metrics.source.db.CypherMetrics;
+import org.neo4j.metrics.source.db.FulltextMetrics;
 import org.neo4j.metrics.source.db.EntityCountMetrics;
 import org.neo4j.metrics.source.db.LogRotationMetrics;
 import org.neo4j.metrics.source.db.PageCacheMetrics;
@@ -156,6 +157,12 @@ public class Neo4jMetricsBuilder
             result = true;
         }
 
+        if ( config.get( MetricsSettings.fulltextQueryCacheEnabled ) )
+        {
+            life.add( new FulltextMetrics( registry, dependencies.monitors() ) );
+            result = true;
+        }
+
         if ( config.get( MetricsSettings.jvmGcEnabled ) )
         {
             life.add( new GCMetrics( registry ) );
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB Enterprise Edition. The included source
+ * code can be redistributed and/or modified under the terms of the
+ * GNU AFFERO GENERAL PUBLIC LICENSE Version 3
+ * (http://www.fsf.org/licensing/licenses/agpl-3.0.html) as found
+ * in the associated LICENSE.txt file.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ */
+package org.neo4j.metrics.source.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.kernel.api.impl.fulltext.FulltextQueryCacheMonitor;
+import org.neo4j.kernel.impl.annotations.Documented;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.kernel.monitoring.Monitors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+@Documented( ".Fulltext index metrics" )
+public class FulltextMetrics extends LifecycleAdapter
+{
+    private static final String NAME_PREFIX = "neo4j.fulltext.query_cache";
+
+    @Documented( "The total number of fulltext queries that were answered from the query cache" )
+    public static final String QUERY_CACHE_HITS = name( NAME_PREFIX, "hits" );
+
+    @Documented( "The total number of cacheable fulltext queries that had to be searched for in the index" )
+    public static final String QUERY_CACHE_MISSES = name( NAME_PREFIX, "misses" );
+
+    @Documented( "The ratio of cacheable fulltext queries that were answered from the query cache" )
+    public static final String QUERY_CACHE_HIT_RATIO = name( NAME_PREFIX, "hit_ratio" );
+
+    @Documented( "The estimated number of bytes used by the fulltext query caches" )
+    public static final String QUERY_CACHE_MEMORY = name( NAME_PREFIX, "memory" );
+
+    private final MetricRegistry registry;
+    private final Monitors monitors;
+    private final QueryCacheMetric queryCacheMetric = new QueryCacheMetric();
+
+    public FulltextMetrics( MetricRegistry registry, Monitors monitors )
+    {
+        this.registry = registry;
+        this.monitors = monitors;
+    }
+
+    @Override
+    public void start()
+    {
+        monitors.addMonitorListener( queryCacheMetric );
+        registry.register( QUERY_CACHE_HITS, (Gauge<Long>) queryCacheMetric.hits::sum );
+        registry.register( QUERY_CACHE_MISSES, (Gauge<Long>) queryCacheMetric.misses::sum );
+        registry.register( QUERY_CACHE_HIT_RATIO, (Gauge<Double>) queryCacheMetric::hitRatio );
+        registry.register( QUERY_CACHE_MEMORY, (Gauge<Long>) queryCacheMetric.memory::sum );
+    }
+
+    @Override
+    public void stop()
+    {
+        registry.remove( QUERY_CACHE_HITS );
+        registry.remove( QUERY_CACHE_MISSES );
+        registry.remove( QUERY_CACHE_HIT_RATIO );
+        registry.remove( QUERY_CACHE_MEMORY );
+        monitors.removeMonitorListener( queryCacheMetric );
+    }
+
+    private static class QueryCacheMetric implements FulltextQueryCacheMonitor
+    {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder memory = new LongAdder();
+
+        @Override
+        public void hit()
+        {
+            hits.increment();
+        }
+
+        @Override
+        public void miss()
+        {
+            misses.increment();
+        }
+
+        @Override
+        public void memoryUsageChanged( long bytes )
+        {
+            memory.add( bytes );
+        }
+
+        double hitRatio()
+        {
+            long hits = this.hits.sum();
+            long lookups = hits + misses.sum();
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+}
@@ -160,8 +160,8 @@ public class ProcedureResourcesIT
     {
         try ( Transaction tx = db.beginTx() )
         {
-            db.execute( "call db.index.fulltext.createNodeIndex(" + ftsNodesIndex + ", ['Label'], ['prop'])" ).close();
-            db.execute( "call db.index.fulltext.createRelationshipIndex(" + ftsRelsIndex + ", ['Label'], ['prop'])" ).close();
+            db.execute( "call db.index.fulltext.createNodeIndex(" + ftsNodesIndex + ", ['Label'], ['prop'], {}, {sortProp: 'LONG'})" ).close();
+            db.execute( "call db.index.fulltext.createRelationshipIndex(" + ftsRelsIndex + ", ['Label'], ['prop'], {}, {sortProp: 'LONG'})" ).close();
             // Create ftsDropIndex so it can be dropped.
             db.execute( "call db.index.fulltext.createRelationshipIndex(" + ftsDropIndex + ", ['Label'], ['prop2'])" ).close();
             tx.success();
@@ -408,6 +408,30 @@ public class ProcedureResourcesIT
             proc.withParam( ftsRelsIndex );
             proc.withParam( "'value'" );
             break;
+        case "db.index.fulltext.facetNodes":
+        case "db.index.fulltext.statsNodes":
+            proc.withParam( ftsNodesIndex );
+            proc.withParam( "'value'" );
+            proc.withParam( "'sortProp'" );
+            break;
+        case "db.index.fulltext.rangeFacetNodes":
+            proc.withParam( ftsNodesIndex );
+            proc.withParam( "'value'" );
+            proc.withParam( "'sortProp'" );
+            proc.withParam( "[1, 2]" );
+            break;
+        case "db.index.fulltext.facetRelationships":
+        case "db.index.fulltext.statsRelationships":
+            proc.withParam( ftsRelsIndex );
+            proc.withParam( "'value'" );
+            proc.withParam( "'sortProp'" );
+            break;
+        case "db.index.fulltext.rangeFacetRelationships":
+            proc.withParam( ftsRelsIndex );
+            proc.withParam( "'value'" );
+            proc.withParam( "'sortProp'" );
+            proc.withParam( "[1, 2]" );
+            break;
         case "db.index.fulltext.drop":
             // Drop ftsDropIndex instead of ftsNodesIndex/ftsRelsIndex so it does not cause test failures in other CASEs.
             proc.withParam( ftsDropIndex );